@@ -0,0 +1,192 @@
+package org.semanticweb.elk.benchmark.concurrent;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.semanticweb.elk.benchmark.Metrics;
+import org.semanticweb.elk.benchmark.Task;
+import org.semanticweb.elk.benchmark.TaskException;
+import org.semanticweb.elk.reasoner.config.TodoStackType;
+import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.ConcurrentLinkedActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.SingleConsumerActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.SynchronizedArrayListActivationStack;
+
+/**
+ * Measures the throughput of an {@link ActivationStack} implementation when
+ * used the same way as the todo stacks of contexts during saturation. A number
+ * of worker threads repeatedly take an activated stack, pop all its elements
+ * and push each of them into a random stack until it has been pushed a given
+ * number of times. A stack is scheduled for processing every time a push into
+ * it returns {@code true}, so every stack is popped by at most one worker at a
+ * time, while any worker can push into it.
+ * 
+ * Arguments: the {@link TodoStackType}, the number of worker threads and,
+ * optionally, the number of stacks, elements and hops per element.
+ */
+public class ActivationStackTask implements Task {
+
+	private static final String WALL_TIME = "wall time (ms)";
+
+	private static final String PUSH_THROUGHPUT = "pushes per ms";
+
+	private final TodoStackType stackType_;
+
+	private final int workerCount_;
+
+	private final int stackCount_;
+
+	private final int elementCount_;
+
+	private final int hopCount_;
+
+	private final Metrics metrics_ = new Metrics();
+
+	private ActivationStack<Integer>[] stacks_;
+
+	private Queue<ActivationStack<Integer>> activeStacks_;
+
+	/**
+	 * the number of elements that remain to be popped
+	 */
+	private AtomicLong popsLeft_;
+
+	public ActivationStackTask(String[] args) {
+		stackType_ = TodoStackType.valueOf(args[0]);
+		workerCount_ = Integer.valueOf(args[1]);
+		stackCount_ = args.length > 2 ? Integer.valueOf(args[2]) : 10000;
+		elementCount_ = args.length > 3 ? Integer.valueOf(args[3]) : 100000;
+		hopCount_ = args.length > 4 ? Integer.valueOf(args[4]) : 20;
+	}
+
+	@Override
+	public String getName() {
+		return "Activation stack [" + stackType_ + ", " + workerCount_
+				+ " workers]";
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void prepare() throws TaskException {
+		stacks_ = new ActivationStack[stackCount_];
+		for (int i = 0; i < stackCount_; i++) {
+			stacks_[i] = createStack();
+		}
+		activeStacks_ = new ConcurrentLinkedQueue<ActivationStack<Integer>>();
+		popsLeft_ = new AtomicLong((long) elementCount_ * hopCount_);
+		Random random = new Random(123);
+		for (int i = 0; i < elementCount_; i++) {
+			push(stacks_[random.nextInt(stackCount_)], hopCount_ - 1);
+		}
+	}
+
+	private ActivationStack<Integer> createStack() {
+		switch (stackType_) {
+		case CONCURRENT_LINKED:
+			return new ConcurrentLinkedActivationStack<Integer>();
+		case SINGLE_CONSUMER:
+			return new SingleConsumerActivationStack<Integer>();
+		default:
+			return new SynchronizedArrayListActivationStack<Integer>();
+		}
+	}
+
+	void push(ActivationStack<Integer> stack, int hopsLeft) {
+		if (stack.push(hopsLeft))
+			activeStacks_.add(stack);
+	}
+
+	@Override
+	public void run() throws TaskException {
+		Thread[] workers = new Thread[workerCount_];
+		long startTime = System.currentTimeMillis();
+		for (int i = 0; i < workerCount_; i++) {
+			workers[i] = new Thread(new Worker(i));
+			workers[i].start();
+		}
+		try {
+			for (int i = 0; i < workerCount_; i++) {
+				workers[i].join();
+			}
+		} catch (InterruptedException e) {
+			throw new TaskException(e);
+		}
+		long time = Math.max(1, System.currentTimeMillis() - startTime);
+		metrics_.updateLongMetric(WALL_TIME, time);
+		metrics_.updateDoubleMetric(PUSH_THROUGHPUT, (double) elementCount_
+				* hopCount_ / time);
+		metrics_.incrementRunCount();
+	}
+
+	@Override
+	public void dispose() {
+		stacks_ = null;
+		activeStacks_ = null;
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics_;
+	}
+
+	@Override
+	public void postRun() throws TaskException {
+		if (popsLeft_.get() != 0)
+			throw new TaskException("Not all elements were processed!");
+	}
+
+	private class Worker implements Runnable {
+
+		private final Random random_;
+
+		Worker(int seed) {
+			this.random_ = new Random(seed);
+		}
+
+		@Override
+		public void run() {
+			for (;;) {
+				ActivationStack<Integer> stack = activeStacks_.poll();
+				if (stack == null) {
+					if (popsLeft_.get() == 0)
+						return;
+					Thread.yield();
+					continue;
+				}
+				for (;;) {
+					Integer hopsLeft = stack.pop();
+					if (hopsLeft == null)
+						break;
+					if (hopsLeft > 0)
+						push(stacks_[random_.nextInt(stackCount_)],
+								hopsLeft - 1);
+					popsLeft_.decrementAndGet();
+				}
+			}
+		}
+	}
+
+}
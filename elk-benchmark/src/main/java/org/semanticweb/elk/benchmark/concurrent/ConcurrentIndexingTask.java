@@ -0,0 +1,202 @@
+package org.semanticweb.elk.benchmark.concurrent;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.semanticweb.elk.benchmark.Metrics;
+import org.semanticweb.elk.benchmark.Task;
+import org.semanticweb.elk.benchmark.TaskException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.ChangeIndexingProcessor;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.ConcurrentAxiomIndexing;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.DirectIndex;
+import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
+
+/**
+ * Measures the throughput of indexing of {@link ElkAxiom}s by several workers
+ * using {@link ConcurrentAxiomIndexing}. The {@link ElkAxiom}s are generated
+ * so that many of them share sub-expressions, which are therefore created and
+ * updated concurrently by different workers. After every run, the sizes of
+ * the resulting index are compared with the sizes of the index obtained by
+ * indexing the same {@link ElkAxiom}s in one thread.
+ * 
+ * Arguments: the number of workers and, optionally, the number of generated
+ * classes.
+ */
+public class ConcurrentIndexingTask implements Task {
+
+	private static final String WALL_TIME = "wall time (ms)";
+
+	private static final String AXIOM_THROUGHPUT = "axioms per ms";
+
+	/**
+	 * the number of generated object properties
+	 */
+	private static final int PROPERTY_COUNT = 16;
+
+	/**
+	 * the number of told super-classes generated for every class
+	 */
+	private static final int PARENT_COUNT = 3;
+
+	private final int workerCount_;
+
+	private final int classCount_;
+
+	private final Metrics metrics_ = new Metrics();
+
+	private ComputationExecutor executor_;
+
+	private List<ElkAxiom> axioms_;
+
+	/**
+	 * the index obtained in the last run and the index obtained by indexing
+	 * {@link #axioms_} in one thread
+	 */
+	private DirectIndex index_, expectedIndex_;
+
+	public ConcurrentIndexingTask(String[] args) {
+		workerCount_ = Integer.valueOf(args[0]);
+		classCount_ = args.length > 1 ? Integer.valueOf(args[1]) : 100000;
+	}
+
+	@Override
+	public String getName() {
+		return "Concurrent indexing [" + classCount_ + " classes, "
+				+ workerCount_ + " workers]";
+	}
+
+	@Override
+	public void prepare() throws TaskException {
+		executor_ = new ComputationExecutor(workerCount_, "benchmark-worker");
+		axioms_ = generateAxioms(classCount_);
+		expectedIndex_ = new DirectIndex();
+		ElkAxiomProcessor inserter = new ChangeIndexingProcessor(
+				new ElkAxiomConverterImpl(expectedIndex_, 1),
+				ChangeIndexingProcessor.ADDITION);
+		for (ElkAxiom axiom : axioms_) {
+			inserter.visit(axiom);
+		}
+	}
+
+	@Override
+	public void run() throws TaskException {
+		index_ = new DirectIndex();
+		ConcurrentAxiomIndexing indexing = new ConcurrentAxiomIndexing(
+				new ChangeIndexingProcessor(
+						new ElkAxiomConverterImpl(index_, 1),
+						ChangeIndexingProcessor.ADDITION),
+				new ChangeIndexingProcessor(new ElkAxiomConverterImpl(index_,
+						-1), ChangeIndexingProcessor.REMOVAL), executor_,
+				workerCount_);
+		ElkAxiomProcessor inserter = indexing.getInserter();
+		long startTime = System.currentTimeMillis();
+		for (ElkAxiom axiom : axioms_) {
+			inserter.visit(axiom);
+		}
+		indexing.finish();
+		long time = Math.max(1, System.currentTimeMillis() - startTime);
+		metrics_.updateLongMetric(WALL_TIME, time);
+		metrics_.updateDoubleMetric(AXIOM_THROUGHPUT, (double) axioms_.size()
+				/ time);
+		metrics_.incrementRunCount();
+	}
+
+	@Override
+	public void postRun() throws TaskException {
+		if (index_.getClasses().size() != expectedIndex_.getClasses().size()
+				|| index_.getClassExpressions().size() != expectedIndex_
+						.getClassExpressions().size()
+				|| index_.getObjectProperties().size() != expectedIndex_
+						.getObjectProperties().size())
+			throw new TaskException(
+					"The index differs from the one computed in one thread!");
+		index_ = null;
+	}
+
+	@Override
+	public void dispose() {
+		try {
+			executor_.shutdown(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		executor_ = null;
+		axioms_ = null;
+		expectedIndex_ = null;
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics_;
+	}
+
+	/**
+	 * Generates axioms of the form {@code SubClassOf(Ai ObjectIntersectionOf(Aj
+	 * ObjectSomeValuesFrom(R Ak)))} and {@code SubClassOf(ObjectIntersectionOf(Aj
+	 * Ak) Ai)} for randomly chosen {@code j} and {@code k} that are smaller
+	 * than {@code i}; the random choice favors the first classes, so their
+	 * (negative and positive) occurrences are updated by many axioms.
+	 */
+	static List<ElkAxiom> generateAxioms(int classCount) {
+		ElkObjectFactory factory = new ElkObjectFactoryImpl();
+		Random random = new Random(classCount);
+		ElkClass[] classes = new ElkClass[classCount];
+		ElkObjectProperty[] properties = new ElkObjectProperty[PROPERTY_COUNT];
+		for (int i = 0; i < PROPERTY_COUNT; i++) {
+			properties[i] = factory.getObjectProperty(new ElkFullIri("#R" + i));
+		}
+		List<ElkAxiom> axioms = new ArrayList<ElkAxiom>(2 * PARENT_COUNT
+				* classCount);
+		for (int i = 0; i < classCount; i++) {
+			classes[i] = factory.getClass(new ElkFullIri("#A" + i));
+			if (i == 0)
+				continue;
+			for (int p = 0; p < PARENT_COUNT; p++) {
+				// the nested choice favors the first classes
+				ElkClass first = classes[random.nextInt(random.nextInt(i) + 1)];
+				ElkClass second = classes[random.nextInt(i)];
+				ElkObjectProperty property = properties[random
+						.nextInt(PROPERTY_COUNT)];
+				axioms.add(factory.getSubClassOfAxiom(classes[i], factory
+						.getObjectIntersectionOf(first, factory
+								.getObjectSomeValuesFrom(property, second))));
+				axioms.add(factory.getSubClassOfAxiom(
+						factory.getObjectIntersectionOf(first, second),
+						classes[i]));
+			}
+		}
+		return axioms;
+	}
+
+}
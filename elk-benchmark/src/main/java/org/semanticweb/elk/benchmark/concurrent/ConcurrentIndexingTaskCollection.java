@@ -0,0 +1,71 @@
+package org.semanticweb.elk.benchmark.concurrent;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.semanticweb.elk.benchmark.Metrics;
+import org.semanticweb.elk.benchmark.Task;
+import org.semanticweb.elk.benchmark.TaskCollection;
+import org.semanticweb.elk.benchmark.TaskException;
+
+/**
+ * Runs {@link ConcurrentIndexingTask}s with 1, 2, 4, ..., 64 workers. The
+ * optional argument, the number of generated classes, is passed to every
+ * {@link ConcurrentIndexingTask}.
+ */
+public class ConcurrentIndexingTaskCollection implements TaskCollection {
+
+	private static final int MAX_WORKERS = 64;
+
+	private final String[] args_;
+
+	private final Metrics metrics_ = new Metrics();
+
+	public ConcurrentIndexingTaskCollection(String[] args) {
+		args_ = args;
+	}
+
+	@Override
+	public Collection<Task> getTasks() throws TaskException {
+		Collection<Task> tasks = new ArrayList<Task>();
+		String[] taskArgs = new String[args_.length + 1];
+
+		System.arraycopy(args_, 0, taskArgs, 1, args_.length);
+		for (int workers = 1; workers <= MAX_WORKERS; workers *= 2) {
+			taskArgs[0] = String.valueOf(workers);
+			tasks.add(new ConcurrentIndexingTask(taskArgs));
+		}
+		return tasks;
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics_;
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+}
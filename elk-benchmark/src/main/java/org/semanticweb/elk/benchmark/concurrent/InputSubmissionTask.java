@@ -0,0 +1,184 @@
+package org.semanticweb.elk.benchmark.concurrent;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.semanticweb.elk.benchmark.Metrics;
+import org.semanticweb.elk.benchmark.Task;
+import org.semanticweb.elk.benchmark.TaskException;
+import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputationWithInputs;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessorFactory;
+import org.semanticweb.elk.util.concurrent.computation.SimpleInterrupter;
+
+/**
+ * Measures the throughput of submission of inputs to a
+ * {@link ConcurrentComputationWithInputs} when inputs are submitted one by one
+ * using {@link ConcurrentComputationWithInputs#submit(Object)} or in batches
+ * using {@link ConcurrentComputationWithInputs#submitAll(Iterable)}. The
+ * processing of every input is very cheap, so the submission is the
+ * bottleneck.
+ * 
+ * Arguments: {@code SINGLE} or {@code BATCHED}, the number of workers and,
+ * optionally, the number of inputs.
+ */
+public class InputSubmissionTask implements Task {
+
+	private static final String WALL_TIME = "wall time (ms)";
+
+	private static final String INPUT_THROUGHPUT = "inputs per ms";
+
+	private final boolean batched_;
+
+	private final int workerCount_;
+
+	private final int inputCount_;
+
+	private final Metrics metrics_ = new Metrics();
+
+	private ComputationExecutor executor_;
+
+	private SumFactory factory_;
+
+	public InputSubmissionTask(String[] args) {
+		batched_ = args[0].equals("BATCHED");
+		workerCount_ = Integer.valueOf(args[1]);
+		inputCount_ = args.length > 2 ? Integer.valueOf(args[2]) : 1000000;
+	}
+
+	@Override
+	public String getName() {
+		return "Input submission [" + (batched_ ? "BATCHED" : "SINGLE") + ", "
+				+ workerCount_ + " workers]";
+	}
+
+	@Override
+	public void prepare() throws TaskException {
+		executor_ = new ComputationExecutor(workerCount_, "benchmark-worker");
+		factory_ = new SumFactory();
+	}
+
+	@Override
+	public void run() throws TaskException {
+		ConcurrentComputationWithInputs<Integer, SumFactory> computation = new ConcurrentComputationWithInputs<Integer, SumFactory>(
+				factory_, executor_, workerCount_);
+		List<Integer> inputs = new AbstractList<Integer>() {
+
+			@Override
+			public Integer get(int index) {
+				return index;
+			}
+
+			@Override
+			public int size() {
+				return inputCount_;
+			}
+		};
+		long startTime = System.currentTimeMillis();
+		try {
+			if (!computation.start())
+				throw new TaskException("Could not start the computation!");
+			if (batched_) {
+				computation.submitAll(inputs);
+			} else {
+				for (Integer input : inputs) {
+					computation.submit(input);
+				}
+			}
+			computation.finish();
+		} catch (InterruptedException e) {
+			throw new TaskException(e);
+		}
+		long time = Math.max(1, System.currentTimeMillis() - startTime);
+		metrics_.updateLongMetric(WALL_TIME, time);
+		metrics_.updateDoubleMetric(INPUT_THROUGHPUT, (double) inputCount_
+				/ time);
+		metrics_.incrementRunCount();
+	}
+
+	@Override
+	public void postRun() throws TaskException {
+		long expected = (long) inputCount_ * (inputCount_ - 1) / 2;
+		if (factory_.sum_.getAndSet(0) != expected)
+			throw new TaskException("Not all inputs were processed!");
+	}
+
+	@Override
+	public void dispose() {
+		try {
+			executor_.shutdown(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		executor_ = null;
+		factory_ = null;
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics_;
+	}
+
+	/**
+	 * Creates {@link InputProcessor}s that sum up the inputs
+	 */
+	static class SumFactory extends SimpleInterrupter implements
+			InputProcessorFactory<Integer, InputProcessor<Integer>> {
+
+		final AtomicLong sum_ = new AtomicLong(0);
+
+		@Override
+		public InputProcessor<Integer> getEngine() {
+			return new InputProcessor<Integer>() {
+
+				private long sum_ = 0;
+
+				@Override
+				public void submit(Integer input) {
+					sum_ += input;
+				}
+
+				@Override
+				public void process() {
+					// everything is done during submission
+				}
+
+				@Override
+				public void finish() {
+					SumFactory.this.sum_.addAndGet(sum_);
+				}
+			};
+		}
+
+		@Override
+		public void finish() {
+			// nothing to do
+		}
+
+	}
+
+}
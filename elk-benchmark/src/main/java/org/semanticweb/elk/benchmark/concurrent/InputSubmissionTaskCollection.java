@@ -0,0 +1,75 @@
+package org.semanticweb.elk.benchmark.concurrent;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.semanticweb.elk.benchmark.Metrics;
+import org.semanticweb.elk.benchmark.Task;
+import org.semanticweb.elk.benchmark.TaskCollection;
+import org.semanticweb.elk.benchmark.TaskException;
+
+/**
+ * Compares the submission of inputs one by one and in batches using
+ * {@link InputSubmissionTask}s with 1, 2, 4, ..., 64 workers. The optional
+ * argument, the number of inputs, is passed to every
+ * {@link InputSubmissionTask}.
+ */
+public class InputSubmissionTaskCollection implements TaskCollection {
+
+	private static final int MAX_WORKERS = 64;
+
+	private final String[] args_;
+
+	private final Metrics metrics_ = new Metrics();
+
+	public InputSubmissionTaskCollection(String[] args) {
+		args_ = args;
+	}
+
+	@Override
+	public Collection<Task> getTasks() throws TaskException {
+		Collection<Task> tasks = new ArrayList<Task>();
+		String[] taskArgs = new String[args_.length + 2];
+
+		System.arraycopy(args_, 0, taskArgs, 2, args_.length);
+		for (String mode : new String[] { "SINGLE", "BATCHED" }) {
+			for (int workers = 1; workers <= MAX_WORKERS; workers *= 2) {
+				taskArgs[0] = mode;
+				taskArgs[1] = String.valueOf(workers);
+				tasks.add(new InputSubmissionTask(taskArgs));
+			}
+		}
+		return tasks;
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics_;
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+}
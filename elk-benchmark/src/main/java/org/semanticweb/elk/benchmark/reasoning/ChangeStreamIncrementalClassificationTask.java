@@ -0,0 +1,147 @@
+/**
+ * 
+ */
+package org.semanticweb.elk.benchmark.reasoning;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2013 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.semanticweb.elk.RandomSeedProvider;
+import org.semanticweb.elk.benchmark.Metrics;
+import org.semanticweb.elk.benchmark.TaskException;
+import org.semanticweb.elk.loading.BufferedChangesLoader;
+import org.semanticweb.elk.loading.ChangeBuffer;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+
+/**
+ * Replays a stream of single-axiom edits of the ontology loaded by
+ * {@link RandomWalkIncrementalClassificationTask}, like the ones produced by
+ * an ontology editor, and classifies the ontology incrementally after the
+ * edits are buffered in a {@link ChangeBuffer}. Every edit adds or removes a
+ * random changing axiom, and with some probability undoes the previous edit.
+ * The window of the {@link ChangeBuffer} closes after the given number of
+ * pending changes, at which point one incremental round is performed. With
+ * window size {@code 1}, every edit triggers its own round unless it is
+ * undone; with larger windows, the edits are merged and the undone edits
+ * never reach the reasoner.
+ * 
+ * Arguments: the ontology file, the number of workers, and the window size.
+ */
+public class ChangeStreamIncrementalClassificationTask extends
+		RandomWalkIncrementalClassificationTask {
+
+	/**
+	 * how many edits are replayed
+	 */
+	static int EDITS = 1000;
+	/**
+	 * the probability with which an edit undoes the previous edit
+	 */
+	static double UNDO_PROBABILITY = 0.3;
+
+	private static final String ROUND_COUNT = "incremental rounds";
+	private static final String CANCELLED_COUNT = "cancelled changes";
+
+	private final int windowSize_;
+
+	private final Metrics metrics_ = new Metrics();
+
+	public ChangeStreamIncrementalClassificationTask(String[] args) {
+		super(args);
+		windowSize_ = args.length > 2 ? Integer.valueOf(args[2]) : 16;
+	}
+
+	@Override
+	public String getName() {
+		return "Change stream incremental classification, window "
+				+ windowSize_;
+	}
+
+	@Override
+	public void run() throws TaskException {
+		Random random = new Random(RandomSeedProvider.VALUE);
+		int rounds = 0;
+		int cancelled = 0;
+
+		try {
+			reasoner_.setAllowIncrementalMode(true);
+			reasoner_.getTaxonomyQuietly();
+			int size = changingAxioms_.size();
+			if (size == 0)
+				return;
+			// else
+			ChangeBuffer<ElkAxiom> buffer = newBuffer();
+			int lastEdited = -1;
+			for (int i = 0; i < EDITS; i++) {
+				int index;
+				if (lastEdited >= 0 && random.nextDouble() < UNDO_PROBABILITY) {
+					index = lastEdited;
+					lastEdited = -1;
+				} else {
+					index = random.nextInt(size);
+					lastEdited = index;
+				}
+				ElkAxiom axiom = changingAxioms_.get(index);
+				if (changingAxioms_.flipOnOff(index))
+					buffer.remove(axiom);
+				else
+					buffer.add(axiom);
+				if (buffer.isWindowClosed() || i == EDITS - 1) {
+					cancelled += buffer.getCancelledCount();
+					if (!buffer.isEmpty()) {
+						reasoner_.registerAxiomLoader(new BufferedChangesLoader(
+								buffer));
+						reasoner_.getTaxonomyQuietly();
+						rounds++;
+					}
+					buffer = newBuffer();
+				}
+			}
+		} catch (Exception e) {
+			throw new TaskException(e);
+		} finally {
+			LOGGER_.info("{} edits: {} rounds, {} cancelled pairs",
+					new Object[] { EDITS, rounds, cancelled });
+			metrics_.updateLongMetric(ROUND_COUNT, rounds);
+			metrics_.updateLongMetric(CANCELLED_COUNT, cancelled);
+			try {
+				reasoner_.shutdown();
+			} catch (InterruptedException e) {
+			}
+		}
+	}
+
+	private ChangeBuffer<ElkAxiom> newBuffer() {
+		// the window closes only by size
+		return new ChangeBuffer<ElkAxiom>(windowSize_, Long.MAX_VALUE,
+				TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics_;
+	}
+
+}
@@ -0,0 +1,44 @@
+/**
+ * 
+ */
+package org.semanticweb.elk.benchmark.reasoning;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2013 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.reasoner.config.DeletionStrategy;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Same as the superclass but the reasoner uses
+ * {@link DeletionStrategy#DERIVATION_COUNTING} (for comparison with the
+ * default {@link DeletionStrategy#OVERDELETION})
+ */
+public class DerivationCountingMultiDeltasTask extends
+		IncrementalClassificationMultiDeltas {
+
+	public DerivationCountingMultiDeltasTask(String[] args) {
+		super(args);
+		config.setParameter(ReasonerConfiguration.INCREMENTAL_DELETION,
+				DeletionStrategy.DERIVATION_COUNTING.toString());
+	}
+
+}
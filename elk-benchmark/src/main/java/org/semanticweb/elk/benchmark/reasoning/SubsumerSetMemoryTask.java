@@ -0,0 +1,108 @@
+package org.semanticweb.elk.benchmark.reasoning;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.File;
+
+import org.semanticweb.elk.benchmark.BenchmarkUtils;
+import org.semanticweb.elk.benchmark.Metrics;
+import org.semanticweb.elk.benchmark.Task;
+import org.semanticweb.elk.benchmark.TaskException;
+import org.semanticweb.elk.loading.AxiomLoader;
+import org.semanticweb.elk.loading.Owl2StreamLoader;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.ReasonerFactory;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SubsumerSetType;
+import org.semanticweb.elk.reasoner.stages.HeapMeasuringStageExecutor;
+
+/**
+ * Classifies an ontology storing subsumers of contexts using the given
+ * {@link SubsumerSetType} and reports the heap used per context. Arguments:
+ * the ontology file, the {@link SubsumerSetType}, and optionally the number of
+ * workers.
+ */
+public class SubsumerSetMemoryTask implements Task {
+
+	private Reasoner reasoner_;
+	private final String ontologyFile_;
+	private final SubsumerSetType subsumerSetType_;
+	private final ReasonerConfiguration reasonerConfig_;
+	private final Metrics metrics_ = new Metrics();
+
+	public SubsumerSetMemoryTask(String[] args) {
+		ontologyFile_ = args[0];
+		subsumerSetType_ = SubsumerSetType.valueOf(args[1]);
+		reasonerConfig_ = BenchmarkUtils.getReasonerConfiguration(args, 2);
+		reasonerConfig_.setParameter(ReasonerConfiguration.SUBSUMER_SET,
+				subsumerSetType_.toString());
+	}
+
+	@Override
+	public String getName() {
+		return "Subsumer set memory [" + subsumerSetType_ + ", "
+				+ ontologyFile_.substring(ontologyFile_.lastIndexOf('/') + 1)
+				+ "]";
+	}
+
+	@Override
+	public void prepare() throws TaskException {
+		try {
+			File ontologyFile = BenchmarkUtils.getFile(ontologyFile_);
+			AxiomLoader loader = new Owl2StreamLoader(
+					new Owl2FunctionalStyleParserFactory(), ontologyFile);
+			reasoner_ = new ReasonerFactory().createReasoner(loader,
+					new HeapMeasuringStageExecutor(metrics_), reasonerConfig_);
+		} catch (Exception e) {
+			throw new TaskException(e);
+		}
+	}
+
+	@Override
+	public void run() throws TaskException {
+		try {
+			reasoner_.getTaxonomy();
+		} catch (ElkException e) {
+			throw new TaskException(e);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		try {
+			reasoner_.shutdown();
+		} catch (InterruptedException e) {
+		}
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics_;
+	}
+
+	@Override
+	public void postRun() throws TaskException {
+	}
+
+}
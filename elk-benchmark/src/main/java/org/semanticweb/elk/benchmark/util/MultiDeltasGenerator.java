@@ -0,0 +1,214 @@
+package org.semanticweb.elk.benchmark.util;
+
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.semanticweb.elk.io.IOUtils;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+
+/**
+ * Generates an ontology together with a sequence of deltas in the layout
+ * expected by
+ * {@link org.semanticweb.elk.benchmark.reasoning.IncrementalClassificationMultiDeltas}
+ * : the initial ontology file and one folder per delta with the added and the
+ * removed axioms. The classes are organized around a few hub classes, which
+ * have many (direct and indirect) sub-classes, so removing an axiom often
+ * affects many subsumers. Every delta removes some axioms of the current
+ * ontology and adds back the axioms removed by the previous delta.
+ *
+ * Arguments: the output folder, the number of classes, the number of deltas,
+ * the number of axioms added and removed by every delta and, optionally, the
+ * random seed.
+ */
+public class MultiDeltasGenerator {
+
+	private static final String IRI_PREFIX = "http://www.example.org/generated#";
+
+	/**
+	 * the number of generated object properties
+	 */
+	private static final int PROPERTY_COUNT = 8;
+
+	private final ElkObjectFactory factory_ = new ElkObjectFactoryImpl();
+
+	private final Random random_;
+
+	private final List<ElkAxiom> ontology_;
+
+	private final List<List<ElkAxiom>> additions_, deletions_;
+
+	public MultiDeltasGenerator(int classCount, int deltaCount, int deltaSize,
+			long seed) {
+		random_ = new Random(seed);
+		List<ElkAxiom> current = generateAxioms(classCount);
+		additions_ = new ArrayList<List<ElkAxiom>>(deltaCount);
+		deletions_ = new ArrayList<List<ElkAxiom>>(deltaCount);
+		// the additions of the first delta are not in the initial ontology
+		List<ElkAxiom> removed = removeRandom(current, deltaSize);
+		ontology_ = new ArrayList<ElkAxiom>(current);
+		for (int i = 0; i < deltaCount; i++) {
+			List<ElkAxiom> deleted = removeRandom(current, deltaSize);
+			current.addAll(removed);
+			additions_.add(removed);
+			deletions_.add(deleted);
+			removed = deleted;
+		}
+	}
+
+	/**
+	 * @return the axioms of the initial ontology
+	 */
+	public List<ElkAxiom> getOntology() {
+		return ontology_;
+	}
+
+	/**
+	 * @return for every delta, the axioms added by this delta
+	 */
+	public List<List<ElkAxiom>> getAdditions() {
+		return additions_;
+	}
+
+	/**
+	 * @return for every delta, the axioms removed by this delta
+	 */
+	public List<List<ElkAxiom>> getDeletions() {
+		return deletions_;
+	}
+
+	/**
+	 * Writes the initial ontology and the deltas into the given folder
+	 */
+	public void write(File dir) throws IOException {
+		if (!dir.isDirectory() && !dir.mkdirs())
+			throw new IOException("Cannot create " + dir);
+		write(ontology_, new File(dir, "ontology.owl"));
+		for (int i = 0; i < additions_.size(); i++) {
+			File deltaDir = new File(dir, String.format("delta-%05d", i + 1));
+			if (!deltaDir.isDirectory() && !deltaDir.mkdir())
+				throw new IOException("Cannot create " + deltaDir);
+			write(additions_.get(i), new File(deltaDir, "axioms.delta-plus"));
+			write(deletions_.get(i), new File(deltaDir, "axioms.delta-minus"));
+		}
+	}
+
+	private static void write(Collection<ElkAxiom> axioms, File file)
+			throws IOException {
+		Writer writer = new BufferedWriter(new FileWriter(file));
+		try {
+			writer.write("Ontology(\n");
+			for (ElkAxiom axiom : axioms) {
+				OwlFunctionalStylePrinter.append(writer, axiom, true);
+				writer.write('\n');
+			}
+			writer.write(")\n");
+		} finally {
+			IOUtils.closeQuietly(writer);
+		}
+	}
+
+	/**
+	 * Removes the given number of randomly chosen axioms from the list
+	 *
+	 * @return the removed axioms
+	 */
+	private List<ElkAxiom> removeRandom(List<ElkAxiom> axioms, int count) {
+		Collections.shuffle(axioms, random_);
+		List<ElkAxiom> tail = axioms.subList(axioms.size() - count,
+				axioms.size());
+		List<ElkAxiom> removed = new ArrayList<ElkAxiom>(tail);
+		tail.clear();
+		return removed;
+	}
+
+	/**
+	 * Generates for every class {@code Ai} the axioms
+	 * {@code SubClassOf(Ai Aj)} and
+	 * {@code SubClassOf(Ai ObjectSomeValuesFrom(R Ak))} and, for some classes,
+	 * {@code SubClassOf(ObjectSomeValuesFrom(R Ai) Aj)} and
+	 * {@code SubClassOf(ObjectIntersectionOf(Ai Aj) Ak)}, where the classes
+	 * chosen for {@code Aj} are smaller than {@code i} and favor the first
+	 * classes, which therefore become hubs.
+	 */
+	private List<ElkAxiom> generateAxioms(int classCount) {
+		ElkClass[] classes = new ElkClass[classCount];
+		ElkObjectProperty[] properties = new ElkObjectProperty[PROPERTY_COUNT];
+		for (int i = 0; i < PROPERTY_COUNT; i++) {
+			properties[i] = factory_.getObjectProperty(new ElkFullIri(
+					IRI_PREFIX + "R" + i));
+		}
+		List<ElkAxiom> axioms = new ArrayList<ElkAxiom>(3 * classCount);
+		for (int i = 0; i < classCount; i++) {
+			classes[i] = factory_.getClass(new ElkFullIri(IRI_PREFIX + "A" + i));
+			if (i == 0)
+				continue;
+			axioms.add(factory_.getSubClassOfAxiom(classes[i],
+					classes[getHub(i)]));
+			ElkClassExpression existential = factory_.getObjectSomeValuesFrom(
+					properties[random_.nextInt(PROPERTY_COUNT)],
+					classes[random_.nextInt(i)]);
+			axioms.add(factory_.getSubClassOfAxiom(classes[i], existential));
+			if (i % 4 == 0)
+				axioms.add(factory_.getSubClassOfAxiom(existential,
+						classes[getHub(i)]));
+			if (i % 8 == 0)
+				axioms.add(factory_.getSubClassOfAxiom(factory_
+						.getObjectIntersectionOf(classes[random_.nextInt(i)],
+								classes[i]), classes[getHub(i)]));
+		}
+		return axioms;
+	}
+
+	/**
+	 * @return a random number smaller than the given one; smaller numbers are
+	 *         more likely
+	 */
+	private int getHub(int bound) {
+		return random_.nextInt(random_.nextInt(bound) + 1);
+	}
+
+	public static void main(String[] args) throws IOException {
+		new MultiDeltasGenerator(Integer.valueOf(args[1]),
+				Integer.valueOf(args[2]), Integer.valueOf(args[3]),
+				args.length > 4 ? Long.valueOf(args[4]) : 0).write(new File(
+				args[0]));
+	}
+
+}
@@ -0,0 +1,73 @@
+package org.semanticweb.elk.reasoner.stages;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.benchmark.Metrics;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+
+/**
+ * Measures the heap occupied after the class taxonomy is computed, in total
+ * and per context of the saturation state
+ */
+public class HeapMeasuringStageExecutor extends SimpleStageExecutor {
+
+	public static final String USED_HEAP = "heap.used (MB)";
+
+	public static final String CONTEXT_COUNT = "heap.contexts";
+
+	public static final String HEAP_PER_CONTEXT = "heap.per-context (bytes)";
+
+	private final Metrics metrics_;
+
+	public HeapMeasuringStageExecutor(Metrics m) {
+		metrics_ = m;
+	}
+
+	@Override
+	public void execute(ReasonerStage stage) throws ElkException {
+		super.execute(stage);
+		if (stage instanceof ClassTaxonomyComputationStage) {
+			AbstractReasonerState reasoner = ((AbstractReasonerStage) stage).reasoner;
+			long usedHeap = getUsedHeap();
+			int contextCount = reasoner.saturationState.getContexts().size();
+			metrics_.updateLongMetric(USED_HEAP, usedHeap >> 20);
+			metrics_.updateLongMetric(CONTEXT_COUNT, contextCount);
+			if (contextCount > 0)
+				metrics_.updateLongMetric(HEAP_PER_CONTEXT, usedHeap
+						/ contextCount);
+		}
+	}
+
+	private static long getUsedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		// repeat until garbage collection does not free more memory
+		for (;;) {
+			System.gc();
+			long nowUsed = runtime.totalMemory() - runtime.freeMemory();
+			if (nowUsed >= used)
+				return used;
+			used = nowUsed;
+		}
+	}
+
+}
@@ -37,7 +37,9 @@ import org.junit.Test;
 import org.junit.rules.TestName;
 import org.semanticweb.elk.benchmark.reasoning.AllFilesClassificationTask;
 import org.semanticweb.elk.benchmark.reasoning.AllFilesIncrementalClassificationTask;
+import org.semanticweb.elk.benchmark.reasoning.ChangeStreamIncrementalClassificationTask;
 import org.semanticweb.elk.benchmark.reasoning.ClassificationTask;
+import org.semanticweb.elk.benchmark.reasoning.DerivationCountingMultiDeltasTask;
 import org.semanticweb.elk.benchmark.reasoning.IncrementalClassificationMultiDeltas;
 import org.semanticweb.elk.benchmark.reasoning.IncrementalClassificationTask;
 import org.semanticweb.elk.benchmark.reasoning.RandomWalkIncrementalClassificationTask;
@@ -110,6 +112,21 @@ public class BenchmarkTest {
 				new String[] { System.getProperty("incremental.ontology") });
 	}
 
+	@Test
+	public void incrementalClassificationChangeStream() throws Exception {
+		Assume.assumeTrue(testsToRun_.contains(testName.getMethodName()));
+
+		BenchmarkUtils.runTask(
+				ChangeStreamIncrementalClassificationTask.class.getName(),
+				Integer.valueOf(System.getProperty(Constants.WARM_UPS, "0")),
+				Integer.valueOf(System.getProperty(Constants.RUNS, "1")),
+				new String[] {
+						System.getProperty("incremental.ontology"),
+						String.valueOf(Runtime.getRuntime()
+								.availableProcessors()),
+						System.getProperty("incremental.window.size", "16") });
+	}
+
 	@Test
 	public void incrementalClassificationMultiDeltas() throws Exception {
 		Assume.assumeTrue(testsToRun_.contains(testName.getMethodName()));
@@ -121,6 +138,18 @@ public class BenchmarkTest {
 				new String[] { System.getProperty("incremental.dir") });
 	}
 
+	@Test
+	public void incrementalClassificationMultiDeltasDerivationCounting()
+			throws Exception {
+		Assume.assumeTrue(testsToRun_.contains(testName.getMethodName()));
+
+		BenchmarkUtils.runTaskCollection2(
+				DerivationCountingMultiDeltasTask.class.getName(),
+				Integer.valueOf(System.getProperty(Constants.WARM_UPS, "0")),
+				Integer.valueOf(System.getProperty(Constants.RUNS, "1")),
+				new String[] { System.getProperty("incremental.dir") });
+	}
+
 	@Test
 	public void incrementalClassificationAll() throws Exception {
 		Assume.assumeTrue(testsToRun_.contains(testName.getMethodName()));
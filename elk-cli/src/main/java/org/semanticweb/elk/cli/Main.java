@@ -38,10 +38,13 @@ import joptsimple.OptionSpec;
 
 import org.apache.log4j.Level;
 import org.semanticweb.elk.loading.AxiomLoader;
-import org.semanticweb.elk.loading.Owl2StreamLoader;
+import org.semanticweb.elk.loading.Owl2MappedFileLoader;
+import org.semanticweb.elk.loading.Owl2ParallelStreamLoader;
 import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.managers.ConcurrentElkEntityRecycler;
 import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
 import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
 import org.semanticweb.elk.reasoner.ElkInconsistentOntologyException;
@@ -49,7 +52,7 @@ import org.semanticweb.elk.reasoner.Reasoner;
 import org.semanticweb.elk.reasoner.ReasonerFactory;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.stages.LoggingStageExecutor;
-import org.semanticweb.elk.reasoner.taxonomy.TaxonomyPrinter;
+import org.semanticweb.elk.reasoner.taxonomy.ParallelTaxonomyPrinter;
 import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceTaxonomyHasher;
 import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
@@ -88,6 +91,9 @@ public class Main {
 				.withRequiredArg().ofType(File.class).describedAs("taxonomy");
 		OptionSpec<Void> printHash = parser.acceptsAll(asList("print-hash"),
 				"print taxonomy hash to log");
+		OptionSpec<Void> binaryOutput = parser.acceptsAll(
+				asList("binary-output", "b"),
+				"write the output taxonomy in a compact binary format");
 
 		// reasoning tasks
 		OptionSpec<Void> classify = parser.acceptsAll(asList("classify", "c"),
@@ -103,6 +109,10 @@ public class Main {
 				.acceptsAll(asList("workers", "w"),
 						"number of concurrent worker threads")
 				.withRequiredArg().ofType(Integer.class);
+		OptionSpec<Integer> nParsers = parser
+				.acceptsAll(asList("parsers", "p"),
+						"number of threads parsing the input concurrently")
+				.withRequiredArg().ofType(Integer.class);
 		OptionSpec<String> logging = parser
 				.acceptsAll(asList("logging", "l"),
 						"logging level for log4j; default INFO")
@@ -173,9 +183,20 @@ public class Main {
 
 		// create reasoner
 		ReasonerFactory reasoningFactory = new ReasonerFactory();
-		Owl2ParserFactory parserFactory = new Owl2FunctionalStyleParserFactory();
-		AxiomLoader loader = new Owl2StreamLoader(parserFactory,
-				options.valueOf(inputFile));
+		AxiomLoader loader;
+		if (options.has(nParsers) && options.valueOf(nParsers) > 1) {
+			// the parsers are already concurrent, so no lexer threads are
+			// used; the parsers share the entities
+			Owl2ParserFactory parserFactory = new Owl2FunctionalStyleParserFactory(
+					new ElkObjectFactoryImpl(new ConcurrentElkEntityRecycler()),
+					null);
+			loader = new Owl2ParallelStreamLoader(parserFactory,
+					options.valueOf(inputFile), options.valueOf(nParsers));
+		} else {
+			Owl2ParserFactory parserFactory = new Owl2FunctionalStyleParserFactory();
+			loader = new Owl2MappedFileLoader(parserFactory,
+					options.valueOf(inputFile));
+		}
 		Reasoner reasoner = reasoningFactory.createReasoner(loader,
 				new LoggingStageExecutor(), configuration);
 
@@ -189,13 +210,16 @@ public class Main {
 			}
 			
 			boolean addHash = options.has(printHash);
+			boolean binary = options.has(binaryOutput);
+			int threadCount = configuration
+					.getParameterAsInt(ReasonerConfiguration.NUM_OF_WORKING_THREADS);
 
 			if (options.has(classify)) {
 				Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomyQuietly();
 			
 				if (options.hasArgument(outputFile))
 					writeClassTaxonomyToFile(options.valueOf(outputFile),
-							taxonomy, addHash);
+							reasoner, taxonomy, addHash, binary, threadCount);
 				if (addHash)
 					printTaxonomyHash(taxonomy);
 			}
@@ -205,7 +229,7 @@ public class Main {
 				taxonomy = reasoner.getInstanceTaxonomyQuietly();
 				if (options.hasArgument(outputFile))
 					writeInstanceTaxonomyToFile(options.valueOf(outputFile),
-							taxonomy, addHash);
+							reasoner, taxonomy, addHash, binary, threadCount);
 				if (addHash)
 					printTaxonomyHash(taxonomy);
 			}
@@ -227,24 +251,36 @@ public class Main {
 		writer.close();
 	}
 
-	static void writeClassTaxonomyToFile(File file, Taxonomy<ElkClass> taxonomy, boolean printHash)
+	static void writeClassTaxonomyToFile(File file, Reasoner reasoner,
+			Taxonomy<ElkClass> taxonomy, boolean printHash, boolean binary,
+			int threadCount)
 			throws IOException, ElkInconsistentOntologyException, ElkException {
 		LOGGER_.info("Writing taxonomy to {}", file);
 
 		Statistics.logOperationStart("Writing taxonomy", LOGGER_);
-		TaxonomyPrinter.dumpClassTaxomomyToFile(taxonomy, file.getPath(), printHash);
+		if (binary)
+			// saved with the fingerprint of the ontology
+			reasoner.saveTaxonomySnapshot(file);
+		else
+			ParallelTaxonomyPrinter.dumpClassTaxomomyToFile(taxonomy,
+					file.getPath(), printHash, threadCount);
 		Statistics.logOperationFinish("Writing taxonomy", LOGGER_);
 	}
 
-	static void writeInstanceTaxonomyToFile(File file,
-			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy, boolean printHash)
+	static void writeInstanceTaxonomyToFile(File file, Reasoner reasoner,
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy, boolean printHash,
+			boolean binary, int threadCount)
 			throws IOException, ElkInconsistentOntologyException, ElkException {
 		LOGGER_.info("Writing taxonomy with instances to {}", file);
 
 		Statistics
 				.logOperationStart("Writing taxonomy with instances", LOGGER_);
-		TaxonomyPrinter.dumpInstanceTaxomomyToFile(taxonomy, file.getPath(),
-				printHash);
+		if (binary)
+			// saved with the fingerprint of the ontology
+			reasoner.saveTaxonomySnapshot(file);
+		else
+			ParallelTaxonomyPrinter.dumpInstanceTaxomomyToFile(taxonomy,
+					file.getPath(), printHash, threadCount);
 		Statistics.logOperationFinish("Writing taxonomy with instances",
 				LOGGER_);
 	}
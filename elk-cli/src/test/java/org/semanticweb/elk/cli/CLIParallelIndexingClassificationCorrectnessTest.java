@@ -0,0 +1,61 @@
+/*
+ * #%L
+ * ELK Command Line Interface
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.semanticweb.elk.loading.AxiomLoader;
+import org.semanticweb.elk.loading.Owl2StreamLoader;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+import org.semanticweb.elk.reasoner.ClassTaxonomyTestOutput;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.ReasonerFactory;
+import org.semanticweb.elk.reasoner.ReasoningTestManifest;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.stages.RestartingStageExecutor;
+
+/**
+ * Runs classification tests indexing the axioms by several workers
+ */
+public class CLIParallelIndexingClassificationCorrectnessTest extends
+		CLIDiffClassificationCorrectnessTest {
+
+	public CLIParallelIndexingClassificationCorrectnessTest(
+			final ReasoningTestManifest<ClassTaxonomyTestOutput<?>, ClassTaxonomyTestOutput<?>> testManifest) {
+		super(testManifest);
+	}
+
+	@Override
+	protected Reasoner createReasoner(final InputStream input)
+			throws Owl2ParseException, IOException {
+		AxiomLoader loader = new Owl2StreamLoader(
+				new Owl2FunctionalStyleParserFactory(), input);
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		config.setParameter(ReasonerConfiguration.PARALLEL_INDEXING, "true");
+		config.setParameter(ReasonerConfiguration.NUM_OF_WORKING_THREADS, "4");
+		return new ReasonerFactory().createReasoner(loader,
+				new RestartingStageExecutor(), config);
+	}
+
+}
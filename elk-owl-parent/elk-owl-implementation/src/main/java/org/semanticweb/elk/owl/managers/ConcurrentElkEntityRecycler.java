@@ -0,0 +1,197 @@
+/*
+ * #%L
+ * ELK Utilities Collections
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.owl.managers;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.HashMap;
+
+import org.semanticweb.elk.owl.interfaces.ElkAnnotationProperty;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkDataProperty;
+import org.semanticweb.elk.owl.interfaces.ElkDatatype;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.visitors.ElkEntityVisitor;
+
+/**
+ * A thread-safe version of {@link ElkEntityRecycler}, which can be shared by
+ * several parsers or converters running in parallel. The {@link ElkEntity}s are
+ * distributed over a fixed number of segments by the hash codes of their
+ * {@link ElkIri}s; each segment has its own weak cache and is locked
+ * separately, so threads recycling different entities rarely wait for each
+ * other. The references to garbage collected {@link ElkEntity}s are removed
+ * from the cache of a segment when it is accessed, but at most
+ * {@link #MAX_CLEANUP} of them at a time, so every call of
+ * {@link #recycle(ElkObject)} takes bounded time; since at most one entry is
+ * added per call, this is enough for the caches not to grow with the
+ * collected entities.
+ */
+public class ConcurrentElkEntityRecycler implements ElkObjectRecycler {
+
+	/**
+	 * the default number of segments
+	 */
+	public static final int DEFAULT_SEGMENT_COUNT = 16;
+
+	/**
+	 * the maximal number of references to garbage collected entities removed
+	 * from a segment per access
+	 */
+	static final int MAX_CLEANUP = 16;
+
+	private final Segment[] segments_;
+
+	/**
+	 * used to select the segment
+	 */
+	private final int mask_;
+
+	/**
+	 * Creates a new {@link ConcurrentElkEntityRecycler} with the given number
+	 * of segments, which will be rounded up to a power of two
+	 * 
+	 * @param segmentCount
+	 *            the maximal number of threads that can recycle entities
+	 *            without blocking each other
+	 */
+	public ConcurrentElkEntityRecycler(int segmentCount) {
+		int size = 1;
+		while (size < segmentCount)
+			size <<= 1;
+		this.segments_ = new Segment[size];
+		for (int i = 0; i < size; i++) {
+			segments_[i] = new Segment();
+		}
+		this.mask_ = size - 1;
+	}
+
+	public ConcurrentElkEntityRecycler() {
+		this(DEFAULT_SEGMENT_COUNT);
+	}
+
+	@Override
+	public ElkObject recycle(ElkObject object) {
+		if (object instanceof ElkEntity)
+			return getCanonicalElkEntity((ElkEntity) object);
+		else
+			return object;
+	}
+
+	private ElkEntity getCanonicalElkEntity(ElkEntity entity) {
+		int h = entity.getIri().hashCode();
+		// use the higher bits as well, like in java.util.HashMap
+		h ^= (h >>> 20) ^ (h >>> 12);
+		h ^= (h >>> 7) ^ (h >>> 4);
+		return segments_[h & mask_].getCanonicalElkEntity(entity);
+	}
+
+	/**
+	 * A part of the cache of {@link ConcurrentElkEntityRecycler}; all accesses
+	 * are synchronized on the segment
+	 */
+	private static class Segment {
+
+		private final HashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>> cache_ = new HashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>>();
+
+		private final ReferenceQueue<ElkEntity> referenceQueue_ = new ReferenceQueue<ElkEntity>();
+
+		private final ElkEntityVisitor<WeakWrapper<? extends ElkEntity>> wrapper_ = new ElkEntityVisitor<WeakWrapper<? extends ElkEntity>>() {
+
+			@Override
+			public WeakWrapper<? extends ElkEntity> visit(ElkClass elkClass) {
+				return new WeakElkClassWrapper(elkClass, referenceQueue_);
+			}
+
+			@Override
+			public WeakWrapper<? extends ElkEntity> visit(
+					ElkDatatype elkDatatype) {
+				return new WeakElkDatatypeWrapper(elkDatatype, referenceQueue_);
+			}
+
+			@Override
+			public WeakWrapper<? extends ElkEntity> visit(
+					ElkObjectProperty elkObjectProperty) {
+				return new WeakElkObjectPropertyWrapper(elkObjectProperty,
+						referenceQueue_);
+			}
+
+			@Override
+			public WeakWrapper<? extends ElkEntity> visit(
+					ElkDataProperty elkDataProperty) {
+				return new WeakElkDataPropertyWrapper(elkDataProperty,
+						referenceQueue_);
+			}
+
+			@Override
+			public WeakWrapper<? extends ElkEntity> visit(
+					ElkNamedIndividual elkNamedIndividual) {
+				return new WeakElkNamedIndividualWrapper(elkNamedIndividual,
+						referenceQueue_);
+			}
+
+			@Override
+			public WeakWrapper<? extends ElkEntity> visit(
+					ElkAnnotationProperty elkAnnotationProperty) {
+				return new WeakElkAnnotationPropertyWrapper(
+						elkAnnotationProperty, referenceQueue_);
+			}
+
+		};
+
+		synchronized ElkEntity getCanonicalElkEntity(ElkEntity entity) {
+			processQueue();
+
+			WeakWrapper<? extends ElkEntity> key = entity.accept(wrapper_);
+			WeakWrapper<? extends ElkEntity> value = cache_.get(key);
+
+			if (value != null) {
+				ElkEntity result = value.get();
+				if (result != null) {
+					// the new key is not used, so it need not be enqueued
+					key.clear();
+					return result;
+				}
+			}
+
+			cache_.put(key, key);
+			return entity;
+		}
+
+		private void processQueue() {
+			WeakWrapper<? extends ElkEntity> w;
+
+			for (int i = 0; i < MAX_CLEANUP; i++) {
+				w = (WeakWrapper<? extends ElkEntity>) referenceQueue_.poll();
+				if (w == null)
+					return;
+				// cleared wrappers are equal only to themselves
+				cache_.remove(w);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * #%L
+ * elk-reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 Oxford University Computing Laboratory
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.owl.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+
+/**
+ * Tests for {@link ConcurrentElkEntityRecycler}
+ */
+public class ConcurrentElkEntityRecyclerTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl(
+			new ConcurrentElkEntityRecycler(4));
+
+	@Test
+	public void testRecycling() {
+		ElkFullIri iri = new ElkFullIri("http://example.org/Heart");
+		ElkClass heart = objectFactory.getClass(iri);
+
+		assertSame(heart,
+				objectFactory.getClass(new ElkFullIri(
+						"http://example.org/Heart")));
+		assertNotSame(heart,
+				objectFactory.getClass(new ElkFullIri(
+						"http://example.org/Organ")));
+		// entities of different types are not mixed
+		assertEquals(iri, objectFactory.getObjectProperty(iri).getIri());
+		assertSame(objectFactory.getObjectProperty(iri),
+				objectFactory.getObjectProperty(iri));
+		assertSame(objectFactory.getNamedIndividual(iri),
+				objectFactory.getNamedIndividual(iri));
+	}
+
+	@Test
+	public void testConcurrentRecycling() throws Exception {
+		final int threadCount = 4;
+		final int entityCount = 2000;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			List<Future<ElkClass[]>> results = new ArrayList<Future<ElkClass[]>>();
+			for (int t = 0; t < threadCount; t++) {
+				results.add(executor.submit(new Callable<ElkClass[]>() {
+
+					@Override
+					public ElkClass[] call() {
+						ElkClass[] classes = new ElkClass[entityCount];
+						for (int i = 0; i < entityCount; i++) {
+							classes[i] = objectFactory.getClass(new ElkFullIri(
+									"http://example.org/C" + i));
+						}
+						return classes;
+					}
+
+				}));
+			}
+			ElkClass[] expected = results.get(0).get();
+			for (Future<ElkClass[]> result : results) {
+				ElkClass[] classes = result.get();
+				for (int i = 0; i < entityCount; i++) {
+					assertSame(expected[i], classes[i]);
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
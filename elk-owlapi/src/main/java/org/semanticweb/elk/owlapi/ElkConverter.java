@@ -25,7 +25,11 @@
  */
 package org.semanticweb.elk.owlapi;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.semanticweb.elk.owl.exceptions.ElkException;
@@ -36,6 +40,7 @@ import org.semanticweb.elk.reasoner.taxonomy.model.Node;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.reasoner.NodeSet;
 import org.semanticweb.owlapi.reasoner.impl.OWLClassNode;
 import org.semanticweb.owlapi.reasoner.impl.OWLClassNodeSet;
 import org.semanticweb.owlapi.reasoner.impl.OWLNamedIndividualNode;
@@ -91,6 +96,47 @@ public class ElkConverter {
 		return new OWLClassNodeSet(owlNodes);
 	}
 
+	/**
+	 * Converts the sets of {@link Node}s computed for the given keys, e.g., by
+	 * a batch query. Each {@link Node} and each set of {@link Node}s is
+	 * converted only once, even if it occurs several times.
+	 * 
+	 * @param keys
+	 *            the objects for which the sets of {@link Node}s were
+	 *            computed
+	 * @param nodeSets
+	 *            the list whose element at each position is the set of
+	 *            {@link Node}s computed for the key at the same position
+	 * @return the map from the keys to the converted sets of {@link Node}s
+	 */
+	public <K> Map<K, NodeSet<OWLClass>> convertClassNodes(List<K> keys,
+			List<? extends Set<? extends Node<ElkClass>>> nodeSets) {
+		Map<K, NodeSet<OWLClass>> result = new HashMap<K, NodeSet<OWLClass>>(
+				keys.size());
+		Map<Set<? extends Node<ElkClass>>, OWLClassNodeSet> convertedSets = new IdentityHashMap<Set<? extends Node<ElkClass>>, OWLClassNodeSet>();
+		Map<Node<ElkClass>, OWLClassNode> convertedNodes = new HashMap<Node<ElkClass>, OWLClassNode>();
+		for (int i = 0; i < keys.size(); i++) {
+			Set<? extends Node<ElkClass>> nodes = nodeSets.get(i);
+			OWLClassNodeSet owlNodes = convertedSets.get(nodes);
+			if (owlNodes == null) {
+				Set<org.semanticweb.owlapi.reasoner.Node<OWLClass>> owlNodeSet = new HashSet<org.semanticweb.owlapi.reasoner.Node<OWLClass>>(
+						nodes.size());
+				for (Node<ElkClass> node : nodes) {
+					OWLClassNode owlNode = convertedNodes.get(node);
+					if (owlNode == null) {
+						owlNode = convertClassNode(node);
+						convertedNodes.put(node, owlNode);
+					}
+					owlNodeSet.add(owlNode);
+				}
+				owlNodes = new OWLClassNodeSet(owlNodeSet);
+				convertedSets.put(nodes, owlNodes);
+			}
+			result.put(keys.get(i), owlNodes);
+		}
+		return result;
+	}
+
 	public OWLNamedIndividualNode convertIndividualNode(
 			Node<ElkNamedIndividual> node) {
 		Set<OWLNamedIndividual> owlIndividuals = new HashSet<OWLNamedIndividual>();
@@ -25,16 +25,27 @@
  */
 package org.semanticweb.elk.owlapi;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.semanticweb.elk.loading.ElkLoadingException;
 import org.semanticweb.elk.owl.exceptions.ElkException;
 import org.semanticweb.elk.owl.exceptions.ElkRuntimeException;
 import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
 import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
 import org.semanticweb.elk.owlapi.wrapper.OwlConverter;
 import org.semanticweb.elk.reasoner.DummyProgressMonitor;
@@ -45,6 +56,7 @@ import org.semanticweb.elk.reasoner.ReasonerFactory;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.stages.LoggingStageExecutor;
 import org.semanticweb.elk.reasoner.stages.ReasonerStageExecutor;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyVersion;
 import org.semanticweb.elk.util.logging.LogLevel;
 import org.semanticweb.elk.util.logging.LoggerWrap;
 import org.semanticweb.owlapi.model.AxiomType;
@@ -128,8 +140,11 @@ public class ElkReasoner implements OWLReasoner {
 	private final ReasonerConfiguration config_;
 	private final boolean isAllowFreshEntities;
 	private final ReasonerStageExecutor stageExecutor_;
-	/** the ELK reasoner instance used for reasoning */
-	private Reasoner reasoner_;
+	/**
+	 * the ELK reasoner instance used for reasoning; replaced only in
+	 * {@link #flushChanges()}
+	 */
+	private volatile Reasoner reasoner_;
 
 	/**
 	 * {@code true} if the ontology should be loaded before any changes are
@@ -138,9 +153,40 @@ public class ElkReasoner implements OWLReasoner {
 	private boolean loadBeforeChanges_ = true;
 	/**
 	 * {@code true} if it is required to reload the whole ontology next time the
-	 * changes should be flushed
+	 * changes should be flushed; accessed only when synchronized on this
+	 * {@link ElkReasoner}, like the registration of changes in
+	 * {@link #bufferedChangesLoader_}
 	 */
 	private boolean ontologyReloadRequired_;
+	/**
+	 * how long, in milliseconds, the changes are buffered in the non-buffering
+	 * mode before they are processed in the background, or {@code 0} if they
+	 * are passed to the reasoner immediately
+	 * 
+	 * @see ReasonerConfiguration#CHANGE_WINDOW_DELAY
+	 */
+	private final int changeWindowDelay_;
+	/**
+	 * the number of buffered changes after which they are processed regardless
+	 * of {@link #changeWindowDelay_}, or {@code 0} if not limited
+	 * 
+	 * @see ReasonerConfiguration#CHANGE_WINDOW_SIZE
+	 */
+	private final int changeWindowSize_;
+	/**
+	 * {@code true} if the reasoner has not been notified about the buffered
+	 * changes yet because the change window is open
+	 */
+	private final AtomicBoolean flushDeferred_ = new AtomicBoolean(false);
+	/**
+	 * runs the processing of the buffered changes when the change window
+	 * closes; created when used for the first time
+	 */
+	private ScheduledExecutorService changeWindowTimer_ = null;
+	/**
+	 * the next scheduled check of the change window or {@code null}
+	 */
+	private ScheduledFuture<?> changeWindowCheck_ = null;
 
 	ElkReasoner(OWLOntology ontology, boolean isBufferingMode,
 			ElkReasonerConfiguration elkConfig,
@@ -164,10 +210,13 @@ public class ElkReasoner implements OWLReasoner {
 		this.config_ = elkConfig.getElkConfiguration();
 		this.stageExecutor_ = stageExecutor;
 		this.isAllowFreshEntities = elkConfig.getFreshEntityPolicy() == FreshEntityPolicy.ALLOW;
+		this.changeWindowDelay_ = config_
+				.getParameterAsInt(ReasonerConfiguration.CHANGE_WINDOW_DELAY);
+		this.changeWindowSize_ = config_
+				.getParameterAsInt(ReasonerConfiguration.CHANGE_WINDOW_SIZE);
 
 		reCreateReasoner();
-		this.bufferedChangesLoader_ = new OwlChangesLoader(
-				this.mainProgressMonitor_);
+		this.bufferedChangesLoader_ = newChangesLoader(mainProgressMonitor_);
 		if (!isBufferingMode_) {
 			// register the change loader only in non-buffering mode;
 			// in buffering mode the loader is registered only when
@@ -217,6 +266,17 @@ public class ElkReasoner implements OWLReasoner {
 		this.reasoner_.setProgressMonitor(this.secondaryProgressMonitor_);
 	}
 
+	/**
+	 * @param progressMonitor
+	 * @return a new {@link OwlChangesLoader} for buffering the changes within
+	 *         the configured change window; in buffering mode, it also records
+	 *         the changes for {@link #getPendingChanges()}
+	 */
+	private OwlChangesLoader newChangesLoader(ProgressMonitor progressMonitor) {
+		return new OwlChangesLoader(progressMonitor, changeWindowSize_,
+				changeWindowDelay_, TimeUnit.MILLISECONDS, isBufferingMode_);
+	}
+
 	/**
 	 * Exposes the ELK reasoner used internally in this OWL API wrapper.
 	 */
@@ -293,6 +353,85 @@ public class ElkReasoner implements OWLReasoner {
 			throw new ReasonerInterruptedException("ELK was interrupted");
 	}
 
+	/**
+	 * Notifies the reasoner about the changes buffered while the change
+	 * window is open, so that they are taken into account by the next query
+	 */
+	private void flushDeferredChanges() {
+		if (flushDeferred_.compareAndSet(true, false))
+			flushChanges();
+	}
+
+	/**
+	 * Defers notifying the reasoner about the registered changes until the
+	 * change window closes or the reasoner is queried
+	 */
+	private void deferFlush() {
+		flushDeferred_.set(true);
+		scheduleChangeWindowCheck(bufferedChangesLoader_
+				.getRemainingDelay(TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Schedules {@link #checkChangeWindow()} after the given delay, replacing
+	 * the previously scheduled check, so that the check is performed only
+	 * after the last change in a burst
+	 * 
+	 * @param delay
+	 *            the delay in milliseconds
+	 */
+	private synchronized void scheduleChangeWindowCheck(long delay) {
+		if (changeWindowTimer_ == null)
+			changeWindowTimer_ = Executors
+					.newSingleThreadScheduledExecutor(new ThreadFactory() {
+						@Override
+						public Thread newThread(Runnable job) {
+							Thread result = new Thread(job,
+									"elk-change-window");
+							result.setDaemon(true);
+							return result;
+						}
+					});
+		if (changeWindowCheck_ != null)
+			changeWindowCheck_.cancel(false);
+		changeWindowCheck_ = changeWindowTimer_.schedule(new Runnable() {
+			@Override
+			public void run() {
+				checkChangeWindow();
+			}
+		}, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Starts processing the buffered changes in one incremental round in the
+	 * background if the change window has closed and the changes have not
+	 * been processed by a query already
+	 */
+	private void checkChangeWindow() {
+		if (!flushDeferred_.get())
+			return;
+		// else
+		long remainingDelay = bufferedChangesLoader_
+				.getRemainingDelay(TimeUnit.MILLISECONDS);
+		if (remainingDelay > 0) {
+			scheduleChangeWindowCheck(remainingDelay);
+			return;
+		}
+		// else
+		try {
+			if (flushDeferred_.compareAndSet(true, false)
+					&& !bufferedChangesLoader_.isLoadingFinished())
+				flushAsync();
+		} catch (RuntimeException e) {
+			LOGGER_.error("Cannot process the buffered changes", e);
+		}
+	}
+
+	private synchronized void stopChangeWindowTimer() {
+		if (changeWindowTimer_ != null)
+			changeWindowTimer_.shutdownNow();
+	}
+
 	/* Methods required by the OWLReasoner interface */
 
 	@Override
@@ -303,6 +442,7 @@ public class ElkReasoner implements OWLReasoner {
 				.removeOntologyChangeListener(ontologyChangeListener_);
 		owlOntologymanager_
 				.removeOntologyChangeProgessListener(ontologyChangeProgressListener_);
+		stopChangeWindowTimer();
 		try {
 			for (;;) {
 				try {
@@ -324,33 +464,69 @@ public class ElkReasoner implements OWLReasoner {
 		LOGGER_.debug("flush()");
 
 		checkInterrupted();
+		flushChanges();
+	}
 
+	/**
+	 * Passes the buffered changes to the reasoner, or re-creates the reasoner
+	 * if the ontology should be reloaded. This method is synchronized with the
+	 * registration of changes, so that the changes flushed by the change window
+	 * timer and by the client threads are neither lost nor mixed up. The
+	 * changes are passed without waiting for the reasoner, so the lock is never
+	 * held during reasoning.
+	 * 
+	 * @return the reasoner to which the changes have been passed
+	 */
+	private synchronized Reasoner flushChanges() {
 		try {
 			if (ontologyReloadRequired_) {
 				reCreateReasoner();
-				bufferedChangesLoader_ = new OwlChangesLoader(
-						this.secondaryProgressMonitor_);
+				bufferedChangesLoader_ = newChangesLoader(secondaryProgressMonitor_);
 				ontologyReloadRequired_ = false;
 			} else if (!bufferedChangesLoader_.isLoadingFinished()) {
 				// there is something new in the buffer
+				// the reasoner picks up the changes when the next reasoning
+				// task starts; this way the reasoner is notified without
+				// waiting for a running background classification
 				if (isBufferingMode_) {
 					// in buffering mode, new changes need to be buffered
 					// separately in order not to mix with the old changes
 					// so, we need to register the buffer with the reasoner
 					// and create a new one
-					reasoner_.registerAxiomLoader(bufferedChangesLoader_);
-					bufferedChangesLoader_ = new OwlChangesLoader(
-							this.secondaryProgressMonitor_);
+					reasoner_.registerAxiomLoaderAsync(bufferedChangesLoader_);
+					bufferedChangesLoader_ = newChangesLoader(secondaryProgressMonitor_);
 				} else {
 					// in non-buffering node the changes loader is already
 					// registered, so we just need to
 					// notify the reasoner about new axioms
-					reasoner_.resetAxiomLoading();
+					reasoner_.resetAxiomLoadingAsync();
 				}
 			}
 		} catch (ElkRuntimeException e) {
 			throw elkConverter_.convert(e);
 		}
+		return reasoner_;
+	}
+
+	/**
+	 * Flushes the pending changes like {@link #flush()} and starts the
+	 * classification of the resulting ontology in the background, without
+	 * waiting until it is finished; if a background classification is running,
+	 * this method does not wait for it either, and the changes are processed by
+	 * the next one. Until then, the previously computed class taxonomy can be
+	 * read from {@link Reasoner#getTaxonomyVersion()} of the
+	 * {@link #getInternalReasoner()}.
+	 * 
+	 * @return the {@link Future} with the {@link TaxonomyVersion} computed
+	 *         for the ontology
+	 * 
+	 * @see Reasoner#classifyAsync()
+	 */
+	public Future<TaxonomyVersion<ElkClass>> flushAsync() {
+		LOGGER_.debug("flushAsync()");
+
+		checkInterrupted();
+		return flushChanges().classifyAsync();
 	}
 
 	@Override
@@ -358,6 +534,7 @@ public class ElkReasoner implements OWLReasoner {
 		LOGGER_.debug("getBottomClassNode()");
 
 		checkInterrupted();
+		flushDeferredChanges();
 
 		try {
 			return getClassNode(objectFactory_.getOwlNothing());
@@ -476,6 +653,7 @@ public class ElkReasoner implements OWLReasoner {
 		LOGGER_.debug("getEquivalentClasses(OWLClassExpression)");
 
 		checkInterrupted();
+		flushDeferredChanges();
 		try {
 			return elkConverter_.convertClassNode(reasoner_
 					.getEquivalentClasses(owlConverter_.convert(ce)));
@@ -536,6 +714,7 @@ public class ElkReasoner implements OWLReasoner {
 		LOGGER_.debug("getInstances(OWLClassExpression, boolean)");
 
 		checkInterrupted();
+		flushDeferredChanges();
 		try {
 			return elkConverter_.convertIndividualNodes(reasoner_.getInstances(
 					owlConverter_.convert(ce), direct));
@@ -609,6 +788,12 @@ public class ElkReasoner implements OWLReasoner {
 		return bufferedChangesLoader_.getPendingAxiomRemovals();
 	}
 
+	/**
+	 * In buffering mode, the changes are returned in the order in which they
+	 * were made, including the additions and removals of the same axioms that
+	 * cancel each other. In non-buffering mode, only the net changes that
+	 * are not yet loaded are returned, in no particular order.
+	 */
 	@Override
 	public List<OWLOntologyChange> getPendingChanges() {
 		LOGGER_.debug("getPendingChanges()");
@@ -673,6 +858,7 @@ public class ElkReasoner implements OWLReasoner {
 			ClassExpressionNotInProfileException {
 		LOGGER_.debug("getSubClasses(OWLClassExpression, boolean)");
 		checkInterrupted();
+		flushDeferredChanges();
 		try {
 			return elkConverter_.convertClassNodes(reasoner_.getSubClasses(
 					owlConverter_.convert(ce), direct));
@@ -716,6 +902,7 @@ public class ElkReasoner implements OWLReasoner {
 			ReasonerInterruptedException, TimeOutException {
 		LOGGER_.debug("getSuperClasses(OWLClassExpression, boolean)");
 		checkInterrupted();
+		flushDeferredChanges();
 		try {
 			return elkConverter_.convertClassNodes(reasoner_.getSuperClasses(
 					owlConverter_.convert(ce), direct));
@@ -730,6 +917,126 @@ public class ElkReasoner implements OWLReasoner {
 		}
 	}
 
+	/**
+	 * Gets the sets of (direct or indirect) subclasses of each of the given
+	 * {@link OWLClass}es. This is more efficient than calling
+	 * {@link #getSubClasses(OWLClassExpression, boolean)} for each class
+	 * since the reasoner checks its state only once and the computation of
+	 * indirect subclasses and the conversion of the results are shared
+	 * between the classes.
+	 * 
+	 * @param classes
+	 *            the {@link OWLClass}es for which to return the subclasses
+	 * @param direct
+	 *            if {@code true}, only direct subclasses are returned
+	 * @return the map from the given {@link OWLClass}es to the sets of the
+	 *         {@link Node}s of their subclasses
+	 */
+	public Map<OWLClass, NodeSet<OWLClass>> getSubClasses(
+			Collection<OWLClass> classes, boolean direct)
+			throws ReasonerInterruptedException, TimeOutException,
+			FreshEntitiesException, InconsistentOntologyException {
+		LOGGER_.debug("getSubClasses(Collection<OWLClass>, boolean)");
+		checkInterrupted();
+		flushDeferredChanges();
+		try {
+			List<OWLClass> owlClasses = new ArrayList<OWLClass>(classes);
+			return elkConverter_.convertClassNodes(owlClasses,
+					reasoner_.getSubClasses(convertClasses(owlClasses), direct));
+		} catch (ElkUnsupportedReasoningTaskException e) {
+			throw unsupportedOwlApiMethod(
+					"getSubClasses(Collection<OWLClass>, boolean)",
+					e.getMessage());
+		} catch (ElkException e) {
+			throw elkConverter_.convert(e);
+		} catch (ElkRuntimeException e) {
+			throw elkConverter_.convert(e);
+		}
+	}
+
+	/**
+	 * Gets the sets of (direct or indirect) superclasses of each of the given
+	 * {@link OWLClass}es, like {@link #getSubClasses(Collection, boolean)}
+	 * does for subclasses.
+	 * 
+	 * @param classes
+	 *            the {@link OWLClass}es for which to return the superclasses
+	 * @param direct
+	 *            if {@code true}, only direct superclasses are returned
+	 * @return the map from the given {@link OWLClass}es to the sets of the
+	 *         {@link Node}s of their superclasses
+	 */
+	public Map<OWLClass, NodeSet<OWLClass>> getSuperClasses(
+			Collection<OWLClass> classes, boolean direct)
+			throws ReasonerInterruptedException, TimeOutException,
+			FreshEntitiesException, InconsistentOntologyException {
+		LOGGER_.debug("getSuperClasses(Collection<OWLClass>, boolean)");
+		checkInterrupted();
+		flushDeferredChanges();
+		try {
+			List<OWLClass> owlClasses = new ArrayList<OWLClass>(classes);
+			return elkConverter_.convertClassNodes(owlClasses, reasoner_
+					.getSuperClasses(convertClasses(owlClasses), direct));
+		} catch (ElkUnsupportedReasoningTaskException e) {
+			throw unsupportedOwlApiMethod(
+					"getSuperClasses(Collection<OWLClass>, boolean)",
+					e.getMessage());
+		} catch (ElkException e) {
+			throw elkConverter_.convert(e);
+		} catch (ElkRuntimeException e) {
+			throw elkConverter_.convert(e);
+		}
+	}
+
+	/**
+	 * Gets the sets of (direct or indirect) types of each of the given
+	 * {@link OWLNamedIndividual}s, like
+	 * {@link #getSubClasses(Collection, boolean)} does for subclasses.
+	 * 
+	 * @param individuals
+	 *            the {@link OWLNamedIndividual}s for which to return the
+	 *            types
+	 * @param direct
+	 *            if {@code true}, only direct types are returned
+	 * @return the map from the given {@link OWLNamedIndividual}s to the sets
+	 *         of the {@link Node}s of their types
+	 */
+	public Map<OWLNamedIndividual, NodeSet<OWLClass>> getTypes(
+			Collection<OWLNamedIndividual> individuals, boolean direct)
+			throws ReasonerInterruptedException, TimeOutException,
+			FreshEntitiesException, InconsistentOntologyException {
+		LOGGER_.debug("getTypes(Collection<OWLNamedIndividual>, boolean)");
+		checkInterrupted();
+		flushDeferredChanges();
+		try {
+			List<OWLNamedIndividual> owlIndividuals = new ArrayList<OWLNamedIndividual>(
+					individuals);
+			List<ElkNamedIndividual> elkIndividuals = new ArrayList<ElkNamedIndividual>(
+					owlIndividuals.size());
+			for (OWLNamedIndividual owlIndividual : owlIndividuals) {
+				elkIndividuals.add(owlConverter_.convert(owlIndividual));
+			}
+			return elkConverter_.convertClassNodes(owlIndividuals,
+					reasoner_.getTypes(elkIndividuals, direct));
+		} catch (ElkUnsupportedReasoningTaskException e) {
+			throw unsupportedOwlApiMethod(
+					"getTypes(Collection<OWLNamedIndividual>, boolean)",
+					e.getMessage());
+		} catch (ElkException e) {
+			throw elkConverter_.convert(e);
+		} catch (ElkRuntimeException e) {
+			throw elkConverter_.convert(e);
+		}
+	}
+
+	private List<ElkClass> convertClasses(List<OWLClass> owlClasses) {
+		List<ElkClass> result = new ArrayList<ElkClass>(owlClasses.size());
+		for (OWLClass owlClass : owlClasses) {
+			result.add(owlConverter_.convert(owlClass));
+		}
+		return result;
+	}
+
 	@Override
 	public NodeSet<OWLDataProperty> getSuperDataProperties(
 			OWLDataProperty arg0, boolean arg1)
@@ -763,6 +1070,7 @@ public class ElkReasoner implements OWLReasoner {
 	public Node<OWLClass> getTopClassNode() {
 		LOGGER_.debug("getTopClassNode()");
 		checkInterrupted();
+		flushDeferredChanges();
 		try {
 			return getClassNode(objectFactory_.getOwlThing());
 		} catch (ElkUnsupportedReasoningTaskException e) {
@@ -796,6 +1104,7 @@ public class ElkReasoner implements OWLReasoner {
 			ReasonerInterruptedException, TimeOutException {
 		LOGGER_.debug("getTypes(OWLNamedIndividual, boolean)");
 		checkInterrupted();
+		flushDeferredChanges();
 		try {
 			return elkConverter_.convertClassNodes(reasoner_.getTypes(
 					owlConverter_.convert(ind), direct));
@@ -815,6 +1124,7 @@ public class ElkReasoner implements OWLReasoner {
 			InconsistentOntologyException {
 		LOGGER_.debug("getUnsatisfiableClasses()");
 		checkInterrupted();
+		flushDeferredChanges();
 		try {
 			return getClassNode(objectFactory_.getOwlNothing());
 		} catch (ElkUnsupportedReasoningTaskException e) {
@@ -838,6 +1148,7 @@ public class ElkReasoner implements OWLReasoner {
 	public boolean isConsistent() throws ReasonerInterruptedException,
 			TimeOutException {
 		LOGGER_.debug("isConsistent()");
+		flushDeferredChanges();
 		try {
 			return !reasoner_.isInconsistent();
 		} catch (ElkUnsupportedReasoningTaskException e) {
@@ -882,6 +1193,7 @@ public class ElkReasoner implements OWLReasoner {
 	@Override
 	public boolean isPrecomputed(InferenceType inferenceType) {
 		LOGGER_.debug("isPrecomputed(InferenceType)");
+		flushDeferredChanges();
 		if (inferenceType.equals(InferenceType.CLASS_HIERARCHY))
 			return reasoner_.doneTaxonomy();
 		if (inferenceType.equals(InferenceType.CLASS_ASSERTIONS))
@@ -897,6 +1209,7 @@ public class ElkReasoner implements OWLReasoner {
 			InconsistentOntologyException {
 		LOGGER_.debug("isSatisfiable(OWLClassExpression)");
 		checkInterrupted();
+		flushDeferredChanges();
 		try {
 			return reasoner_.isSatisfiable(owlConverter_
 					.convert(classExpression));
@@ -916,6 +1229,7 @@ public class ElkReasoner implements OWLReasoner {
 			InconsistentOntologyException {
 		LOGGER_.debug("precomputeInferences(InferenceType...)");
 		checkInterrupted();
+		flushDeferredChanges();
 		// we use the main progress monitor only here
 		this.reasoner_.setProgressMonitor(this.mainProgressMonitor_);
 		try {
@@ -942,6 +1256,13 @@ public class ElkReasoner implements OWLReasoner {
 		@Override
 		public void ontologiesChanged(List<? extends OWLOntologyChange> changes)
 				throws OWLException {
+			// the changes should not be registered while they are flushed
+			synchronized (ElkReasoner.this) {
+				registerChanges(changes);
+			}
+		}
+
+		private void registerChanges(List<? extends OWLOntologyChange> changes) {
 			Set<OWLOntology> importClosure = null;
 			for (OWLOntologyChange change : changes) {
 				OWLOntology changedOntology = change.getOntology();
@@ -966,8 +1287,13 @@ public class ElkReasoner implements OWLReasoner {
 					bufferedChangesLoader_.registerChange(change);
 				}
 			}
-			if (!isBufferingMode_)
-				flush();
+			if (!isBufferingMode_) {
+				if (changeWindowDelay_ > 0 && !ontologyReloadRequired_)
+					// merge the changes with the subsequent ones
+					deferFlush();
+				else
+					flush();
+			}
 		}
 
 	}
@@ -22,15 +22,18 @@
  */
 package org.semanticweb.elk.owlapi;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.semanticweb.elk.loading.AbstractAxiomLoader;
 import org.semanticweb.elk.loading.AxiomLoader;
+import org.semanticweb.elk.loading.ChangeBuffer;
 import org.semanticweb.elk.loading.ElkLoadingException;
 import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
 import org.semanticweb.elk.owlapi.wrapper.OwlConverter;
@@ -56,45 +59,89 @@ public class OwlChangesLoader extends AbstractAxiomLoader implements
 
 	private final ProgressMonitor progressMonitor;
 
-	/** list to accumulate the unprocessed changes to the ontology */
-	private final LinkedList<OWLOntologyChange> pendingChanges_;
+	/**
+	 * accumulates the unprocessed changes to the ontology; every change is
+	 * represented by an {@link AddAxiom}, which is counted negatively for a
+	 * {@link RemoveAxiom}, so that the addition and removal of the same axiom
+	 * in the same ontology cancel each other
+	 */
+	private final ChangeBuffer<AddAxiom> pendingChanges_;
+
+	/**
+	 * the last registered change that is not an axiom change, or {@code null}
+	 * if there is no such change
+	 */
+	private OWLOntologyChange nonAxiomChange_ = null;
+
+	/**
+	 * the registered changes in the order of registration, including the
+	 * cancelled ones, or {@code null} if the changes are not recorded
+	 */
+	private final List<OWLOntologyChange> registeredChanges_;
+
+	/**
+	 * Creates an {@link OwlChangesLoader} that buffers the changes within the
+	 * given window, see {@link ChangeBuffer}
+	 * 
+	 * @param progressMonitor
+	 * @param windowSize
+	 * @param windowDelay
+	 * @param unit
+	 * @param recordChanges
+	 *            if {@code true}, the registered changes are also recorded
+	 *            as they are, so that {@link #getPendingChanges()} returns
+	 *            them in the order of registration
+	 */
+	OwlChangesLoader(ProgressMonitor progressMonitor, int windowSize,
+			long windowDelay, TimeUnit unit, boolean recordChanges) {
+		this.progressMonitor = progressMonitor;
+		this.pendingChanges_ = new ChangeBuffer<AddAxiom>(windowSize,
+				windowDelay, unit);
+		this.registeredChanges_ = recordChanges ? new ArrayList<OWLOntologyChange>()
+				: null;
+	}
 
 	OwlChangesLoader(ProgressMonitor progressMonitor) {
-		this.progressMonitor = progressMonitor;
-		this.pendingChanges_ = new LinkedList<OWLOntologyChange>();
+		this(progressMonitor, 0, 0, TimeUnit.MILLISECONDS, false);
 	}
 
 	@Override
 	public synchronized void load(final ElkAxiomProcessor axiomInserter,
 			final ElkAxiomProcessor axiomDeleter) throws ElkLoadingException {
+		if (nonAxiomChange_ != null) {
+			ElkLoadingException exception = new ElkLoadingException(
+					"Cannot apply non-axiom change!");
+			LOGGER_.error(exception.getMessage(), exception);
+			throw exception;
+		}
 		if (!pendingChanges_.isEmpty()) {
 			String status = "Loading of Changes";
 			progressMonitor.start(status);
 			int changesCount = pendingChanges_.size();
-			
+
 			LOGGER_.trace("{}: {}", status, changesCount);
-			
+
+			OwlOntologyChangeProcessorVisitor changeProcessor = new OwlOntologyChangeProcessorVisitor(
+					axiomInserter, axiomDeleter);
 			int currentAxiom = 0;
 			for (;;) {
 				if (isInterrupted())
 					break;
-				OWLOntologyChange change = pendingChanges_.poll();
-				if (change == null)
+				Map.Entry<AddAxiom, Integer> next = pendingChanges_.poll();
+				if (next == null)
 					break;
-				if (!change.isAxiomChange()) {
-					ElkLoadingException exception = new ElkLoadingException(
-							"Cannot apply non-axiom change!");
-					LOGGER_.error(exception.getMessage(), exception);
-					throw exception;
-				}
-
-				ElkLoadingException error = change
-						.accept(new OwlOntologyChangeProcessorVisitor(
-								axiomInserter, axiomDeleter));
-
-				if (error != null) {
-					LOGGER_.error(error.getMessage(), error);
-					throw error;
+				AddAxiom addition = next.getKey();
+				int count = next.getValue();
+				OWLOntologyChange change = count > 0 ? addition
+						: new RemoveAxiom(addition.getOntology(),
+								addition.getAxiom());
+				for (int i = Math.abs(count); i > 0; i--) {
+					ElkLoadingException error = change.accept(changeProcessor);
+
+					if (error != null) {
+						LOGGER_.error(error.getMessage(), error);
+						throw error;
+					}
 				}
 
 				currentAxiom++;
@@ -102,24 +149,59 @@ public class OwlChangesLoader extends AbstractAxiomLoader implements
 			}
 			progressMonitor.finish();
 		}
+		if (registeredChanges_ != null && pendingChanges_.isEmpty())
+			registeredChanges_.clear();
 	}
 
 	@Override
 	public synchronized boolean isLoadingFinished() {
-		return pendingChanges_.isEmpty();
+		return pendingChanges_.isEmpty() && nonAxiomChange_ == null;
 	}
 
 	synchronized void registerChange(OWLOntologyChange change) {
 		LOGGER_.trace("Registering change: {}", change);
 
-		pendingChanges_.add(change);
+		if (registeredChanges_ != null)
+			registeredChanges_.add(change);
+		boolean cancelled;
+		if (change instanceof AddAxiom)
+			cancelled = pendingChanges_.add((AddAxiom) change);
+		else if (change instanceof RemoveAxiom)
+			cancelled = pendingChanges_.remove(new AddAxiom(change
+					.getOntology(), change.getAxiom()));
+		else {
+			nonAxiomChange_ = change;
+			return;
+		}
+		if (cancelled)
+			LOGGER_.trace("Cancelled with a pending change: {}", change);
+	}
+
+	/**
+	 * @return {@code true} if the changes registered so far should be
+	 *         processed according to the window of the {@link ChangeBuffer}
+	 * @see ChangeBuffer#isWindowClosed()
+	 */
+	boolean isWindowClosed() {
+		return pendingChanges_.isWindowClosed();
+	}
+
+	/**
+	 * @param unit
+	 * @return how long it remains until the window of the
+	 *         {@link ChangeBuffer} closes
+	 * @see ChangeBuffer#getRemainingDelay(TimeUnit)
+	 */
+	long getRemainingDelay(TimeUnit unit) {
+		return pendingChanges_.getRemainingDelay(unit);
 	}
 
 	Set<OWLAxiom> getPendingAxiomAdditions() {
 		Set<OWLAxiom> added = new HashSet<OWLAxiom>();
-		for (OWLOntologyChange change : pendingChanges_) {
-			if (change instanceof AddAxiom) {
-				added.add(change.getAxiom());
+		for (Map.Entry<AddAxiom, Integer> change : pendingChanges_
+				.getPendingChanges().entrySet()) {
+			if (change.getValue() > 0) {
+				added.add(change.getKey().getAxiom());
 			}
 		}
 		return added;
@@ -127,16 +209,37 @@ public class OwlChangesLoader extends AbstractAxiomLoader implements
 
 	Set<OWLAxiom> getPendingAxiomRemovals() {
 		Set<OWLAxiom> removed = new HashSet<OWLAxiom>();
-		for (OWLOntologyChange change : pendingChanges_) {
-			if (change instanceof RemoveAxiom) {
-				removed.add(change.getAxiom());
+		for (Map.Entry<AddAxiom, Integer> change : pendingChanges_
+				.getPendingChanges().entrySet()) {
+			if (change.getValue() < 0) {
+				removed.add(change.getKey().getAxiom());
 			}
 		}
 		return removed;
 	}
 
-	List<OWLOntologyChange> getPendingChanges() {
-		return pendingChanges_;
+	/**
+	 * @return the recorded changes in the order of registration if they are
+	 *         recorded, otherwise the net changes after cancelling the
+	 *         additions and removals of the same axioms, in no particular
+	 *         order
+	 */
+	synchronized List<OWLOntologyChange> getPendingChanges() {
+		if (registeredChanges_ != null)
+			return new ArrayList<OWLOntologyChange>(registeredChanges_);
+		// else
+		List<OWLOntologyChange> result = new ArrayList<OWLOntologyChange>();
+		for (Map.Entry<AddAxiom, Integer> change : pendingChanges_
+				.getPendingChanges().entrySet()) {
+			AddAxiom addition = change.getKey();
+			int count = change.getValue();
+			for (; count > 0; count--)
+				result.add(addition);
+			for (; count < 0; count++)
+				result.add(new RemoveAxiom(addition.getOntology(), addition
+						.getAxiom()));
+		}
+		return result;
 	}
 
 }
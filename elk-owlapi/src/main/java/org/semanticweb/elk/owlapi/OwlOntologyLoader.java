@@ -39,7 +39,10 @@ import org.semanticweb.owlapi.reasoner.ReasonerProgressMonitor;
 
 /**
  * An {@link AxiomLoader} that loads a given {@link OWLOntology} through
- * {@link OwlConverter}.
+ * {@link OwlConverter}. The axioms are loaded by one thread: the conversion
+ * only wraps the {@link OWLAxiom}s, and the expensive processing of the
+ * wrapped axioms is done by the given inserter, which can use several threads
+ * when {@code elk.reasoner.parallel_indexing} is set.
  * 
  * @author "Yevgeny Kazakov"
  * 
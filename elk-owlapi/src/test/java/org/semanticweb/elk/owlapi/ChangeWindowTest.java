@@ -0,0 +1,187 @@
+/*
+ * #%L
+ * ELK OWL API Binding
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.owlapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyVersion;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+
+/**
+ * Tests for buffering of the changes of ontologies in {@link ElkReasoner}
+ * within the change window, see
+ * {@link ReasonerConfiguration#CHANGE_WINDOW_DELAY}
+ */
+public class ChangeWindowTest {
+
+	private static final String PREFIX = "http://www.example.com/main#";
+
+	final OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	final OWLDataFactory dataFactory = manager.getOWLDataFactory();
+
+	final OWLClass X = dataFactory.getOWLClass(IRI.create(PREFIX + "X"));
+	final OWLClass Y = dataFactory.getOWLClass(IRI.create(PREFIX + "Y"));
+	final OWLClass Z = dataFactory.getOWLClass(IRI.create(PREFIX + "Z"));
+
+	private ElkReasoner createReasoner(OWLOntology ontology,
+			boolean isBufferingMode, int windowDelay) {
+		ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.CHANGE_WINDOW_DELAY,
+				String.valueOf(windowDelay));
+		return new ElkReasoner(ontology, isBufferingMode,
+				new ElkReasonerConfiguration(
+						ElkReasonerConfiguration
+								.getDefaultOwlReasonerConfiguration(null),
+						config));
+	}
+
+	@Test
+	public void testCancelledChanges() throws Exception {
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(X, Y));
+		ElkReasoner reasoner = createReasoner(ontology, true, 0);
+		try {
+			OWLAxiom axiom = dataFactory.getOWLSubClassOfAxiom(Y, Z);
+			manager.addAxiom(ontology, axiom);
+			manager.removeAxiom(ontology, axiom);
+			// the changes are returned in the order in which they were made
+			List<OWLOntologyChange> changes = reasoner.getPendingChanges();
+			assertEquals(2, changes.size());
+			assertTrue(changes.get(0) instanceof AddAxiom);
+			assertTrue(changes.get(1) instanceof RemoveAxiom);
+			// but they cancel each other
+			assertTrue(reasoner.getPendingAxiomAdditions().isEmpty());
+			assertTrue(reasoner.getPendingAxiomRemovals().isEmpty());
+			manager.removeAxiom(ontology,
+					dataFactory.getOWLSubClassOfAxiom(X, Y));
+			manager.addAxiom(ontology, axiom);
+			assertEquals(4, reasoner.getPendingChanges().size());
+			assertEquals(1, reasoner.getPendingAxiomAdditions().size());
+			assertEquals(1, reasoner.getPendingAxiomRemovals().size());
+			reasoner.flush();
+			assertTrue(reasoner.getPendingChanges().isEmpty());
+			assertTrue(reasoner.getSuperClasses(Y, true).containsEntity(Z));
+			assertFalse(reasoner.getSuperClasses(X, true).containsEntity(Y));
+		} finally {
+			reasoner.dispose();
+		}
+	}
+
+	@Test
+	public void testQueryWithinWindow() throws Exception {
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(X, Y));
+		// the window does not close during the test
+		ElkReasoner reasoner = createReasoner(ontology, false, 3600000);
+		try {
+			assertTrue(reasoner.getSuperClasses(X, true).containsEntity(Y));
+			manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(Y, Z));
+			// the buffered changes are taken into account by queries
+			assertTrue(reasoner.getSuperClasses(Y, true).containsEntity(Z));
+			assertTrue(reasoner.getSuperClasses(X, false).containsEntity(Z));
+		} finally {
+			reasoner.dispose();
+		}
+	}
+
+	@Test
+	public void testChangesWhileWindowCloses() throws Exception {
+		OWLOntology ontology = manager.createOntology();
+		// the window closes many times during the test
+		ElkReasoner reasoner = createReasoner(ontology, false, 1);
+		try {
+			OWLAxiom axiomXY = dataFactory.getOWLSubClassOfAxiom(X, Y);
+			OWLAxiom axiomYZ = dataFactory.getOWLSubClassOfAxiom(Y, Z);
+			manager.addAxiom(ontology, axiomXY);
+			for (int i = 0; i < 200; i++) {
+				manager.addAxiom(ontology, axiomYZ);
+				if (i % 2 == 0)
+					Thread.sleep(2);
+				manager.removeAxiom(ontology, axiomYZ);
+			}
+			// no change should be lost
+			assertTrue(reasoner.getSuperClasses(X, true).containsEntity(Y));
+			assertFalse(reasoner.getSuperClasses(X, false).containsEntity(Z));
+		} finally {
+			reasoner.dispose();
+		}
+	}
+
+	@Test
+	public void testBackgroundRound() throws Exception {
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(X, Y));
+		ElkReasoner reasoner = createReasoner(ontology, false, 10);
+		try {
+			ElkObjectFactory factory = new ElkObjectFactoryImpl();
+			ElkClass y = factory.getClass(new ElkFullIri(Y.getIRI()
+					.toString()));
+			ElkClass z = factory.getClass(new ElkFullIri(Z.getIRI()
+					.toString()));
+			manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(X, Z));
+			manager.addAxiom(ontology, dataFactory.getOWLSubClassOfAxiom(Y, Z));
+			// the changes should be processed in the background without
+			// queries
+			long deadline = System.currentTimeMillis() + 30000;
+			for (;;) {
+				TaxonomyVersion<ElkClass> version = reasoner
+						.getInternalReasoner().getTaxonomyVersion();
+				if (version != null) {
+					TaxonomyNode<ElkClass> node = version.getTaxonomy()
+							.getNode(y);
+					if (node != null
+							&& node.getDirectSuperNodes().contains(
+									version.getTaxonomy().getNode(z)))
+						break;
+				}
+				assertTrue("The changes were not processed",
+						System.currentTimeMillis() < deadline);
+				Thread.sleep(10);
+			}
+		} finally {
+			reasoner.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+package org.semanticweb.elk.loading;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Map;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+
+/**
+ * An {@link AxiomLoader} that loads the changes of {@link ElkAxiom}s
+ * accumulated in a {@link ChangeBuffer}. Since an addition and a removal of
+ * the same {@link ElkAxiom} cancel each other in the {@link ChangeBuffer},
+ * such changes never reach the reasoner.
+ */
+public class BufferedChangesLoader extends AbstractAxiomLoader {
+
+	private final ChangeBuffer<ElkAxiom> buffer_;
+
+	public BufferedChangesLoader(ChangeBuffer<ElkAxiom> buffer) {
+		this.buffer_ = buffer;
+	}
+
+	public BufferedChangesLoader() {
+		this(new ChangeBuffer<ElkAxiom>());
+	}
+
+	/**
+	 * @return the {@link ChangeBuffer} from which the changes are loaded
+	 */
+	public ChangeBuffer<ElkAxiom> getBuffer() {
+		return buffer_;
+	}
+
+	/**
+	 * Registers the addition of the given {@link ElkAxiom}
+	 * 
+	 * @param axiom
+	 * @return this {@link BufferedChangesLoader}
+	 */
+	public BufferedChangesLoader add(ElkAxiom axiom) {
+		buffer_.add(axiom);
+		return this;
+	}
+
+	/**
+	 * Registers the removal of the given {@link ElkAxiom}
+	 * 
+	 * @param axiom
+	 * @return this {@link BufferedChangesLoader}
+	 */
+	public BufferedChangesLoader remove(ElkAxiom axiom) {
+		buffer_.remove(axiom);
+		return this;
+	}
+
+	@Override
+	public void load(ElkAxiomProcessor axiomInserter,
+			ElkAxiomProcessor axiomDeleter) throws ElkLoadingException {
+		while (!isInterrupted()) {
+			Map.Entry<ElkAxiom, Integer> change = buffer_.poll();
+			if (change == null)
+				return;
+			// else
+			ElkAxiom axiom = change.getKey();
+			int count = change.getValue();
+			for (; count > 0; count--)
+				axiomInserter.visit(axiom);
+			for (; count < 0; count++)
+				axiomDeleter.visit(axiom);
+		}
+	}
+
+	@Override
+	public boolean isLoadingFinished() {
+		return buffer_.isEmpty();
+	}
+
+}
@@ -0,0 +1,221 @@
+package org.semanticweb.elk.loading;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accumulates additions and removals of objects, e.g., axioms, until they are
+ * processed together. For every object only the net number of its additions
+ * minus removals is kept, so an addition and a removal of the same object
+ * cancel each other and are never processed. The objects are returned by
+ * {@link #poll()} in the order in which they were changed first.
+ * 
+ * The changes are buffered within a window, which closes, see
+ * {@link #isWindowClosed()}, when no new changes have been registered within
+ * the given delay, or when the number of pending changes reaches the given
+ * size. This way, a burst of changes can be processed at once. With the delay
+ * {@code 0}, the window closes as soon as there are pending changes.
+ * 
+ * This class is thread safe.
+ * 
+ * @param <T>
+ *            the type of the changed objects
+ */
+public class ChangeBuffer<T> {
+
+	/**
+	 * the number of additions minus the number of removals of every changed
+	 * object, which is never {@code 0}
+	 */
+	private final Map<T, Integer> netChanges_ = new LinkedHashMap<T, Integer>();
+
+	/**
+	 * the number of pending changes at which the window closes, or {@code 0}
+	 * if it is not limited
+	 */
+	private final int windowSize_;
+
+	/**
+	 * how long, in nanoseconds, the window stays open after the last change
+	 */
+	private final long windowDelay_;
+
+	/**
+	 * the time, in nanoseconds, when the last change was registered
+	 */
+	private long lastChangeTime_;
+
+	/**
+	 * the number of pairs of changes that cancelled each other so far
+	 */
+	private int cancelledCount_ = 0;
+
+	/**
+	 * Creates a {@link ChangeBuffer} with the given window
+	 * 
+	 * @param windowSize
+	 *            the number of pending changes at which the window closes, or
+	 *            {@code 0} if it is not limited
+	 * @param windowDelay
+	 *            how long the window stays open after the last change
+	 * @param unit
+	 *            the time unit of the delay
+	 */
+	public ChangeBuffer(int windowSize, long windowDelay, TimeUnit unit) {
+		this.windowSize_ = windowSize;
+		this.windowDelay_ = unit.toNanos(windowDelay);
+	}
+
+	/**
+	 * Creates a {@link ChangeBuffer} whose window closes as soon as there are
+	 * pending changes
+	 */
+	public ChangeBuffer() {
+		this(0, 0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Registers the addition of the given object
+	 * 
+	 * @param object
+	 * @return {@code true} if this addition cancelled a pending removal of the
+	 *         object
+	 */
+	public boolean add(T object) {
+		return register(object, 1);
+	}
+
+	/**
+	 * Registers the removal of the given object
+	 * 
+	 * @param object
+	 * @return {@code true} if this removal cancelled a pending addition of the
+	 *         object
+	 */
+	public boolean remove(T object) {
+		return register(object, -1);
+	}
+
+	private synchronized boolean register(T object, int change) {
+		lastChangeTime_ = System.nanoTime();
+		Integer previous = netChanges_.get(object);
+		if (previous == null) {
+			netChanges_.put(object, change);
+			return false;
+		}
+		// else
+		int next = previous + change;
+		if (next == 0)
+			netChanges_.remove(object);
+		else
+			netChanges_.put(object, next);
+		if (Math.abs(next) > Math.abs(previous))
+			return false;
+		// else
+		cancelledCount_++;
+		return true;
+	}
+
+	/**
+	 * @return the number of objects with pending changes
+	 */
+	public synchronized int size() {
+		return netChanges_.size();
+	}
+
+	/**
+	 * @return {@code true} if there are no pending changes
+	 */
+	public synchronized boolean isEmpty() {
+		return netChanges_.isEmpty();
+	}
+
+	/**
+	 * @return the number of pairs of an addition and a removal of the same
+	 *         object registered in this {@link ChangeBuffer} that cancelled
+	 *         each other
+	 */
+	public synchronized int getCancelledCount() {
+		return cancelledCount_;
+	}
+
+	/**
+	 * @return {@code true} if there are pending changes and either their
+	 *         number has reached the size of the window or no changes have
+	 *         been registered within the delay of the window
+	 */
+	public synchronized boolean isWindowClosed() {
+		return !netChanges_.isEmpty() && getRemainingDelay() == 0;
+	}
+
+	/**
+	 * @param unit
+	 * @return how long it remains until the window closes if no further
+	 *         changes are registered, provided there are pending changes
+	 */
+	public synchronized long getRemainingDelay(TimeUnit unit) {
+		return unit.convert(getRemainingDelay(), TimeUnit.NANOSECONDS);
+	}
+
+	private long getRemainingDelay() {
+		if (windowSize_ > 0 && netChanges_.size() >= windowSize_)
+			return 0;
+		// else
+		return Math.max(0, windowDelay_
+				- (System.nanoTime() - lastChangeTime_));
+	}
+
+	/**
+	 * Removes the pending change of the object that was changed first
+	 * 
+	 * @return the changed object with the net number of its additions, which
+	 *         is negative if the object was removed more times than added, or
+	 *         {@code null} if there are no pending changes
+	 */
+	public synchronized Map.Entry<T, Integer> poll() {
+		Iterator<Map.Entry<T, Integer>> iterator = netChanges_.entrySet()
+				.iterator();
+		if (!iterator.hasNext())
+			return null;
+		// else
+		Map.Entry<T, Integer> next = iterator.next();
+		iterator.remove();
+		return new AbstractMap.SimpleImmutableEntry<T, Integer>(next.getKey(),
+				next.getValue());
+	}
+
+	/**
+	 * @return a copy of the pending changes, which maps every changed object
+	 *         to the net number of its additions
+	 */
+	public synchronized Map<T, Integer> getPendingChanges() {
+		return new LinkedHashMap<T, Integer>(netChanges_);
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.loading;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import org.semanticweb.elk.io.MappedFileReader;
+import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
+
+/**
+ * An {@link AxiomLoader} which loads ontology from a file that is mapped into
+ * memory, so that the parser reads the characters decoded directly from the
+ * content of the file without copying it into intermediate buffers
+ * 
+ * @see MappedFileReader
+ * 
+ */
+public class Owl2MappedFileLoader extends Owl2StreamLoader {
+
+	public Owl2MappedFileLoader(Owl2ParserFactory parserFactory, File file,
+			Charset charset) throws IOException {
+		super(parserFactory, new MappedFileReader(file, charset));
+	}
+
+	/**
+	 * Creates an {@link Owl2MappedFileLoader} for a UTF-8 encoded file
+	 */
+	public Owl2MappedFileLoader(Owl2ParserFactory parserFactory, File file)
+			throws IOException {
+		super(parserFactory, new MappedFileReader(file));
+	}
+
+}
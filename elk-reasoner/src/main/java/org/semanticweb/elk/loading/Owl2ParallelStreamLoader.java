@@ -0,0 +1,453 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.loading;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.semanticweb.elk.io.MappedFileReader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.iris.ElkPrefix;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.parsing.Owl2Parser;
+import org.semanticweb.elk.owl.parsing.Owl2ParserAxiomProcessor;
+import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+
+/**
+ * An {@link AxiomLoader} which loads an ontology in OWL 2 functional-style
+ * syntax using several parsers concurrently. The input is split into chunks
+ * of consecutive top-level elements of the ontology (usually axioms) of
+ * approximately the given length, which are parsed by independent
+ * {@link Owl2Parser}s created by the given {@link Owl2ParserFactory}. The
+ * prefix declarations of the ontology are parsed before the first chunk and
+ * declared in each of these {@link Owl2Parser}s. The splitting requires only
+ * a simple lexical analysis of the input to recognize parentheses, full IRIs,
+ * quoted strings, and comments.
+ * 
+ * The {@link Owl2Parser}s are used from different threads, so the objects
+ * shared by them, e.g., the factory for ELK objects, should be thread-safe.
+ * The axioms are not necessarily loaded in the order in which they appear in
+ * the input, and the positions in syntax errors are relative to the chunk in
+ * which they were found.
+ * 
+ * @see Owl2StreamLoader
+ * 
+ */
+public class Owl2ParallelStreamLoader extends AbstractAxiomLoader implements
+		AxiomLoader {
+
+	/**
+	 * the default approximate number of characters in chunks
+	 */
+	public static final int DEFAULT_CHUNK_LENGTH = 1 << 20;
+
+	private static final String POISON_CHUNK_ = new String();
+
+	private static final ArrayList<ElkAxiom> POISON_BATCH_ = new ArrayList<ElkAxiom>(
+			1);
+
+	private static final String ONTOLOGY_KEYWORD_ = "Ontology";
+
+	/**
+	 * the states of the lexical analysis used for splitting
+	 */
+	private static final int DEFAULT_ = 0, FULL_IRI_ = 1, QUOTED_STRING_ = 2,
+			ESCAPE_ = 3, COMMENT_ = 4;
+
+	private final Owl2ParserFactory parserFactory_;
+
+	private final Reader reader_;
+
+	private final int chunkLength_;
+
+	private final int batchLength_;
+
+	/**
+	 * the chunks of the input to be parsed
+	 */
+	private final BlockingQueue<String> chunkQueue_;
+
+	/**
+	 * the batches of parsed axioms
+	 */
+	private final BlockingQueue<ArrayList<ElkAxiom>> axiomExchanger_;
+
+	/**
+	 * the prefix declarations of the ontology; filled before the first chunk
+	 * is submitted for parsing
+	 */
+	private final List<ElkPrefix> prefixes_ = new ArrayList<ElkPrefix>();
+
+	private final Thread splitterThread_;
+
+	private final Thread[] parserThreads_;
+
+	/**
+	 * the number of parsers which did not finish parsing yet
+	 */
+	private int runningParsers_;
+
+	private boolean started_;
+
+	private volatile boolean finished_;
+
+	private volatile ElkLoadingException exception;
+
+	public Owl2ParallelStreamLoader(Owl2ParserFactory parserFactory,
+			Reader reader, int parserCount, int chunkLength) {
+		this.parserFactory_ = parserFactory;
+		this.reader_ = reader;
+		this.chunkLength_ = chunkLength;
+		this.batchLength_ = 128;
+		this.chunkQueue_ = new ArrayBlockingQueue<String>(parserCount);
+		this.axiomExchanger_ = new ArrayBlockingQueue<ArrayList<ElkAxiom>>(
+				2 * parserCount);
+		this.splitterThread_ = new Thread(new Splitter(), "elk-splitter-thread");
+		splitterThread_.setDaemon(true);
+		this.parserThreads_ = new Thread[parserCount];
+		for (int i = 0; i < parserCount; i++) {
+			Thread parserThread = new Thread(new ChunkParser(),
+					"elk-parser-thread-" + i);
+			parserThread.setDaemon(true);
+			parserThreads_[i] = parserThread;
+		}
+		this.runningParsers_ = parserCount;
+		this.started_ = false;
+		this.finished_ = false;
+		this.exception = null;
+	}
+
+	public Owl2ParallelStreamLoader(Owl2ParserFactory parserFactory,
+			Reader reader, int parserCount) {
+		this(parserFactory, reader, parserCount, DEFAULT_CHUNK_LENGTH);
+	}
+
+	public Owl2ParallelStreamLoader(Owl2ParserFactory parserFactory,
+			InputStream stream, int parserCount) {
+		this(parserFactory, new InputStreamReader(stream), parserCount);
+	}
+
+	/**
+	 * Creates an {@link Owl2ParallelStreamLoader} for a UTF-8 encoded file,
+	 * which is mapped into memory
+	 * 
+	 * @see MappedFileReader
+	 */
+	public Owl2ParallelStreamLoader(Owl2ParserFactory parserFactory,
+			File file, int parserCount) throws IOException {
+		this(parserFactory, new MappedFileReader(file), parserCount);
+	}
+
+	@Override
+	public synchronized void load(ElkAxiomProcessor axiomInserter,
+			ElkAxiomProcessor axiomDeleter) throws ElkLoadingException {
+		if (finished_)
+			return;
+
+		if (!started_) {
+			splitterThread_.start();
+			for (Thread parserThread : parserThreads_) {
+				parserThread.start();
+			}
+			started_ = true;
+		}
+
+		ArrayList<ElkAxiom> nextBatch;
+
+		for (;;) {
+			if (isInterrupted())
+				break;
+			try {
+				nextBatch = axiomExchanger_.take();
+			} catch (InterruptedException e) {
+				/*
+				 * we don't know for sure why the thread was interrupted, so we
+				 * need to obey; if interrupt was not relevant, the process will
+				 * restart; we need to restore the interrupt status so that the
+				 * called methods know that there was an interrupt
+				 */
+				Thread.currentThread().interrupt();
+				break;
+			}
+			if (nextBatch == POISON_BATCH_) {
+				if (--runningParsers_ == 0) {
+					finished_ = true;
+					break;
+				}
+				// else
+				continue;
+			}
+			for (int i = 0; i < nextBatch.size(); i++) {
+				axiomInserter.visit(nextBatch.get(i));
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	@Override
+	public boolean isLoadingFinished() {
+		return finished_;
+	}
+
+	@Override
+	public synchronized void dispose() {
+		splitterThread_.interrupt();
+		for (Thread parserThread : parserThreads_) {
+			parserThread.interrupt();
+		}
+		try {
+			reader_.close();
+		} catch (IOException e) {
+			exception = new ElkLoadingException(
+					"Cannot close the input stream!", e);
+		}
+		this.chunkQueue_.clear();
+		this.axiomExchanger_.clear();
+	}
+
+	void setException(Throwable e) {
+		if (exception == null)
+			exception = new ElkLoadingException("Cannot load the ontology!", e);
+	}
+
+	/**
+	 * Reads the input and submits the chunks for parsing
+	 * 
+	 * @throws IOException
+	 *             if the input cannot be read
+	 * @throws Owl2ParseException
+	 *             if the prefix declarations cannot be parsed
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the parsers
+	 */
+	void split() throws IOException, Owl2ParseException, InterruptedException {
+		StringBuilder text = new StringBuilder(chunkLength_);
+		char[] buffer = new char[8192];
+		int state = DEFAULT_;
+		int depth = 0;
+		// true if the ontology has been opened
+		boolean ontology = false;
+		int read;
+		for (;;) {
+			if (exception != null)
+				return;
+			// else
+			read = reader_.read(buffer);
+			if (read < 0)
+				break;
+			// else
+			for (int i = 0; i < read; i++) {
+				char c = buffer[i];
+				text.append(c);
+				switch (state) {
+				case FULL_IRI_:
+					if (c == '>')
+						state = DEFAULT_;
+					continue;
+				case QUOTED_STRING_:
+					if (c == '\\')
+						state = ESCAPE_;
+					else if (c == '"')
+						state = DEFAULT_;
+					continue;
+				case ESCAPE_:
+					state = QUOTED_STRING_;
+					continue;
+				case COMMENT_:
+					if (c == '\n' || c == '\r')
+						state = DEFAULT_;
+					continue;
+				default:
+					break;
+				}
+				switch (c) {
+				case '<':
+					state = FULL_IRI_;
+					break;
+				case '"':
+					state = QUOTED_STRING_;
+					break;
+				case '#':
+					state = COMMENT_;
+					break;
+				case '(':
+					if (depth++ == 0 && !ontology && opensOntology(text)) {
+						// the text before the ontology contains only prefixes
+						text.append(')');
+						parsePrefixes(text.toString());
+						ontology = true;
+						text.setLength(0);
+					}
+					break;
+				case ')':
+					depth--;
+					if (!ontology)
+						break;
+					// else
+					if (depth == 0) {
+						// the end of the ontology
+						submit(ONTOLOGY_KEYWORD_ + "(" + text);
+						return;
+					}
+					// else
+					if (depth == 1 && text.length() >= chunkLength_) {
+						// the end of a top-level element
+						submit(ONTOLOGY_KEYWORD_ + "(" + text + ")");
+						text.setLength(0);
+					}
+					break;
+				default:
+					break;
+				}
+			}
+		}
+		/*
+		 * the end of the input is reached before the end of the ontology; the
+		 * rest is parsed as is to report the error
+		 */
+		if (ontology)
+			submit(ONTOLOGY_KEYWORD_ + "(" + text);
+		else
+			parsePrefixes(text.toString());
+	}
+
+	/**
+	 * @param text
+	 * @return {@code true} if the given text ending with an opening
+	 *         parenthesis, opens the ontology
+	 */
+	private static boolean opensOntology(StringBuilder text) {
+		int end = text.length() - 1;
+		while (end > 0 && Character.isWhitespace(text.charAt(end - 1)))
+			end--;
+		int start = end - ONTOLOGY_KEYWORD_.length();
+		if (start < 0)
+			return false;
+		// else
+		for (int i = 0; i < ONTOLOGY_KEYWORD_.length(); i++) {
+			if (text.charAt(start + i) != ONTOLOGY_KEYWORD_.charAt(i))
+				return false;
+		}
+		return start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1));
+	}
+
+	/**
+	 * Parses the given ontology document and records its prefix declarations
+	 */
+	private void parsePrefixes(String document) throws Owl2ParseException {
+		parserFactory_.getParser(new StringReader(document)).accept(
+				new Owl2ParserAxiomProcessor() {
+
+					@Override
+					public void visit(ElkAxiom elkAxiom) {
+						// there should be no axioms
+					}
+
+					@Override
+					public void visit(ElkPrefix elkPrefix) {
+						prefixes_.add(elkPrefix);
+					}
+
+					@Override
+					public void finish() {
+						// nothing to do
+					}
+				});
+	}
+
+	private void submit(String chunk) throws InterruptedException {
+		chunkQueue_.put(chunk);
+	}
+
+	/**
+	 * The worker used to split the input into chunks
+	 * 
+	 */
+	private class Splitter implements Runnable {
+		@Override
+		public void run() {
+			try {
+				split();
+			} catch (InterruptedException e) {
+				// the loader is disposed
+				return;
+			} catch (Throwable e) {
+				setException(e);
+			}
+			try {
+				for (int i = 0; i < parserThreads_.length; i++) {
+					chunkQueue_.put(POISON_CHUNK_);
+				}
+			} catch (InterruptedException e) {
+				// the loader is disposed
+			}
+		}
+	}
+
+	/**
+	 * The worker used to parse the chunks of the input
+	 * 
+	 */
+	private class ChunkParser implements Runnable {
+		@Override
+		public void run() {
+			try {
+				for (;;) {
+					String chunk = chunkQueue_.take();
+					if (chunk == POISON_CHUNK_)
+						break;
+					if (exception != null)
+						// skip the remaining chunks
+						continue;
+					// else
+					Owl2Parser parser = parserFactory_
+							.getParser(new StringReader(chunk));
+					for (ElkPrefix prefix : prefixes_) {
+						parser.declarePrefix(prefix);
+					}
+					try {
+						parser.accept(new Owl2ParserLoader.AxiomInserter(
+								axiomExchanger_, batchLength_));
+					} catch (Throwable e) {
+						setException(e);
+					}
+				}
+				axiomExchanger_.put(POISON_BATCH_);
+			} catch (InterruptedException e) {
+				// the loader is disposed
+			}
+		}
+	}
+
+}
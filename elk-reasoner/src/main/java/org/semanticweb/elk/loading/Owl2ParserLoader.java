@@ -196,7 +196,7 @@ public class Owl2ParserLoader extends AbstractAxiomLoader implements
 	 * @author "Yevgeny Kazakov"
 	 * 
 	 */
-	private static class AxiomInserter implements Owl2ParserAxiomProcessor {
+	static class AxiomInserter implements Owl2ParserAxiomProcessor {
 
 		final private BlockingQueue<ArrayList<ElkAxiom>> axiomBuffer_;
 		private final int batchLength_;
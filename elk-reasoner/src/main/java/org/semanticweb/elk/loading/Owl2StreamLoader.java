@@ -22,29 +22,39 @@
  */
 package org.semanticweb.elk.loading;
 
-import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 
 import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
 
 /**
- * A {@link AxiomLoader} which loads ontology from streams (e.g., backed by
- * files or strings) using a given {@link Owl2ParserFactory}
+ * A {@link AxiomLoader} which loads ontology from streams or readers (e.g.,
+ * backed by files or strings) using a given {@link Owl2ParserFactory}
  * 
  * @author "Yevgeny Kazakov"
  * 
  */
 public class Owl2StreamLoader extends Owl2ParserLoader implements AxiomLoader {
 
-	private final InputStream stream_;
+	/**
+	 * the input to be closed when the parser is disposed
+	 */
+	private final Closeable input_;
 
 	public Owl2StreamLoader(Owl2ParserFactory parserFactory, InputStream stream) {
 		super(parserFactory.getParser(stream));
-		this.stream_ = stream;
+		this.input_ = stream;
+	}
+
+	public Owl2StreamLoader(Owl2ParserFactory parserFactory, Reader reader) {
+		super(parserFactory.getParser(reader));
+		this.input_ = reader;
 	}
 
 	public Owl2StreamLoader(Owl2ParserFactory parserFactory, File file)
@@ -53,14 +63,14 @@ public class Owl2StreamLoader extends Owl2ParserLoader implements AxiomLoader {
 	}
 
 	public Owl2StreamLoader(Owl2ParserFactory parserFactory, String text) {
-		this(parserFactory, new ByteArrayInputStream(text.getBytes()));
+		this(parserFactory, new StringReader(text));
 	}
 
 	@Override
 	public void disposeParserResources() {
 		super.disposeParserResources();
 		try {
-			stream_.close();
+			input_.close();
 		} catch (IOException e) {
 			exception = new ElkLoadingException(
 					"Cannot close the input stream!", e);
@@ -22,7 +22,25 @@
  */
 package org.semanticweb.elk.reasoner;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import org.semanticweb.elk.loading.AbstractAxiomLoader;
@@ -41,19 +59,29 @@ import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
 import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
 import org.semanticweb.elk.owl.util.Comparators;
 import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.config.DeletionStrategy;
+import org.semanticweb.elk.reasoner.config.ExecutionMode;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.OntologyIndex;
 import org.semanticweb.elk.reasoner.stages.AbstractReasonerState;
+import org.semanticweb.elk.reasoner.stages.ElkInterruptedException;
 import org.semanticweb.elk.reasoner.stages.ReasonerStageExecutor;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyVersion;
 import org.semanticweb.elk.reasoner.taxonomy.model.AnonymousNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.FreshInstanceNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.FreshTaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.FreshTypeNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNodeClosures;
 import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ParallelismLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -89,6 +117,32 @@ public class Reasoner extends AbstractReasonerState {
 	 * Number of workers for concurrent jobs.
 	 */
 	private int workerNo_;
+	/**
+	 * the executor in which the taxonomy is computed in the background, see
+	 * {@link #classifyAsync()}; created when used for the first time
+	 */
+	private ExecutorService backgroundExecutor_ = null;
+	/**
+	 * the background classification submitted to {@link #backgroundExecutor_}
+	 * that has not started yet, or {@code null} if there is no such
+	 */
+	private BackgroundClassification pendingClassification_ = null;
+	/**
+	 * used to synchronize access to {@link #backgroundExecutor_} and
+	 * {@link #pendingClassification_}; the methods for background
+	 * classification cannot synchronize on this {@link Reasoner} since they
+	 * should not wait until the current computation is finished
+	 */
+	private final Object backgroundLock_ = new Object();
+	/**
+	 * the job of the background classification
+	 */
+	private final Callable<TaxonomyVersion<ElkClass>> classificationJob_ = new Callable<TaxonomyVersion<ElkClass>>() {
+		@Override
+		public TaxonomyVersion<ElkClass> call() throws ElkException {
+			return computeTaxonomyVersion();
+		}
+	};
 
 	/**
 	 * A factory for creating new {@link ElkObject}s; mainly use for answering
@@ -101,7 +155,7 @@ public class Reasoner extends AbstractReasonerState {
 	 * setting). If false, a {@link ElkFreshEntitiesException} will be thrown
 	 * when encountering entities that did not occur in the ontology.
 	 */
-	protected boolean allowFreshEntities;
+	protected volatile boolean allowFreshEntities;
 
 	/**
 	 * Constructor. In most cases, Reasoners should be created by the
@@ -109,7 +163,7 @@ public class Reasoner extends AbstractReasonerState {
 	 * */
 	protected Reasoner(AxiomLoader axiomLoader,
 			ReasonerStageExecutor stageExecutor, ReasonerConfiguration config) {
-		super(axiomLoader);
+		super(axiomLoader, config);
 
 		this.stageExecutor_ = stageExecutor;
 		this.progressMonitor = new DummyProgressMonitor();
@@ -117,6 +171,7 @@ public class Reasoner extends AbstractReasonerState {
 		setConfigurationOptions(config);
 		this.executor_ = new ComputationExecutor(workerNo_, "elk-reasoner", 1,
 				TimeUnit.SECONDS);
+		configureExecutor(config);
 
 		LOGGER_.info("ELK reasoner was created");
 	}
@@ -183,9 +238,30 @@ public class Reasoner extends AbstractReasonerState {
 				.getParameterAsBoolean(ReasonerConfiguration.INCREMENTAL_MODE_ALLOWED));
 		setAllowIncrementalTaxonomy(config
 				.getParameterAsBoolean(ReasonerConfiguration.INCREMENTAL_TAXONOMY));
+		setParallelIndexing(config
+				.getParameterAsBoolean(ReasonerConfiguration.PARALLEL_INDEXING));
+		setFreezeTaxonomy(config
+				.getParameterAsBoolean(ReasonerConfiguration.FREEZE_TAXONOMY));
+		setDeletionStrategy(DeletionStrategy.valueOf(config
+				.getParameter(ReasonerConfiguration.INCREMENTAL_DELETION)));
 
 		if (executor_ != null) {// could be null during initialization
 			executor_.setPoolSize(workerNo_);
+			configureExecutor(config);
+		}
+	}
+
+	private void configureExecutor(ReasonerConfiguration config) {
+		executor_.setAdaptive(config
+				.getParameterAsBoolean(ReasonerConfiguration.ADAPTIVE_WORKERS));
+		switch (ExecutionMode.valueOf(config
+				.getParameter(ReasonerConfiguration.EXECUTION_MODE))) {
+		case SHARED:
+			executor_.setParallelismLimiter(ParallelismLimiter.getShared(config
+					.getParameterAsInt(ReasonerConfiguration.SHARED_PARALLELISM)));
+			break;
+		default:
+			executor_.setParallelismLimiter(null);
 		}
 	}
 
@@ -204,6 +280,78 @@ public class Reasoner extends AbstractReasonerState {
 		return progressMonitor;
 	}
 
+	/**
+	 * Starts computing the class taxonomy for the current ontology in the
+	 * background, which is either the initial classification or the
+	 * incremental re-classification after changes, and returns immediately.
+	 * The computation runs in a separate thread, one at a time; if the
+	 * previously started computation has not started yet, it will take into
+	 * account all changes made so far and its result is returned. While the
+	 * taxonomy is being computed, the previous version remains available using
+	 * {@link #getTaxonomyVersion()} or {@link #getSnapshotQueryFacade()}. Other
+	 * methods of this {@link Reasoner} wait until the computation is finished,
+	 * except for {@link #registerAxiomLoaderAsync(AxiomLoader)} and
+	 * {@link #resetAxiomLoadingAsync()}, which can be used to pass new changes
+	 * to the next computation. The computation can be stopped
+	 * using {@link #interrupt()}, in which case the result fails with
+	 * {@link ElkInterruptedException}.
+	 * 
+	 * @return the {@link Future} with the {@link TaxonomyVersion} computed
+	 *         for the ontology; if the computation fails, the
+	 *         {@link ElkException} is reported as the cause of the
+	 *         {@link java.util.concurrent.ExecutionException}
+	 * 
+	 * @see #computeTaxonomyVersion()
+	 */
+	public Future<TaxonomyVersion<ElkClass>> classifyAsync() {
+		synchronized (backgroundLock_) {
+			if (pendingClassification_ != null)
+				return pendingClassification_;
+			// else
+			if (backgroundExecutor_ == null)
+				backgroundExecutor_ = Executors
+						.newSingleThreadExecutor(new ThreadFactory() {
+							@Override
+							public Thread newThread(Runnable job) {
+								Thread result = new Thread(job,
+										"elk-reasoner-background");
+								result.setDaemon(true);
+								return result;
+							}
+						});
+			BackgroundClassification classification = new BackgroundClassification();
+			backgroundExecutor_.execute(classification);
+			pendingClassification_ = classification;
+			return classification;
+		}
+	}
+
+	/**
+	 * Stops accepting new background classifications, cancels the one that
+	 * has not started yet, and waits until the running one is finished
+	 * 
+	 * @return {@code true} if no background classification runs after the
+	 *         call
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted
+	 */
+	private boolean shutdownBackground(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		ExecutorService backgroundExecutor;
+		synchronized (backgroundLock_) {
+			backgroundExecutor = backgroundExecutor_;
+			if (backgroundExecutor == null)
+				return true;
+			// else
+			if (pendingClassification_ != null) {
+				pendingClassification_.cancel(false);
+				pendingClassification_ = null;
+			}
+			backgroundExecutor.shutdown();
+		}
+		return backgroundExecutor.awaitTermination(timeout, unit);
+	}
+
 	/**
 	 * Tries to shut down the reasoner within the specified time
 	 * 
@@ -215,9 +363,13 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws InterruptedException
 	 *             if the current thread was interrupted
 	 */
-	public synchronized boolean shutdown(long timeout, TimeUnit unit)
+	public boolean shutdown(long timeout, TimeUnit unit)
 			throws InterruptedException {
-		boolean success = executor_.shutdown(timeout, unit);
+		// the background classification synchronizes on this reasoner
+		boolean success = shutdownBackground(timeout, unit);
+		synchronized (this) {
+			success &= executor_.shutdown(timeout, unit);
+		}
 		if (success) {
 			LOGGER_.info("ELK reasoner has shut down");
 		} else {
@@ -234,10 +386,63 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws InterruptedException
 	 *             if the current thread was interrupted
 	 */
-	public synchronized boolean shutdown() throws InterruptedException {
+	public boolean shutdown() throws InterruptedException {
 		return shutdown(1, TimeUnit.MINUTES);
 	}
 
+	/**
+	 * @return a {@link SnapshotQueryFacade} that answers queries about named
+	 *         classes and individuals of this {@link Reasoner} without
+	 *         synchronizing on this {@link Reasoner}
+	 */
+	public SnapshotQueryFacade getSnapshotQueryFacade() {
+		return new SnapshotQueryFacade(this);
+	}
+
+	/**
+	 * Saves the computed taxonomy to the given file, see
+	 * {@link #saveTaxonomySnapshot(OutputStream)}
+	 * 
+	 * @param file
+	 *            the file to which the taxonomy is written
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void saveTaxonomySnapshot(File file) throws ElkException,
+			IOException {
+		OutputStream output = new BufferedOutputStream(new FileOutputStream(
+				file));
+		try {
+			saveTaxonomySnapshot(output);
+		} finally {
+			output.close();
+		}
+	}
+
+	/**
+	 * Restores the taxonomy saved in the given file, see
+	 * {@link #restoreTaxonomySnapshot(InputStream, ElkObjectFactory)}
+	 * 
+	 * @param file
+	 *            the file from which the taxonomy is read
+	 * @throws ElkException
+	 *             if the axioms cannot be loaded
+	 * @throws IOException
+	 *             if the file cannot be read, contains a damaged taxonomy, or
+	 *             the taxonomy was saved for a different ontology
+	 */
+	public void restoreTaxonomySnapshot(File file) throws ElkException,
+			IOException {
+		InputStream input = new BufferedInputStream(new FileInputStream(file));
+		try {
+			restoreTaxonomySnapshot(input, elkFactory);
+		} finally {
+			input.close();
+		}
+	}
+
 	/**
 	 * Helper method to get a {@link TaxonomyNode} from the taxonomy.
 	 * 
@@ -248,12 +453,18 @@ public class Reasoner extends AbstractReasonerState {
 	 */
 	protected TaxonomyNode<ElkClass> getTaxonomyNode(ElkClass elkClass)
 			throws ElkException {
-		TaxonomyNode<ElkClass> node = getTaxonomy().getNode(elkClass);
+		return getTaxonomyNode(getTaxonomy(), elkClass);
+	}
+
+	private TaxonomyNode<ElkClass> getTaxonomyNode(
+			Taxonomy<ElkClass> taxonomy, ElkClass elkClass)
+			throws ElkFreshEntitiesException {
+		TaxonomyNode<ElkClass> node = taxonomy.getNode(elkClass);
 		if (node != null)
 			return node;
 		// else
 		if (allowFreshEntities)
-			return new FreshTaxonomyNode<ElkClass>(elkClass, getTaxonomy());
+			return new FreshTaxonomyNode<ElkClass>(elkClass, taxonomy);
 		// else
 		throw new ElkFreshEntitiesException(elkClass);
 	}
@@ -268,14 +479,21 @@ public class Reasoner extends AbstractReasonerState {
 	 */
 	protected InstanceNode<ElkClass, ElkNamedIndividual> getInstanceNode(
 			ElkNamedIndividual elkNamedIndividual) throws ElkException {
-		InstanceNode<ElkClass, ElkNamedIndividual> node = getInstanceTaxonomy()
+		return getInstanceNode(getInstanceTaxonomy(), elkNamedIndividual);
+	}
+
+	private InstanceNode<ElkClass, ElkNamedIndividual> getInstanceNode(
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy,
+			ElkNamedIndividual elkNamedIndividual)
+			throws ElkFreshEntitiesException {
+		InstanceNode<ElkClass, ElkNamedIndividual> node = taxonomy
 				.getInstanceNode(elkNamedIndividual);
 		if (node != null)
 			return node;
 		// else
 		if (allowFreshEntities)
 			return new FreshInstanceNode<ElkClass, ElkNamedIndividual>(
-					elkNamedIndividual, getInstanceTaxonomy());
+					elkNamedIndividual, taxonomy);
 		// else
 		throw new ElkFreshEntitiesException(elkNamedIndividual);
 	}
@@ -322,6 +540,10 @@ public class Reasoner extends AbstractReasonerState {
 			return getTaxonomyNode((ElkClass) classExpression);
 		}
 		// else
+		TaxonomyNode<ElkClass> result = computeClassExpressionNode(classExpression);
+		if (result != null)
+			return result;
+		// else
 		ElkClass queryClass = elkFactory.getClass(new ElkFullIri(
 				OwlFunctionalStylePrinter.toString(classExpression)));
 		ElkAxiom materializedQuery = elkFactory.getEquivalentClassesAxiom(
@@ -350,10 +572,12 @@ public class Reasoner extends AbstractReasonerState {
 		// else
 		ElkClass queryClass = elkFactory.getClass(new ElkFullIri(
 				OwlFunctionalStylePrinter.toString(classExpression)));
-		ElkAxiom materializedQuery = elkFactory.getEquivalentClassesAxiom(
-				queryClass, classExpression);
-		Node<ElkClass> queryNode = getQueryTaxonomyNode(queryClass,
-				materializedQuery);
+		Node<ElkClass> queryNode = computeClassExpressionNode(classExpression);
+		if (queryNode == null) {
+			ElkAxiom materializedQuery = elkFactory.getEquivalentClassesAxiom(
+					queryClass, classExpression);
+			queryNode = getQueryTaxonomyNode(queryClass, materializedQuery);
+		}
 
 		return new AnonymousNode<ElkClass>(queryClass, queryNode.getMembers(),
 				Comparators.ELK_CLASS_COMPARATOR);
@@ -415,6 +639,134 @@ public class Reasoner extends AbstractReasonerState {
 				.getAllSuperNodes();
 	}
 
+	/**
+	 * Return the (direct or indirect) subclasses of each of the given
+	 * {@link ElkClass}es as specified by the parameter. Calling of this method
+	 * may trigger the computation of the taxonomy, if it has not been done
+	 * yet. This method is more efficient than calling
+	 * {@link #getSubClasses(ElkClassExpression, boolean)} for each of the
+	 * classes since the taxonomy is retrieved only once and the computation
+	 * of indirect subclasses is shared between the classes. Equivalent
+	 * classes obtain the same set of {@link Node}s.
+	 * 
+	 * @param classes
+	 *            the {@link ElkClass}es for which to return the subclass
+	 *            {@link Node}s
+	 * @param direct
+	 *            if {@code true}, only direct subclasses should be returned
+	 * @return the list whose element at each position is the set of
+	 *         {@link Node}s for direct or indirect subclasses of the
+	 *         {@link ElkClass} at the same position of the given list
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	public synchronized List<Set<? extends Node<ElkClass>>> getSubClasses(
+			List<? extends ElkClass> classes, boolean direct)
+			throws ElkException {
+		return getRelatedClasses(classes, direct, false);
+	}
+
+	/**
+	 * Return the (direct or indirect) superclasses of each of the given
+	 * {@link ElkClass}es as specified by the parameter, like
+	 * {@link #getSubClasses(List, boolean)} does for subclasses.
+	 * 
+	 * @param classes
+	 *            the {@link ElkClass}es for which to return the superclass
+	 *            {@link Node}s
+	 * @param direct
+	 *            if {@code true}, only direct superclasses should be returned
+	 * @return the list whose element at each position is the set of
+	 *         {@link Node}s for direct or indirect superclasses of the
+	 *         {@link ElkClass} at the same position of the given list
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * @see #getSubClasses(List, boolean)
+	 */
+	public synchronized List<Set<? extends Node<ElkClass>>> getSuperClasses(
+			List<? extends ElkClass> classes, boolean direct)
+			throws ElkException {
+		return getRelatedClasses(classes, direct, true);
+	}
+
+	private List<Set<? extends Node<ElkClass>>> getRelatedClasses(
+			List<? extends ElkClass> classes, boolean direct, boolean up)
+			throws ElkException {
+		Taxonomy<ElkClass> taxonomy = getTaxonomy();
+		TaxonomyNodeClosures<ElkClass> closures = new TaxonomyNodeClosures<ElkClass>();
+		// the results computed for nodes
+		Map<TaxonomyNode<ElkClass>, Set<? extends Node<ElkClass>>> computed = new ArrayHashMap<TaxonomyNode<ElkClass>, Set<? extends Node<ElkClass>>>();
+		List<Set<? extends Node<ElkClass>>> result = new ArrayList<Set<? extends Node<ElkClass>>>(
+				classes.size());
+		for (ElkClass elkClass : classes) {
+			TaxonomyNode<ElkClass> node = getTaxonomyNode(taxonomy, elkClass);
+			Set<? extends Node<ElkClass>> related = computed.get(node);
+			if (related == null) {
+				if (direct)
+					related = up ? node.getDirectSuperNodes() : node
+							.getDirectSubNodes();
+				else
+					related = up ? closures.getAllSuperNodes(node) : closures
+							.getAllSubNodes(node);
+				computed.put(node, related);
+			}
+			result.add(related);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the (direct or indirect) types of each of the given
+	 * {@link ElkNamedIndividual}s. Calling of this method may trigger the
+	 * computation of the realization, if it has not been done yet. Like for
+	 * {@link #getSubClasses(List, boolean)}, the realization is retrieved only
+	 * once and the computation of indirect types is shared between the
+	 * individuals.
+	 * 
+	 * @param individuals
+	 *            the {@link ElkNamedIndividual}s for which to return the
+	 *            types {@link Node}s
+	 * @param direct
+	 *            if {@code true}, only direct types are returned
+	 * @return the list whose element at each position is the set of
+	 *         {@link Node}s for the direct or indirect types of the
+	 *         {@link ElkNamedIndividual} at the same position of the given
+	 *         list
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	public synchronized List<Set<? extends Node<ElkClass>>> getTypes(
+			List<? extends ElkNamedIndividual> individuals, boolean direct)
+			throws ElkException {
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = getInstanceTaxonomy();
+		TaxonomyNodeClosures<ElkClass> closures = new TaxonomyNodeClosures<ElkClass>();
+		// the results computed for nodes
+		Map<InstanceNode<ElkClass, ElkNamedIndividual>, Set<? extends Node<ElkClass>>> computed = new ArrayHashMap<InstanceNode<ElkClass, ElkNamedIndividual>, Set<? extends Node<ElkClass>>>();
+		List<Set<? extends Node<ElkClass>>> result = new ArrayList<Set<? extends Node<ElkClass>>>(
+				individuals.size());
+		for (ElkNamedIndividual individual : individuals) {
+			InstanceNode<ElkClass, ElkNamedIndividual> node = getInstanceNode(
+					taxonomy, individual);
+			Set<? extends Node<ElkClass>> types = computed.get(node);
+			if (types == null) {
+				if (direct)
+					types = node.getDirectTypeNodes();
+				else {
+					Set<TaxonomyNode<ElkClass>> allTypes = new ArrayHashSet<TaxonomyNode<ElkClass>>();
+					for (TaxonomyNode<ElkClass> type : node
+							.getDirectTypeNodes()) {
+						allTypes.add(type);
+						allTypes.addAll(closures.getAllSuperNodes(type));
+					}
+					types = Collections.unmodifiableSet(allTypes);
+				}
+				computed.put(node, types);
+			}
+			result.add(types);
+		}
+		return result;
+	}
+
 	/**
 	 * Return the (direct or indirect) instances of the given
 	 * {@link ElkClassExpression} as specified by the parameter. The method
@@ -500,11 +852,14 @@ public class Reasoner extends AbstractReasonerState {
 		if (classExpression instanceof ElkClass) {
 			queryNode = getClassNode(classExpression);
 		} else {
-			ElkClass queryClass = elkFactory.getClass(new ElkFullIri(
-					OwlFunctionalStylePrinter.toString(classExpression)));
-			ElkAxiom materializedQuery = elkFactory.getSubClassOfAxiom(
-					queryClass, classExpression);
-			queryNode = getQueryNode(queryClass, materializedQuery);
+			queryNode = computeClassExpressionNode(classExpression);
+			if (queryNode == null) {
+				ElkClass queryClass = elkFactory.getClass(new ElkFullIri(
+						OwlFunctionalStylePrinter.toString(classExpression)));
+				ElkAxiom materializedQuery = elkFactory.getSubClassOfAxiom(
+						queryClass, classExpression);
+				queryNode = getQueryNode(queryClass, materializedQuery);
+			}
 		}
 
 		return !queryNode.getMembers().contains(PredefinedElkClass.OWL_NOTHING);
@@ -566,11 +921,14 @@ public class Reasoner extends AbstractReasonerState {
 
 		boolean oldIsAllowIncrementalMode = isAllowIncrementalMode();
 		setAllowIncrementalMode(true);
+		// the taxonomy with the query class should not be published
+		boolean oldSnapshotsSuspended = setSnapshotsSuspended(true);
 		registerAxiomLoader(getQueryLoader(materializedQuery, true));
 		try {
 			return getClassNode(queryClass);
 		} finally {
 			registerAxiomLoader(getQueryLoader(materializedQuery, false));
+			setSnapshotsSuspended(oldSnapshotsSuspended);
 			setAllowIncrementalMode(oldIsAllowIncrementalMode);
 		}
 	}
@@ -595,11 +953,14 @@ public class Reasoner extends AbstractReasonerState {
 
 		boolean oldIsAllowIncrementalMode = isAllowIncrementalMode();
 		setAllowIncrementalMode(true);
+		// the taxonomy with the query class should not be published
+		boolean oldSnapshotsSuspended = setSnapshotsSuspended(true);
 		registerAxiomLoader(getQueryLoader(materializedQuery, true));
 		try {
 			return getTypeNode(queryClass);
 		} finally {
 			registerAxiomLoader(getQueryLoader(materializedQuery, false));
+			setSnapshotsSuspended(oldSnapshotsSuspended);
 			setAllowIncrementalMode(oldIsAllowIncrementalMode);
 		}
 	}
@@ -623,13 +984,39 @@ public class Reasoner extends AbstractReasonerState {
 
 		boolean oldIsAllowIncrementalMode = isAllowIncrementalMode();
 		setAllowIncrementalMode(true);
+		// the taxonomy with the query class should not be published
+		boolean oldSnapshotsSuspended = setSnapshotsSuspended(true);
 		registerAxiomLoader(getQueryLoader(materializedQuery, true));
 		try {
 			return getTaxonomyNode(queryClass);
 		} finally {
 			registerAxiomLoader(getQueryLoader(materializedQuery, false));
+			setSnapshotsSuspended(oldSnapshotsSuspended);
 			setAllowIncrementalMode(oldIsAllowIncrementalMode);
 		}
 	}
 
+	/**
+	 * A background computation of the class taxonomy, see
+	 * {@link Reasoner#classifyAsync()}
+	 */
+	private class BackgroundClassification extends
+			FutureTask<TaxonomyVersion<ElkClass>> {
+
+		BackgroundClassification() {
+			super(classificationJob_);
+		}
+
+		@Override
+		public void run() {
+			synchronized (backgroundLock_) {
+				// the changes made from now on are not taken into account
+				if (pendingClassification_ == this)
+					pendingClassification_ = null;
+			}
+			super.run();
+		}
+
+	}
+
 }
@@ -22,8 +22,10 @@
  */
 package org.semanticweb.elk.reasoner;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,9 +69,9 @@ public class ReasonerComputationWithInputs<I, F extends InputProcessorFactory<I,
 	 */
 	private int progress;
 	/**
-	 * next input to be submitted
+	 * the next inputs to be submitted
 	 */
-	I nextInput;
+	private List<I> nextInputs_;
 
 	public ReasonerComputationWithInputs(Collection<? extends I> inputs,
 			F inputProcessorFactory, ComputationExecutor executor,
@@ -79,7 +81,7 @@ public class ReasonerComputationWithInputs<I, F extends InputProcessorFactory<I,
 		this.todo = inputs.iterator();
 		this.maxProgress = inputs.size();
 		this.progress = 0;
-		this.nextInput = null;
+		this.nextInputs_ = null;
 	}
 
 	/**
@@ -97,14 +99,17 @@ public class ReasonerComputationWithInputs<I, F extends InputProcessorFactory<I,
 
 		try {
 			// submit the leftover from the previous run
-			if (nextInput != null) {
-				if (!processNextInput())
+			if (nextInputs_ != null) {
+				if (!processNextInputs())
 					return;
 			}
-			// repeatedly submit the next inputs from todo
+			// repeatedly submit the next batches of inputs from todo
 			while (todo.hasNext()) {
-				nextInput = todo.next();
-				if (!processNextInput())
+				nextInputs_ = new ArrayList<I>(BATCH_SIZE);
+				do {
+					nextInputs_.add(todo.next());
+				} while (nextInputs_.size() < BATCH_SIZE && todo.hasNext());
+				if (!processNextInputs())
 					return;
 			}
 			finish();
@@ -116,17 +121,35 @@ public class ReasonerComputationWithInputs<I, F extends InputProcessorFactory<I,
 		}
 	}
 
-	private boolean processNextInput() throws InterruptedException {
-		if (!submit(nextInput)) {
+	/**
+	 * Print statistics about the workers used by this computation
+	 */
+	public void printStatistics() {
+		if (LOGGER_.isDebugEnabled()) {
+			if (isAdaptive())
+				LOGGER_.debug(
+						"Workers Started+Resumed/Parked: {}+{}/{}, max active: {} of {}",
+						getStartedWorkerCount(), getResumedWorkerCount(),
+						getParkedWorkerCount(), getMaxActiveWorkerCount(),
+						maxWorkers);
+			else
+				LOGGER_.debug("Workers: {}", maxWorkers);
+		}
+	}
+
+	private boolean processNextInputs() throws InterruptedException {
+		// at most BATCH_SIZE inputs are submitted either all or none
+		if (!submitAll(nextInputs_)) {
 			waitWorkers();
 			return false;
 		}
-		nextInput = null;
+		progress += nextInputs_.size();
+		nextInputs_ = null;
 		if (isInterrupted()) {
 			waitWorkers();
 			return false;
 		}
-		progressMonitor.report(++progress, maxProgress);
+		progressMonitor.report(progress, maxProgress);
 		return true;
 	}
 }
@@ -0,0 +1,229 @@
+package org.semanticweb.elk.reasoner;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Set;
+
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
+import org.semanticweb.elk.reasoner.taxonomy.model.FreshInstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.FreshTaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.FreshTypeNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+
+/**
+ * Answers queries about named classes and individuals using the immutable
+ * copies of the taxonomies published by a {@link Reasoner}, see
+ * {@link Reasoner#getTaxonomySnapshot()} and
+ * {@link Reasoner#getInstanceTaxonomySnapshot()}. In contrast to the query
+ * methods of {@link Reasoner}, the methods of this class do not synchronize
+ * on the {@link Reasoner} once the copies are published, so they can be
+ * called concurrently by many threads, also while the {@link Reasoner}
+ * processes changes. The answers are computed for the ontology for which the
+ * taxonomies were computed the last time; the changes take effect once the
+ * {@link Reasoner} recomputes the taxonomies, e.g., by
+ * {@link Reasoner#getTaxonomy()}. If the ontology is inconsistent, all
+ * classes are equivalent to {@code owl:Nothing}.
+ */
+public class SnapshotQueryFacade {
+
+	private final Reasoner reasoner_;
+
+	SnapshotQueryFacade(Reasoner reasoner) {
+		this.reasoner_ = reasoner;
+	}
+
+	/**
+	 * @return the immutable copy of the class taxonomy used for answering the
+	 *         queries
+	 * @throws ElkException
+	 *             if the taxonomy cannot be computed
+	 */
+	public Taxonomy<ElkClass> getTaxonomy() throws ElkException {
+		return reasoner_.getTaxonomySnapshot();
+	}
+
+	/**
+	 * @return the immutable copy of the instance taxonomy used for answering
+	 *         the queries
+	 * @throws ElkException
+	 *             if the taxonomy cannot be computed
+	 */
+	public InstanceTaxonomy<ElkClass, ElkNamedIndividual> getInstanceTaxonomy()
+			throws ElkException {
+		return reasoner_.getInstanceTaxonomySnapshot();
+	}
+
+	/**
+	 * @return {@code true} if the ontology for which the class taxonomy was
+	 *         computed is inconsistent
+	 * @throws ElkException
+	 *             if the taxonomy cannot be computed
+	 */
+	public boolean isInconsistent() throws ElkException {
+		// in consistent ontologies owl:Thing is satisfiable
+		return getTaxonomy().getTopNode().getMembers()
+				.contains(PredefinedElkClass.OWL_NOTHING);
+	}
+
+	/**
+	 * @param elkClass
+	 * @return the {@link TaxonomyNode} for the given {@link ElkClass}
+	 * @throws ElkException
+	 *             if the taxonomy cannot be computed or the {@link ElkClass}
+	 *             does not occur in it and fresh entities are not allowed
+	 * @see Reasoner#getClassNode(org.semanticweb.elk.owl.interfaces.ElkClassExpression)
+	 */
+	public TaxonomyNode<ElkClass> getClassNode(ElkClass elkClass)
+			throws ElkException {
+		Taxonomy<ElkClass> taxonomy = getTaxonomy();
+		TaxonomyNode<ElkClass> node = taxonomy.getNode(elkClass);
+		if (node != null)
+			return node;
+		// else
+		if (reasoner_.allowFreshEntities)
+			return new FreshTaxonomyNode<ElkClass>(elkClass, taxonomy);
+		// else
+		throw new ElkFreshEntitiesException(elkClass);
+	}
+
+	/**
+	 * @param elkClass
+	 * @return the {@link Node} of classes equivalent to the given
+	 *         {@link ElkClass}
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * @see Reasoner#getEquivalentClasses(org.semanticweb.elk.owl.interfaces.ElkClassExpression)
+	 */
+	public Node<ElkClass> getEquivalentClasses(ElkClass elkClass)
+			throws ElkException {
+		return getClassNode(elkClass);
+	}
+
+	/**
+	 * @param elkClass
+	 * @param direct
+	 *            if {@code true}, only direct subclasses are returned
+	 * @return the {@link Node}s of direct or indirect subclasses of the given
+	 *         {@link ElkClass}
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * @see Reasoner#getSubClasses(org.semanticweb.elk.owl.interfaces.ElkClassExpression,
+	 *      boolean)
+	 */
+	public Set<? extends Node<ElkClass>> getSubClasses(ElkClass elkClass,
+			boolean direct) throws ElkException {
+		TaxonomyNode<ElkClass> node = getClassNode(elkClass);
+		return direct ? node.getDirectSubNodes() : node.getAllSubNodes();
+	}
+
+	/**
+	 * @param elkClass
+	 * @param direct
+	 *            if {@code true}, only direct superclasses are returned
+	 * @return the {@link Node}s of direct or indirect superclasses of the
+	 *         given {@link ElkClass}
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * @see Reasoner#getSuperClasses(org.semanticweb.elk.owl.interfaces.ElkClassExpression,
+	 *      boolean)
+	 */
+	public Set<? extends Node<ElkClass>> getSuperClasses(ElkClass elkClass,
+			boolean direct) throws ElkException {
+		TaxonomyNode<ElkClass> node = getClassNode(elkClass);
+		return direct ? node.getDirectSuperNodes() : node.getAllSuperNodes();
+	}
+
+	/**
+	 * @param elkClass
+	 * @return {@code true} if the given {@link ElkClass} is satisfiable
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * @see Reasoner#isSatisfiable(org.semanticweb.elk.owl.interfaces.ElkClassExpression)
+	 */
+	public boolean isSatisfiable(ElkClass elkClass) throws ElkException {
+		return !getClassNode(elkClass).getMembers().contains(
+				PredefinedElkClass.OWL_NOTHING);
+	}
+
+	/**
+	 * @param elkClass
+	 * @param direct
+	 *            if {@code true}, only direct instances are returned
+	 * @return the {@link Node}s of direct or indirect instances of the given
+	 *         {@link ElkClass}
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * @see Reasoner#getInstances(org.semanticweb.elk.owl.interfaces.ElkClassExpression,
+	 *      boolean)
+	 */
+	public Set<? extends Node<ElkNamedIndividual>> getInstances(
+			ElkClass elkClass, boolean direct) throws ElkException {
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = getInstanceTaxonomy();
+		TypeNode<ElkClass, ElkNamedIndividual> node = taxonomy
+				.getTypeNode(elkClass);
+		if (node == null) {
+			if (!reasoner_.allowFreshEntities)
+				throw new ElkFreshEntitiesException(elkClass);
+			// else
+			node = new FreshTypeNode<ElkClass, ElkNamedIndividual>(elkClass,
+					taxonomy);
+		}
+		return direct ? node.getDirectInstanceNodes() : node
+				.getAllInstanceNodes();
+	}
+
+	/**
+	 * @param elkNamedIndividual
+	 * @param direct
+	 *            if {@code true}, only direct types are returned
+	 * @return the {@link Node}s of direct or indirect types of the given
+	 *         {@link ElkNamedIndividual}
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * @see Reasoner#getTypes(ElkNamedIndividual, boolean)
+	 */
+	public Set<? extends Node<ElkClass>> getTypes(
+			ElkNamedIndividual elkNamedIndividual, boolean direct)
+			throws ElkException {
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = getInstanceTaxonomy();
+		InstanceNode<ElkClass, ElkNamedIndividual> node = taxonomy
+				.getInstanceNode(elkNamedIndividual);
+		if (node == null) {
+			if (!reasoner_.allowFreshEntities)
+				throw new ElkFreshEntitiesException(elkNamedIndividual);
+			// else
+			node = new FreshInstanceNode<ElkClass, ElkNamedIndividual>(
+					elkNamedIndividual, taxonomy);
+		}
+		return direct ? node.getDirectTypeNodes() : node.getAllTypeNodes();
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.config;
+
+/**
+ * Specifies how the activated contexts are distributed between the workers
+ * during saturation
+ */
+public enum ContextSchedulingStrategy {
+	/**
+	 * all workers take contexts from one shared queue
+	 */
+	SHARED_QUEUE,
+	/**
+	 * every worker has its own queue of contexts and takes contexts from other
+	 * workers when its queue is empty
+	 */
+	WORK_STEALING
+}
@@ -0,0 +1,46 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.config;
+
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
+
+/**
+ * Specifies how the conclusions are deleted when the reasoner is updated
+ * incrementally after removal of axioms
+ */
+public enum DeletionStrategy {
+	/**
+	 * all conclusions that can be derived from the removed axioms are deleted
+	 * and those that are still derivable are derived again
+	 */
+	OVERDELETION,
+	/**
+	 * the derivations of subsumers are counted using
+	 * {@link SubsumerDerivationCounts} and subsumers are deleted only when all
+	 * their counted derivations are lost; other conclusions are deleted like
+	 * for {@link #OVERDELETION}. This strategy is experimental: the
+	 * derivations of links and propagations are not counted, and the counting
+	 * slows down the saturation and needs more memory, so it pays off only
+	 * for deletions that would otherwise cause much re-derivation.
+	 */
+	DERIVATION_COUNTING
+}
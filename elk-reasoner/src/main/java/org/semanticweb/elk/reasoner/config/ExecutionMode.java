@@ -0,0 +1,43 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.config;
+
+import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ParallelismLimiter;
+
+/**
+ * Specifies how the workers of the {@link ComputationExecutor} of a reasoner
+ * are scheduled together with the workers of other reasoners
+ */
+public enum ExecutionMode {
+	/**
+	 * the workers run on the threads of the reasoner independently of other
+	 * reasoners
+	 */
+	DEDICATED,
+	/**
+	 * the workers run only with permits of a {@link ParallelismLimiter} shared
+	 * by all reasoners in this mode, which are given to the reasoners in a
+	 * round-robin fashion
+	 */
+	SHARED
+}
@@ -43,6 +43,28 @@ public class ReasonerConfiguration extends BaseConfiguration {
 	@Parameter(type = "org.semanticweb.elk.reasoner.config.NumberOfWorkers")
 	public static final String NUM_OF_WORKING_THREADS = "elk.reasoner.number_of_workers";
 
+	// if true, stages start with one worker and add workers when needed
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String ADAPTIVE_WORKERS = "elk.reasoner.adaptive_workers";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.ExecutionMode", value = "DEDICATED")
+	public static final String EXECUTION_MODE = "elk.reasoner.execution_mode";
+
+	// the maximal number of workers of all reasoners in the SHARED execution
+	// mode that can run at the same time
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.NumberOfWorkers")
+	public static final String SHARED_PARALLELISM = "elk.reasoner.shared_parallelism";
+
+	// if true, the axioms of the initially loaded ontology are indexed by
+	// several workers
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String PARALLEL_INDEXING = "elk.reasoner.parallel_indexing";
+
+	// if true, the computed class taxonomy is kept in a compact read-only form
+	// until it needs to be updated
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String FREEZE_TAXONOMY = "elk.reasoner.freeze_taxonomy";
+
 	@Parameter(type = "org.semanticweb.elk.reasoner.config.UnsupportedFeatureTreatment", value = "IGNORE")
 	public static final String UNSUPPORTED_FEATURE_TREATMENT = "elk.reasoner.unsupported_feature_treatment";
 	
@@ -52,6 +74,32 @@ public class ReasonerConfiguration extends BaseConfiguration {
 	
 	@Parameter(type = "java.lang.Boolean", value = "true")
 	public static final String INCREMENTAL_MODE_ALLOWED = "elk.reasoner.incremental.allowed";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.DeletionStrategy", value = "OVERDELETION")
+	public static final String INCREMENTAL_DELETION = "elk.reasoner.incremental.deletion";
+
+	// how long, in milliseconds, the changes are buffered after the last
+	// change before they are processed in the background; 0 means that the
+	// changes are processed only when the reasoner is queried
+	@Parameter(type = "java.lang.Integer", value = "0")
+	public static final String CHANGE_WINDOW_DELAY = "elk.reasoner.incremental.window.delay";
+
+	// the number of buffered changes after which they are processed in the
+	// background regardless of the delay; 0 means no limit
+	@Parameter(type = "java.lang.Integer", value = "0")
+	public static final String CHANGE_WINDOW_SIZE = "elk.reasoner.incremental.window.size";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.ContextSchedulingStrategy", value = "SHARED_QUEUE")
+	public static final String CONTEXT_SCHEDULING = "elk.reasoner.saturation.context_scheduling";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.TodoStackType", value = "SYNCHRONIZED")
+	public static final String TODO_STACK = "elk.reasoner.saturation.todo_stack";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.SaturationStateType", value = "REFERENCE")
+	public static final String SATURATION_STATE = "elk.reasoner.saturation.state";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.SubsumerSetType", value = "HASH")
+	public static final String SUBSUMER_SET = "elk.reasoner.saturation.subsumer_set";
 	
 	public final static String REASONER_CONFIG_PREFIX = "elk.reasoner";
 
@@ -0,0 +1,41 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.config;
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.IndexedClassExpressionIdSet;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * Specifies how contexts store their subsumers
+ */
+public enum SubsumerSetType {
+	/**
+	 * {@link IndexedClassExpression}s are stored in {@link ArrayHashSet}s
+	 */
+	HASH,
+	/**
+	 * identifiers of {@link IndexedClassExpression}s are stored in sorted
+	 * arrays or bitmaps, see {@link IndexedClassExpressionIdSet}
+	 */
+	COMPRESSED
+}
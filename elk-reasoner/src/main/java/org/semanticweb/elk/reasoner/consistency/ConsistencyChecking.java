@@ -39,6 +39,7 @@ import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.conclusions.implementation.ContradictionImpl;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationFactory;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
 import org.semanticweb.elk.util.concurrent.computation.Interrupter;
@@ -117,12 +118,40 @@ public class ConsistencyChecking
 			ConsistencyMonitor consistencyMonitor,
 			SaturationState<?> saturationState, ComputationExecutor executor,
 			int maxWorkers, ProgressMonitor progressMonitor) {
+		this(inputEntities, consistencyMonitor,
+				new RuleApplicationAdditionFactory(saturationState), executor,
+				maxWorkers, progressMonitor);
+	}
+
+	/**
+	 * Constructing the object for checking if all given entities are
+	 * consistent using the given {@link RuleApplicationFactory}.
+	 * 
+	 * @param inputEntities
+	 *            the entities to check for consistency
+	 * @param consistencyMonitor
+	 *            the monitor for the consistency status
+	 * @param ruleAppFactory
+	 *            the factory used for computing the saturation of the entities
+	 * @param executor
+	 *            the executor service used for running the tasks by the
+	 *            reasoner
+	 * @param maxWorkers
+	 *            the maximum number of workers that can be used
+	 * @param progressMonitor
+	 *            the monitor for reporting the progress of the computation
+	 */
+	public ConsistencyChecking(Collection<IndexedClassEntity> inputEntities,
+			ConsistencyMonitor consistencyMonitor,
+			RuleApplicationFactory<?> ruleAppFactory,
+			ComputationExecutor executor, int maxWorkers,
+			ProgressMonitor progressMonitor) {
 		this(
 				new TodoJobs(inputEntities, consistencyMonitor),
 				consistencyMonitor,
 				new ClassExpressionSaturationFactory<SaturationJob<IndexedClassEntity>>(
-						new RuleApplicationAdditionFactory(saturationState),
-						maxWorkers, new ThisClassExpressionSaturationListener(
+						ruleAppFactory, maxWorkers,
+						new ThisClassExpressionSaturationListener(
 								consistencyMonitor)), executor, maxWorkers,
 				progressMonitor);
 	}
@@ -191,6 +220,29 @@ public class ConsistencyChecking
 				saturationState, executor, maxWorkers, progressMonitor);
 	}
 
+	/**
+	 * Constructing the object for checking if the given ontology is consistent
+	 * using the given {@link RuleApplicationFactory}
+	 * 
+	 * @param executor
+	 *            the executor service used for running the tasks by the
+	 *            reasoner
+	 * @param maxWorkers
+	 *            the maximum number of workers that can be used
+	 * @param progressMonitor
+	 *            the monitor for reporting the progress of the computation
+	 * @param ontologyIndex
+	 *            the indexed representation of the ontology
+	 * @param ruleAppFactory
+	 *            the factory used for computing the saturation
+	 */
+	public ConsistencyChecking(ComputationExecutor executor, int maxWorkers,
+			ProgressMonitor progressMonitor, OntologyIndex ontologyIndex,
+			RuleApplicationFactory<?> ruleAppFactory) {
+		this(getTestEntities(ontologyIndex), new ConsistencyMonitor(),
+				ruleAppFactory, executor, maxWorkers, progressMonitor);
+	}
+
 	@Override
 	public void process() {
 		consistencyMonitor_.registerInterrupt(ConsistencyChecking.this);
@@ -210,7 +262,9 @@ public class ConsistencyChecking
 	/**
 	 * Print statistics about consistency checking
 	 */
+	@Override
 	public void printStatistics() {
+		super.printStatistics();
 		processorFactory.printStatistics();
 	}
 
@@ -0,0 +1,40 @@
+/**
+ * 
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * A listener which is notified about changes of axioms that modify the
+ * hierarchy or the ranges of properties, but which can still be processed
+ * incrementally by the reasoner
+ * 
+ * @param <T>
+ *            the type of the changes
+ */
+public interface PropertyChangeListener<T> {
+
+	public void notify(T axiom);
+
+}
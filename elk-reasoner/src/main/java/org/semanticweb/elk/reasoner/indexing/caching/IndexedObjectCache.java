@@ -35,6 +35,7 @@ import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedIndividual;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObject;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectProperty;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
 
 /**
  * A container for OWL objects occurring in the ontology, such as class
@@ -95,4 +96,15 @@ public interface IndexedObjectCache {
 	 */
 	public IndexedClass getOwlNothing();
 
+	/**
+	 * @param id
+	 *            a non-negative integer
+	 * @return the {@link IndexedContextRoot} that was assigned the given
+	 *         identifier when added to this {@link IndexedObjectCache}, or
+	 *         {@code null} if there is no such {@link IndexedContextRoot}
+	 * 
+	 * @see IndexedContextRoot#getId()
+	 */
+	public IndexedContextRoot getContextRoot(int id);
+
 }
@@ -61,4 +61,32 @@ public interface ModifiableIndexedObjectCache extends IndexedObjectCache {
 	 */
 	void remove(CachedIndexedObject<?> input);
 
+	/**
+	 * Returns the object whose monitor should be held when looking up, adding,
+	 * or removing the {@link CachedIndexedObject}s structurally equal to the
+	 * given one and when updating their occurrence numbers, if this
+	 * {@link IndexedObjectCache} can be modified by several threads. The same
+	 * object is returned for all structurally equal
+	 * {@link CachedIndexedObject}s, but it can be shared with other
+	 * {@link CachedIndexedObject}s.
+	 * 
+	 * @param input
+	 *            the {@link CachedIndexedObject} to be looked up or modified
+	 * @return the lock for the {@link CachedIndexedObject}s structurally equal
+	 *         to the given one
+	 */
+	Object getLock(CachedIndexedObject<?> input);
+
+	/**
+	 * Makes the {@link IndexedContextRoot}s removed from this
+	 * {@link IndexedObjectCache} no longer accessible by
+	 * {@link #getContextRoot(int)}, so that they are not retained. Until this
+	 * method is called, the removed {@link IndexedContextRoot}s can still be
+	 * found by their identifiers, which is necessary as long as they can
+	 * occur in the contexts of the saturation state, e.g., until the
+	 * conclusions of the removed axioms are deleted. The identifiers of the
+	 * released {@link IndexedContextRoot}s are not reused.
+	 */
+	void releaseRemovedContextRoots();
+
 }
@@ -22,7 +22,9 @@ package org.semanticweb.elk.reasoner.indexing.caching;
  * #L%
  */
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.iris.ElkIri;
@@ -32,14 +34,22 @@ import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedIndividual;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectProperty;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.modifiable.ModifiableIndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.modifiable.ModifiableIndexedRangeFiller;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.collections.entryset.Entry;
-import org.semanticweb.elk.util.collections.entryset.EntryCollection;
+import org.semanticweb.elk.util.collections.entryset.StripedEntryCollection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * An implementation of {@link ModifiableIndexedObjectCache}
+ * An implementation of {@link ModifiableIndexedObjectCache}. The objects are
+ * stored in {@link StripedEntryCollection}s, so that
+ * {@link #resolve(CachedIndexedObject)}, {@link #add(CachedIndexedObject)},
+ * and {@link #remove(CachedIndexedObject)} can be called by several threads
+ * concurrently. The methods returning collections of objects are not
+ * synchronized and should be used only when the cache is not modified.
  * 
  * @author "Yevgeny Kazakov"
  */
@@ -50,36 +60,83 @@ public class ModifiableIndexedObjectCacheImpl implements
 	private static final Logger LOGGER_ = LoggerFactory
 			.getLogger(ModifiableIndexedObjectCacheImpl.class);
 
-	private final EntryCollection<CachedIndexedComplexClassExpression<?>> cachedComplexClassExpressions_;
+	private final StripedEntryCollection<CachedIndexedComplexClassExpression<?>> cachedComplexClassExpressions_;
 
-	private final EntryCollection<CachedIndexedComplexPropertyChain> cachedBinaryPropertyChains_;
+	private final StripedEntryCollection<CachedIndexedComplexPropertyChain> cachedBinaryPropertyChains_;
 
-	private final EntryCollection<CachedIndexedAxiom<?>> cachedAxioms_;
+	private final StripedEntryCollection<CachedIndexedAxiom<?>> cachedAxioms_;
 
-	private final EntryCollection<CachedIndexedClass> cachedClasses_;
+	private final StripedEntryCollection<CachedIndexedClass> cachedClasses_;
 
-	private final EntryCollection<CachedIndexedObjectProperty> cachedObjectProperties_;
+	private final StripedEntryCollection<CachedIndexedObjectProperty> cachedObjectProperties_;
 
-	private final EntryCollection<CachedIndexedIndividual> cachedIndividuals_;
+	private final StripedEntryCollection<CachedIndexedIndividual> cachedIndividuals_;
+
+	/**
+	 * the number of lower bits of structural hash codes that determine the
+	 * lock returned by {@link #getLock(CachedIndexedObject)}
+	 */
+	private static final int LOCK_BITS_ = 8;
+
+	private static final int LOCK_MASK_ = (1 << LOCK_BITS_) - 1;
 
 	private final CachedIndexedObjectFilter resolver_, inserter_, deleter_;
 
+	/**
+	 * the locks for structurally equal {@link CachedIndexedObject}s, see
+	 * {@link #getLock(CachedIndexedObject)}
+	 */
+	private final Object[] locks_;
+
 	private final Entry<CachedIndexedClass, ?> owlThingResolver_,
 			owlNothingResolver_;
 
+	/**
+	 * the identifier to be assigned to the next {@link IndexedContextRoot}
+	 * added to this cache; identifiers are never reused, so that they stay
+	 * valid for the objects removed from the cache that may still have
+	 * contexts assigned
+	 */
+	private int nextContextRootId_ = 0;
+
+	/**
+	 * the {@link IndexedContextRoot}s indexed by their identifiers; the
+	 * positions of the removed {@link IndexedContextRoot}s are cleared by
+	 * {@link #releaseRemovedContextRoots()}; the array is modified only under
+	 * the monitor of this cache, but read by {@link #getContextRoot(int)}
+	 * without locking, so it is replaced by a larger copy when full
+	 */
+	private volatile AtomicReferenceArray<IndexedContextRoot> contextRootsById_ = new AtomicReferenceArray<IndexedContextRoot>(
+			128);
+
+	/**
+	 * the identifiers of the {@link IndexedContextRoot}s removed from this
+	 * cache that can still be found by {@link #getContextRoot(int)}
+	 */
+	private int[] removedContextRootIds_ = new int[16];
+
+	/**
+	 * the number of used positions in {@link #removedContextRootIds_}
+	 */
+	private int removedContextRootCount_ = 0;
+
 	public ModifiableIndexedObjectCacheImpl(int initialSize) {
-		this.cachedComplexClassExpressions_ = new EntryCollection<CachedIndexedComplexClassExpression<?>>(
+		this.cachedComplexClassExpressions_ = new StripedEntryCollection<CachedIndexedComplexClassExpression<?>>(
 				initialSize);
-		this.cachedBinaryPropertyChains_ = new EntryCollection<CachedIndexedComplexPropertyChain>(
+		this.cachedBinaryPropertyChains_ = new StripedEntryCollection<CachedIndexedComplexPropertyChain>(
 				initialSize);
-		this.cachedAxioms_ = new EntryCollection<CachedIndexedAxiom<?>>(
+		this.cachedAxioms_ = new StripedEntryCollection<CachedIndexedAxiom<?>>(
 				initialSize);
-		this.cachedClasses_ = new EntryCollection<CachedIndexedClass>(
+		this.cachedClasses_ = new StripedEntryCollection<CachedIndexedClass>(
 				initialSize);
-		this.cachedObjectProperties_ = new EntryCollection<CachedIndexedObjectProperty>(
+		this.cachedObjectProperties_ = new StripedEntryCollection<CachedIndexedObjectProperty>(
 				initialSize);
-		this.cachedIndividuals_ = new EntryCollection<CachedIndexedIndividual>(
+		this.cachedIndividuals_ = new StripedEntryCollection<CachedIndexedIndividual>(
 				initialSize);
+		this.locks_ = new Object[1 << LOCK_BITS_];
+		for (int i = 0; i < locks_.length; i++) {
+			locks_[i] = new Object();
+		}
 		this.resolver_ = new Resolver_();
 		this.inserter_ = new Inserter_();
 		this.deleter_ = new Deleter_();
@@ -154,6 +211,77 @@ public class ModifiableIndexedObjectCacheImpl implements
 		input.accept(deleter_);
 	}
 
+	@Override
+	public Object getLock(CachedIndexedObject<?> input) {
+		// the cached objects are entries of the striped collections
+		int h = ((Entry<?, ?>) input).structuralHashCode();
+		// the higher bits are mixed in since the lower bits of structural
+		// hash codes may not differ much
+		return locks_[(h ^ (h >>> LOCK_BITS_) ^ (h >>> 2 * LOCK_BITS_))
+				& LOCK_MASK_];
+	}
+
+	@Override
+	public IndexedContextRoot getContextRoot(int id) {
+		AtomicReferenceArray<IndexedContextRoot> roots = contextRootsById_;
+		return id >= 0 && id < roots.length() ? roots.get(id) : null;
+	}
+
+	private void assignId(ModifiableIndexedClassExpression element) {
+		if (element.getId() == IndexedContextRoot.NO_ID)
+			element.setId(registerContextRoot(element));
+	}
+
+	private void assignId(ModifiableIndexedRangeFiller element) {
+		if (element.getId() == IndexedContextRoot.NO_ID)
+			element.setId(registerContextRoot(element));
+	}
+
+	@Override
+	public synchronized void releaseRemovedContextRoots() {
+		for (int i = 0; i < removedContextRootCount_; i++) {
+			contextRootsById_.set(removedContextRootIds_[i], null);
+		}
+		removedContextRootCount_ = 0;
+	}
+
+	/**
+	 * Records that the given {@link IndexedContextRoot} has been removed from
+	 * this cache
+	 * 
+	 * @param root
+	 */
+	private synchronized void retireContextRoot(IndexedContextRoot root) {
+		int id = root.getId();
+		if (id == IndexedContextRoot.NO_ID)
+			return;
+		// else
+		if (removedContextRootCount_ == removedContextRootIds_.length)
+			removedContextRootIds_ = Arrays.copyOf(removedContextRootIds_,
+					removedContextRootCount_ << 1);
+		removedContextRootIds_[removedContextRootCount_++] = id;
+	}
+
+	private <T extends IndexedContextRoot> T retire(T removed) {
+		if (removed != null)
+			retireContextRoot(removed);
+		return removed;
+	}
+
+	private synchronized int registerContextRoot(IndexedContextRoot root) {
+		AtomicReferenceArray<IndexedContextRoot> roots = contextRootsById_;
+		if (nextContextRootId_ == roots.length()) {
+			AtomicReferenceArray<IndexedContextRoot> copy = new AtomicReferenceArray<IndexedContextRoot>(
+					nextContextRootId_ << 1);
+			for (int i = 0; i < nextContextRootId_; i++) {
+				copy.set(i, roots.get(i));
+			}
+			contextRootsById_ = roots = copy;
+		}
+		roots.set(nextContextRootId_, root);
+		return nextContextRootId_++;
+	}
+
 	private class Resolver_ implements CachedIndexedObjectFilter {
 
 		@Override
@@ -220,12 +348,14 @@ public class ModifiableIndexedObjectCacheImpl implements
 
 		@Override
 		public CachedIndexedClass filter(CachedIndexedClass element) {
+			assignId(element);
 			cachedClasses_.addStructural(element);
 			return null;
 		}
 
 		@Override
 		public CachedIndexedIndividual filter(CachedIndexedIndividual element) {
+			assignId(element);
 			cachedIndividuals_.addStructural(element);
 			return null;
 		}
@@ -233,6 +363,7 @@ public class ModifiableIndexedObjectCacheImpl implements
 		@Override
 		public CachedIndexedObjectComplementOf filter(
 				CachedIndexedObjectComplementOf element) {
+			assignId(element);
 			cachedComplexClassExpressions_.addStructural(element);
 			return null;
 		}
@@ -240,6 +371,7 @@ public class ModifiableIndexedObjectCacheImpl implements
 		@Override
 		public CachedIndexedObjectIntersectionOf filter(
 				CachedIndexedObjectIntersectionOf element) {
+			assignId(element);
 			cachedComplexClassExpressions_.addStructural(element);
 			return null;
 		}
@@ -247,6 +379,8 @@ public class ModifiableIndexedObjectCacheImpl implements
 		@Override
 		public CachedIndexedObjectSomeValuesFrom filter(
 				CachedIndexedObjectSomeValuesFrom element) {
+			assignId(element);
+			assignId(element.getRangeFiller());
 			cachedComplexClassExpressions_.addStructural(element);
 			return null;
 		}
@@ -254,6 +388,7 @@ public class ModifiableIndexedObjectCacheImpl implements
 		@Override
 		public CachedIndexedObjectUnionOf filter(
 				CachedIndexedObjectUnionOf element) {
+			assignId(element);
 			cachedComplexClassExpressions_.addStructural(element);
 			return null;
 		}
@@ -261,6 +396,7 @@ public class ModifiableIndexedObjectCacheImpl implements
 		@Override
 		public CachedIndexedDataHasValue filter(
 				CachedIndexedDataHasValue element) {
+			assignId(element);
 			cachedComplexClassExpressions_.addStructural(element);
 			return null;
 		}
@@ -292,42 +428,50 @@ public class ModifiableIndexedObjectCacheImpl implements
 
 		@Override
 		public CachedIndexedClass filter(CachedIndexedClass element) {
-			return cachedClasses_.removeStructural(element);
+			return retire(cachedClasses_.removeStructural(element));
 		}
 
 		@Override
 		public CachedIndexedIndividual filter(CachedIndexedIndividual element) {
-			return cachedIndividuals_.removeStructural(element);
+			return retire(cachedIndividuals_.removeStructural(element));
 		}
 
 		@Override
 		public CachedIndexedObjectComplementOf filter(
 				CachedIndexedObjectComplementOf element) {
-			return cachedComplexClassExpressions_.removeStructural(element);
+			return retire(cachedComplexClassExpressions_
+					.removeStructural(element));
 		}
 
 		@Override
 		public CachedIndexedObjectIntersectionOf filter(
 				CachedIndexedObjectIntersectionOf element) {
-			return cachedComplexClassExpressions_.removeStructural(element);
+			return retire(cachedComplexClassExpressions_
+					.removeStructural(element));
 		}
 
 		@Override
 		public CachedIndexedObjectSomeValuesFrom filter(
 				CachedIndexedObjectSomeValuesFrom element) {
-			return cachedComplexClassExpressions_.removeStructural(element);
+			CachedIndexedObjectSomeValuesFrom removed = retire(cachedComplexClassExpressions_
+					.removeStructural(element));
+			if (removed != null)
+				retireContextRoot(removed.getRangeFiller());
+			return removed;
 		}
 
 		@Override
 		public CachedIndexedObjectUnionOf filter(
 				CachedIndexedObjectUnionOf element) {
-			return cachedComplexClassExpressions_.removeStructural(element);
+			return retire(cachedComplexClassExpressions_
+					.removeStructural(element));
 		}
 
 		@Override
 		public CachedIndexedDataHasValue filter(
 				CachedIndexedDataHasValue element) {
-			return cachedComplexClassExpressions_.removeStructural(element);
+			return retire(cachedComplexClassExpressions_
+					.removeStructural(element));
 		}
 
 		@Override
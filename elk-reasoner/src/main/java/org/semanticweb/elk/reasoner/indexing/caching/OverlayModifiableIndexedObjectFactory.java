@@ -0,0 +1,48 @@
+package org.semanticweb.elk.reasoner.indexing.caching;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+/**
+ * A {@link ResolvingModifiableIndexedObjectFactory} which, in addition, returns
+ * the constructed objects that do not occur in the given
+ * {@link ModifiableIndexedObjectCache}. Such objects are not added to the
+ * {@link ModifiableIndexedObjectCache}, so they can be used for temporary
+ * computations, such as answering queries, without changing the index.
+ * 
+ */
+public class OverlayModifiableIndexedObjectFactory extends
+		ResolvingModifiableIndexedObjectFactory {
+
+	public OverlayModifiableIndexedObjectFactory(
+			ModifiableIndexedObjectCache cache) {
+		super(cache);
+	}
+
+	@Override
+	<T extends CachedIndexedObject<T>> T filter(T input) {
+		T result = super.filter(input);
+		return result == null ? input : result;
+	}
+
+}
@@ -31,6 +31,14 @@ import org.semanticweb.elk.reasoner.indexing.modifiable.OccurrenceIncrement;
  * {@link CachedIndexedObjectFactory} and updates the occurrence counts for the
  * constructed objects using the provided {@link OccurrenceIncrement}.
  * 
+ * Several such factories can be used concurrently with the same
+ * {@link ModifiableOntologyIndex}: an object is looked up, added, removed, and
+ * its occurrence counts are updated under the lock that the index provides
+ * for the structurally equal objects, see
+ * {@link ModifiableIndexedObjectCache#getLock(CachedIndexedObject)}, so that
+ * different objects can be processed in parallel. The rules and other
+ * objects modified as a result of these updates are guarded by their owners.
+ * 
  * @author "Yevgeny Kazakov"
  * 
  * @see ModifiableIndexedObject#updateOccurrenceNumbers
@@ -52,18 +60,20 @@ public class UpdatingCachedIndexedObjectFactory extends
 
 	@Override
 	<T extends CachedIndexedObject<T>> T filter(T input) {
-		T result = index_.resolve(input);
-		if (result == null) {
-			result = input;
-		}
-		if (!result.occurs()) {
-			index_.add(result);
-		}
-		result.updateOccurrenceNumbers(index_, increment_);
-		if (!result.occurs()) {
-			index_.remove(result);
+		synchronized (index_.getLock(input)) {
+			T result = index_.resolve(input);
+			if (result == null) {
+				result = input;
+			}
+			if (!result.occurs()) {
+				index_.add(result);
+			}
+			result.updateOccurrenceNumbers(index_, increment_);
+			if (!result.occurs()) {
+				index_.remove(result);
+			}
+			return result;
 		}
-		return result;
 	}
 
 }
@@ -68,6 +68,7 @@ public class UpdatingModifiableIndexedObjectFactory extends
 	}
 
 	<T extends ModifiableIndexedAxiom> T filter(T input) {
+		// the axioms are not cached and only modify the objects they refer to
 		input.updateOccurrenceNumbers(index_, increment_);
 		return input;
 	}
@@ -0,0 +1,262 @@
+package org.semanticweb.elk.reasoner.indexing.hierarchy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.indexing.caching.ModifiableIndexedObjectCacheImpl;
+import org.semanticweb.elk.reasoner.indexing.caching.UpdatingCachedIndexedObjectFactory;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.modifiable.ModifiableOntologyIndex;
+import org.semanticweb.elk.util.concurrent.computation.BaseInputProcessor;
+import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputationWithInputs;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessorFactory;
+import org.semanticweb.elk.util.concurrent.computation.SimpleInterrupter;
+
+/**
+ * Indexes {@link ElkAxiom}s using several workers. The {@link ElkAxiom}s
+ * passed to {@link #getInserter()} are processed concurrently by the given
+ * {@link ElkAxiomProcessor} for insertions, which should therefore be
+ * thread-safe; this is the case for {@link ChangeIndexingProcessor}s using
+ * {@link ElkAxiomConverterImpl}s that update a {@link ModifiableOntologyIndex}
+ * based on {@link ModifiableIndexedObjectCacheImpl}.
+ * 
+ * Since an {@link ElkAxiom} cannot be removed from the index before it is
+ * inserted, the {@link ElkAxiom}s passed to {@link #getDeleter()} are
+ * processed in the calling thread only after all previously submitted
+ * {@link ElkAxiom}s are indexed. Hence, the result of indexing is the same as
+ * if all {@link ElkAxiom}s were processed in the order of their submission.
+ * All {@link ElkAxiom}s are guaranteed to be indexed only after
+ * {@link #finish()} returns.
+ * 
+ * The inserted {@link ElkAxiom}s are buffered and submitted to the workers in
+ * batches of {@link ConcurrentComputationWithInputs#BATCH_SIZE}. The
+ * {@link ElkAxiomProcessor}s returned by {@link #getInserter()} and
+ * {@link #getDeleter()}, as well as {@link #finish()}, are not thread-safe:
+ * they should be used by one (loading) thread at a time.
+ * 
+ * @see UpdatingCachedIndexedObjectFactory
+ */
+public class ConcurrentAxiomIndexing {
+
+	/**
+	 * the {@link ElkAxiomProcessor}s that index insertions and deletions of
+	 * {@link ElkAxiom}s
+	 */
+	private final ElkAxiomProcessor inserter_, deleter_;
+
+	private final ComputationExecutor executor_;
+
+	private final int maxWorkers_;
+
+	/**
+	 * the computation processing the inserted {@link ElkAxiom}s or
+	 * {@code null} if it is not started
+	 */
+	private ConcurrentComputationWithInputs<ElkAxiom, IndexingFactory> computation_ = null;
+
+	/**
+	 * the inserted {@link ElkAxiom}s that are not yet submitted to the workers
+	 */
+	private final List<ElkAxiom> buffer_ = new ArrayList<ElkAxiom>(
+			ConcurrentComputationWithInputs.BATCH_SIZE);
+
+	/**
+	 * the first exception thrown when indexing {@link ElkAxiom}s by workers
+	 */
+	private volatile RuntimeException exception_ = null;
+
+	public ConcurrentAxiomIndexing(ElkAxiomProcessor inserter,
+			ElkAxiomProcessor deleter, ComputationExecutor executor,
+			int maxWorkers) {
+		this.inserter_ = inserter;
+		this.deleter_ = deleter;
+		this.executor_ = executor;
+		this.maxWorkers_ = maxWorkers;
+	}
+
+	/**
+	 * @return the {@link ElkAxiomProcessor} which submits the visited
+	 *         {@link ElkAxiom}s for insertion by the workers
+	 */
+	public ElkAxiomProcessor getInserter() {
+		return new ElkAxiomProcessor() {
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				insert(elkAxiom);
+			}
+		};
+	}
+
+	/**
+	 * @return the {@link ElkAxiomProcessor} which deletes the visited
+	 *         {@link ElkAxiom}s after all previously submitted
+	 *         {@link ElkAxiom}s are indexed
+	 */
+	public ElkAxiomProcessor getDeleter() {
+		return new ElkAxiomProcessor() {
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				delete(elkAxiom);
+			}
+		};
+	}
+
+	void insert(ElkAxiom axiom) {
+		buffer_.add(axiom);
+		if (buffer_.size() == ConcurrentComputationWithInputs.BATCH_SIZE)
+			submitBuffered();
+	}
+
+	/**
+	 * Submits the buffered {@link ElkAxiom}s to the workers or indexes them in
+	 * the calling thread if no workers are available
+	 */
+	private void submitBuffered() {
+		if (buffer_.isEmpty())
+			return;
+		// else
+		if (computation_ == null) {
+			ConcurrentComputationWithInputs<ElkAxiom, IndexingFactory> computation = new ConcurrentComputationWithInputs<ElkAxiom, IndexingFactory>(
+					new IndexingFactory(), executor_, maxWorkers_);
+			if (!computation.start()) {
+				// no workers available
+				for (ElkAxiom axiom : buffer_) {
+					inserter_.visit(axiom);
+				}
+				buffer_.clear();
+				return;
+			}
+			computation_ = computation;
+		}
+		/*
+		 * the axioms should not be lost, so we are not giving up on
+		 * interrupts; at most one batch is submitted, which is submitted
+		 * either completely or not at all, so it can be submitted again
+		 */
+		boolean interrupted = false;
+		try {
+			for (;;) {
+				try {
+					computation_.submitAll(buffer_);
+					buffer_.clear();
+					return;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	void delete(ElkAxiom axiom) {
+		finishInsertions();
+		deleter_.visit(axiom);
+	}
+
+	/**
+	 * Waits until all submitted {@link ElkAxiom}s are indexed.
+	 * 
+	 * @throws RuntimeException
+	 *             if indexing of some {@link ElkAxiom} by a worker has failed
+	 */
+	public void finish() {
+		finishInsertions();
+		RuntimeException exception = exception_;
+		if (exception != null) {
+			exception_ = null;
+			throw exception;
+		}
+	}
+
+	private void finishInsertions() {
+		submitBuffered();
+		if (computation_ == null)
+			return;
+		// the axioms should not be lost, so we are not giving up on interrupts
+		boolean interrupted = false;
+		try {
+			for (;;) {
+				try {
+					computation_.finish();
+					computation_ = null;
+					return;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Creates engines that index the submitted {@link ElkAxiom}s; the
+	 * computation is never interrupted because otherwise submitted
+	 * {@link ElkAxiom}s could be lost.
+	 */
+	private class IndexingFactory extends SimpleInterrupter implements
+			InputProcessorFactory<ElkAxiom, InputProcessor<ElkAxiom>> {
+
+		@Override
+		public InputProcessor<ElkAxiom> getEngine() {
+			return new BaseInputProcessor<ElkAxiom>() {
+
+				@Override
+				protected boolean isInterrupted() {
+					return false;
+				}
+
+				@Override
+				protected void process(ElkAxiom axiom) {
+					try {
+						inserter_.visit(axiom);
+					} catch (RuntimeException e) {
+						if (exception_ == null)
+							exception_ = e;
+					}
+				}
+			};
+		}
+
+		@Override
+		public void setInterrupt(boolean flag) {
+			// ignore interrupts
+		}
+
+		@Override
+		public void finish() {
+			// nothing to do
+		}
+
+	}
+
+}
@@ -28,6 +28,8 @@ import java.util.Set;
 
 import org.semanticweb.elk.owl.interfaces.ElkDeclarationAxiom;
 import org.semanticweb.elk.owl.predefined.PredefinedElkDeclaration;
+import org.semanticweb.elk.reasoner.indexing.caching.CachedIndexedObject;
+import org.semanticweb.elk.reasoner.indexing.caching.ModifiableIndexedObjectCache;
 import org.semanticweb.elk.reasoner.indexing.caching.ModifiableIndexedObjectCacheImpl;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
@@ -43,7 +45,12 @@ import org.semanticweb.elk.util.collections.chains.AbstractChain;
 import org.semanticweb.elk.util.collections.chains.Chain;
 
 /**
- * An implementation of {@link ModifiableOntologyIndex}
+ * An implementation of {@link ModifiableOntologyIndex}. The rules of an
+ * indexed class expression are modified under the monitor of this expression,
+ * and the rules and properties assigned to the whole index under the monitor
+ * of the index, so that the index can be updated by several threads when the
+ * indexed objects are modified using
+ * {@link ModifiableIndexedObjectCache#getLock(CachedIndexedObject)}.
  * 
  * @author "Yevgeny Kazakov"
  *
@@ -93,55 +100,65 @@ public class DirectIndex extends ModifiableIndexedObjectCacheImpl implements
 	/* read-write methods required by the interface */
 
 	@Override
-	public boolean addContextInitRule(ChainableContextInitRule newRule) {
+	public synchronized boolean addContextInitRule(
+			ChainableContextInitRule newRule) {
 		return newRule.addTo(getContextInitRuleChain());
 	}
 
 	@Override
-	public boolean removeContextInitRule(ChainableContextInitRule oldRule) {
+	public synchronized boolean removeContextInitRule(
+			ChainableContextInitRule oldRule) {
 		return oldRule.removeFrom(getContextInitRuleChain());
 	}
 
 	@Override
 	public boolean add(ModifiableIndexedClassExpression target,
 			ChainableSubsumerRule rule) {
-		return rule.addTo(target.getCompositionRuleChain());
+		synchronized (target) {
+			return rule.addTo(target.getCompositionRuleChain());
+		}
 	}
 
 	@Override
 	public boolean remove(ModifiableIndexedClassExpression target,
 			ChainableSubsumerRule rule) {
-		return rule.removeFrom(target.getCompositionRuleChain());
+		synchronized (target) {
+			return rule.removeFrom(target.getCompositionRuleChain());
+		}
 	}
 
 	@Override
-	public boolean addReflexiveProperty(IndexedObjectProperty property) {
+	public synchronized boolean addReflexiveProperty(
+			IndexedObjectProperty property) {
 		return reflexiveObjectProperties_.add(property);
 	}
 
 	@Override
-	public boolean removeReflexiveProperty(IndexedObjectProperty property) {
+	public synchronized boolean removeReflexiveProperty(
+			IndexedObjectProperty property) {
 		return reflexiveObjectProperties_.remove(property);
 	}
 
 	@Override
-	public boolean hasNegativeOwlThing() {
+	public synchronized boolean hasNegativeOwlThing() {
 		return negativeOwlThingOccurrenceNo_ > 0;
 	}
 
 	@Override
-	public boolean updateNegativeOwlThingOccurrenceNo(int increment) {
+	public synchronized boolean updateNegativeOwlThingOccurrenceNo(
+			int increment) {
 		negativeOwlThingOccurrenceNo_ += increment;
 		return true;
 	}
 
 	@Override
-	public boolean hasPositivelyOwlNothing() {
+	public synchronized boolean hasPositivelyOwlNothing() {
 		return positiveOwlNothingOccurrenceNo_ > 0;
 	}
 
 	@Override
-	public boolean updatePositiveOwlNothingOccurrenceNo(int increment) {
+	public synchronized boolean updatePositiveOwlNothingOccurrenceNo(
+			int increment) {
 		positiveOwlNothingOccurrenceNo_ += increment;
 		return true;
 	}
@@ -25,6 +25,7 @@ package org.semanticweb.elk.reasoner.indexing.hierarchy;
 import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
 import org.semanticweb.elk.reasoner.indexing.visitors.IndexedClassExpressionVisitor;
 import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.SubsumerContextTracker;
 import org.semanticweb.elk.reasoner.saturation.rules.LinkRule;
 import org.semanticweb.elk.reasoner.saturation.rules.subsumers.LinkedSubsumerRule;
 
@@ -54,6 +55,48 @@ public interface IndexedClassExpression extends IndexedContextRoot {
 
 	public String printOccurrenceNumbers();
 
+	/**
+	 * Records that this {@link IndexedClassExpression} was derived as a
+	 * subsumer in the context of the given {@link IndexedContextRoot}; the
+	 * {@link IndexedContextRoot}s without identifiers, such as those of
+	 * queries, are not recorded. This method and the methods below are not
+	 * thread-safe; they are called by {@link SubsumerContextTracker} when the
+	 * contexts are not modified.
+	 * 
+	 * @param root
+	 * 
+	 * @see #getSubsumerContextIds()
+	 */
+	public void addSubsumerContext(IndexedContextRoot root);
+
+	/**
+	 * Records that this {@link IndexedClassExpression} is no longer a subsumer
+	 * in the context of the given {@link IndexedContextRoot}
+	 * 
+	 * @param root
+	 * 
+	 * @see #getSubsumerContextIds()
+	 */
+	public void removeSubsumerContext(IndexedContextRoot root);
+
+	/**
+	 * Forgets all recorded contexts in which this
+	 * {@link IndexedClassExpression} was derived as a subsumer; should be
+	 * called when the contexts are discarded
+	 */
+	public void clearSubsumerContexts();
+
+	/**
+	 * @return the identifiers of the {@link IndexedContextRoot}s in whose
+	 *         contexts this {@link IndexedClassExpression} was a subsumer at
+	 *         the last {@link SubsumerContextTracker#update}, in increasing
+	 *         order; the result is a copy that is not affected by later
+	 *         changes
+	 * 
+	 * @see IndexedContextRoot#getId()
+	 */
+	public int[] getSubsumerContextIds();
+
 	public <O> O accept(IndexedClassExpressionVisitor<O> visitor);
 
 }
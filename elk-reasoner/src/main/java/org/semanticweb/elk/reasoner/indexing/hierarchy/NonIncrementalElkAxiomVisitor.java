@@ -26,8 +26,7 @@ package org.semanticweb.elk.reasoner.indexing.hierarchy;
  */
 
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
-import org.semanticweb.elk.owl.interfaces.ElkEquivalentObjectPropertiesAxiom;
-import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyRangeAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyChain;
 import org.semanticweb.elk.owl.interfaces.ElkReflexiveObjectPropertyAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkSubObjectPropertyOfAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkTransitiveObjectPropertyAxiom;
@@ -37,7 +36,9 @@ import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
 /**
  * A delegating visitor which notifies the provided
  * {@link NonIncrementalChangeListener} that some axiom represents a change
- * which cannot be processed incrementally by the reasoner
+ * which cannot be processed incrementally by the reasoner. These are the axioms
+ * with reflexive properties and property chains; other changes of the property
+ * hierarchy are reported by {@link PropertyChangeElkAxiomVisitor}
  * 
  * @author Pavel Klinov
  * 
@@ -54,12 +55,6 @@ public class NonIncrementalElkAxiomVisitor extends DelegatingElkAxiomVisitor
 		listener_ = listener;
 	}
 
-	@Override
-	public Void visit(ElkEquivalentObjectPropertiesAxiom axiom) {
-		listener_.notify(axiom);
-		return super.visit(axiom);
-	}
-
 	@Override
 	public Void visit(ElkReflexiveObjectPropertyAxiom axiom) {
 		listener_.notify(axiom);
@@ -68,7 +63,8 @@ public class NonIncrementalElkAxiomVisitor extends DelegatingElkAxiomVisitor
 
 	@Override
 	public Void visit(ElkSubObjectPropertyOfAxiom axiom) {
-		listener_.notify(axiom);
+		if (axiom.getSubObjectPropertyExpression() instanceof ElkObjectPropertyChain)
+			listener_.notify(axiom);
 		return super.visit(axiom);
 	}
 
@@ -78,10 +74,4 @@ public class NonIncrementalElkAxiomVisitor extends DelegatingElkAxiomVisitor
 		return super.visit(axiom);
 	}
 
-	@Override
-	public Void visit(ElkObjectPropertyRangeAxiom axiom) {
-		listener_.notify(axiom);
-		return super.visit(axiom);
-	}
-
 }
@@ -0,0 +1,74 @@
+/**
+ * 
+ */
+package org.semanticweb.elk.reasoner.indexing.hierarchy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkEquivalentObjectPropertiesAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyChain;
+import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyRangeAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkSubObjectPropertyOfAxiom;
+import org.semanticweb.elk.reasoner.incremental.PropertyChangeListener;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
+
+/**
+ * A delegating visitor which notifies the provided
+ * {@link PropertyChangeListener} that some axiom changes the hierarchy or the
+ * ranges of properties. Sub-property axioms with property chains are not
+ * reported since they are handled by {@link NonIncrementalElkAxiomVisitor}.
+ * The listener is notified before the axiom is indexed.
+ * 
+ */
+public class PropertyChangeElkAxiomVisitor extends DelegatingElkAxiomVisitor
+		implements ElkAxiomConverter {
+
+	private final PropertyChangeListener<ElkAxiom> listener_;
+
+	public PropertyChangeElkAxiomVisitor(ElkAxiomConverter visitor,
+			PropertyChangeListener<ElkAxiom> listener) {
+		super(visitor);
+		listener_ = listener;
+	}
+
+	@Override
+	public Void visit(ElkEquivalentObjectPropertiesAxiom axiom) {
+		listener_.notify(axiom);
+		return super.visit(axiom);
+	}
+
+	@Override
+	public Void visit(ElkSubObjectPropertyOfAxiom axiom) {
+		if (!(axiom.getSubObjectPropertyExpression() instanceof ElkObjectPropertyChain))
+			listener_.notify(axiom);
+		return super.visit(axiom);
+	}
+
+	@Override
+	public Void visit(ElkObjectPropertyRangeAxiom axiom) {
+		listener_.notify(axiom);
+		return super.visit(axiom);
+	}
+
+}
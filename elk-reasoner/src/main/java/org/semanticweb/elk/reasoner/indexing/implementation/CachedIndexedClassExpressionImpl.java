@@ -32,9 +32,13 @@ import org.semanticweb.elk.reasoner.indexing.visitors.IndexedClassExpressionVisi
 import org.semanticweb.elk.reasoner.indexing.visitors.IndexedContextRootVisitor;
 import org.semanticweb.elk.reasoner.indexing.visitors.IndexedObjectVisitor;
 import org.semanticweb.elk.reasoner.saturation.ExtendedContext;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.SubsumerContextTracker;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ChainableSubsumerRule;
 import org.semanticweb.elk.reasoner.saturation.rules.subsumers.LinkedSubsumerRule;
+import org.semanticweb.elk.util.collections.CompressedIntSet;
+import org.semanticweb.elk.util.collections.IntIterator;
 import org.semanticweb.elk.util.collections.chains.AbstractChain;
 import org.semanticweb.elk.util.collections.chains.Chain;
 import org.semanticweb.elk.util.collections.entryset.Entry;
@@ -69,6 +73,18 @@ abstract class CachedIndexedClassExpressionImpl<T extends CachedIndexedClassExpr
 	 */
 	private volatile ExtendedContext context_ = null;
 
+	/**
+	 * the identifier assigned when this object is added to the index
+	 */
+	private int id_ = NO_ID;
+
+	/**
+	 * the identifiers of the roots of the contexts in which this object is a
+	 * subsumer, or {@code null} if there are none; maintained by
+	 * {@link SubsumerContextTracker}
+	 */
+	private CompressedIntSet subsumerContextIds_ = null;
+
 	CachedIndexedClassExpressionImpl(int structuralHash) {
 		super(structuralHash);
 	}
@@ -112,6 +128,57 @@ abstract class CachedIndexedClassExpressionImpl<T extends CachedIndexedClassExpr
 		};
 	}
 
+	@Override
+	public final int getId() {
+		return this.id_;
+	}
+
+	@Override
+	public final void setId(int id) {
+		this.id_ = id;
+	}
+
+	@Override
+	public final void addSubsumerContext(IndexedContextRoot root) {
+		int id = root.getId();
+		if (id == NO_ID)
+			// not a context of the main saturation state
+			return;
+		// else
+		if (subsumerContextIds_ == null)
+			subsumerContextIds_ = new CompressedIntSet();
+		subsumerContextIds_.add(id);
+	}
+
+	@Override
+	public final void removeSubsumerContext(
+			IndexedContextRoot root) {
+		if (subsumerContextIds_ == null)
+			return;
+		// else
+		subsumerContextIds_.remove(root.getId());
+		if (subsumerContextIds_.isEmpty())
+			subsumerContextIds_ = null;
+	}
+
+	@Override
+	public final void clearSubsumerContexts() {
+		subsumerContextIds_ = null;
+	}
+
+	@Override
+	public final int[] getSubsumerContextIds() {
+		if (subsumerContextIds_ == null)
+			return new int[0];
+		// else
+		int[] result = new int[subsumerContextIds_.size()];
+		IntIterator iterator = subsumerContextIds_.iterator();
+		for (int i = 0; i < result.length; i++) {
+			result[i] = iterator.next();
+		}
+		return result;
+	}
+
 	@Override
 	public final ExtendedContext getContext() {
 		return this.context_;
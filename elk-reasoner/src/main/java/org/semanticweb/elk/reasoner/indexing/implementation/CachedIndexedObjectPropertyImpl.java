@@ -119,14 +119,16 @@ final class CachedIndexedObjectPropertyImpl
 	}
 
 	@Override
-	public final boolean addLeftChain(IndexedComplexPropertyChain chain) {
+	public final synchronized boolean addLeftChain(
+			IndexedComplexPropertyChain chain) {
 		if (leftChains_ == null)
 			leftChains_ = new ArrayList<IndexedComplexPropertyChain>(1);
 		return leftChains_.add(chain);
 	}
 
 	@Override
-	public final boolean removeLeftChain(IndexedComplexPropertyChain chain) {
+	public final synchronized boolean removeLeftChain(
+			IndexedComplexPropertyChain chain) {
 		boolean success = false;
 		if (leftChains_ != null) {
 			success = leftChains_.remove(chain);
@@ -137,7 +139,7 @@ final class CachedIndexedObjectPropertyImpl
 	}
 
 	@Override
-	public final boolean addToldSubPropertyChain(
+	public final synchronized boolean addToldSubPropertyChain(
 			IndexedPropertyChain subObjectProperty) {
 		if (toldSubProperties_ == null)
 			toldSubProperties_ = new ArrayList<IndexedPropertyChain>(1);
@@ -146,7 +148,7 @@ final class CachedIndexedObjectPropertyImpl
 	}
 
 	@Override
-	public final boolean removeToldSubPropertyChain(
+	public final synchronized boolean removeToldSubPropertyChain(
 			IndexedPropertyChain subObjectProperty) {
 		boolean success = false;
 		if (toldSubProperties_ != null) {
@@ -158,7 +160,8 @@ final class CachedIndexedObjectPropertyImpl
 	}
 
 	@Override
-	public final boolean addToldRange(IndexedClassExpression range) {
+	public final synchronized boolean addToldRange(
+			IndexedClassExpression range) {
 		if (toldRanges_ == null)
 			toldRanges_ = new ArrayList<IndexedClassExpression>(1);
 		toldRanges_.add(range);
@@ -166,7 +169,8 @@ final class CachedIndexedObjectPropertyImpl
 	}
 
 	@Override
-	public final boolean removeToldRange(IndexedClassExpression range) {
+	public final synchronized boolean removeToldRange(
+			IndexedClassExpression range) {
 		boolean success = false;
 		if (toldRanges_ != null) {
 			success = toldRanges_.remove(range);
@@ -141,7 +141,7 @@ abstract class CachedIndexedPropertyChainImpl<T extends CachedIndexedPropertyCha
 	}
 
 	@Override
-	public final boolean addToldSuperObjectProperty(
+	public final synchronized boolean addToldSuperObjectProperty(
 			IndexedObjectProperty superObjectProperty) {
 		if (toldSuperProperties_ == null)
 			toldSuperProperties_ = new ArrayList<IndexedObjectProperty>(1);
@@ -149,7 +149,7 @@ abstract class CachedIndexedPropertyChainImpl<T extends CachedIndexedPropertyCha
 	}
 
 	@Override
-	public final boolean removeToldSuperObjectProperty(
+	public final synchronized boolean removeToldSuperObjectProperty(
 			IndexedObjectProperty superObjectProperty) {
 		boolean success = false;
 		if (toldSuperProperties_ != null) {
@@ -161,14 +161,16 @@ abstract class CachedIndexedPropertyChainImpl<T extends CachedIndexedPropertyCha
 	}
 
 	@Override
-	public final boolean addRightChain(IndexedComplexPropertyChain chain) {
+	public final synchronized boolean addRightChain(
+			IndexedComplexPropertyChain chain) {
 		if (rightChains_ == null)
 			rightChains_ = new ArrayList<IndexedComplexPropertyChain>(1);
 		return rightChains_.add(chain);
 	}
 
 	@Override
-	public final boolean removeRightChain(IndexedComplexPropertyChain chain) {
+	public final synchronized boolean removeRightChain(
+			IndexedComplexPropertyChain chain) {
 		boolean success = false;
 		if (rightChains_ != null) {
 			success = rightChains_.remove(chain);
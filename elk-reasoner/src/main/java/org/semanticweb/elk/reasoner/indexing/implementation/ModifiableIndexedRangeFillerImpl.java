@@ -43,6 +43,8 @@ class ModifiableIndexedRangeFillerImpl implements ModifiableIndexedRangeFiller {
 
 	private volatile ExtendedContext context_ = null;
 
+	private int id_ = NO_ID;
+
 	ModifiableIndexedRangeFillerImpl(ModifiableIndexedObjectProperty property,
 			ModifiableIndexedClassExpression fillerConcept) {
 		this.property_ = property;
@@ -72,6 +74,16 @@ class ModifiableIndexedRangeFillerImpl implements ModifiableIndexedRangeFiller {
 		return toStringStructural() + "#" + hashCode();
 	}
 
+	@Override
+	public final int getId() {
+		return this.id_;
+	}
+
+	@Override
+	public final void setId(int id) {
+		this.id_ = id;
+	}
+
 	@Override
 	public final ExtendedContext getContext() {
 		return this.context_;
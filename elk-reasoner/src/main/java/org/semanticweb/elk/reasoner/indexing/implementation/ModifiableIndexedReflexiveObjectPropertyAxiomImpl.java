@@ -59,41 +59,46 @@ class ModifiableIndexedReflexiveObjectPropertyAxiomImpl extends
 	@Override
 	public final boolean updateOccurrenceNumbers(ModifiableOntologyIndex index,
 			int increment) {
-
-		if (!property_.isToldReflexive() && increment > 0) {
-			// first occurrence of reflexivity property
-			if (!index.addReflexiveProperty(property_))
-				return false;
-			if (!ReflexivePropertyRangesContextInitRule.addRuleFor(this, index)) {
-				// revert the changes
-				if (!index.removeReflexiveProperty(property_))
-					throw new ElkUnexpectedIndexingException(this);
-				return false;
+		// the reflexivity of the property is checked and changed atomically
+		synchronized (property_) {
+			if (!property_.isToldReflexive() && increment > 0) {
+				// first occurrence of reflexivity property
+				if (!index.addReflexiveProperty(property_))
+					return false;
+				if (!ReflexivePropertyRangesContextInitRule.addRuleFor(this,
+						index)) {
+					// revert the changes
+					if (!index.removeReflexiveProperty(property_))
+						throw new ElkUnexpectedIndexingException(this);
+					return false;
+				}
 			}
-		}
 
-		property_.updateReflexiveOccurrenceNumber(increment);
+			property_.updateReflexiveOccurrenceNumber(increment);
 
-		if (!property_.isToldReflexive() && increment < 0) {
-			// no occurrence of reflexivity axiom
-			if (!index.removeReflexiveProperty(property_)) {
-				// revert the changes
-				if (!property_.updateReflexiveOccurrenceNumber(-increment))
-					throw new ElkUnexpectedIndexingException(this);
-				return false;
-			}
-			if (!ReflexivePropertyRangesContextInitRule.removeRuleFor(this,
-					index)) {
-				// revert the changes
-				if (!property_.updateReflexiveOccurrenceNumber(-increment))
-					throw new ElkUnexpectedIndexingException(this);
-				if (!index.addReflexiveProperty(property_))
-					throw new ElkUnexpectedIndexingException(this);
-				return false;
+			if (!property_.isToldReflexive() && increment < 0) {
+				// no occurrence of reflexivity axiom
+				if (!index.removeReflexiveProperty(property_)) {
+					// revert the changes
+					if (!property_
+							.updateReflexiveOccurrenceNumber(-increment))
+						throw new ElkUnexpectedIndexingException(this);
+					return false;
+				}
+				if (!ReflexivePropertyRangesContextInitRule.removeRuleFor(this,
+						index)) {
+					// revert the changes
+					if (!property_
+							.updateReflexiveOccurrenceNumber(-increment))
+						throw new ElkUnexpectedIndexingException(this);
+					if (!index.addReflexiveProperty(property_))
+						throw new ElkUnexpectedIndexingException(this);
+					return false;
+				}
 			}
+			// success!
+			return true;
 		}
-		// success!
-		return true;
 	}
 
 	@Override
@@ -47,4 +47,12 @@ public interface ModifiableIndexedClassExpression extends
 	 */
 	Chain<ChainableSubsumerRule> getCompositionRuleChain();
 
+	/**
+	 * Assigns the identifier returned by {@link #getId()}
+	 * 
+	 * @param id
+	 *            the non-negative identifier of this {@link IndexedClassExpression}
+	 */
+	void setId(int id);
+
 }
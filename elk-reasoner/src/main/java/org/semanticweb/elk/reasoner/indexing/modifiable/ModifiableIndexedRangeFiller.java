@@ -39,4 +39,12 @@ public interface ModifiableIndexedRangeFiller extends IndexedRangeFiller {
 	@Override
 	public ModifiableIndexedClassExpression getFiller();
 
+	/**
+	 * Assigns the identifier returned by {@link #getId()}
+	 * 
+	 * @param id
+	 *            the non-negative identifier of this {@link IndexedRangeFiller}
+	 */
+	void setId(int id);
+
 }
@@ -0,0 +1,308 @@
+package org.semanticweb.elk.reasoner.query;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
+import org.semanticweb.elk.owl.util.Comparators;
+import org.semanticweb.elk.reasoner.indexing.caching.ModifiableIndexedObjectCache;
+import org.semanticweb.elk.reasoner.indexing.caching.OverlayModifiableIndexedObjectFactory;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverter;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClass;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedIndividual;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectIntersectionOf;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectSomeValuesFrom;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.ContextCreationListener;
+import org.semanticweb.elk.reasoner.saturation.ContextModificationListener;
+import org.semanticweb.elk.reasoner.saturation.ExtendedContext;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.MapSaturationState;
+import org.semanticweb.elk.reasoner.saturation.OverlayContextFactory;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.conclusions.implementation.ContradictionImpl;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationFactory;
+import org.semanticweb.elk.reasoner.stages.ElkInterruptedException;
+import org.semanticweb.elk.reasoner.taxonomy.model.AnonymousTaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessor;
+
+/**
+ * Computes the position of complex {@link ElkClassExpression}s in a computed
+ * {@link Taxonomy} without modifying the ontology index, the
+ * {@link SaturationState}, or the {@link Taxonomy}. The query expression is
+ * indexed using the existing indexed objects where possible; the remaining
+ * indexed objects are created but not registered in the index. The query is
+ * then saturated in a separate {@link SaturationState} whose contexts extend
+ * the saturated contexts of the main {@link SaturationState} (see
+ * {@link OverlayContextFactory}), so only the conclusions that follow from the
+ * query are computed. The subsumers of the query are read off its context;
+ * the subsumees are the named classes in the taxonomy below the direct
+ * subsumers whose saturated contexts entail the query.
+ * 
+ * Only class expressions constructed from named classes, individuals,
+ * intersections, and existential restrictions are supported; for existential
+ * restrictions over properties having property chains or reflexive
+ * sub-properties, the subsumees cannot be determined from the saturated
+ * contexts alone. For unsupported class expressions, {@code null} is
+ * returned, in which case the query should be answered by other means.
+ */
+public class ClassExpressionQueryEngine {
+
+	/**
+	 * the saturated {@link SaturationState} of the ontology
+	 */
+	private final SaturationState<?> saturationState_;
+
+	/**
+	 * the {@link Taxonomy} computed from {@link #saturationState_}
+	 */
+	private final Taxonomy<ElkClass> taxonomy_;
+
+	/**
+	 * converts queries to indexed objects reusing the existing ones
+	 */
+	private final ElkPolarityExpressionConverter converter_;
+
+	private final IndexedClassExpression owlThing_, owlNothing_;
+
+	public ClassExpressionQueryEngine(SaturationState<?> saturationState,
+			ModifiableIndexedObjectCache index, Taxonomy<ElkClass> taxonomy) {
+		this.saturationState_ = saturationState;
+		this.taxonomy_ = taxonomy;
+		this.converter_ = new ElkPolarityExpressionConverterImpl(
+				new OverlayModifiableIndexedObjectFactory(index));
+		this.owlThing_ = converter_.visit(PredefinedElkClass.OWL_THING);
+		this.owlNothing_ = converter_.visit(PredefinedElkClass.OWL_NOTHING);
+	}
+
+	/**
+	 * @param classExpression
+	 *            the {@link ElkClassExpression} for which to compute the
+	 *            {@link TaxonomyNode}
+	 * @return the {@link TaxonomyNode} of the {@link Taxonomy} that contains
+	 *         the {@link ElkClass}es equivalent to the given
+	 *         {@link ElkClassExpression}, or, if there are no such
+	 *         {@link ElkClass}es, a new {@link TaxonomyNode} without members
+	 *         connected to its direct super- and sub-nodes in the
+	 *         {@link Taxonomy}; {@code null} if the given
+	 *         {@link ElkClassExpression} is not supported
+	 * @throws ElkInterruptedException
+	 *             if the computation was interrupted
+	 */
+	public TaxonomyNode<ElkClass> getTaxonomyNode(
+			ElkClassExpression classExpression) throws ElkInterruptedException {
+		IndexedClassExpression query = classExpression.accept(converter_);
+		if (!isSupported(query))
+			return null;
+		// else
+		Context queryContext = saturate(query);
+		if (queryContext.containsConclusion(ContradictionImpl.getInstance())
+				|| queryContext.getSubsumers().contains(owlNothing_))
+			return taxonomy_.getBottomNode();
+		// else the nodes of all named subsumers
+		Set<TaxonomyNode<ElkClass>> subsumerNodes = new ArrayHashSet<TaxonomyNode<ElkClass>>();
+		subsumerNodes.add(taxonomy_.getTopNode());
+		for (IndexedClassExpression subsumer : queryContext.getSubsumers()) {
+			if (!(subsumer instanceof IndexedClass))
+				continue;
+			TaxonomyNode<ElkClass> node = taxonomy_
+					.getNode(((IndexedClass) subsumer).getElkEntity());
+			if (node != null)
+				subsumerNodes.add(node);
+		}
+		for (TaxonomyNode<ElkClass> node : subsumerNodes) {
+			if (isSubsumed(node, query))
+				// the query is equivalent to the members of this node
+				return node;
+		}
+		// else the set of subsumer nodes is closed under super-nodes
+		Set<TaxonomyNode<ElkClass>> directSuperNodes = new ArrayHashSet<TaxonomyNode<ElkClass>>();
+		directSuperNodes.addAll(subsumerNodes);
+		for (TaxonomyNode<ElkClass> node : subsumerNodes) {
+			for (TaxonomyNode<ElkClass> superNode : node.getDirectSuperNodes()) {
+				directSuperNodes.remove(superNode);
+			}
+		}
+		// every subsumee is under each direct super node
+		TaxonomyNode<ElkClass> bottomNode = taxonomy_.getBottomNode();
+		Set<TaxonomyNode<ElkClass>> subsumeeNodes = new ArrayHashSet<TaxonomyNode<ElkClass>>();
+		for (TaxonomyNode<ElkClass> candidate : directSuperNodes.iterator()
+				.next().getAllSubNodes()) {
+			if (candidate != bottomNode && isSubsumed(candidate, query))
+				subsumeeNodes.add(candidate);
+		}
+		Set<TaxonomyNode<ElkClass>> directSubNodes = new ArrayHashSet<TaxonomyNode<ElkClass>>();
+		for (TaxonomyNode<ElkClass> node : subsumeeNodes) {
+			if (Collections.disjoint(node.getDirectSuperNodes(), subsumeeNodes))
+				directSubNodes.add(node);
+		}
+		if (directSubNodes.isEmpty())
+			directSubNodes.add(bottomNode);
+		return new AnonymousTaxonomyNode<ElkClass>(
+				Comparators.ELK_CLASS_COMPARATOR, directSuperNodes,
+				directSubNodes);
+	}
+
+	/**
+	 * @param query
+	 * @return {@code true} if the subsumers and subsumees of the given
+	 *         {@link IndexedClassExpression} can be computed by this
+	 *         {@link ClassExpressionQueryEngine}
+	 */
+	private static boolean isSupported(IndexedClassExpression query) {
+		if (query instanceof IndexedClass || query instanceof IndexedIndividual)
+			return true;
+		// else
+		if (query instanceof IndexedObjectIntersectionOf) {
+			IndexedObjectIntersectionOf conjunction = (IndexedObjectIntersectionOf) query;
+			return isSupported(conjunction.getFirstConjunct())
+					&& isSupported(conjunction.getSecondConjunct());
+		}
+		// else
+		if (query instanceof IndexedObjectSomeValuesFrom) {
+			IndexedObjectSomeValuesFrom existential = (IndexedObjectSomeValuesFrom) query;
+			for (IndexedPropertyChain sub : existential.getProperty()
+					.getSaturated().getSubPropertyChains()) {
+				if (!(sub instanceof IndexedObjectProperty)
+						|| sub.getSaturated().isDerivedReflexive())
+					return false;
+			}
+			return isSupported(existential.getFiller());
+		}
+		// else
+		return false;
+	}
+
+	/**
+	 * Saturates the given {@link IndexedClassExpression} on top of
+	 * {@link #saturationState_}
+	 * 
+	 * @param query
+	 * @return the saturated {@link Context} for the given
+	 *         {@link IndexedClassExpression}
+	 * @throws ElkInterruptedException
+	 *             if the saturation was interrupted
+	 */
+	private Context saturate(IndexedClassExpression query)
+			throws ElkInterruptedException {
+		SaturationState<ExtendedContext> overlayState = new MapSaturationState<ExtendedContext>(
+				saturationState_.getOntologyIndex(), new OverlayContextFactory(
+						saturationState_), 16);
+		RuleApplicationFactory<Context> factory = new RuleApplicationAdditionFactory(
+				overlayState);
+		InputProcessor<IndexedContextRoot> engine = factory.getEngine(
+				ContextCreationListener.DUMMY, ContextModificationListener.DUMMY);
+		try {
+			engine.submit(query);
+			engine.process();
+		} catch (InterruptedException e) {
+			throw new ElkInterruptedException(e);
+		} finally {
+			engine.finish();
+			factory.dispose();
+		}
+		return overlayState.getContext(query);
+	}
+
+	/**
+	 * @param node
+	 *            a {@link TaxonomyNode} of {@link #taxonomy_}
+	 * @param query
+	 * @return {@code true} if the members of the given {@link TaxonomyNode}
+	 *         are subsumed by the given {@link IndexedClassExpression}
+	 */
+	private boolean isSubsumed(TaxonomyNode<ElkClass> node,
+			IndexedClassExpression query) {
+		Context context = saturationState_.getContext(converter_.visit(node
+				.getCanonicalMember()));
+		if (context != null)
+			return isSubsumed(context, query);
+		// else the members were not saturated, e.g., owl:Thing
+		if (query == owlThing_)
+			return true;
+		if (query instanceof IndexedClass)
+			return node.getMembers().contains(
+					((IndexedClass) query).getElkEntity());
+		if (query instanceof IndexedObjectIntersectionOf) {
+			IndexedObjectIntersectionOf conjunction = (IndexedObjectIntersectionOf) query;
+			return isSubsumed(node, conjunction.getFirstConjunct())
+					&& isSubsumed(node, conjunction.getSecondConjunct());
+		}
+		// else
+		return false;
+	}
+
+	/**
+	 * @param context
+	 *            a saturated {@link Context} of {@link #saturationState_}
+	 * @param query
+	 *            a supported {@link IndexedClassExpression}
+	 * @return {@code true} if the root of the given {@link Context} is
+	 *         subsumed by the given {@link IndexedClassExpression}
+	 */
+	private boolean isSubsumed(Context context, IndexedClassExpression query) {
+		if (query == owlThing_ || context.getSubsumers().contains(query))
+			return true;
+		// else
+		if (query instanceof IndexedObjectIntersectionOf) {
+			IndexedObjectIntersectionOf conjunction = (IndexedObjectIntersectionOf) query;
+			return isSubsumed(context, conjunction.getFirstConjunct())
+					&& isSubsumed(context, conjunction.getSecondConjunct());
+		}
+		// else
+		if (query instanceof IndexedObjectSomeValuesFrom) {
+			IndexedObjectSomeValuesFrom existential = (IndexedObjectSomeValuesFrom) query;
+			Set<IndexedObjectProperty> subProperties = existential
+					.getProperty().getSaturated().getSubProperties();
+			for (IndexedClassExpression subsumer : context.getSubsumers()) {
+				if (!(subsumer instanceof IndexedObjectSomeValuesFrom))
+					continue;
+				// else
+				IndexedObjectSomeValuesFrom candidate = (IndexedObjectSomeValuesFrom) subsumer;
+				if (!subProperties.contains(candidate.getProperty()))
+					continue;
+				// else
+				Context target = saturationState_
+						.getContext(IndexedObjectSomeValuesFrom.Helper
+								.getTarget(candidate));
+				if (target != null && isSubsumed(target, existential.getFiller()))
+					return true;
+			}
+		}
+		// else
+		return false;
+	}
+
+}
@@ -0,0 +1,65 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.reasoner.saturation.context.ContextStatistics;
+
+/**
+ * A skeleton to simplify implementation of {@link ContextScheduler}s, which
+ * accumulates the statistics reported by the {@link ActiveContextQueue}s
+ * 
+ */
+public abstract class AbstractContextScheduler implements ContextScheduler {
+
+	/**
+	 * the number of contexts taken from queues of other workers
+	 */
+	private int countStolenContexts_ = 0;
+
+	/**
+	 * the number of times a worker has not found any context to process
+	 */
+	private int countIdlePolls_ = 0;
+
+	/**
+	 * Adds the statistics collected by an {@link ActiveContextQueue}
+	 * 
+	 * @param stolenContexts
+	 *            the number of contexts taken from other workers
+	 * @param idlePolls
+	 *            the number of unsuccessful polls
+	 */
+	synchronized void addStatistics(int stolenContexts, int idlePolls) {
+		countStolenContexts_ += stolenContexts;
+		countIdlePolls_ += idlePolls;
+	}
+
+	@Override
+	public synchronized void drainStatistics(ContextStatistics statistics) {
+		statistics.countStolenContexts += countStolenContexts_;
+		statistics.countIdlePolls += countIdlePolls_;
+		countStolenContexts_ = 0;
+		countIdlePolls_ = 0;
+	}
+
+}
@@ -30,9 +30,11 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextPremises;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,10 +54,10 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 	final OntologyIndex ontologyIndex;
 
 	/**
-	 * The queue containing all activated contexts (whose todo queue is not
-	 * empty). Every activated context occurs exactly once.
+	 * Keeps all activated contexts (whose todo queue is not empty) and
+	 * distributes them between workers
 	 */
-	private final Queue<Context> activeContexts_ = new ConcurrentLinkedQueue<Context>();
+	private final ContextScheduler contextScheduler_;
 
 	/**
 	 * The queue containing all {@link Context}s of this {@link SaturationState}
@@ -77,10 +79,22 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 
 	private final ContextFactory<EC> contextFactory;
 
+	/**
+	 * the time stamps of the subsumers of the contexts in this state whose
+	 * derivations are counted
+	 */
+	private final SubsumerDerivationCounts.Clock subsumerDerivationClock_ = new SubsumerDerivationCounts.Clock();
+
 	public AbstractSaturationState(OntologyIndex index,
-			ContextFactory<EC> factory) {
+			ContextFactory<EC> factory, ContextScheduler scheduler) {
 		this.ontologyIndex = index;
 		this.contextFactory = factory;
+		this.contextScheduler_ = scheduler;
+	}
+
+	public AbstractSaturationState(OntologyIndex index,
+			ContextFactory<EC> factory) {
+		this(index, factory, new SharedQueueContextScheduler());
 	}
 
 	@Override
@@ -104,6 +118,11 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 		});
 	}
 
+	@Override
+	public ContextScheduler getContextScheduler() {
+		return contextScheduler_;
+	}
+
 	@Override
 	public int getContextMarkNonSaturatedCount() {
 		return countextMarkNonSaturatedCount_.get();
@@ -128,6 +147,11 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 		return next;
 	}
 
+	@Override
+	public SubsumerDerivationCounts.Clock getSubsumerDerivationClock() {
+		return subsumerDerivationClock_;
+	}
+
 	@Override
 	public SaturationStateWriter<EC> getContextModifyingWriter(
 			ContextModificationListener contextModificationListener) {
@@ -181,9 +205,16 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 
 		private final ContextModificationListener contextModificationListener_;
 
+		/**
+		 * the queue to which the contexts activated by this writer are
+		 * submitted
+		 */
+		private final ActiveContextQueue activeContexts_;
+
 		private ContextModifyingWriter(
 				ContextModificationListener contextSaturationListener) {
 			this.contextModificationListener_ = contextSaturationListener;
+			this.activeContexts_ = contextScheduler_.getWorkerQueue();
 		}
 
 		@Override
@@ -206,6 +237,13 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 			produce(getContext(root), conclusion);
 		}
 
+		@Override
+		public boolean isRedundantSubsumer(ContextPremises premises,
+				IndexedClassExpression subsumer) {
+			// the conclusions are not inserted by this writer
+			return false;
+		}
+
 		void markAsNotSaturatedInternal(EC context) {
 			LOGGER_.trace("{}: marked as non-saturated", context);
 			notSaturatedContexts_.add(context);
@@ -0,0 +1,51 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * A view of a {@link ContextScheduler} used by a single worker
+ * 
+ * @see ContextScheduler#getWorkerQueue()
+ */
+public interface ActiveContextQueue {
+
+	/**
+	 * Schedules a {@link Context} that has been just activated by this worker
+	 * 
+	 * @param context
+	 *            the activated {@link Context}
+	 */
+	public void add(Context context);
+
+	/**
+	 * Removes and returns the next activated {@link Context} to be processed
+	 * by this worker
+	 * 
+	 * @return the next activated {@link Context} or {@code null} if no
+	 *         activated {@link Context} could be found
+	 */
+	public Context poll();
+
+}
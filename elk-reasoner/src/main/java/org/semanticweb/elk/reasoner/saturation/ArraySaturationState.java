@@ -0,0 +1,290 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.OntologyIndex;
+
+/**
+ * A {@link SaturationState} in which {@link ExtendedContext}s are stored in
+ * an array at positions given by the identifiers of their roots, see
+ * {@link IndexedContextRoot#getId()}. The array is split into segments of a
+ * fixed size, which are created only when the first {@link ExtendedContext}
+ * is assigned to one of its positions. Hence both, the lookup and the
+ * assignment of {@link ExtendedContext}s take constant time, and enumeration
+ * of {@link ExtendedContext}s does not visit the ranges of identifiers for
+ * which no {@link ExtendedContext} was created. Only the
+ * {@link ExtendedContext}s of the roots that are still in the index are
+ * enumerated.
+ *
+ * @param <EC>
+ *            the type of {@link ExtendedContext}s stored in this
+ *            {@link SaturationState}
+ */
+public class ArraySaturationState<EC extends ExtendedContext> extends
+		AbstractSaturationState<EC> {
+
+	/**
+	 * the number of lower bits of identifiers that determine positions within
+	 * segments
+	 */
+	private static final int SEGMENT_BITS_ = 10;
+
+	private static final int SEGMENT_SIZE_ = 1 << SEGMENT_BITS_;
+
+	private static final int SEGMENT_MASK_ = SEGMENT_SIZE_ - 1;
+
+	/**
+	 * the initial number of segments for which space is reserved
+	 */
+	private static final int INITIAL_DIRECTORY_SIZE_ = 16;
+
+	/**
+	 * the segments of the array; the segment at position {@code i} contains
+	 * {@link ExtendedContext}s for identifiers starting from
+	 * {@code i * SEGMENT_SIZE_} or is {@code null} if no such
+	 * {@link ExtendedContext}s were created; the segments are created and the
+	 * directory is replaced only under the monitor of this object
+	 */
+	private volatile AtomicReferenceArray<AtomicReferenceArray<EC>> directory_;
+
+	/**
+	 * the number of {@link ExtendedContext}s stored in this
+	 * {@link SaturationState}
+	 */
+	private final AtomicInteger contextCount_ = new AtomicInteger(0);
+
+	public ArraySaturationState(OntologyIndex index,
+			ContextFactory<EC> factory, ContextScheduler scheduler) {
+		super(index, factory, scheduler);
+		this.directory_ = new AtomicReferenceArray<AtomicReferenceArray<EC>>(
+				INITIAL_DIRECTORY_SIZE_);
+	}
+
+	public ArraySaturationState(OntologyIndex index, ContextFactory<EC> factory) {
+		this(index, factory, new SharedQueueContextScheduler());
+	}
+
+	@Override
+	public Collection<EC> getContexts() {
+		return new AbstractCollection<EC>() {
+
+			@Override
+			public Iterator<EC> iterator() {
+				return new ContextIterator();
+			}
+
+			@Override
+			public int size() {
+				return contextCount_.get();
+			}
+
+		};
+	}
+
+	@Override
+	public EC getContext(IndexedContextRoot root) {
+		int id = root.getId();
+		if (id < 0)
+			return null;
+		// else
+		AtomicReferenceArray<AtomicReferenceArray<EC>> directory = directory_;
+		int segmentIndex = id >>> SEGMENT_BITS_;
+		if (segmentIndex >= directory.length())
+			return null;
+		// else
+		AtomicReferenceArray<EC> segment = directory.get(segmentIndex);
+		if (segment == null)
+			return null;
+		// else
+		EC context = segment.get(id & SEGMENT_MASK_);
+		/*
+		 * the index never assigns the identifier of a removed root to another
+		 * root, so the position can only hold the context of this root; the
+		 * contexts of removed roots are cleared only lazily by
+		 * ContextIterator, so we check the root nevertheless in case the
+		 * identifiers are ever reused
+		 */
+		if (context == null || context.getRoot() != root)
+			return null;
+		// else
+		return context;
+	}
+
+	@Override
+	synchronized void resetContexts() {
+		directory_ = new AtomicReferenceArray<AtomicReferenceArray<EC>>(
+				INITIAL_DIRECTORY_SIZE_);
+		contextCount_.set(0);
+	}
+
+	@Override
+	EC setIfAbsent(EC context) {
+		int id = context.getRoot().getId();
+		if (id < 0)
+			throw new IllegalArgumentException(context.getRoot()
+					+ ": no identifier assigned");
+		// else
+		AtomicReferenceArray<EC> segment = getCreateSegment(id >>> SEGMENT_BITS_);
+		int offset = id & SEGMENT_MASK_;
+		for (;;) {
+			if (segment.compareAndSet(offset, null, context)) {
+				contextCount_.incrementAndGet();
+				return null;
+			}
+			// else
+			EC previous = segment.get(offset);
+			if (previous != null)
+				return previous;
+		}
+	}
+
+	/**
+	 * @param segmentIndex
+	 * @return the segment at the given position of the directory, which is
+	 *         created if it does not exist yet
+	 */
+	private AtomicReferenceArray<EC> getCreateSegment(int segmentIndex) {
+		AtomicReferenceArray<AtomicReferenceArray<EC>> directory = directory_;
+		if (segmentIndex < directory.length()) {
+			AtomicReferenceArray<EC> segment = directory.get(segmentIndex);
+			if (segment != null)
+				return segment;
+		}
+		// else
+		synchronized (this) {
+			directory = directory_;
+			if (segmentIndex >= directory.length()) {
+				// expand the directory
+				AtomicReferenceArray<AtomicReferenceArray<EC>> expanded = new AtomicReferenceArray<AtomicReferenceArray<EC>>(
+						Math.max(segmentIndex + 1, directory.length() << 1));
+				for (int i = 0; i < directory.length(); i++) {
+					expanded.set(i, directory.get(i));
+				}
+				directory = expanded;
+				directory_ = expanded;
+			}
+			AtomicReferenceArray<EC> segment = directory.get(segmentIndex);
+			if (segment == null) {
+				segment = new AtomicReferenceArray<EC>(SEGMENT_SIZE_);
+				directory.set(segmentIndex, segment);
+			}
+			return segment;
+		}
+	}
+
+	/**
+	 * @param context
+	 * @return {@code true} if the identifier of the root of the given
+	 *         {@link ExtendedContext} is no longer assigned to this root by the
+	 *         index, i.e., the root was removed from the index
+	 * 
+	 * @see org.semanticweb.elk.reasoner.indexing.caching.ModifiableIndexedObjectCache#releaseRemovedContextRoots()
+	 */
+	private boolean isReleased(EC context) {
+		IndexedContextRoot root = context.getRoot();
+		return ontologyIndex.getContextRoot(root.getId()) != root;
+	}
+
+	/**
+	 * Iterates over the {@link ExtendedContext}s stored in the segments of the
+	 * directory at the time of the creation of this iterator; the segments
+	 * that have not been created are skipped. The {@link ExtendedContext}s of
+	 * the roots removed from the index are not returned; their positions are
+	 * cleared instead.
+	 */
+	private class ContextIterator implements Iterator<EC> {
+
+		private final AtomicReferenceArray<AtomicReferenceArray<EC>> directory_ = ArraySaturationState.this.directory_;
+
+		private int segmentIndex_ = 0;
+
+		private AtomicReferenceArray<EC> segment_ = null;
+
+		private int offset_ = 0;
+
+		private EC next_ = null;
+
+		ContextIterator() {
+			seekNext();
+		}
+
+		private void seekNext() {
+			for (;;) {
+				if (segment_ != null) {
+					while (offset_ < SEGMENT_SIZE_) {
+						int offset = offset_++;
+						next_ = segment_.get(offset);
+						if (next_ == null)
+							continue;
+						// else
+						if (isReleased(next_)) {
+							// the root was removed from the index
+							if (segment_.compareAndSet(offset, next_, null))
+								contextCount_.decrementAndGet();
+							next_ = null;
+							continue;
+						}
+						// else
+						return;
+					}
+				}
+				// else go to the next segment
+				if (segmentIndex_ >= directory_.length())
+					return;
+				// else
+				segment_ = directory_.get(segmentIndex_++);
+				offset_ = 0;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next_ != null;
+		}
+
+		@Override
+		public EC next() {
+			EC result = next_;
+			if (result == null)
+				throw new NoSuchElementException("No next context");
+			// else
+			next_ = null;
+			seekNext();
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Removal not supported");
+		}
+
+	}
+
+}
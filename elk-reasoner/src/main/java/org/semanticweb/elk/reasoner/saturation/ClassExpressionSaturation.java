@@ -77,7 +77,9 @@ public class ClassExpressionSaturation<I extends IndexedContextRoot>
 	/**
 	 * Print statistics about the saturation computation
 	 */
+	@Override
 	public void printStatistics() {
+		super.printStatistics();
 		processorFactory.printStatistics();
 	}
 
@@ -22,7 +22,9 @@
  */
 package org.semanticweb.elk.reasoner.saturation;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -125,6 +127,25 @@ public class ContextImpl implements ExtendedContext {
 	 */
 	private final Set<IndexedClassExpression> subsumers_;
 
+	/**
+	 * the derivation counts of {@link #subsumers_}, or {@code null} if they
+	 * were never requested
+	 */
+	private SubsumerDerivationCounts subsumerDerivationCounts_ = null;
+
+	/**
+	 * records the changes of {@link #subsumers_} for incremental reasoning or
+	 * {@code null} if they are not recorded
+	 */
+	private final SubsumerContextTracker subsumerContextTracker_;
+
+	/**
+	 * the {@link IndexedClassExpression}s inserted into or deleted from
+	 * {@link #subsumers_} since the last update of
+	 * {@link #subsumerContextTracker_}, or {@code null} if there are none
+	 */
+	private List<IndexedClassExpression> changedSubsumers_ = null;
+
 	/**
 	 * the queue of unprocessed {@code Conclusion}s of this {@link Context}
 	 */
@@ -136,6 +157,63 @@ public class ContextImpl implements ExtendedContext {
 	 */
 	private volatile boolean isInitialized_ = false;
 
+	/**
+	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}
+	 * that uses the given {@link ActivationStack} for storing unprocessed
+	 * {@link Conclusion}s and the given {@link Set} for storing subsumers.
+	 * Initially, the context is not active.
+	 * 
+	 * @param root
+	 * @param toDo
+	 *            an empty {@link ActivationStack} that is not used elsewhere
+	 * @param subsumers
+	 *            an empty {@link Set} that is not used elsewhere
+	 * @param subsumerContextTracker
+	 *            the {@link SubsumerContextTracker} to which the changes of
+	 *            subsumers are reported or {@code null} if they should not be
+	 *            reported
+	 */
+	public ContextImpl(IndexedContextRoot root,
+			ActivationStack<Conclusion> toDo,
+			Set<IndexedClassExpression> subsumers,
+			SubsumerContextTracker subsumerContextTracker) {
+		this.root_ = root;
+		this.toDo_ = toDo;
+		this.subsumers_ = subsumers;
+		this.subsumerContextTracker_ = subsumerContextTracker;
+	}
+
+	/**
+	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}
+	 * that uses the given {@link ActivationStack} for storing unprocessed
+	 * {@link Conclusion}s and the given {@link Set} for storing subsumers.
+	 * Initially, the context is not active.
+	 * 
+	 * @param root
+	 * @param toDo
+	 *            an empty {@link ActivationStack} that is not used elsewhere
+	 * @param subsumers
+	 *            an empty {@link Set} that is not used elsewhere
+	 */
+	public ContextImpl(IndexedContextRoot root,
+			ActivationStack<Conclusion> toDo,
+			Set<IndexedClassExpression> subsumers) {
+		this(root, toDo, subsumers, null);
+	}
+
+	/**
+	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}
+	 * that uses the given {@link ActivationStack} for storing unprocessed
+	 * {@link Conclusion}s. Initially, the context is not active.
+	 * 
+	 * @param root
+	 * @param toDo
+	 *            an empty {@link ActivationStack} that is not used elsewhere
+	 */
+	public ContextImpl(IndexedContextRoot root, ActivationStack<Conclusion> toDo) {
+		this(root, toDo, new ArrayHashSet<IndexedClassExpression>(13));
+	}
+
 	/**
 	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}.
 	 * Initially, the context is not active.
@@ -143,9 +221,7 @@ public class ContextImpl implements ExtendedContext {
 	 * @param root
 	 */
 	public ContextImpl(IndexedContextRoot root) {
-		this.root_ = root;
-		this.toDo_ = new SynchronizedArrayListActivationStack<Conclusion>();
-		this.subsumers_ = new ArrayHashSet<IndexedClassExpression>(13);
+		this(root, new SynchronizedArrayListActivationStack<Conclusion>());
 	}
 
 	@Override
@@ -273,6 +349,60 @@ public class ContextImpl implements ExtendedContext {
 		return root_.toString() + (this != root_.getContext() ? "[local]" : "");
 	}
 
+	/**
+	 * Records that the given {@link IndexedClassExpression} was inserted into
+	 * or deleted from {@link #subsumers_} if this is required by
+	 * {@link #subsumerContextTracker_}
+	 * 
+	 * @param subsumer
+	 */
+	private void subsumerChanged(IndexedClassExpression subsumer) {
+		if (subsumerContextTracker_ == null
+				|| !subsumerContextTracker_.isEnabled())
+			return;
+		// else
+		if (changedSubsumers_ == null) {
+			changedSubsumers_ = new ArrayList<IndexedClassExpression>(4);
+			subsumerContextTracker_.contextChanged(this);
+		}
+		changedSubsumers_.add(subsumer);
+	}
+
+	/**
+	 * Records the contexts of the changed subsumers in the corresponding
+	 * {@link IndexedClassExpression}s according to {@link #subsumers_}
+	 * 
+	 * @see SubsumerContextTracker#update(SaturationState)
+	 */
+	void updateSubsumerContexts() {
+		if (changedSubsumers_ == null)
+			return;
+		// else
+		for (IndexedClassExpression subsumer : changedSubsumers_) {
+			if (subsumers_.contains(subsumer))
+				subsumer.addSubsumerContext(root_);
+			else
+				subsumer.removeSubsumerContext(root_);
+		}
+		changedSubsumers_ = null;
+	}
+
+	/**
+	 * Forgets the recorded changes of subsumers
+	 * 
+	 * @see SubsumerContextTracker#reset(java.util.Collection)
+	 */
+	void discardSubsumerChanges() {
+		changedSubsumers_ = null;
+	}
+
+	@Override
+	public SubsumerDerivationCounts getSubsumerDerivationCounts() {
+		if (subsumerDerivationCounts_ == null)
+			subsumerDerivationCounts_ = new SubsumerDerivationCounts();
+		return subsumerDerivationCounts_;
+	}
+
 	@Override
 	public synchronized boolean setSaturated(boolean saturated) {
 		// synchronized to ensure consistency when updated from two workers
@@ -301,7 +431,12 @@ public class ContextImpl implements ExtendedContext {
 			ConclusionVisitor<ContextImpl, Boolean> {
 
 		static Boolean visit(Subsumer<?> conclusion, ContextImpl input) {
-			return input.subsumers_.add(conclusion.getExpression());
+			IndexedClassExpression expression = conclusion.getExpression();
+			if (!input.subsumers_.add(expression))
+				return false;
+			// else
+			input.subsumerChanged(expression);
+			return true;
 		}
 
 		@Override
@@ -427,7 +562,14 @@ public class ContextImpl implements ExtendedContext {
 		}
 
 		static boolean visit(Subsumer<?> conclusion, ContextImpl input) {
-			return input.subsumers_.remove(conclusion.getExpression());
+			IndexedClassExpression expression = conclusion.getExpression();
+			if (!input.subsumers_.remove(expression))
+				return false;
+			// else
+			input.subsumerChanged(expression);
+			if (input.subsumerDerivationCounts_ != null)
+				input.subsumerDerivationCounts_.remove(expression);
+			return true;
 		}
 
 		@Override
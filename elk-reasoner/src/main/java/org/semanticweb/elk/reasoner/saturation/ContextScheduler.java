@@ -0,0 +1,57 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextStatistics;
+
+/**
+ * Keeps track of the activated {@link Context}s of a {@link SaturationState},
+ * i.e., those whose todo queue is not empty, and distributes them between the
+ * workers that process them. Every activated {@link Context} should be
+ * returned exactly once by one of the {@link ActiveContextQueue}s of this
+ * {@link ContextScheduler}.
+ * 
+ */
+public interface ContextScheduler {
+
+	/**
+	 * @return a new {@link ActiveContextQueue} through which one worker can
+	 *         submit the {@link Context}s activated by this worker and poll
+	 *         for the next {@link Context} to process; it should not be used
+	 *         from more than one thread at a time
+	 */
+	public ActiveContextQueue getWorkerQueue();
+
+	/**
+	 * Adds the scheduling statistics accumulated so far by this
+	 * {@link ContextScheduler} to the given {@link ContextStatistics} and
+	 * resets them, so that every event is reported only once
+	 * 
+	 * @param statistics
+	 *            the {@link ContextStatistics} to which the statistics should
+	 *            be added
+	 */
+	public void drainStatistics(ContextStatistics statistics);
+
+}
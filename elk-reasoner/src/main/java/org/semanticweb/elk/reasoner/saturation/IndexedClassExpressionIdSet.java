@@ -0,0 +1,296 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.semanticweb.elk.reasoner.indexing.caching.IndexedObjectCache;
+import org.semanticweb.elk.reasoner.indexing.caching.ModifiableIndexedObjectCache;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.collections.CompressedIntSet;
+import org.semanticweb.elk.util.collections.IntIterator;
+
+/**
+ * A {@link Set} of {@link IndexedClassExpression}s whose representation
+ * adapts to the number of elements. Small sets are stored in an
+ * {@link ArrayHashSet}, which is already compact for few elements. When the
+ * set grows over {@link #MAX_HASHED_SIZE} elements, the identifiers of the
+ * elements are moved to a {@link CompressedIntSet}, which uses sorted
+ * {@code char} arrays or bitmaps, and the elements are recovered from their
+ * identifiers using the {@link IndexedObjectCache} in which they were
+ * registered. The {@link IndexedClassExpression}s without identifiers are
+ * then kept separately. When the set shrinks below half of
+ * {@link #MAX_HASHED_SIZE}, the elements are moved back to an
+ * {@link ArrayHashSet}.
+ *
+ * This set is not thread safe. The iterator of this set does not support
+ * removal of elements.
+ *
+ * @see IndexedContextRoot#getId()
+ * @see IndexedObjectCache#getContextRoot(int)
+ */
+public class IndexedClassExpressionIdSet extends
+		AbstractSet<IndexedClassExpression> {
+
+	/**
+	 * the maximal number of elements stored in an {@link ArrayHashSet}
+	 */
+	static final int MAX_HASHED_SIZE = 64;
+
+	/**
+	 * used to find the elements by their identifiers
+	 */
+	private final IndexedObjectCache index_;
+
+	/**
+	 * the elements of this set if it is small, otherwise {@code null}
+	 */
+	private ArrayHashSet<IndexedClassExpression> hashed_;
+
+	/**
+	 * the identifiers of the elements of this set if it is large, otherwise
+	 * {@code null}
+	 */
+	private CompressedIntSet ids_ = null;
+
+	/**
+	 * the elements of this set without identifiers if it is large and there
+	 * are such elements, otherwise {@code null}
+	 */
+	private ArrayHashSet<IndexedClassExpression> unidentified_ = null;
+
+	public IndexedClassExpressionIdSet(IndexedObjectCache index) {
+		this.index_ = index;
+		this.hashed_ = new ArrayHashSet<IndexedClassExpression>(13);
+	}
+
+	@Override
+	public int size() {
+		if (hashed_ != null)
+			return hashed_.size();
+		// else
+		return unidentified_ == null ? ids_.size() : ids_.size()
+				+ unidentified_.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (hashed_ != null)
+			return hashed_.contains(o);
+		// else
+		if (!(o instanceof IndexedClassExpression))
+			return false;
+		// else
+		int id = ((IndexedClassExpression) o).getId();
+		if (id != IndexedContextRoot.NO_ID)
+			return ids_.contains(id);
+		// else
+		return unidentified_ != null && unidentified_.contains(o);
+	}
+
+	@Override
+	public boolean add(IndexedClassExpression e) {
+		if (hashed_ != null) {
+			if (!hashed_.add(e))
+				return false;
+			// else
+			if (hashed_.size() > MAX_HASHED_SIZE)
+				compress();
+			return true;
+		}
+		// else
+		int id = e.getId();
+		if (id != IndexedContextRoot.NO_ID)
+			return ids_.add(id);
+		// else
+		if (unidentified_ == null)
+			unidentified_ = new ArrayHashSet<IndexedClassExpression>(4);
+		return unidentified_.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (hashed_ != null)
+			return hashed_.remove(o);
+		// else
+		if (!(o instanceof IndexedClassExpression))
+			return false;
+		// else
+		int id = ((IndexedClassExpression) o).getId();
+		if (id != IndexedContextRoot.NO_ID) {
+			if (!ids_.remove(id))
+				return false;
+		} else if (unidentified_ == null || !unidentified_.remove(o))
+			return false;
+		// else
+		if (unidentified_ != null && unidentified_.isEmpty())
+			unidentified_ = null;
+		if (size() < MAX_HASHED_SIZE >> 1)
+			decompress();
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		boolean modified = false;
+		for (Object o : c) {
+			modified |= remove(o);
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		hashed_ = new ArrayHashSet<IndexedClassExpression>(13);
+		ids_ = null;
+		unidentified_ = null;
+	}
+
+	@Override
+	public Iterator<IndexedClassExpression> iterator() {
+		if (hashed_ != null)
+			return new UnmodifiableIterator(hashed_.iterator());
+		// else
+		return new CompressedIterator();
+	}
+
+	/**
+	 * Moves the elements from {@link #hashed_} to {@link #ids_} and
+	 * {@link #unidentified_}
+	 */
+	private void compress() {
+		ArrayHashSet<IndexedClassExpression> hashed = hashed_;
+		hashed_ = null;
+		ids_ = new CompressedIntSet();
+		for (IndexedClassExpression e : hashed) {
+			add(e);
+		}
+	}
+
+	/**
+	 * Moves the elements from {@link #ids_} and {@link #unidentified_} to
+	 * {@link #hashed_}
+	 */
+	private void decompress() {
+		ArrayHashSet<IndexedClassExpression> hashed = new ArrayHashSet<IndexedClassExpression>(
+				MAX_HASHED_SIZE);
+		for (IndexedClassExpression e : this) {
+			hashed.add(e);
+		}
+		hashed_ = hashed;
+		ids_ = null;
+		unidentified_ = null;
+	}
+
+	private static class UnmodifiableIterator implements
+			Iterator<IndexedClassExpression> {
+
+		private final Iterator<IndexedClassExpression> iterator_;
+
+		UnmodifiableIterator(Iterator<IndexedClassExpression> iterator) {
+			this.iterator_ = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator_.hasNext();
+		}
+
+		@Override
+		public IndexedClassExpression next() {
+			return iterator_.next();
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Removal not supported");
+		}
+
+	}
+
+	/**
+	 * Iterates over the elements of this set if it is large; the identifiers
+	 * that are no longer registered in {@link #index_} are skipped
+	 * 
+	 * @see ModifiableIndexedObjectCache#releaseRemovedContextRoots()
+	 */
+	private class CompressedIterator implements
+			Iterator<IndexedClassExpression> {
+
+		private final IntIterator idIterator_ = ids_.iterator();
+
+		private final Iterator<IndexedClassExpression> unidentifiedIterator_ = unidentified_ == null ? null
+				: unidentified_.iterator();
+
+		private IndexedClassExpression next_ = null;
+
+		CompressedIterator() {
+			seekNext();
+		}
+
+		private void seekNext() {
+			while (idIterator_.hasNext()) {
+				next_ = (IndexedClassExpression) index_
+						.getContextRoot(idIterator_.next());
+				if (next_ != null)
+					return;
+			}
+			if (unidentifiedIterator_ != null
+					&& unidentifiedIterator_.hasNext())
+				next_ = unidentifiedIterator_.next();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next_ != null;
+		}
+
+		@Override
+		public IndexedClassExpression next() {
+			IndexedClassExpression result = next_;
+			if (result == null)
+				throw new NoSuchElementException();
+			// else
+			next_ = null;
+			seekNext();
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Removal not supported");
+		}
+
+	}
+
+}
@@ -27,6 +27,22 @@ import org.semanticweb.elk.reasoner.indexing.visitors.IndexedContextRootVisitor;
 
 public interface IndexedContextRoot extends IndexedObject {
 
+	/**
+	 * The value of {@link #getId()} for {@link IndexedContextRoot}s to which
+	 * no identifier was yet assigned
+	 */
+	public static final int NO_ID = -1;
+
+	/**
+	 * @return the non-negative integer identifier of this
+	 *         {@link IndexedContextRoot} assigned when it was added to the
+	 *         ontology index, or {@link #NO_ID} if it was not added yet.
+	 *         Different {@link IndexedContextRoot}s of the same index have
+	 *         different identifiers, which are allocated consecutively
+	 *         starting from {@code 0}.
+	 */
+	int getId();
+
 	/**
 	 * @return The corresponding context or {@code null} if none was assigned.
 	 */
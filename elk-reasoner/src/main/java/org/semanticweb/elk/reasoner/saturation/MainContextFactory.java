@@ -25,6 +25,19 @@ package org.semanticweb.elk.reasoner.saturation;
  * #L%
  */
 
+import java.util.Set;
+
+import org.semanticweb.elk.reasoner.config.SubsumerSetType;
+import org.semanticweb.elk.reasoner.config.TodoStackType;
+import org.semanticweb.elk.reasoner.indexing.caching.IndexedObjectCache;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.ConcurrentLinkedActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.SingleConsumerActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.SynchronizedArrayListActivationStack;
+
 /**
  * Creates instances of {@link ContextImpl}.
  * 
@@ -34,9 +47,75 @@ package org.semanticweb.elk.reasoner.saturation;
  */
 public class MainContextFactory implements ContextFactory<ExtendedContext> {
 
+	/**
+	 * the type of stacks used for storing unprocessed {@link Conclusion}s of
+	 * the created contexts
+	 */
+	private final TodoStackType todoStackType_;
+
+	/**
+	 * the type of sets used for storing subsumers of the created contexts
+	 */
+	private final SubsumerSetType subsumerSetType_;
+
+	/**
+	 * the index in which the subsumers are registered; used for
+	 * {@link SubsumerSetType#COMPRESSED}
+	 */
+	private final IndexedObjectCache index_;
+
+	/**
+	 * the {@link SubsumerContextTracker} of the created contexts or
+	 * {@code null} if the changes of their subsumers are not tracked
+	 */
+	private final SubsumerContextTracker subsumerContextTracker_;
+
+	public MainContextFactory(TodoStackType todoStackType,
+			SubsumerSetType subsumerSetType, IndexedObjectCache index,
+			SubsumerContextTracker subsumerContextTracker) {
+		this.todoStackType_ = todoStackType;
+		this.subsumerSetType_ = subsumerSetType;
+		this.index_ = index;
+		this.subsumerContextTracker_ = subsumerContextTracker;
+	}
+
+	public MainContextFactory(TodoStackType todoStackType,
+			SubsumerSetType subsumerSetType, IndexedObjectCache index) {
+		this(todoStackType, subsumerSetType, index, null);
+	}
+
+	public MainContextFactory(TodoStackType todoStackType) {
+		this(todoStackType, SubsumerSetType.HASH, null);
+	}
+
+	public MainContextFactory() {
+		this(TodoStackType.SYNCHRONIZED);
+	}
+
 	@Override
 	public ExtendedContext createContext(IndexedContextRoot root) {
-		return new ContextImpl(root);
+		return new ContextImpl(root, createTodo(), createSubsumers(),
+				subsumerContextTracker_);
+	}
+
+	private Set<IndexedClassExpression> createSubsumers() {
+		switch (subsumerSetType_) {
+		case COMPRESSED:
+			return new IndexedClassExpressionIdSet(index_);
+		default:
+			return new ArrayHashSet<IndexedClassExpression>(13);
+		}
+	}
+
+	private ActivationStack<Conclusion> createTodo() {
+		switch (todoStackType_) {
+		case CONCURRENT_LINKED:
+			return new ConcurrentLinkedActivationStack<Conclusion>();
+		case SINGLE_CONSUMER:
+			return new SingleConsumerActivationStack<Conclusion>();
+		default:
+			return new SynchronizedArrayListActivationStack<Conclusion>();
+		}
 	}
 
 }
@@ -0,0 +1,258 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedDisjointClassesAxiom;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectSomeValuesFrom;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.SubContextPremises;
+import org.semanticweb.elk.reasoner.saturation.rules.backwardlinks.LinkableBackwardLinkRule;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+import org.semanticweb.elk.util.collections.LazySetUnion;
+import org.semanticweb.elk.util.collections.Operations;
+import org.semanticweb.elk.util.collections.chains.Chain;
+
+/**
+ * An {@link ExtendedContext} that extends a saturated {@link Context} of
+ * another {@link SaturationState} without modifying it. The
+ * {@link Conclusion}s that are not contained in the saturated {@link Context}
+ * are stored in a separate local {@link ContextImpl}, and the premises of this
+ * {@link Context} are the unions of the premises of the two {@link Context}s.
+ * 
+ * Since the saturated {@link Context} already contains all {@link Conclusion}s
+ * derivable from its root, the only {@link Conclusion}s that are stored
+ * locally are {@link Conclusion}s produced from other {@link Context}s, such
+ * as backward links with new sources, together with the sub-context
+ * initializations and propagations for new relations. In particular, no new
+ * subsumers, forward links, or contradictions should appear in this
+ * {@link Context}.
+ * 
+ * @see OverlayContextFactory
+ */
+public class OverlayContext implements ExtendedContext {
+
+	/**
+	 * the saturated {@link Context} which is extended by this
+	 * {@link OverlayContext}; it is never modified
+	 */
+	private final Context saturated_;
+
+	/**
+	 * stores the {@link Conclusion}s of this {@link OverlayContext} that are
+	 * not contained in {@link #saturated_}
+	 */
+	private final ContextImpl local_;
+
+	public OverlayContext(Context saturated) {
+		this.saturated_ = saturated;
+		this.local_ = new ContextImpl(saturated.getRoot());
+		// the local part is modified together with this context
+		this.local_.setSaturated(false);
+	}
+
+	@Override
+	public boolean addConclusion(Conclusion conclusion) {
+		if (saturated_.containsConclusion(conclusion))
+			return false;
+		// else
+		return local_.addConclusion(conclusion);
+	}
+
+	@Override
+	public boolean removeConclusion(Conclusion conclusion) {
+		return local_.removeConclusion(conclusion);
+	}
+
+	@Override
+	public boolean containsConclusion(Conclusion conclusion) {
+		return saturated_.containsConclusion(conclusion)
+				|| local_.containsConclusion(conclusion);
+	}
+
+	@Override
+	public IndexedContextRoot getRoot() {
+		return saturated_.getRoot();
+	}
+
+	@Override
+	public Set<IndexedClassExpression> getSubsumers() {
+		Set<IndexedClassExpression> localSubsumers = local_.getSubsumers();
+		if (localSubsumers.isEmpty())
+			return saturated_.getSubsumers();
+		// else
+		return new LazySetUnion<IndexedClassExpression>(
+				saturated_.getSubsumers(), localSubsumers);
+	}
+
+	@Override
+	public Map<IndexedObjectProperty, ? extends SubContextPremises> getSubContextPremisesByObjectProperty() {
+		Map<IndexedObjectProperty, ? extends SubContextPremises> saturatedSubContexts = saturated_
+				.getSubContextPremisesByObjectProperty();
+		Map<IndexedObjectProperty, ? extends SubContextPremises> localSubContexts = local_
+				.getSubContextPremisesByObjectProperty();
+		if (localSubContexts.isEmpty())
+			return saturatedSubContexts;
+		if (saturatedSubContexts.isEmpty())
+			return localSubContexts;
+		// else
+		Map<IndexedObjectProperty, SubContextPremises> result = new ArrayHashMap<IndexedObjectProperty, SubContextPremises>(
+				saturatedSubContexts.size() + localSubContexts.size());
+		for (Map.Entry<IndexedObjectProperty, ? extends SubContextPremises> entry : saturatedSubContexts
+				.entrySet()) {
+			result.put(entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<IndexedObjectProperty, ? extends SubContextPremises> entry : localSubContexts
+				.entrySet()) {
+			IndexedObjectProperty subRoot = entry.getKey();
+			SubContextPremises saturatedSubContext = result.get(subRoot);
+			result.put(subRoot, saturatedSubContext == null ? entry.getValue()
+					: new SubContextPremisesUnion(saturatedSubContext, entry
+							.getValue()));
+		}
+		return result;
+	}
+
+	@Override
+	public Set<IndexedObjectProperty> getLocalReflexiveObjectProperties() {
+		Set<IndexedObjectProperty> localProperties = local_
+				.getLocalReflexiveObjectProperties();
+		if (localProperties.isEmpty())
+			return saturated_.getLocalReflexiveObjectProperties();
+		// else
+		return new LazySetUnion<IndexedObjectProperty>(
+				saturated_.getLocalReflexiveObjectProperties(),
+				localProperties);
+	}
+
+	@Override
+	public LinkableBackwardLinkRule getBackwardLinkRuleHead() {
+		LinkableBackwardLinkRule localHead = local_.getBackwardLinkRuleHead();
+		if (localHead == null)
+			return saturated_.getBackwardLinkRuleHead();
+		// else
+		if (saturated_.getBackwardLinkRuleHead() == null)
+			return localHead;
+		// else the rules are created only for new forward links or
+		// contradictions, which cannot be derived in this context
+		throw new IllegalStateException(this
+				+ ": backward link rules cannot be combined");
+	}
+
+	@Override
+	public IndexedClassExpression[] getDisjointSubsumers(
+			IndexedDisjointClassesAxiom axiom) {
+		IndexedClassExpression[] result = saturated_
+				.getDisjointSubsumers(axiom);
+		if (result != null)
+			return result;
+		// else
+		return local_.getDisjointSubsumers(axiom);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterable<? extends IndexedObjectSomeValuesFrom> getPropagatedSubsumers(
+			IndexedPropertyChain subRoot) {
+		return Operations.<IndexedObjectSomeValuesFrom> concat(
+				saturated_.getPropagatedSubsumers(subRoot),
+				local_.getPropagatedSubsumers(subRoot));
+	}
+
+	@Override
+	public Chain<LinkableBackwardLinkRule> getBackwardLinkRuleChain() {
+		return local_.getBackwardLinkRuleChain();
+	}
+
+	@Override
+	public boolean addToDo(Conclusion conclusion) {
+		return local_.addToDo(conclusion);
+	}
+
+	@Override
+	public Conclusion takeToDo() {
+		return local_.takeToDo();
+	}
+
+	@Override
+	public boolean isSaturated() {
+		return local_.isSaturated();
+	}
+
+	@Override
+	public boolean isInitialized() {
+		return saturated_.isInitialized();
+	}
+
+	@Override
+	public boolean setSaturated(boolean saturated) {
+		return local_.setSaturated(saturated);
+	}
+
+	@Override
+	public SubsumerDerivationCounts getSubsumerDerivationCounts() {
+		return local_.getSubsumerDerivationCounts();
+	}
+
+	@Override
+	public String toString() {
+		return getRoot() + "[overlay]";
+	}
+
+	/**
+	 * The union of two {@link SubContextPremises}
+	 */
+	private static class SubContextPremisesUnion implements
+			SubContextPremises {
+
+		private final SubContextPremises first_, second_;
+
+		SubContextPremisesUnion(SubContextPremises first,
+				SubContextPremises second) {
+			this.first_ = first;
+			this.second_ = second;
+		}
+
+		@Override
+		public Set<IndexedContextRoot> getLinkedRoots() {
+			return Collections
+					.unmodifiableSet(new LazySetUnion<IndexedContextRoot>(
+							first_.getLinkedRoots(), second_.getLinkedRoots()));
+		}
+
+		@Override
+		public boolean isInitialized() {
+			return first_.isInitialized() || second_.isInitialized();
+		}
+
+	}
+
+}
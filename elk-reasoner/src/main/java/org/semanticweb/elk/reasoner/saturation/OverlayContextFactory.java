@@ -0,0 +1,61 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * Creates {@link ExtendedContext}s for a {@link SaturationState} that is
+ * computed on top of another, already saturated {@link SaturationState}
+ * without modifying the latter. If the saturated {@link SaturationState}
+ * contains a saturated {@link Context} for the given root, an
+ * {@link OverlayContext} extending this {@link Context} is created; otherwise
+ * a new {@link ContextImpl} is created.
+ */
+public class OverlayContextFactory implements ContextFactory<ExtendedContext> {
+
+	private final SaturationState<?> saturationState_;
+
+	/**
+	 * @param saturationState
+	 *            the {@link SaturationState} whose saturated {@link Context}
+	 *            s should be reused by the created {@link ExtendedContext}s
+	 */
+	public OverlayContextFactory(SaturationState<?> saturationState) {
+		this.saturationState_ = saturationState;
+	}
+
+	@Override
+	public ExtendedContext createContext(IndexedContextRoot root) {
+		Context saturated = saturationState_.getContext(root);
+		if (saturated != null && saturated.isInitialized()
+				&& saturated.isSaturated())
+			return new OverlayContext(saturated);
+		// else
+		ContextImpl result = new ContextImpl(root);
+		result.setSaturated(false);
+		return result;
+	}
+
+}
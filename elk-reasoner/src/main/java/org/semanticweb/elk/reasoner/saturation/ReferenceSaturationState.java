@@ -60,6 +60,32 @@ class ReferenceSaturationState extends AbstractSaturationState<ExtendedContext>
 		super(index, new MainContextFactory());
 	}
 
+	/**
+	 * 
+	 * @param index
+	 * @param scheduler
+	 *            the {@link ContextScheduler} used to distribute activated
+	 *            {@link Context}s between workers
+	 */
+	public ReferenceSaturationState(OntologyIndex index,
+			ContextScheduler scheduler) {
+		super(index, new MainContextFactory(), scheduler);
+	}
+
+	/**
+	 * 
+	 * @param index
+	 * @param factory
+	 *            the {@link ContextFactory} used to create new {@link Context}s
+	 * @param scheduler
+	 *            the {@link ContextScheduler} used to distribute activated
+	 *            {@link Context}s between workers
+	 */
+	public ReferenceSaturationState(OntologyIndex index,
+			ContextFactory<ExtendedContext> factory, ContextScheduler scheduler) {
+		super(index, factory, scheduler);
+	}
+
 	@Override
 	public Collection<ExtendedContext> getContexts() {
 		return new AbstractCollection<ExtendedContext>() {
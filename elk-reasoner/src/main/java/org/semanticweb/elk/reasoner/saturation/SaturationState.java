@@ -73,6 +73,12 @@ public interface SaturationState<C extends Context> {
 	 */
 	public Collection<C> getNotSaturatedContexts();
 
+	/**
+	 * @return the {@link ContextScheduler} that distributes the activated
+	 *         {@link Context}s of this {@link SaturationState} between workers
+	 */
+	public ContextScheduler getContextScheduler();
+
 	/**
 	 * @return the total number of times a {@link Context} was marked as
 	 *         non-saturated using this {@link SaturationState}, i.e., the
@@ -102,6 +108,13 @@ public interface SaturationState<C extends Context> {
 	 */
 	public Context setNextContextSaturated();
 
+	/**
+	 * @return the {@link SubsumerDerivationCounts.Clock} for the time stamps
+	 *         of the subsumers of the {@link Context}s in this
+	 *         {@link SaturationState}
+	 */
+	public SubsumerDerivationCounts.Clock getSubsumerDerivationClock();
+
 	/**
 	 * @param contextModificationListener
 	 * @return a new {@link SaturationStateWriter} that can only modify
@@ -25,6 +25,11 @@ package org.semanticweb.elk.reasoner.saturation;
  * #L%
  */
 
+import org.semanticweb.elk.reasoner.config.ContextSchedulingStrategy;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SaturationStateType;
+import org.semanticweb.elk.reasoner.config.SubsumerSetType;
+import org.semanticweb.elk.reasoner.config.TodoStackType;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 
@@ -48,4 +53,72 @@ public class SaturationStateFactory {
 		return new ReferenceSaturationState(ontologyIndex);
 		//return new MapSaturationState<ExtendedContext>(ontologyIndex, new MainContextFactory(), ontologyIndex.getIndexedClassExpressions().size());
 	}
+
+	/**
+	 * Creates a new {@link SaturationState} according to the given
+	 * {@link ReasonerConfiguration}
+	 * 
+	 * @param ontologyIndex
+	 * @param config
+	 * @return the new state
+	 */
+	public static SaturationState<? extends Context> createSaturationState(
+			OntologyIndex ontologyIndex, ReasonerConfiguration config) {
+		return createSaturationState(ontologyIndex, config, null);
+	}
+
+	/**
+	 * Creates a new {@link SaturationState} according to the given
+	 * {@link ReasonerConfiguration} whose contexts report the changes of their
+	 * subsumers to the given {@link SubsumerContextTracker}
+	 * 
+	 * @param ontologyIndex
+	 * @param config
+	 * @param subsumerContextTracker
+	 *            the {@link SubsumerContextTracker} or {@code null} if the
+	 *            changes should not be reported
+	 * @return the new state
+	 */
+	public static SaturationState<? extends Context> createSaturationState(
+			OntologyIndex ontologyIndex, ReasonerConfiguration config,
+			SubsumerContextTracker subsumerContextTracker) {
+		MainContextFactory contextFactory = new MainContextFactory(
+				TodoStackType.valueOf(config
+						.getParameter(ReasonerConfiguration.TODO_STACK)),
+				SubsumerSetType.valueOf(config
+						.getParameter(ReasonerConfiguration.SUBSUMER_SET)),
+				ontologyIndex, subsumerContextTracker);
+		ContextScheduler scheduler = createContextScheduler(config);
+		SaturationStateType type = SaturationStateType.valueOf(config
+				.getParameter(ReasonerConfiguration.SATURATION_STATE));
+		switch (type) {
+		case ARRAY:
+			return new ArraySaturationState<ExtendedContext>(ontologyIndex,
+					contextFactory, scheduler);
+		default:
+			return new ReferenceSaturationState(ontologyIndex, contextFactory,
+					scheduler);
+		}
+	}
+
+	/**
+	 * Creates a new {@link ContextScheduler} according to the given
+	 * {@link ReasonerConfiguration}
+	 * 
+	 * @param config
+	 * @return the new {@link ContextScheduler}
+	 */
+	public static ContextScheduler createContextScheduler(
+			ReasonerConfiguration config) {
+		ContextSchedulingStrategy strategy = ContextSchedulingStrategy
+				.valueOf(config
+						.getParameter(ReasonerConfiguration.CONTEXT_SCHEDULING));
+		switch (strategy) {
+		case WORK_STEALING:
+			return new WorkStealingContextScheduler(
+					config.getParameterAsInt(ReasonerConfiguration.NUM_OF_WORKING_THREADS));
+		default:
+			return new SharedQueueContextScheduler();
+		}
+	}
 }
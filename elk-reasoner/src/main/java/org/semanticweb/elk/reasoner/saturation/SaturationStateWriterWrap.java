@@ -22,8 +22,10 @@ package org.semanticweb.elk.reasoner.saturation;
  * #L%
  */
 
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextPremises;
 
 /**
  * An implementation of {@link SaturationStateWriter} that just mirrors all
@@ -49,6 +51,12 @@ public class SaturationStateWriterWrap<C extends Context> implements
 		mainWriter.produce(root, conclusion);
 	}
 
+	@Override
+	public boolean isRedundantSubsumer(ContextPremises premises,
+			IndexedClassExpression subsumer) {
+		return mainWriter.isRedundantSubsumer(premises, subsumer);
+	}
+
 	@Override
 	public Context pollForActiveContext() {
 		return mainWriter.pollForActiveContext();
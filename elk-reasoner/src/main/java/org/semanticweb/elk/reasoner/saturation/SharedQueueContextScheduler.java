@@ -0,0 +1,66 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * A {@link ContextScheduler} that keeps all activated {@link Context}s in one
+ * queue shared by all workers. The {@link Context}s are processed in the order
+ * in which they were activated.
+ * 
+ */
+public class SharedQueueContextScheduler extends AbstractContextScheduler {
+
+	/**
+	 * The queue containing all activated contexts (whose todo queue is not
+	 * empty). Every activated context occurs exactly once.
+	 */
+	private final Queue<Context> activeContexts_ = new ConcurrentLinkedQueue<Context>();
+
+	@Override
+	public ActiveContextQueue getWorkerQueue() {
+		return new WorkerQueue();
+	}
+
+	private class WorkerQueue implements ActiveContextQueue {
+
+		@Override
+		public void add(Context context) {
+			activeContexts_.add(context);
+		}
+
+		@Override
+		public Context poll() {
+			Context result = activeContexts_.poll();
+			if (result == null)
+				addStatistics(0, 1);
+			return result;
+		}
+
+	}
+
+}
@@ -0,0 +1,132 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * Maintains the contexts in which {@link IndexedClassExpression}s are
+ * subsumers, see {@link IndexedClassExpression#getSubsumerContextIds()}. These
+ * are needed only for incremental reasoning, so they are computed only when
+ * {@link #update(SaturationState)} is called for the first time; before that,
+ * the saturation only checks whether the tracking is enabled.
+ *
+ * Once the tracking is enabled, every {@link ContextImpl} created with this
+ * {@link SubsumerContextTracker} records its inserted and deleted subsumers in
+ * a list, which needs no synchronization since a context is modified by one
+ * worker at a time. The recorded changes are applied to the
+ * {@link IndexedClassExpression}s by the next call of
+ * {@link #update(SaturationState)}. Neither this method nor
+ * {@link #reset(Collection)} should be called during the saturation.
+ *
+ * @see ContextImpl
+ */
+public class SubsumerContextTracker {
+
+	/**
+	 * {@code true} if the changes of subsumers are recorded
+	 */
+	private volatile boolean enabled_ = false;
+
+	/**
+	 * the {@link ContextImpl}s with the recorded changes of subsumers that are
+	 * not yet applied
+	 */
+	private final Queue<ContextImpl> changedContexts_ = new ConcurrentLinkedQueue<ContextImpl>();
+
+	/**
+	 * @return {@code true} if the changes of subsumers should be recorded
+	 */
+	boolean isEnabled() {
+		return enabled_;
+	}
+
+	/**
+	 * Registers the given {@link ContextImpl} the first time it records a
+	 * change of subsumers since the last {@link #update(SaturationState)}
+	 *
+	 * @param context
+	 */
+	void contextChanged(ContextImpl context) {
+		changedContexts_.add(context);
+	}
+
+	/**
+	 * Makes sure that the contexts of the {@link IndexedClassExpression}s
+	 * correspond to the subsumers of the {@link Context}s in the given
+	 * {@link SaturationState}. The first call records the subsumers of all
+	 * {@link Context}s and enables the tracking of changes; the next calls
+	 * only apply the recorded changes.
+	 *
+	 * @param saturationState
+	 *            the {@link SaturationState} containing the
+	 *            {@link ContextImpl}s created with this
+	 *            {@link SubsumerContextTracker}
+	 */
+	public void update(SaturationState<?> saturationState) {
+		if (enabled_) {
+			ContextImpl context;
+			while ((context = changedContexts_.poll()) != null) {
+				context.updateSubsumerContexts();
+			}
+			return;
+		}
+		// else
+		for (Context context : saturationState.getContexts()) {
+			IndexedContextRoot root = context.getRoot();
+			for (IndexedClassExpression subsumer : context.getSubsumers()) {
+				subsumer.addSubsumerContext(root);
+			}
+		}
+		enabled_ = true;
+	}
+
+	/**
+	 * Disables the tracking and forgets the contexts of the given
+	 * {@link IndexedClassExpression}s; should be called when the
+	 * {@link Context}s are discarded
+	 *
+	 * @param classExpressions
+	 *            all {@link IndexedClassExpression}s of the ontology
+	 */
+	public void reset(
+			Collection<? extends IndexedClassExpression> classExpressions) {
+		if (!enabled_)
+			return;
+		// else
+		enabled_ = false;
+		ContextImpl context;
+		while ((context = changedContexts_.poll()) != null) {
+			context.discardSubsumerChanges();
+		}
+		for (IndexedClassExpression ice : classExpressions) {
+			ice.clearSubsumerContexts();
+		}
+	}
+
+}
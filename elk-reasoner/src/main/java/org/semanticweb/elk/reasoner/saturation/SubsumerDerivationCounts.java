@@ -0,0 +1,173 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Subsumer;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+
+/**
+ * Keeps track of the number of derivations of the subsumers of a
+ * {@link Context}. Every recorded subsumer receives a time stamp, which is
+ * larger than the time stamps of all subsumers recorded before it. A derivation
+ * of a subsumer is counted only if it was obtained from a premise that was
+ * derived before this subsumer, as determined by
+ * {@link Subsumer#getPremiseStamp()}. This way, cyclic derivations are never
+ * counted, and a subsumer whose count drops to zero after retracting a lost
+ * derivation is the only one that needs to be deleted; the other subsumers
+ * still have a derivation from older premises. Derivations that are lost
+ * without being retracted are not allowed; derivations that are retracted
+ * without being counted can only result in deletion of subsumers that are
+ * still derivable, which is repaired like in the usual over-deletion.
+ * 
+ * This object is not thread safe; it should be modified only by the worker
+ * that processes the {@link Context}.
+ */
+public class SubsumerDerivationCounts {
+
+	/**
+	 * the time stamp of premises whose derivations should not be counted
+	 */
+	public static final long NO_STAMP = 0;
+
+	/**
+	 * the time stamps and derivation counts of the recorded subsumers
+	 */
+	private final Map<IndexedClassExpression, Record> records_ = new ArrayHashMap<IndexedClassExpression, Record>(
+			16);
+
+	/**
+	 * Records a new subsumer with one derivation
+	 * 
+	 * @param subsumer
+	 * @param clock
+	 *            the {@link Clock} shared by all {@link Context}s of the
+	 *            {@link SaturationState}
+	 * @return the time stamp assigned to the subsumer
+	 */
+	public long add(IndexedClassExpression subsumer, Clock clock) {
+		long stamp = clock.time_.incrementAndGet();
+		records_.put(subsumer, new Record(stamp));
+		return stamp;
+	}
+
+	/**
+	 * @param subsumer
+	 * @return the time stamp assigned to the given subsumer or
+	 *         {@link #NO_STAMP} if the subsumer is not recorded
+	 */
+	public long getStamp(IndexedClassExpression subsumer) {
+		Record record = records_.get(subsumer);
+		return record == null ? NO_STAMP : record.stamp;
+	}
+
+	/**
+	 * Counts a new derivation of a recorded subsumer, provided it was obtained
+	 * from a premise derived before this subsumer
+	 * 
+	 * @param subsumer
+	 * @param premiseStamp
+	 *            the time stamp of the premise of the derivation
+	 * @return {@code true} if the derivation was counted
+	 */
+	public boolean increment(IndexedClassExpression subsumer, long premiseStamp) {
+		if (premiseStamp == NO_STAMP)
+			return false;
+		// else
+		Record record = records_.get(subsumer);
+		if (record == null || premiseStamp >= record.stamp)
+			return false;
+		// else
+		record.count++;
+		return true;
+	}
+
+	/**
+	 * Retracts a lost derivation of a subsumer, provided it could have been
+	 * counted for this subsumer
+	 * 
+	 * @param subsumer
+	 * @param premiseStamp
+	 *            the time stamp of the premise of the derivation or
+	 *            {@link #NO_STAMP} if not known
+	 * @return {@code true} if the subsumer still has some counted derivations,
+	 *         i.e., it should not be deleted
+	 */
+	public boolean decrement(IndexedClassExpression subsumer, long premiseStamp) {
+		Record record = records_.get(subsumer);
+		if (record == null)
+			return false;
+		// else
+		if (premiseStamp < record.stamp)
+			record.count--;
+		return record.count > 0;
+	}
+
+	/**
+	 * Removes the record of the given subsumer
+	 * 
+	 * @param subsumer
+	 */
+	public void remove(IndexedClassExpression subsumer) {
+		records_.remove(subsumer);
+	}
+
+	/**
+	 * The time used for assigning time stamps to the subsumers of the
+	 * {@link Context}s of one {@link SaturationState}
+	 * 
+	 * @see SaturationState#getSubsumerDerivationClock()
+	 */
+	public static class Clock {
+
+		private final AtomicLong time_ = new AtomicLong(NO_STAMP);
+
+		/**
+		 * @return a time stamp that is not smaller than the time stamps of
+		 *         all subsumers recorded so far and smaller than the time
+		 *         stamps of all subsumers recorded from now on
+		 */
+		public long getTime() {
+			return time_.get();
+		}
+
+	}
+
+	private static class Record {
+
+		final long stamp;
+
+		int count = 1;
+
+		Record(long stamp) {
+			this.stamp = stamp;
+		}
+
+	}
+
+}
@@ -0,0 +1,76 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.conclusions.implementation.StampedComposedSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.implementation.StampedDecomposedSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.ComposedSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.DecomposedSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Subsumer;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * A {@link SaturationStateWriter} that assigns the time stamp of the currently
+ * processed premise to all produced {@link Subsumer}s. Since the time stamps
+ * are not stored in other {@link Subsumer}s, the produced {@link Subsumer}s
+ * are replaced by their copies with the time stamp.
+ * 
+ * @see SubsumerDerivationCounts
+ * @see Subsumer#getPremiseStamp()
+ */
+public class SubsumerStampingWriter<C extends Context> extends
+		SaturationStateWriterWrap<C> {
+
+	private long premiseStamp_ = SubsumerDerivationCounts.NO_STAMP;
+
+	public SubsumerStampingWriter(SaturationStateWriter<? extends C> writer) {
+		super(writer);
+	}
+
+	/**
+	 * Sets the time stamp to be assigned to the {@link Subsumer}s produced
+	 * from now on
+	 * 
+	 * @param premiseStamp
+	 */
+	public void setPremiseStamp(long premiseStamp) {
+		this.premiseStamp_ = premiseStamp;
+	}
+
+	@Override
+	public void produce(IndexedContextRoot root, Conclusion conclusion) {
+		if (conclusion instanceof ComposedSubsumer)
+			conclusion = new StampedComposedSubsumer<IndexedClassExpression>(
+					((ComposedSubsumer<?>) conclusion).getExpression(),
+					premiseStamp_);
+		else if (conclusion instanceof DecomposedSubsumer)
+			conclusion = new StampedDecomposedSubsumer<IndexedClassExpression>(
+					((DecomposedSubsumer<?>) conclusion).getExpression(),
+					premiseStamp_);
+		super.produce(root, conclusion);
+	}
+
+}
@@ -0,0 +1,145 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * A {@link ContextScheduler} that keeps a separate queue of activated
+ * {@link Context}s for every worker thread. A {@link Context} activated by a
+ * worker is added to the queue of its thread, regardless of which
+ * {@link ActiveContextQueue} the worker uses, so that it is likely to be
+ * processed by the same thread. A worker whose queue is empty takes (steals)
+ * {@link Context}s from the queues of other workers. This way, the workers
+ * compete for the same queue only when some of them run out of work.
+ * 
+ */
+public class WorkStealingContextScheduler extends AbstractContextScheduler {
+
+	/**
+	 * the queues of activated {@link Context}s; every activated
+	 * {@link Context} occurs in exactly one of them exactly once
+	 */
+	private final Queue<Context>[] queues_;
+
+	/**
+	 * used to assign queues to new worker threads in a round-robin fashion
+	 */
+	private final AtomicInteger workerCount_ = new AtomicInteger(0);
+
+	/**
+	 * the index of the queue owned by the current worker thread; all
+	 * {@link ActiveContextQueue}s used by the same thread share this queue
+	 */
+	private final ThreadLocal<Integer> homeQueue_ = new ThreadLocal<Integer>() {
+		@Override
+		protected Integer initialValue() {
+			return (workerCount_.getAndIncrement() & Integer.MAX_VALUE)
+					% queues_.length;
+		}
+	};
+
+	/**
+	 * @param queueCount
+	 *            the number of worker queues to use; usually, the maximal
+	 *            number of workers that process the {@link Context}s
+	 *            concurrently
+	 */
+	@SuppressWarnings("unchecked")
+	public WorkStealingContextScheduler(int queueCount) {
+		if (queueCount < 1)
+			queueCount = 1;
+		this.queues_ = new Queue[queueCount];
+		for (int i = 0; i < queueCount; i++) {
+			queues_[i] = new ConcurrentLinkedQueue<Context>();
+		}
+	}
+
+	@Override
+	public ActiveContextQueue getWorkerQueue() {
+		return new WorkerQueue();
+	}
+
+	private class WorkerQueue implements ActiveContextQueue {
+
+		/**
+		 * the thread for which {@link #home_} was last determined
+		 */
+		private Thread owner_ = null;
+
+		/**
+		 * the index of the queue owned by {@link #owner_}
+		 */
+		private int home_;
+
+		/**
+		 * the local counter for {@link Context}s taken from other workers
+		 */
+		private int countStolenContexts_ = 0;
+
+		/**
+		 * @return the index of the queue owned by the current thread
+		 */
+		private int getHome() {
+			Thread current = Thread.currentThread();
+			if (current != owner_) {
+				// this queue is used by a new worker thread
+				owner_ = current;
+				home_ = homeQueue_.get();
+			}
+			return home_;
+		}
+
+		@Override
+		public void add(Context context) {
+			queues_[getHome()].add(context);
+		}
+
+		@Override
+		public Context poll() {
+			int home = getHome();
+			Context result = queues_[home].poll();
+			if (result != null)
+				return result;
+			// else try to steal from other workers
+			int queueCount = queues_.length;
+			for (int i = 1; i < queueCount; i++) {
+				result = queues_[(home + i) % queueCount].poll();
+				if (result != null) {
+					countStolenContexts_++;
+					return result;
+				}
+			}
+			// no activated contexts found; report the statistics
+			addStatistics(countStolenContexts_, 1);
+			countStolenContexts_ = 0;
+			return null;
+		}
+
+	}
+
+}
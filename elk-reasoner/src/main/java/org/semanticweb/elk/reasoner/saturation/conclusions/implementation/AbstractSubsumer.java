@@ -23,6 +23,7 @@
 package org.semanticweb.elk.reasoner.saturation.conclusions.implementation;
 
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Subsumer;
 import org.semanticweb.elk.reasoner.saturation.context.ContextPremises;
 import org.semanticweb.elk.reasoner.saturation.rules.ConclusionProducer;
@@ -59,6 +60,12 @@ public abstract class AbstractSubsumer<S extends IndexedClassExpression>
 		return expression_;
 	}
 
+	@Override
+	public long getPremiseStamp() {
+		// the derivations are counted only for stamped subsumers
+		return SubsumerDerivationCounts.NO_STAMP;
+	}
+
 	@Override
 	public String toString() {
 		return "Subsumer(" + expression_.toString() + ")";
@@ -0,0 +1,52 @@
+package org.semanticweb.elk.reasoner.saturation.conclusions.implementation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
+import org.semanticweb.elk.reasoner.saturation.SubsumerStampingWriter;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.DecomposedSubsumer;
+
+/**
+ * A {@link DecomposedSubsumer} with the time stamp of its premise; created by
+ * {@link SubsumerStampingWriter} when the derivations of subsumers are
+ * counted, so that other subsumers do not store the time stamps
+ * 
+ * @see SubsumerDerivationCounts
+ */
+public class StampedDecomposedSubsumer<S extends IndexedClassExpression> extends
+		DecomposedSubsumerImpl<S> {
+
+	private final long premiseStamp_;
+
+	public StampedDecomposedSubsumer(S subsumer, long premiseStamp) {
+		super(subsumer);
+		this.premiseStamp_ = premiseStamp;
+	}
+
+	@Override
+	public long getPremiseStamp() {
+		return premiseStamp_;
+	}
+
+}
@@ -22,6 +22,7 @@ package org.semanticweb.elk.reasoner.saturation.conclusions.interfaces;
  */
 
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
 
 /**
  * A {@link Conclusion} representing a subsumer {@link IndexedClassExpression}
@@ -44,4 +45,13 @@ public interface Subsumer<S extends IndexedClassExpression> extends Conclusion {
 	 */
 	public S getExpression();
 
+	/**
+	 * @return the time stamp of the premise from which this {@link Subsumer}
+	 *         was produced, or {@link SubsumerDerivationCounts#NO_STAMP} if
+	 *         this derivation should not be counted
+	 * 
+	 * @see SubsumerDerivationCounts
+	 */
+	public long getPremiseStamp();
+
 }
@@ -44,6 +44,20 @@ public abstract class AbstractRuleApplicationConclusionVisitor extends
 	 */
 	final ConclusionProducer producer;
 
+	/**
+	 * the {@link SubsumerDecompositionVisitor} used for the last
+	 * {@link ContextPremises} with which decomposition rules were applied;
+	 * consecutive {@link Conclusion}s usually come from the same
+	 * {@link ContextPremises}, so this visitor is rarely recreated
+	 */
+	private SubsumerDecompositionVisitor decompositionVisitor_ = null;
+
+	/**
+	 * the {@link ContextPremises} for which {@link #decompositionVisitor_} was
+	 * created
+	 */
+	private ContextPremises decompositionPremises_ = null;
+
 	AbstractRuleApplicationConclusionVisitor(RuleVisitor ruleAppVisitor,
 			ConclusionProducer producer) {
 		this.ruleAppVisitor = ruleAppVisitor;
@@ -62,9 +76,12 @@ public abstract class AbstractRuleApplicationConclusionVisitor extends
 
 	void applyDecompositionRules(Subsumer<?> conclusion,
 			ContextPremises premises) {
-		conclusion.getExpression().accept(
-				new SubsumerDecompositionVisitor(ruleAppVisitor, premises,
-						producer));
+		if (premises != decompositionPremises_) {
+			decompositionVisitor_ = new SubsumerDecompositionVisitor(
+					ruleAppVisitor, premises, producer);
+			decompositionPremises_ = premises;
+		}
+		conclusion.getExpression().accept(decompositionVisitor_);
 	}
 
 }
@@ -0,0 +1,94 @@
+package org.semanticweb.elk.reasoner.saturation.conclusions.visitors;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
+import org.semanticweb.elk.reasoner.saturation.SubsumerStampingWriter;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.ComposedSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.DecomposedSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Subsumer;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * A {@link ConclusionVisitor} that records the derivations of the visited
+ * {@link Subsumer}s in the {@link SubsumerDerivationCounts} of the
+ * {@link Context} before they are inserted. The visit method returns
+ * {@code false} for {@link Subsumer}s that already occur in the
+ * {@link Context}, and {@code true} otherwise. The {@link Subsumer}s produced
+ * by the rules applied to the visited {@link Conclusion} should be stamped
+ * using the given {@link SubsumerStampingWriter}.
+ * 
+ * @see SubsumerDerivationRetractingVisitor
+ */
+public class SubsumerDerivationCountingVisitor extends
+		AbstractConclusionVisitor<Context, Boolean> {
+
+	private final SubsumerStampingWriter<?> writer_;
+
+	/**
+	 * the {@link SubsumerDerivationCounts.Clock} of the {@link SaturationState}
+	 * containing the visited {@link Context}s
+	 */
+	private final SubsumerDerivationCounts.Clock clock_;
+
+	public SubsumerDerivationCountingVisitor(SubsumerStampingWriter<?> writer,
+			SubsumerDerivationCounts.Clock clock) {
+		this.writer_ = writer;
+		this.clock_ = clock;
+	}
+
+	@Override
+	protected Boolean defaultVisit(Conclusion conclusion, Context context) {
+		// only subsumers derived before this conclusion count it as a premise
+		writer_.setPremiseStamp(clock_.getTime());
+		return true;
+	}
+
+	Boolean defaultVisit(Subsumer<?> conclusion, Context context) {
+		IndexedClassExpression expression = conclusion.getExpression();
+		SubsumerDerivationCounts counts = context.getSubsumerDerivationCounts();
+		if (context.getSubsumers().contains(expression)) {
+			// another derivation of an existing subsumer
+			counts.increment(expression, conclusion.getPremiseStamp());
+			return false;
+		}
+		// else the subsumer is going to be inserted
+		writer_.setPremiseStamp(counts.add(expression, clock_));
+		return true;
+	}
+
+	@Override
+	public Boolean visit(ComposedSubsumer<?> conclusion, Context context) {
+		return defaultVisit(conclusion, context);
+	}
+
+	@Override
+	public Boolean visit(DecomposedSubsumer<?> conclusion, Context context) {
+		return defaultVisit(conclusion, context);
+	}
+
+}
@@ -0,0 +1,91 @@
+package org.semanticweb.elk.reasoner.saturation.conclusions.visitors;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
+import org.semanticweb.elk.reasoner.saturation.SubsumerStampingWriter;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.ComposedSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.DecomposedSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Subsumer;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ConclusionVisitor} that retracts the derivations of the visited
+ * {@link Subsumer}s from the {@link SubsumerDerivationCounts} of the
+ * {@link Context} before they are deleted. The visit method returns
+ * {@code false} for {@link Subsumer}s that still have other counted
+ * derivations, and {@code true} otherwise, in which case the visited
+ * {@link Conclusion} should be deleted. The deletions produced by the rules
+ * applied to the visited {@link Conclusion} should be stamped using the given
+ * {@link SubsumerStampingWriter}.
+ * 
+ * @see SubsumerDerivationCountingVisitor
+ */
+public class SubsumerDerivationRetractingVisitor extends
+		AbstractConclusionVisitor<Context, Boolean> {
+
+	// logger for events
+	private static final Logger LOGGER_ = LoggerFactory
+			.getLogger(SubsumerDerivationRetractingVisitor.class);
+
+	private final SubsumerStampingWriter<?> writer_;
+
+	public SubsumerDerivationRetractingVisitor(SubsumerStampingWriter<?> writer) {
+		this.writer_ = writer;
+	}
+
+	@Override
+	protected Boolean defaultVisit(Conclusion conclusion, Context context) {
+		// other conclusions are not time stamped
+		writer_.setPremiseStamp(SubsumerDerivationCounts.NO_STAMP);
+		return true;
+	}
+
+	Boolean defaultVisit(Subsumer<?> conclusion, Context context) {
+		IndexedClassExpression expression = conclusion.getExpression();
+		SubsumerDerivationCounts counts = context.getSubsumerDerivationCounts();
+		if (counts.decrement(expression, conclusion.getPremiseStamp())) {
+			LOGGER_.trace("{}: {} is still derived", context, conclusion);
+			return false;
+		}
+		// else the subsumer is going to be deleted
+		writer_.setPremiseStamp(counts.getStamp(expression));
+		return true;
+	}
+
+	@Override
+	public Boolean visit(ComposedSubsumer<?> conclusion, Context context) {
+		return defaultVisit(conclusion, context);
+	}
+
+	@Override
+	public Boolean visit(DecomposedSubsumer<?> conclusion, Context context) {
+		return defaultVisit(conclusion, context);
+	}
+
+}
@@ -23,6 +23,7 @@ package org.semanticweb.elk.reasoner.saturation.context;
  */
 
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.SubConclusion;
 import org.semanticweb.elk.reasoner.saturation.rules.backwardlinks.LinkableBackwardLinkRule;
@@ -97,4 +98,11 @@ public interface Context extends ConclusionSet, ContextPremises {
 	
 	public boolean isInitialized();
 
+	/**
+	 * @return the {@link SubsumerDerivationCounts} keeping track of the
+	 *         derivations of the subsumers of this {@link Context}; it is
+	 *         created when this method is called for the first time
+	 */
+	public SubsumerDerivationCounts getSubsumerDerivationCounts();
+
 }
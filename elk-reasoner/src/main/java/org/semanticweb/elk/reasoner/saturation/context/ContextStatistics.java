@@ -49,6 +49,17 @@ public class ContextStatistics {
 
 	public int countModifiedContexts;
 
+	/**
+	 * the number of contexts that a worker has taken from the queue of another
+	 * worker
+	 */
+	public int countStolenContexts;
+
+	/**
+	 * the number of times a worker has not found any active context to process
+	 */
+	public int countIdlePolls;
+
 	/**
 	 * the time spent on processing
 	 */
@@ -64,6 +75,8 @@ public class ContextStatistics {
 		countCreatedContexts = 0;
 		countProcessedContexts = 0;
 		countModifiedContexts = 0;
+		countStolenContexts = 0;
+		countIdlePolls = 0;
 		timeContextProcess = 0;
 	}
 
@@ -72,6 +85,8 @@ public class ContextStatistics {
 		countCreatedContexts += stats.countCreatedContexts;
 		countProcessedContexts += stats.countProcessedContexts;
 		countModifiedContexts += stats.countModifiedContexts;
+		countStolenContexts += stats.countStolenContexts;
+		countIdlePolls += stats.countIdlePolls;
 		timeContextProcess += stats.timeContextProcess;
 	}
 
@@ -91,6 +106,11 @@ public class ContextStatistics {
 		if (countModifiedContexts > 0) {
 			LoggerWrap.log(logger, level, "Contexts modified: " + countModifiedContexts);
 		}
+
+		if (countStolenContexts > 0 || countIdlePolls > 0) {
+			LoggerWrap.log(logger, level, "Contexts stolen: "
+					+ countStolenContexts + ", idle polls: " + countIdlePolls);
+		}
 	}
 	
 	public void check(Logger logger) {
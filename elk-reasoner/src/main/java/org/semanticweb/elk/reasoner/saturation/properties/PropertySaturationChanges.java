@@ -0,0 +1,300 @@
+/*
+ * #%L
+ * elk-reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.semanticweb.elk.reasoner.saturation.properties;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedComplexPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectSomeValuesFrom;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedRangeFiller;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.rules.backwardlinks.BackwardLinkChainFromBackwardLinkRule;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.collections.Multimap;
+
+/**
+ * Keeps the {@link SaturatedPropertyChain}s computed before some property
+ * axioms were changed, so that the conclusions derived using them can be
+ * deleted incrementally after the {@link SaturatedPropertyChain}s are computed
+ * for the new axioms. The previous and the new {@link SaturatedPropertyChain}s
+ * can be exchanged using {@link #usePrevious()} and {@link #useCurrent()}.
+ */
+public class PropertySaturationChanges {
+
+	/**
+	 * the {@link SaturatedPropertyChain}s which are currently not used
+	 */
+	private final Map<IndexedPropertyChain, SaturatedPropertyChain> backups_;
+
+	/**
+	 * {@code true} if the {@link IndexedPropertyChain}s currently have their
+	 * previous {@link SaturatedPropertyChain}s
+	 */
+	private boolean previousInUse_ = false;
+
+	/**
+	 * the {@link IndexedPropertyChain}s whose {@link SaturatedPropertyChain}s
+	 * have changed together with their previous and new sub-property chains,
+	 * or {@code null} if not computed yet
+	 */
+	private Set<IndexedPropertyChain> affected_ = null;
+
+	/**
+	 * {@code true} if some of {@link #affected_} was or became reflexive
+	 */
+	private boolean affectsReflexive_ = false;
+
+	/**
+	 * Saves the current {@link SaturatedPropertyChain}s of the given
+	 * {@link IndexedPropertyChain}s, which should be called before the
+	 * {@link SaturatedPropertyChain}s are cleared
+	 * 
+	 * @param propertyChains
+	 */
+	public PropertySaturationChanges(
+			Collection<? extends IndexedPropertyChain> propertyChains) {
+		this.backups_ = new ArrayHashMap<IndexedPropertyChain, SaturatedPropertyChain>(
+				propertyChains.size());
+		for (IndexedPropertyChain ipc : propertyChains) {
+			backups_.put(ipc, new SaturatedPropertyChain(ipc.getSaturated()));
+		}
+	}
+
+	/**
+	 * Sets the previous {@link SaturatedPropertyChain}s for the saved
+	 * {@link IndexedPropertyChain}s if the current ones are set
+	 */
+	public void usePrevious() {
+		if (previousInUse_)
+			return;
+		// else
+		swap();
+	}
+
+	/**
+	 * Sets the current {@link SaturatedPropertyChain}s for the saved
+	 * {@link IndexedPropertyChain}s if the previous ones are set
+	 */
+	public void useCurrent() {
+		if (!previousInUse_)
+			return;
+		// else
+		swap();
+	}
+
+	private void swap() {
+		for (Map.Entry<IndexedPropertyChain, SaturatedPropertyChain> entry : backups_
+				.entrySet()) {
+			entry.getKey().getSaturated().swap(entry.getValue());
+		}
+		previousInUse_ = !previousInUse_;
+	}
+
+	/**
+	 * @return the {@link IndexedPropertyChain}s whose previous and current
+	 *         {@link SaturatedPropertyChain}s differ, together with all their
+	 *         previous and current sub-property chains and the components of
+	 *         the affected complex property chains; this should be called
+	 *         after the current {@link SaturatedPropertyChain}s are fully
+	 *         computed
+	 */
+	public Set<IndexedPropertyChain> getAffectedPropertyChains() {
+		if (affected_ == null)
+			computeAffected();
+		return affected_;
+	}
+
+	/**
+	 * @return {@code true} if some of {@link #getAffectedPropertyChains()} is
+	 *         either told or derived reflexive, before or after the changes;
+	 *         such changes can influence all contexts
+	 */
+	public boolean affectsReflexiveProperties() {
+		if (affected_ == null)
+			computeAffected();
+		return affectsReflexive_;
+	}
+
+	/**
+	 * @param context
+	 * @return {@code true} if some {@link Conclusion} stored in the given
+	 *         {@link Context} could be derived using the
+	 *         {@link SaturatedPropertyChain} of some of
+	 *         {@link #getAffectedPropertyChains()}; the initialization of such
+	 *         {@link Context}s should be deleted using the previous
+	 *         {@link SaturatedPropertyChain}s and added again using the current
+	 *         ones
+	 */
+	public boolean affects(Context context) {
+		final Set<IndexedPropertyChain> affected = getAffectedPropertyChains();
+		if (affected.isEmpty())
+			return false;
+		// else
+		IndexedContextRoot root = context.getRoot();
+		if (root instanceof IndexedRangeFiller
+				&& affected.contains(((IndexedRangeFiller) root).getProperty()))
+			return true;
+		// else
+		for (IndexedObjectProperty property : context
+				.getSubContextPremisesByObjectProperty().keySet()) {
+			if (affected.contains(property))
+				return true;
+		}
+		for (IndexedObjectProperty property : context
+				.getLocalReflexiveObjectProperties()) {
+			if (affected.contains(property))
+				return true;
+		}
+		for (IndexedPropertyChain relation : BackwardLinkChainFromBackwardLinkRule
+				.getForwardLinkRelations(context)) {
+			if (affected.contains(relation))
+				return true;
+		}
+		for (IndexedClassExpression subsumer : context.getSubsumers()) {
+			if (subsumer instanceof IndexedObjectSomeValuesFrom
+					&& affected.contains(((IndexedObjectSomeValuesFrom) subsumer)
+							.getProperty()))
+				return true;
+		}
+		// else
+		return false;
+	}
+
+	/**
+	 * Should be called when the current {@link SaturatedPropertyChain}s are
+	 * going to be recomputed, e.g., after further changes of property axioms
+	 */
+	public void resetAffected() {
+		affected_ = null;
+	}
+
+	private void computeAffected() {
+		Set<IndexedPropertyChain> affected = new ArrayHashSet<IndexedPropertyChain>();
+		Queue<IndexedPropertyChain> todo = new LinkedList<IndexedPropertyChain>();
+		for (Map.Entry<IndexedPropertyChain, SaturatedPropertyChain> entry : backups_
+				.entrySet()) {
+			if (!equivalent(getPrevious(entry.getKey()),
+					getCurrent(entry.getKey())))
+				todo.add(entry.getKey());
+		}
+		/*
+		 * the sub-property chains of the changed chains are affected because
+		 * they can be used in place of the changed chains in the rules; the
+		 * components of the complex chains are affected because the rules
+		 * composing them use the saturation of the chains
+		 */
+		for (;;) {
+			IndexedPropertyChain next = todo.poll();
+			if (next == null)
+				break;
+			if (!affected.add(next))
+				continue;
+			// else
+			todo.addAll(getPrevious(next).getSubPropertyChains());
+			todo.addAll(getCurrent(next).getSubPropertyChains());
+			if (next instanceof IndexedComplexPropertyChain) {
+				IndexedComplexPropertyChain chain = (IndexedComplexPropertyChain) next;
+				todo.add(chain.getFirstProperty());
+				todo.add(chain.getSuffixChain());
+			}
+		}
+		boolean affectsReflexive = false;
+		for (IndexedPropertyChain ipc : affected) {
+			if (getPrevious(ipc).isDerivedReflexive()
+					|| getCurrent(ipc).isDerivedReflexive()
+					|| (ipc instanceof IndexedObjectProperty && ((IndexedObjectProperty) ipc)
+							.isToldReflexive())) {
+				affectsReflexive = true;
+				break;
+			}
+		}
+		affected_ = affected;
+		affectsReflexive_ = affectsReflexive;
+	}
+
+	/**
+	 * @param ipc
+	 * @return the {@link SaturatedPropertyChain} of the given
+	 *         {@link IndexedPropertyChain} before the changes
+	 */
+	private SaturatedPropertyChain getPrevious(IndexedPropertyChain ipc) {
+		SaturatedPropertyChain backup = backups_.get(ipc);
+		if (backup == null)
+			// a new property chain
+			return ipc.getSaturated();
+		// else
+		return previousInUse_ ? ipc.getSaturated() : backup;
+	}
+
+	/**
+	 * @param ipc
+	 * @return the {@link SaturatedPropertyChain} of the given
+	 *         {@link IndexedPropertyChain} after the changes
+	 */
+	private SaturatedPropertyChain getCurrent(IndexedPropertyChain ipc) {
+		SaturatedPropertyChain backup = backups_.get(ipc);
+		if (backup == null)
+			return ipc.getSaturated();
+		// else
+		return previousInUse_ ? backup : ipc.getSaturated();
+	}
+
+	private static boolean equivalent(SaturatedPropertyChain first,
+			SaturatedPropertyChain second) {
+		return first.isDerivedReflexive() == second.isDerivedReflexive()
+				&& first.getSubProperties().equals(second.getSubProperties())
+				&& first.getSubPropertyChains().equals(
+						second.getSubPropertyChains())
+				&& first.getRanges().equals(second.getRanges())
+				&& equivalent(first.getCompositionsByLeftSubProperty(),
+						second.getCompositionsByLeftSubProperty())
+				&& equivalent(first.getCompositionsByRightSubProperty(),
+						second.getCompositionsByRightSubProperty());
+	}
+
+	private static <K, V> boolean equivalent(Multimap<K, V> first,
+			Multimap<K, V> second) {
+		if (!first.keySet().equals(second.keySet()))
+			return false;
+		// else
+		for (K key : first.keySet()) {
+			if (!new HashSet<V>(first.get(key)).equals(new HashSet<V>(second
+					.get(key))))
+				return false;
+		}
+		return true;
+	}
+
+}
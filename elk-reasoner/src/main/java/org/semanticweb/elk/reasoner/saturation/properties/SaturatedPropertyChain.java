@@ -113,6 +113,45 @@ public class SaturatedPropertyChain {
 		this.root = ipc;
 	}
 
+	/**
+	 * Creates a copy of the given {@link SaturatedPropertyChain} that shares
+	 * the derived information with it; the copy remains unchanged when the
+	 * given {@link SaturatedPropertyChain} is cleared and computed again
+	 * 
+	 * @param other
+	 */
+	SaturatedPropertyChain(SaturatedPropertyChain other) {
+		this.root = other.root;
+		copy(other, this);
+	}
+
+	/**
+	 * Exchanges the derived information of this {@link SaturatedPropertyChain}
+	 * with the one of the given {@link SaturatedPropertyChain} for the same
+	 * root
+	 * 
+	 * @param other
+	 */
+	void swap(SaturatedPropertyChain other) {
+		SaturatedPropertyChain tmp = new SaturatedPropertyChain(this);
+		copy(other, this);
+		copy(tmp, other);
+	}
+
+	private static void copy(SaturatedPropertyChain from,
+			SaturatedPropertyChain to) {
+		to.isDerivedReflexive_ = from.isDerivedReflexive_;
+		to.derivedSubProperties = from.derivedSubProperties;
+		to.derivedSubProperyChains = from.derivedSubProperyChains;
+		to.derivedSubPropertiesComputed = from.derivedSubPropertiesComputed;
+		to.derivedRanges = from.derivedRanges;
+		to.derivedRangesComputed = from.derivedRangesComputed;
+		to.leftSubComposableSubPropertiesByRightProperties = from.leftSubComposableSubPropertiesByRightProperties;
+		to.leftSubComposableSubPropertiesByRightPropertiesComputed = from.leftSubComposableSubPropertiesByRightPropertiesComputed;
+		to.compositionsByLeftSubProperty = from.compositionsByLeftSubProperty;
+		to.compositionsByRightSubProperty = from.compositionsByRightSubProperty;
+	}
+
 	/**
 	 * Clear all derived information for this {@link SaturatedPropertyChain}
 	 */
@@ -22,8 +22,10 @@ package org.semanticweb.elk.reasoner.saturation.rules;
  * #L%
  */
 
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.reasoner.saturation.context.ContextPremises;
 
 /**
  * A {@link ConclusionProducer} that combines two given
@@ -51,4 +53,11 @@ public class CombinedConclusionProducer implements ConclusionProducer {
 		secondProducer_.produce(root, conclusion);
 	}
 
+	@Override
+	public boolean isRedundantSubsumer(ContextPremises premises,
+			IndexedClassExpression subsumer) {
+		return firstProducer_.isRedundantSubsumer(premises, subsumer)
+				&& secondProducer_.isRedundantSubsumer(premises, subsumer);
+	}
+
 }
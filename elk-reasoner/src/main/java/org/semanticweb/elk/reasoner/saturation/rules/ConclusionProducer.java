@@ -22,8 +22,10 @@ package org.semanticweb.elk.reasoner.saturation.rules;
  * #L%
  */
 
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Subsumer;
 import org.semanticweb.elk.reasoner.saturation.context.ContextPremises;
 
 /**
@@ -45,4 +47,24 @@ public interface ConclusionProducer {
 	 */
 	public void produce(IndexedContextRoot root, Conclusion conclusion);
 
+	/**
+	 * Tells whether producing a {@link Subsumer} with the given
+	 * {@link IndexedClassExpression} for the root of the given
+	 * {@link ContextPremises} cannot have any effect, e.g., because this
+	 * {@link IndexedClassExpression} is already contained in these
+	 * {@link ContextPremises}. Rules can use this test to avoid creating
+	 * {@link Conclusion}s that would be discarded right away. It is always
+	 * correct to return {@code false}.
+	 * 
+	 * @see ContextPremises#getSubsumers()
+	 * 
+	 * @param premises
+	 * @param subsumer
+	 * @return {@code true} if a {@link Subsumer} with the given
+	 *         {@link IndexedClassExpression} does not need to be produced for
+	 *         the given {@link ContextPremises}
+	 */
+	public boolean isRedundantSubsumer(ContextPremises premises,
+			IndexedClassExpression subsumer);
+
 }
@@ -23,6 +23,8 @@ package org.semanticweb.elk.reasoner.saturation.rules.backwardlinks;
  */
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
 
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedComplexPropertyChain;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedPropertyChain;
@@ -123,6 +125,20 @@ public class BackwardLinkChainFromBackwardLinkRule extends
 				.contains(link.getRelation(), link.getTarget());
 	}
 	
+	/**
+	 * @param context
+	 * @return the relations of all {@link ForwardLink}s for which
+	 *         {@link BackwardLinkChainFromBackwardLinkRule} inferences are
+	 *         present in the given {@link Context}
+	 */
+	public static Set<IndexedPropertyChain> getForwardLinkRelations(
+			Context context) {
+		BackwardLinkChainFromBackwardLinkRule rule = context
+				.getBackwardLinkRuleChain().find(MATCHER_);
+		return rule == null ? Collections.<IndexedPropertyChain> emptySet()
+				: rule.forwardLinksByObjectProperty_.keySet();
+	}
+
 	@Deprecated
 	public Multimap<IndexedPropertyChain, IndexedContextRoot> getForwardLinksByObjectProperty() {
 		return forwardLinksByObjectProperty_;
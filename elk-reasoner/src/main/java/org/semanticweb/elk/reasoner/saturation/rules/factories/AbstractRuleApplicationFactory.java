@@ -116,7 +116,7 @@ public abstract class AbstractRuleApplicationFactory<C extends Context> extends
 	 *            {@link RuleApplicationFactory}
 	 * @return the actual {@link SaturationStateWriter} that will be used
 	 */
-	SaturationStateWriter<? extends C> getFinalWriter(
+	protected SaturationStateWriter<? extends C> getFinalWriter(
 			SaturationStateWriter<? extends C> writer) {
 		return writer;
 	}
@@ -76,6 +76,13 @@ public class BasicRuleEngine extends AbstractRuleEngineWithStatistics {
 		return writer_.pollForActiveContext();
 	}
 
+	@Override
+	public void finish() {
+		writer_.getSaturationState().getContextScheduler()
+				.drainStatistics(localContextStatistics);
+		super.finish();
+	}
+
 	protected final SaturationStateWriter<?> getWriter() {
 		return writer_;
 	}
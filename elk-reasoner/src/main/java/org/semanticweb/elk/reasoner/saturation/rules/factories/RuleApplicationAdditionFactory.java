@@ -26,12 +26,15 @@ import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
+import org.semanticweb.elk.reasoner.saturation.SubsumerStampingWriter;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionInitializingInsertionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionSourceContextNotSaturatedCheckingVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.NonRedundantRuleApplicationVisitorFactory;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.RuleApplicationVisitorFactory;
+import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.SubsumerDerivationCountingVisitor;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleVisitor;
 
@@ -53,6 +56,12 @@ public class RuleApplicationAdditionFactory extends
 		AbstractRuleApplicationFactory<Context> {
 
 	private final RuleApplicationVisitorFactory ruleAppVisitorFactory_;
+
+	/**
+	 * if {@code true}, the derivations of subsumers are recorded in
+	 * {@link SubsumerDerivationCounts}
+	 */
+	private final boolean countDerivations_;
 	
 	public RuleApplicationAdditionFactory(
 			SaturationState<?> saturationState) {
@@ -62,14 +71,49 @@ public class RuleApplicationAdditionFactory extends
 	
 	public RuleApplicationAdditionFactory(
 			SaturationState<?> saturationState, RuleApplicationVisitorFactory factory) {
+		this(saturationState, factory, false);
+	}
+
+	public RuleApplicationAdditionFactory(SaturationState<?> saturationState,
+			RuleApplicationVisitorFactory factory, boolean countDerivations) {
 		super(saturationState);
 		ruleAppVisitorFactory_ = factory;
+		countDerivations_ = countDerivations;
 	}
 
 	protected final RuleApplicationVisitorFactory getRuleApplicationVisitorFactory() {
 		return ruleAppVisitorFactory_;
 	}
 	
+	@Override
+	protected SaturationStateWriter<? extends Context> getFinalWriter(
+			SaturationStateWriter<? extends Context> writer) {
+		if (countDerivations_)
+			// all derivations of subsumers should be counted
+			return new SubsumerStampingWriter<Context>(writer);
+		// else the rules do not need to produce subsumers that are already
+		// derived
+		return new SubsumerRedundancyCheckingWriter<Context>(writer);
+	}
+
+	/**
+	 * @param writer
+	 *            the {@link SaturationStateWriter} returned by
+	 *            {@link #getFinalWriter(SaturationStateWriter)}
+	 * @return the {@link ConclusionVisitor} that records the derivations of
+	 *         subsumers before they are inserted, or {@code null} if the
+	 *         derivations are not counted
+	 */
+	protected ConclusionVisitor<? super Context, Boolean> getDerivationCountingVisitor(
+			SaturationStateWriter<? extends Context> writer) {
+		if (!countDerivations_)
+			return null;
+		// else
+		return new SubsumerDerivationCountingVisitor(
+				(SubsumerStampingWriter<?>) writer, getSaturationState()
+						.getSubsumerDerivationClock());
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	protected ConclusionVisitor<? super Context, Boolean> getConclusionProcessor(
@@ -81,6 +125,8 @@ public class RuleApplicationAdditionFactory extends
 				// count processed conclusions, if necessary
 						SaturationUtils
 								.getProcessedConclusionCountingVisitor(localStatistics),
+						// count derivations of subsumers, if necessary
+						getDerivationCountingVisitor(writer),
 						// insert conclusions initializing contexts if necessary
 						new ConclusionInitializingInsertionVisitor(writer),
 						// if new, check that the source of the conclusion is
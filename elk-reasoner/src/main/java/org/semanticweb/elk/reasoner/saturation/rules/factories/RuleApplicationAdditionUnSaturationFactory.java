@@ -31,6 +31,7 @@ import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionIn
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionSourceContextUnsaturationVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.NonRedundantRuleApplicationConclusionVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.NonRedundantRuleApplicationVisitorFactory;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleVisitor;
 
@@ -50,6 +51,13 @@ public class RuleApplicationAdditionUnSaturationFactory extends
 		super(saturationState);
 	}
 
+	public RuleApplicationAdditionUnSaturationFactory(
+			SaturationState<? extends Context> saturationState,
+			boolean countDerivations) {
+		super(saturationState, new NonRedundantRuleApplicationVisitorFactory(),
+				countDerivations);
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	protected ConclusionVisitor<? super Context, Boolean> getConclusionProcessor(
@@ -62,6 +70,8 @@ public class RuleApplicationAdditionUnSaturationFactory extends
 				// count processed conclusions, if necessary
 						SaturationUtils
 								.getProcessedConclusionCountingVisitor(localStatistics),
+						// count derivations of subsumers, if necessary
+						getDerivationCountingVisitor(writer),
 						// insert conclusions initializing contexts if necessary
 						new ConclusionInitializingInsertionVisitor(writer),
 						// if new, mark the source context as unsaturated
@@ -32,6 +32,8 @@ import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
+import org.semanticweb.elk.reasoner.saturation.SubsumerDerivationCounts;
+import org.semanticweb.elk.reasoner.saturation.SubsumerStampingWriter;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionDeletionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionOccurrenceCheckingVisitor;
@@ -39,6 +41,7 @@ import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionSo
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.ConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.NonRedundantRuleApplicationConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.RedundantRuleApplicationConclusionVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.SubsumerDerivationRetractingVisitor;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleVisitor;
 
@@ -59,9 +62,22 @@ public class RuleApplicationDeletionFactory extends
 		AbstractRuleApplicationFactory<Context> implements
 		RuleApplicationFactory<Context> {
 
+	/**
+	 * if {@code true}, the subsumers are deleted only when they lose all
+	 * derivations recorded in {@link SubsumerDerivationCounts}
+	 */
+	private final boolean countDerivations_;
+
 	public RuleApplicationDeletionFactory(
 			SaturationState<? extends Context> saturationState) {
+		this(saturationState, false);
+	}
+
+	public RuleApplicationDeletionFactory(
+			SaturationState<? extends Context> saturationState,
+			boolean countDerivations) {
 		super(saturationState);
+		this.countDerivations_ = countDerivations;
 	}
 
 	@Override
@@ -74,11 +90,32 @@ public class RuleApplicationDeletionFactory extends
 	}
 
 	@Override
-	SaturationStateWriter<Context> getFinalWriter(
+	protected SaturationStateWriter<Context> getFinalWriter(
 			SaturationStateWriter<? extends Context> writer) {
 		// only write to exiting contexts
-		return new ContextExistenceCheckingWriter<Context>(writer,
-				getSaturationState());
+		SaturationStateWriter<Context> result = new ContextExistenceCheckingWriter<Context>(
+				writer, getSaturationState());
+		if (countDerivations_)
+			// the derivations of subsumers should be retracted
+			result = new SubsumerStampingWriter<Context>(result);
+		return result;
+	}
+
+	/**
+	 * @param writer
+	 *            the {@link SaturationStateWriter} returned by
+	 *            {@link #getFinalWriter(SaturationStateWriter)}
+	 * @return the {@link ConclusionVisitor} that retracts the derivations of
+	 *         subsumers before they are deleted, or {@code null} if the
+	 *         derivations are not counted
+	 */
+	protected ConclusionVisitor<? super Context, Boolean> getDerivationRetractingVisitor(
+			SaturationStateWriter<? extends Context> writer) {
+		if (!countDerivations_)
+			return null;
+		// else
+		return new SubsumerDerivationRetractingVisitor(
+				(SubsumerStampingWriter<?>) writer);
 	}
 
 	@Override
@@ -94,6 +131,9 @@ public class RuleApplicationDeletionFactory extends
 								.getProcessedConclusionCountingVisitor(localStatistics),
 						// check if conclusion occurs in the context and proceed
 						new ConclusionOccurrenceCheckingVisitor(),
+						// retract the derivation of subsumers and proceed if
+						// they are not derived anymore, if necessary
+						getDerivationRetractingVisitor(writer),
 						// count conclusions used in the rules, if necessary
 						SaturationUtils
 								.getUsedConclusionCountingVisitor(localStatistics),
@@ -0,0 +1,64 @@
+package org.semanticweb.elk.reasoner.saturation.rules.factories;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
+import org.semanticweb.elk.reasoner.saturation.SaturationStateWriterWrap;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Subsumer;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextPremises;
+import org.semanticweb.elk.reasoner.saturation.rules.ConclusionProducer;
+
+/**
+ * A {@link SaturationStateWriter} for which a {@link Subsumer} is redundant
+ * if it is already contained in the {@link ContextPremises} for which it is
+ * produced. This writer should be used only if the produced
+ * {@link Conclusion}s are inserted into {@link Context}s and not otherwise
+ * recorded, since the rules do not create the {@link Conclusion}s for such
+ * redundant {@link Subsumer}s. The {@link ContextPremises} passed to
+ * {@link #isRedundantSubsumer(ContextPremises, IndexedClassExpression)} must
+ * belong to the {@link Context} processed by the worker using this writer.
+ * 
+ * @see ConclusionProducer#isRedundantSubsumer(ContextPremises,
+ *      IndexedClassExpression)
+ * 
+ */
+class SubsumerRedundancyCheckingWriter<C extends Context> extends
+		SaturationStateWriterWrap<C> {
+
+	public SubsumerRedundancyCheckingWriter(
+			SaturationStateWriter<? extends C> mainWriter) {
+		super(mainWriter);
+	}
+
+	@Override
+	public boolean isRedundantSubsumer(ContextPremises premises,
+			IndexedClassExpression subsumer) {
+		return premises.getSubsumers().contains(subsumer)
+				|| mainWriter.isRedundantSubsumer(premises, subsumer);
+	}
+
+}
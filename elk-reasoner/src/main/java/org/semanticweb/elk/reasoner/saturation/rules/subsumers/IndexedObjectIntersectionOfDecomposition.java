@@ -22,6 +22,7 @@ package org.semanticweb.elk.reasoner.saturation.rules.subsumers;
  * #L%
  */
 
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectIntersectionOf;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Subsumer;
 import org.semanticweb.elk.reasoner.saturation.context.ContextPremises;
@@ -63,10 +64,14 @@ public class IndexedObjectIntersectionOfDecomposition extends
 		// producer.produce(premises.getRoot(), new
 		// DecomposedSubsumer(premise.getSecondConjunct()));
 
-		producer.produce(premises.getRoot(), new DecomposedConjunction(premise,
-				premise.getFirstConjunct()));
-		producer.produce(premises.getRoot(), new DecomposedConjunction(premise,
-				premise.getSecondConjunct()));
+		IndexedClassExpression conjunct = premise.getFirstConjunct();
+		if (!producer.isRedundantSubsumer(premises, conjunct))
+			producer.produce(premises.getRoot(), new DecomposedConjunction(
+					premise, conjunct));
+		conjunct = premise.getSecondConjunct();
+		if (!producer.isRedundantSubsumer(premises, conjunct))
+			producer.produce(premises.getRoot(), new DecomposedConjunction(
+					premise, conjunct));
 	}
 
 	@Override
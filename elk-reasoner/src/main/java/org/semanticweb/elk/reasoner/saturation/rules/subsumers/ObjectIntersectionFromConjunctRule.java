@@ -153,10 +153,14 @@ public class ObjectIntersectionFromConjunctRule extends
 			ConclusionProducer producer) {
 		for (IndexedClassExpression common : new LazySetIntersection<IndexedClassExpression>(
 				conjunctionsByConjunct_.keySet(), premises.getSubsumers())) {
+			IndexedObjectIntersectionOf conjunction = conjunctionsByConjunct_
+					.get(common);
+			if (producer.isRedundantSubsumer(premises, conjunction))
+				continue;
 			// producer.produce(premises.getRoot(), new
-			// ComposedSubsumer(conjunctionsByConjunct_.get(common)));
+			// ComposedSubsumer(conjunction));
 			producer.produce(premises.getRoot(), new ComposedConjunction(
-					conjunctionsByConjunct_.get(common)));
+					conjunction));
 		}
 
 	}
@@ -146,6 +146,8 @@ public class ObjectUnionFromDisjunctRule extends AbstractChainableSubsumerRule {
 	public void apply(IndexedClassExpression premise, ContextPremises premises,
 			ConclusionProducer producer) {
 		for (IndexedObjectUnionOf disjunction : disjunctions_) {
+			if (producer.isRedundantSubsumer(premises, disjunction))
+				continue;
 			/*
 			 * producer.produce(premises.getRoot(), new
 			 * ComposedSubsumerImpl<IndexedClassExpression>( disjunction));
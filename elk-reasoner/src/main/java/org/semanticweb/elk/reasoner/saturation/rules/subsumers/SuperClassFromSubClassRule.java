@@ -106,6 +106,8 @@ public class SuperClassFromSubClassRule extends AbstractChainableSubsumerRule {
 	public void apply(IndexedClassExpression premise, ContextPremises premises,
 			ConclusionProducer producer) {
 		for (IndexedClassExpression implied : toldSuperClassExpressions_) {
+			if (producer.isRedundantSubsumer(premises, implied))
+				continue;
 			// producer.produce(premises.getRoot(), new
 			// DecomposedSubsumer(implied));
 			producer.produce(premises.getRoot(),
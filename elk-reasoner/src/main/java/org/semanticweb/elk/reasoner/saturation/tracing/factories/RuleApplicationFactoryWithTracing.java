@@ -67,6 +67,14 @@ public class RuleApplicationFactoryWithTracing extends
 		inferenceWriter_ = inferenceWriter;
 	}
 
+	@Override
+	protected SaturationStateWriter<? extends Context> getFinalWriter(
+			SaturationStateWriter<? extends Context> writer) {
+		// all inferences should be produced to be recorded, including those
+		// with already derived conclusions
+		return writer;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	protected ConclusionVisitor<? super Context, Boolean> getConclusionProcessor(
@@ -22,9 +22,25 @@
  */
 package org.semanticweb.elk.reasoner.stages;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.semanticweb.elk.reasoner.incremental.IncrementalChangesInitialization;
 import org.semanticweb.elk.reasoner.incremental.IncrementalStages;
+import org.semanticweb.elk.reasoner.indexing.caching.IndexedObjectCache;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.reasoner.saturation.SubsumerContextTracker;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.rules.contextinit.LinkedContextInitRule;
+import org.semanticweb.elk.util.collections.CompressedIntSet;
+import org.semanticweb.elk.util.collections.IntIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The base stage for initializing additions and deletions
@@ -36,10 +52,20 @@ import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 abstract class AbstractIncrementalChangesInitializationStage extends
 		AbstractReasonerStage {
 
+	private static final Logger LOGGER_ = LoggerFactory
+			.getLogger(AbstractIncrementalChangesInitializationStage.class);
+
 	protected IncrementalChangesInitialization initialization = null;
 
 	protected final SaturationStatistics stageStatistics_ = new SaturationStatistics();
 
+	/**
+	 * the number of contexts selected by the last call of
+	 * {@link #getAffectedContexts(LinkedContextInitRule, Map)}, or {@code -1}
+	 * if all contexts were selected
+	 */
+	int countAffectedContexts = 0;
+
 	public AbstractIncrementalChangesInitializationStage(
 			AbstractReasonerState reasoner, AbstractReasonerStage... preStages) {
 		super(reasoner, preStages);
@@ -52,6 +78,56 @@ abstract class AbstractIncrementalChangesInitializationStage extends
 		return stage().toString();
 	}
 
+	/**
+	 * @param changedInitRules
+	 *            the changed context initialization rules
+	 * @param changedRulesByCE
+	 *            the changed rules for {@link IndexedClassExpression}s
+	 * @return the contexts to which the changed rules may apply; these are
+	 *         all contexts if some context initialization rules have changed,
+	 *         and otherwise only the contexts in which some
+	 *         {@link IndexedClassExpression} with changed rules is a subsumer,
+	 *         see {@link IndexedClassExpression#getSubsumerContextIds()}; these
+	 *         are computed by {@link SubsumerContextTracker} when they are
+	 *         needed for the first time
+	 */
+	Collection<? extends Context> getAffectedContexts(
+			LinkedContextInitRule changedInitRules,
+			Map<? extends IndexedClassExpression, ?> changedRulesByCE) {
+		SaturationState<?> saturationState = reasoner.saturationState;
+		if (changedInitRules != null) {
+			countAffectedContexts = -1;
+			return saturationState.getContexts();
+		}
+		// else
+		reasoner.subsumerContextTracker.update(saturationState);
+		CompressedIntSet affectedIds = new CompressedIntSet();
+		for (IndexedClassExpression ice : changedRulesByCE.keySet()) {
+			for (int id : ice.getSubsumerContextIds()) {
+				affectedIds.add(id);
+			}
+		}
+		IndexedObjectCache index = saturationState.getOntologyIndex();
+		List<Context> result = new ArrayList<Context>(affectedIds.size());
+		IntIterator idIterator = affectedIds.iterator();
+		while (idIterator.hasNext()) {
+			IndexedContextRoot root = index.getContextRoot(idIterator.next());
+			if (root == null)
+				// removed from the index
+				continue;
+			// else
+			Context context = saturationState.getContext(root);
+			if (context != null)
+				result.add(context);
+		}
+		countAffectedContexts = result.size();
+		if (LOGGER_.isDebugEnabled())
+			LOGGER_.debug(getName() + ": " + result.size() + " of "
+					+ saturationState.getContexts().size()
+					+ " contexts affected");
+		return result;
+	}
+
 	@Override
 	public void executeStage() throws ElkInterruptedException {
 		if (isInterrupted())
@@ -66,6 +142,7 @@ abstract class AbstractIncrementalChangesInitializationStage extends
 
 		reasoner.ruleAndConclusionStats.add(stageStatistics_);
 		stageStatistics_.reset();
+		countAffectedContexts = 0;
 
 		return true;
 	}
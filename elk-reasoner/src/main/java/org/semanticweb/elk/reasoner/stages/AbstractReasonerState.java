@@ -22,9 +22,15 @@
  */
 package org.semanticweb.elk.reasoner.stages;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.semanticweb.elk.loading.AxiomLoader;
 import org.semanticweb.elk.loading.ComposedAxiomLoader;
@@ -32,9 +38,12 @@ import org.semanticweb.elk.owl.exceptions.ElkException;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
 import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
 import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
 import org.semanticweb.elk.reasoner.ElkInconsistentOntologyException;
 import org.semanticweb.elk.reasoner.ProgressMonitor;
+import org.semanticweb.elk.reasoner.config.DeletionStrategy;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverter;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverterImpl;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.DifferentialIndex;
@@ -43,28 +52,37 @@ import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedIndividual;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.OntologyIndex;
 import org.semanticweb.elk.reasoner.indexing.modifiable.ModifiableOntologyIndex;
+import org.semanticweb.elk.reasoner.query.ClassExpressionQueryEngine;
 import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateFactory;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.reasoner.saturation.SubsumerContextTracker;
 import org.semanticweb.elk.reasoner.saturation.conclusions.implementation.ContradictionImpl;
 import org.semanticweb.elk.reasoner.saturation.conclusions.implementation.DecomposedSubsumerImpl;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
 import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.DummyConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.properties.PropertySaturationChanges;
+import org.semanticweb.elk.reasoner.saturation.properties.SaturatedPropertyChain;
 import org.semanticweb.elk.reasoner.saturation.tracing.OnDemandTracingReader;
 import org.semanticweb.elk.reasoner.saturation.tracing.RecursiveTraceUnwinder;
 import org.semanticweb.elk.reasoner.saturation.tracing.TraceState;
 import org.semanticweb.elk.reasoner.saturation.tracing.TraceStore;
 import org.semanticweb.elk.reasoner.taxonomy.ConcurrentClassTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.ConcurrentInstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.InstanceTaxonomyVersion;
 import org.semanticweb.elk.reasoner.taxonomy.OrphanInstanceNode;
 import org.semanticweb.elk.reasoner.taxonomy.OrphanNode;
 import org.semanticweb.elk.reasoner.taxonomy.OrphanTypeNode;
 import org.semanticweb.elk.reasoner.taxonomy.SingletoneInstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.SingletoneTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.SnapshotInstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.SnapshotTaxonomyIO;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyVersion;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
 import org.semanticweb.elk.util.concurrent.computation.SimpleInterrupter;
@@ -100,6 +118,12 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 
 	final SaturationState<? extends Context> saturationState;
 
+	/**
+	 * keeps track of the contexts in which the class expressions are
+	 * subsumers; used to find the contexts affected by incremental changes
+	 */
+	final SubsumerContextTracker subsumerContextTracker;
+
 	/**
 	 * Accumulated statistics regarding produced conclusions and rule
 	 * applications. Stored here because more than one stage can apply inference
@@ -135,17 +159,57 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 	 * The source where axioms and changes in ontology can be loaded
 	 */
 	private AxiomLoader axiomLoader_;
+	/**
+	 * the {@link AxiomLoader}s passed to
+	 * {@link #registerAxiomLoaderAsync(AxiomLoader)} that are not registered
+	 * yet, in the order in which they were passed
+	 */
+	private final Queue<AxiomLoader> pendingAxiomLoaders_ = new ConcurrentLinkedQueue<AxiomLoader>();
+	/**
+	 * {@code true} if {@link #resetAxiomLoadingAsync()} was called after the
+	 * axiom loading was reset the last time
+	 */
+	private final AtomicBoolean axiomLoadingResetPending_ = new AtomicBoolean(
+			false);
 	/**
 	 * if {@code true}, reasoning will be done incrementally whenever possible
 	 */
 	private boolean allowIncrementalMode_ = true;
 
 	private boolean allowIncrementalTaxonomy_ = true;
+	/**
+	 * if {@code true}, the axioms are indexed by several workers when the
+	 * ontology is loaded from scratch
+	 */
+	private boolean parallelIndexing_ = false;
+	/**
+	 * if {@code true}, the class taxonomy is replaced by a compact read-only
+	 * copy when it is returned, unless the instance taxonomy is computed
+	 */
+	private boolean freezeTaxonomy_ = false;
+	/**
+	 * specifies how the conclusions are deleted after removal of axioms in the
+	 * incremental mode
+	 */
+	private DeletionStrategy deletionStrategy_ = DeletionStrategy.OVERDELETION;
 	/**
 	 * if the property hierarchy correspond to the loading axioms
 	 */
 	boolean propertyHierarchyUpToDate_ = true;
 
+	/**
+	 * the {@link SaturatedPropertyChain}s before the property axioms were
+	 * changed in the incremental mode, or {@code null} if there were no such
+	 * changes since the last incremental reasoning
+	 */
+	PropertySaturationChanges propertySaturationChanges = null;
+	/**
+	 * the roots of the {@link Context}s whose initialization was deleted
+	 * because of {@link #propertySaturationChanges} and should be initialized
+	 * again, or {@code null} if such {@link Context}s were not determined yet
+	 */
+	Collection<IndexedContextRoot> propertyAffectedContextRoots = null;
+
 	/**
 	 * Keeps relevant information about tracing
 	 */
@@ -153,22 +217,86 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 
 	private final ElkPolarityExpressionConverter expressionConverter_;
 
-	protected AbstractReasonerState() {
+	/**
+	 * if {@code true}, immutable copies of the taxonomies are published after
+	 * they are computed; set when the copies are requested for the first time
+	 */
+	private boolean publishSnapshots_ = false;
+
+	/**
+	 * if {@code true}, no copies of the taxonomies are published, e.g.,
+	 * because the taxonomies contain auxiliary classes introduced for queries
+	 */
+	private boolean snapshotsSuspended_ = false;
+
+	/**
+	 * {@code false} if the ontology could have been changed after the
+	 * respective copies of the taxonomies were published
+	 */
+	private boolean taxonomySnapshotUpToDate_ = false,
+			instanceTaxonomySnapshotUpToDate_ = false;
+
+	/**
+	 * the last published immutable copy of the class taxonomy or {@code null}
+	 * if no copy was published
+	 */
+	private volatile Taxonomy<ElkClass> taxonomySnapshot_ = null;
+
+	/**
+	 * the last published immutable copy of the instance taxonomy or
+	 * {@code null} if no copy was published
+	 */
+	private volatile InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomySnapshot_ = null;
+
+	/**
+	 * the number of copies of the class taxonomy published so far
+	 */
+	private long taxonomyVersionCount_ = 0;
+
+	/**
+	 * the last published copy of the class taxonomy with its version or
+	 * {@code null} if no copy was published
+	 */
+	private volatile TaxonomyVersion<ElkClass> taxonomyVersion_ = null;
+
+	/**
+	 * the number of copies of the instance taxonomy published so far
+	 */
+	private long instanceTaxonomyVersionCount_ = 0;
+
+	/**
+	 * the last published copy of the instance taxonomy with its version or
+	 * {@code null} if no copy was published
+	 */
+	private volatile InstanceTaxonomyVersion<ElkClass, ElkNamedIndividual> instanceTaxonomyVersion_ = null;
+
+	protected AbstractReasonerState(ReasonerConfiguration config) {
 		this.ontologyIndex = new DifferentialIndex();
-		this.saturationState = SaturationStateFactory
-				.createSaturationState(ontologyIndex);
+		this.subsumerContextTracker = new SubsumerContextTracker();
+		this.saturationState = SaturationStateFactory.createSaturationState(
+				ontologyIndex, config, subsumerContextTracker);
 		this.ruleAndConclusionStats = new SaturationStatistics();
 		this.stageManager = new ReasonerStageManager(this);
 		this.expressionConverter_ = new ElkPolarityExpressionConverterImpl(
 				ontologyIndex);
 	}
 
-	protected AbstractReasonerState(AxiomLoader axiomLoader) {
-		this();
+	protected AbstractReasonerState() {
+		this(ReasonerConfiguration.getConfiguration());
+	}
+
+	protected AbstractReasonerState(AxiomLoader axiomLoader,
+			ReasonerConfiguration config) {
+		this(config);
 		registerAxiomLoader(axiomLoader);
 	}
 
+	protected AbstractReasonerState(AxiomLoader axiomLoader) {
+		this(axiomLoader, ReasonerConfiguration.getConfiguration());
+	}
+
 	protected void complete(ReasonerStage stage) throws ElkException {
+		registerPendingAxiomLoaders();
 		try {
 			getStageExecutor().complete(stage);
 		} catch (ElkInterruptedException e) {
@@ -198,6 +326,47 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 		return allowIncrementalMode_;
 	}
 
+	public synchronized void setParallelIndexing(boolean parallel) {
+		parallelIndexing_ = parallel;
+	}
+
+	public synchronized boolean isParallelIndexing() {
+		return parallelIndexing_;
+	}
+
+	public synchronized void setFreezeTaxonomy(boolean freeze) {
+		freezeTaxonomy_ = freeze;
+	}
+
+	public synchronized boolean isFreezeTaxonomy() {
+		return freezeTaxonomy_;
+	}
+
+	/**
+	 * Sets the {@link DeletionStrategy} used from now on. The derivations of
+	 * subsumers are counted only during saturation with
+	 * {@link DeletionStrategy#DERIVATION_COUNTING}, which is experimental;
+	 * subsumers derived before are deleted like with
+	 * {@link DeletionStrategy#OVERDELETION}.
+	 * 
+	 * @param strategy
+	 */
+	public synchronized void setDeletionStrategy(DeletionStrategy strategy) {
+		deletionStrategy_ = strategy;
+	}
+
+	public synchronized DeletionStrategy getDeletionStrategy() {
+		return deletionStrategy_;
+	}
+
+	/**
+	 * @return {@code true} if the derivations of subsumers should be counted
+	 *         during saturation
+	 */
+	boolean countDerivations() {
+		return getDeletionStrategy() == DeletionStrategy.DERIVATION_COUNTING;
+	}
+
 	public synchronized boolean isIncrementalMode() {
 		return ontologyIndex.isIncrementalMode();
 	}
@@ -205,6 +374,11 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 	void setNonIncrementalMode() {
 		ontologyIndex.setIncrementalMode(false);
 		setAllowIncrementalTaxonomy(false);
+		if (propertySaturationChanges != null) {
+			propertySaturationChanges.useCurrent();
+			propertySaturationChanges = null;
+			propertyAffectedContextRoots = null;
+		}
 	}
 
 	boolean trySetIncrementalMode() {
@@ -221,9 +395,16 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 	 * Reset the axiom loading stage and all subsequent stages
 	 */
 	public synchronized void resetAxiomLoading() {
+		registerPendingAxiomLoaders();
+		doResetAxiomLoading();
+	}
+
+	private void doResetAxiomLoading() {
 		LOGGER_.trace("Reset axiom loading");
 		stageManager.axiomLoadingStage.invalidate();
 		stageManager.incrementalCompletionStage.invalidate();
+		taxonomySnapshotUpToDate_ = false;
+		instanceTaxonomySnapshotUpToDate_ = false;
 	}
 
 	/**
@@ -232,12 +413,45 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 	public synchronized void resetPropertySaturation() {
 		LOGGER_.trace("Reset property saturation");
 		stageManager.propertyInitializationStage.invalidate();
+		taxonomySnapshotUpToDate_ = false;
+		instanceTaxonomySnapshotUpToDate_ = false;
+	}
+
+	/**
+	 * Reset the property saturation after a change of the property hierarchy;
+	 * in the incremental mode, the current property saturation is saved so that
+	 * the change can be processed incrementally
+	 */
+	synchronized void notifyPropertyChange() {
+		if (isIncrementalMode()) {
+			if (propertySaturationChanges == null) {
+				if (stageManager.propertyHierarchyCompositionComputationStage
+						.isCompleted())
+					propertySaturationChanges = new PropertySaturationChanges(
+							ontologyIndex.getPropertyChains());
+				else
+					// nothing to compare with
+					setNonIncrementalMode();
+			} else if (propertyAffectedContextRoots == null)
+				// the saved saturation is still not used
+				propertySaturationChanges.resetAffected();
+			else
+				// the previous changes are being processed
+				setNonIncrementalMode();
+		}
+		resetPropertySaturation();
 	}
 
 	public synchronized void registerAxiomLoader(AxiomLoader newAxiomLoader) {
+		// the loaders registered before should be loaded first
+		registerPendingAxiomLoaders();
+		doRegisterAxiomLoader(newAxiomLoader);
+	}
+
+	private void doRegisterAxiomLoader(AxiomLoader newAxiomLoader) {
 		LOGGER_.trace("Registering new axiom loader");
 
-		resetAxiomLoading();
+		doResetAxiomLoading();
 
 		if (axiomLoader_ == null || axiomLoader_.isLoadingFinished())
 			axiomLoader_ = newAxiomLoader;
@@ -245,6 +459,42 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 			axiomLoader_ = new ComposedAxiomLoader(axiomLoader_, newAxiomLoader);
 	}
 
+	/**
+	 * Registers the given {@link AxiomLoader} like
+	 * {@link #registerAxiomLoader(AxiomLoader)}, but without waiting until the
+	 * reasoner finishes the current task. The {@link AxiomLoader} is registered
+	 * when the next reasoning task starts, or when another
+	 * {@link AxiomLoader} is registered, whichever happens first.
+	 * 
+	 * @param newAxiomLoader
+	 *            the {@link AxiomLoader} to be registered
+	 */
+	public void registerAxiomLoaderAsync(AxiomLoader newAxiomLoader) {
+		pendingAxiomLoaders_.add(newAxiomLoader);
+	}
+
+	/**
+	 * Resets the axiom loading like {@link #resetAxiomLoading()}, but without
+	 * waiting until the reasoner finishes the current task. The axiom loading
+	 * is reset when the next reasoning task starts.
+	 */
+	public void resetAxiomLoadingAsync() {
+		axiomLoadingResetPending_.set(true);
+	}
+
+	/**
+	 * Registers the {@link AxiomLoader}s passed to
+	 * {@link #registerAxiomLoaderAsync(AxiomLoader)} and performs the reset
+	 * requested by {@link #resetAxiomLoadingAsync()}
+	 */
+	private synchronized void registerPendingAxiomLoaders() {
+		if (axiomLoadingResetPending_.getAndSet(false))
+			doResetAxiomLoading();
+		AxiomLoader pendingLoader;
+		while ((pendingLoader = pendingAxiomLoaders_.poll()) != null)
+			doRegisterAxiomLoader(pendingLoader);
+	}
+
 	/**
 	 * @return the {@link AxiomLoader} currently registered for loading of
 	 *         axioms or {@code null} if no loader is registered
@@ -260,9 +510,17 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 	 * @throws ElkException
 	 */
 	public synchronized void forceLoading() throws ElkException {
-		if (classTaxonomyState.getTaxonomy() != null)
+		if (classTaxonomyState.hasTaxonomy())
 			trySetIncrementalMode();
 		complete(stageManager.axiomLoadingStage);
+		if (propertySaturationChanges != null && isIncrementalMode()) {
+			complete(stageManager.propertyHierarchyCompositionComputationStage);
+			if (propertySaturationChanges.affectsReflexiveProperties()) {
+				LOGGER_.debug("Disallowing incremental mode due to changes"
+						+ " of reflexive properties");
+				setNonIncrementalMode();
+			}
+		}
 	}
 
 	/**
@@ -340,10 +598,13 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 
 		ruleAndConclusionStats.reset();
 
-		if (isInconsistent())
+		if (isInconsistent()) {
+			if (canPublishSnapshots() && !taxonomySnapshotUpToDate_)
+				publishTaxonomySnapshot(getInconsistentTaxonomy());
 			throw new ElkInconsistentOntologyException();
+		}
 
-		if (isIncrementalMode() && classTaxonomyState.getTaxonomy() != null) {
+		if (isIncrementalMode() && classTaxonomyState.hasTaxonomy()) {
 			complete(stageManager.incrementalClassTaxonomyComputationStage);
 		} else {
 			setNonIncrementalMode();
@@ -352,7 +613,21 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 					.setCompleted();
 		}
 
-		return classTaxonomyState.getTaxonomy();
+		Taxonomy<ElkClass> result;
+		if (freezeTaxonomy_ && instanceTaxonomyState.getTaxonomy() == null) {
+			// the instance taxonomy would keep the taxonomy for updates
+			result = classTaxonomyState.getWriter().freezeTaxonomy();
+			if (canPublishSnapshots() && !taxonomySnapshotUpToDate_)
+				// already immutable
+				publishTaxonomySnapshot(result);
+			return result;
+		}
+		// else
+		result = classTaxonomyState.getTaxonomy();
+		if (canPublishSnapshots() && !taxonomySnapshotUpToDate_)
+			publishTaxonomySnapshot(new SnapshotInstanceTaxonomy<ElkClass, ElkNamedIndividual>(
+					result));
+		return result;
 	}
 
 	/**
@@ -371,16 +646,45 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 			result = getTaxonomy();
 		} catch (ElkInconsistentOntologyException e) {
 			LOGGER_.info("Ontology is inconsistent");
-
-			OrphanNode<ElkClass> node = new OrphanNode<ElkClass>(
-					getAllClasses(), PredefinedElkClass.OWL_NOTHING);
-			result = new SingletoneTaxonomy<ElkClass, OrphanNode<ElkClass>>(
-					node);
+			result = getInconsistentTaxonomy();
 		}
 
 		return result;
 	}
 
+	/**
+	 * @return the class taxonomy of an inconsistent ontology, in which all
+	 *         classes are equivalent to {@code owl:Nothing}
+	 */
+	private Taxonomy<ElkClass> getInconsistentTaxonomy() {
+		OrphanNode<ElkClass> node = new OrphanNode<ElkClass>(getAllClasses(),
+				PredefinedElkClass.OWL_NOTHING);
+		return new SingletoneTaxonomy<ElkClass, OrphanNode<ElkClass>>(node);
+	}
+
+	/**
+	 * Computes the {@link TaxonomyNode} for the given
+	 * {@link ElkClassExpression} from the class taxonomy, which is computed if
+	 * this has not been done yet. The ontology and the taxonomy are not
+	 * modified.
+	 * 
+	 * @param classExpression
+	 *            the {@link ElkClassExpression} for which to compute the
+	 *            {@link TaxonomyNode}
+	 * @return the {@link TaxonomyNode} for the given {@link ElkClassExpression}
+	 *         or {@code null} if it cannot be computed in this way
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * 
+	 * @see ClassExpressionQueryEngine
+	 */
+	protected synchronized TaxonomyNode<ElkClass> computeClassExpressionNode(
+			ElkClassExpression classExpression) throws ElkException {
+		Taxonomy<ElkClass> taxonomy = getTaxonomy();
+		return new ClassExpressionQueryEngine(saturationState, ontologyIndex,
+				taxonomy).getTaxonomyNode(classExpression);
+	}
+
 	/**
 	 * Compute the inferred taxonomy of the named classes with instances if this
 	 * has not been done yet.
@@ -396,8 +700,11 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 
 		ruleAndConclusionStats.reset();
 
-		if (isInconsistent())
+		if (isInconsistent()) {
+			if (canPublishSnapshots() && !instanceTaxonomySnapshotUpToDate_)
+				publishInstanceTaxonomySnapshot(getInconsistentInstanceTaxonomy());
 			throw new ElkInconsistentOntologyException();
+		}
 
 		if (isIncrementalMode() && instanceTaxonomyState.getTaxonomy() != null) {
 			complete(stageManager.incrementalInstanceTaxonomyComputationStage);
@@ -408,7 +715,12 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 					.setCompleted();
 		}
 
-		return instanceTaxonomyState.getTaxonomy();
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> result = instanceTaxonomyState
+				.getTaxonomy();
+		if (canPublishSnapshots() && !instanceTaxonomySnapshotUpToDate_)
+			publishInstanceTaxonomySnapshot(new SnapshotInstanceTaxonomy<ElkClass, ElkNamedIndividual>(
+					result));
+		return result;
 	}
 
 	/**
@@ -428,24 +740,263 @@ public abstract class AbstractReasonerState extends SimpleInterrupter {
 			result = getInstanceTaxonomy();
 		} catch (ElkInconsistentOntologyException e) {
 			LOGGER_.info("Ontology is inconsistent");
-			OrphanTypeNode<ElkClass, ElkNamedIndividual> node = new OrphanTypeNode<ElkClass, ElkNamedIndividual>(
-					getAllClasses(), PredefinedElkClass.OWL_NOTHING, 1);
-			Set<ElkNamedIndividual> allNamedIndividuals = getAllNamedIndividuals();
-			Iterator<ElkNamedIndividual> namedIndividualIterator = allNamedIndividuals
-					.iterator();
-			if (namedIndividualIterator.hasNext()) {
-				// there is at least one individual
-				node.addInstanceNode(new OrphanInstanceNode<ElkClass, ElkNamedIndividual>(
-						allNamedIndividuals, namedIndividualIterator.next(),
-						node));
-			}
-			result = new SingletoneInstanceTaxonomy<ElkClass, ElkNamedIndividual, OrphanTypeNode<ElkClass, ElkNamedIndividual>>(
-					node);
+			result = getInconsistentInstanceTaxonomy();
 		}
 
 		return result;
 	}
 
+	/**
+	 * @return the instance taxonomy of an inconsistent ontology, in which all
+	 *         classes are equivalent to {@code owl:Nothing} and all individuals
+	 *         are equal and instances of {@code owl:Nothing}
+	 */
+	private InstanceTaxonomy<ElkClass, ElkNamedIndividual> getInconsistentInstanceTaxonomy() {
+		OrphanTypeNode<ElkClass, ElkNamedIndividual> node = new OrphanTypeNode<ElkClass, ElkNamedIndividual>(
+				getAllClasses(), PredefinedElkClass.OWL_NOTHING, 1);
+		Set<ElkNamedIndividual> allNamedIndividuals = getAllNamedIndividuals();
+		Iterator<ElkNamedIndividual> namedIndividualIterator = allNamedIndividuals
+				.iterator();
+		if (namedIndividualIterator.hasNext()) {
+			// there is at least one individual
+			node.addInstanceNode(new OrphanInstanceNode<ElkClass, ElkNamedIndividual>(
+					allNamedIndividuals, namedIndividualIterator.next(), node));
+		}
+		return new SingletoneInstanceTaxonomy<ElkClass, ElkNamedIndividual, OrphanTypeNode<ElkClass, ElkNamedIndividual>>(
+				node);
+	}
+
+	/**
+	 * Returns an immutable copy of the class taxonomy published when the
+	 * taxonomy was computed the last time. Unlike {@link #getTaxonomy()}, this
+	 * method does not wait for the reasoner to finish other tasks, unless no
+	 * copy was published so far, in which case the taxonomy is computed and
+	 * from then on new copies are published every time the taxonomy is
+	 * recomputed after changes. The returned taxonomy therefore may not
+	 * reflect the changes in the ontology that have not been processed yet. If
+	 * the ontology is inconsistent, all classes are equivalent to
+	 * {@code owl:Nothing} in the returned taxonomy, like for
+	 * {@link #getTaxonomyQuietly()}.
+	 * 
+	 * @return an immutable copy of the last computed class taxonomy
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	public Taxonomy<ElkClass> getTaxonomySnapshot() throws ElkException {
+		Taxonomy<ElkClass> result = taxonomySnapshot_;
+		if (result != null)
+			return result;
+		// else
+		synchronized (this) {
+			publishSnapshots_ = true;
+			getTaxonomyQuietly();
+			return taxonomySnapshot_;
+		}
+	}
+
+	/**
+	 * Returns an immutable copy of the instance taxonomy published when the
+	 * taxonomy was computed the last time, like
+	 * {@link #getTaxonomySnapshot()} for the class taxonomy.
+	 * 
+	 * @return an immutable copy of the last computed instance taxonomy
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * 
+	 * @see #getTaxonomySnapshot()
+	 */
+	public InstanceTaxonomy<ElkClass, ElkNamedIndividual> getInstanceTaxonomySnapshot()
+			throws ElkException {
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> result = instanceTaxonomySnapshot_;
+		if (result != null)
+			return result;
+		// else
+		synchronized (this) {
+			publishSnapshots_ = true;
+			getInstanceTaxonomyQuietly();
+			return instanceTaxonomySnapshot_;
+		}
+	}
+
+	/**
+	 * Returns the immutable copy of the class taxonomy published the last time,
+	 * see {@link #getTaxonomySnapshot()}, together with its version. This
+	 * method never waits for the reasoner, in particular, it returns the last
+	 * completed version while the next version is being computed.
+	 * 
+	 * @return the last published {@link TaxonomyVersion} or {@code null} if no
+	 *         copy of the class taxonomy was published so far
+	 * 
+	 * @see #computeTaxonomyVersion()
+	 */
+	public TaxonomyVersion<ElkClass> getTaxonomyVersion() {
+		return taxonomyVersion_;
+	}
+
+	/**
+	 * Returns the immutable copy of the instance taxonomy published the last
+	 * time, see {@link #getInstanceTaxonomySnapshot()}, together with its
+	 * version. The versions of the instance taxonomy are counted separately
+	 * from the versions of the class taxonomy, see
+	 * {@link #getTaxonomyVersion()}. This method never waits for the reasoner.
+	 * 
+	 * @return the last published {@link InstanceTaxonomyVersion} or
+	 *         {@code null} if no copy of the instance taxonomy was published so
+	 *         far
+	 */
+	public InstanceTaxonomyVersion<ElkClass, ElkNamedIndividual> getInstanceTaxonomyVersion() {
+		return instanceTaxonomyVersion_;
+	}
+
+	/**
+	 * Computes the class taxonomy if necessary, like
+	 * {@link #getTaxonomyQuietly()}, and returns the copy of this taxonomy
+	 * published as a result. If the taxonomy has not changed since the last
+	 * publication, the previously published {@link TaxonomyVersion} is
+	 * returned.
+	 * 
+	 * @return the {@link TaxonomyVersion} of the class taxonomy implied by the
+	 *         current ontology
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * 
+	 * @see #getTaxonomyVersion()
+	 */
+	public synchronized TaxonomyVersion<ElkClass> computeTaxonomyVersion()
+			throws ElkException {
+		publishSnapshots_ = true;
+		getTaxonomyQuietly();
+		return taxonomyVersion_;
+	}
+
+	/**
+	 * Saves the class taxonomy, or the instance taxonomy if it has been
+	 * computed or the ontology is inconsistent, using
+	 * {@link SnapshotTaxonomyIO}. The class taxonomy is computed if necessary.
+	 * The taxonomy is saved together with the fingerprint of the loaded
+	 * ontology, which is computed from the index by this method, so it can be
+	 * restored only for the same ontology.
+	 * 
+	 * Only the taxonomy is saved: the index and the saturation state are
+	 * always computed from the loaded axioms, which happens when the reasoner
+	 * computes the taxonomy after the snapshot was restored.
+	 * 
+	 * @param output
+	 *            the stream to which the taxonomy is written
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * @throws IOException
+	 *             if the taxonomy cannot be written
+	 * 
+	 * @see #restoreTaxonomySnapshot(InputStream, ElkObjectFactory)
+	 */
+	public synchronized void saveTaxonomySnapshot(OutputStream output)
+			throws ElkException, IOException {
+		if (doneInstanceTaxonomy() || isInconsistent())
+			SnapshotTaxonomyIO.save(getInstanceTaxonomyQuietly(),
+					getOntologyFingerprint(), output);
+		else
+			SnapshotTaxonomyIO.save(getTaxonomyQuietly(),
+					getOntologyFingerprint(), output);
+	}
+
+	/**
+	 * Restores a taxonomy saved by {@link #saveTaxonomySnapshot(OutputStream)}
+	 * and publishes it as the copy returned by {@link #getTaxonomySnapshot()}
+	 * and, if the instance taxonomy was saved, by
+	 * {@link #getInstanceTaxonomySnapshot()}. The restored taxonomy is
+	 * therefore available for queries without computing the taxonomy. The
+	 * taxonomy is replaced by a new copy when it is computed for the loaded
+	 * ontology the next time, after which the changes in the ontology are
+	 * reflected as usual.
+	 * 
+	 * The axioms from the registered {@link AxiomLoader}s are loaded and
+	 * indexed to check that the taxonomy was saved for the same ontology; the
+	 * saturation state is not restored. The taxonomy can be restored only if
+	 * the loaded axioms are not pending as changes of a previously computed
+	 * taxonomy, e.g., for a new reasoner.
+	 * 
+	 * @param input
+	 *            the stream from which the taxonomy is read
+	 * @param factory
+	 *            the {@link ElkObjectFactory} used to create the entities of
+	 *            the taxonomy
+	 * @throws ElkException
+	 *             if the axioms cannot be loaded
+	 * @throws IOException
+	 *             if the taxonomy cannot be read, the restored taxonomy
+	 *             differs from the saved one, the taxonomy was saved for an
+	 *             ontology with different axioms than the loaded ones, or the
+	 *             loaded axioms are pending changes
+	 */
+	public synchronized void restoreTaxonomySnapshot(InputStream input,
+			ElkObjectFactory factory) throws ElkException, IOException {
+		SnapshotTaxonomyIO.Snapshot snapshot = SnapshotTaxonomyIO.restore(
+				input, factory);
+		forceLoading();
+		if (snapshot.getOntologyFingerprint() != getOntologyFingerprint())
+			throw new IOException(
+					"The taxonomy was saved for a different ontology!");
+		publishSnapshots_ = true;
+		publishTaxonomySnapshot(snapshot.getTaxonomy());
+		if (snapshot.hasInstances())
+			publishInstanceTaxonomySnapshot(snapshot.getTaxonomy());
+		taxonomySnapshotUpToDate_ = false;
+		instanceTaxonomySnapshotUpToDate_ = false;
+	}
+
+	/**
+	 * @return the fingerprint of the ontology represented by the index, see
+	 *         {@link OntologyFingerprint}
+	 * @throws IOException
+	 *             if the index has changes that are not yet committed, so
+	 *             the fingerprint cannot be computed
+	 */
+	private long getOntologyFingerprint() throws IOException {
+		if (!ontologyIndex.isEmpty())
+			throw new IOException(
+					"The fingerprint of the ontology cannot be computed until the changes are applied!");
+		// else
+		return OntologyFingerprint.compute(ontologyIndex);
+	}
+
+	/**
+	 * Suspends or resumes publishing of the copies of the taxonomies, see
+	 * {@link #getTaxonomySnapshot()}
+	 * 
+	 * @param suspend
+	 *            if {@code true}, the copies are not published until this
+	 *            method is called with {@code false}
+	 * @return {@code true} if publishing was suspended before the call
+	 */
+	protected synchronized boolean setSnapshotsSuspended(boolean suspend) {
+		boolean result = snapshotsSuspended_;
+		snapshotsSuspended_ = suspend;
+		return result;
+	}
+
+	private boolean canPublishSnapshots() {
+		return publishSnapshots_ && !snapshotsSuspended_;
+	}
+
+	private void publishTaxonomySnapshot(Taxonomy<ElkClass> snapshot) {
+		taxonomySnapshot_ = snapshot;
+		taxonomySnapshotUpToDate_ = true;
+		taxonomyVersion_ = new TaxonomyVersion<ElkClass>(snapshot,
+				++taxonomyVersionCount_);
+	}
+
+	private void publishInstanceTaxonomySnapshot(
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> snapshot) {
+		instanceTaxonomySnapshot_ = snapshot;
+		instanceTaxonomySnapshotUpToDate_ = true;
+		instanceTaxonomyVersion_ = new InstanceTaxonomyVersion<ElkClass, ElkNamedIndividual>(
+				snapshot, ++instanceTaxonomyVersionCount_);
+		if (!taxonomySnapshotUpToDate_)
+			// the class taxonomy has been recomputed as well
+			publishTaxonomySnapshot(snapshot);
+	}
+
 	/**
 	 * @return all {@link ElkClass}es occurring in the ontology
 	 */
@@ -28,10 +28,13 @@ import org.semanticweb.elk.owl.interfaces.ElkAxiom;
 import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
 import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
 import org.semanticweb.elk.reasoner.incremental.NonIncrementalChangeListener;
+import org.semanticweb.elk.reasoner.incremental.PropertyChangeListener;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.ChangeIndexingProcessor;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.ConcurrentAxiomIndexing;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.NonIncrementalElkAxiomVisitor;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.PropertyChangeElkAxiomVisitor;
 import org.semanticweb.elk.reasoner.indexing.modifiable.ModifiableOntologyIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +55,16 @@ public class AxiomLoadingStage extends AbstractReasonerStage {
 	private volatile AxiomLoader loader_;
 	private ElkAxiomProcessor axiomInsertionProcessor_,
 			axiomDeletionProcessor_;
+	/**
+	 * indexes the loaded axioms using several workers or {@code null} if they
+	 * are indexed by the calling thread
+	 */
+	private ConcurrentAxiomIndexing concurrentIndexing_ = null;
+	/**
+	 * {@code true} if some axiom indexed by the workers cannot be
+	 * incorporated incrementally, but the reasoner has not been notified yet
+	 */
+	private volatile boolean nonIncrementalChangePending_ = false;
 
 	public AxiomLoadingStage(AbstractReasonerState reasoner,
 			AbstractReasonerStage... preStages) {
@@ -75,6 +88,13 @@ public class AxiomLoadingStage extends AbstractReasonerStage {
 		ModifiableOntologyIndex ontologyIndex = reasoner
 				.getModifiableOntologyIndex();
 
+		/*
+		 * the workers can index the axioms only if the changes are not
+		 * recorded for incremental reasoning
+		 */
+		final boolean concurrent = reasoner.isParallelIndexing()
+				&& workerNo > 1 && !reasoner.isIncrementalMode();
+
 		ElkAxiomConverter axiomInserter = new ElkAxiomConverterImpl(
 				ontologyIndex, 1);
 		ElkAxiomConverter axiomDeleter = new ElkAxiomConverterImpl(
@@ -93,15 +113,21 @@ public class AxiomLoadingStage extends AbstractReasonerStage {
 			boolean resetDone = false;
 
 			@Override
-			public void notify(ElkAxiom axiom) {
+			public synchronized void notify(ElkAxiom axiom) {
 				if (resetDone)
 					return;
 				if (LOGGER_.isDebugEnabled()) {
 					LOGGER_.debug("Disallowing incremental mode due to "
 							+ OwlFunctionalStylePrinter.toString(axiom));
 				}
-				reasoner.resetPropertySaturation();
-				reasoner.setNonIncrementalMode();
+				if (concurrent)
+					/*
+					 * the reasoner can be locked by the thread waiting for the
+					 * workers, so it is notified after indexing
+					 */
+					nonIncrementalChangePending_ = true;
+				else
+					notifyNonIncrementalChange();
 				resetDone = true;
 			}
 		};
@@ -110,22 +136,75 @@ public class AxiomLoadingStage extends AbstractReasonerStage {
 				listener);
 		axiomDeleter = new NonIncrementalElkAxiomVisitor(axiomDeleter, listener);
 
+		/*
+		 * the remaining changes of the property hierarchy only require
+		 * recomputing of the property saturation; the reasoner saves the
+		 * previous one to process these changes incrementally
+		 */
+		PropertyChangeListener<ElkAxiom> propertyListener = new PropertyChangeListener<ElkAxiom>() {
+
+			boolean resetDone = false;
+
+			@Override
+			public synchronized void notify(ElkAxiom axiom) {
+				if (resetDone)
+					return;
+				if (LOGGER_.isDebugEnabled()) {
+					LOGGER_.debug("Resetting property saturation due to "
+							+ OwlFunctionalStylePrinter.toString(axiom));
+				}
+				if (concurrent)
+					// only possible in the non-incremental mode
+					nonIncrementalChangePending_ = true;
+				else
+					reasoner.notifyPropertyChange();
+				resetDone = true;
+			}
+		};
+
+		axiomInserter = new PropertyChangeElkAxiomVisitor(axiomInserter,
+				propertyListener);
+		axiomDeleter = new PropertyChangeElkAxiomVisitor(axiomDeleter,
+				propertyListener);
+
 		this.axiomInsertionProcessor_ = new ChangeIndexingProcessor(
 				axiomInserter, ChangeIndexingProcessor.ADDITION);
 		this.axiomDeletionProcessor_ = new ChangeIndexingProcessor(
 				axiomDeleter, ChangeIndexingProcessor.REMOVAL);
+		if (concurrent) {
+			concurrentIndexing_ = new ConcurrentAxiomIndexing(
+					axiomInsertionProcessor_, axiomDeletionProcessor_,
+					reasoner.getProcessExecutor(), workerNo);
+			this.axiomInsertionProcessor_ = concurrentIndexing_.getInserter();
+			this.axiomDeletionProcessor_ = concurrentIndexing_.getDeleter();
+		}
 		return true;
 	}
 
 	@Override
 	public void executeStage() throws ElkException {
-		loader_.load(axiomInsertionProcessor_, axiomDeletionProcessor_);
+		try {
+			loader_.load(axiomInsertionProcessor_, axiomDeletionProcessor_);
+		} finally {
+			if (concurrentIndexing_ != null)
+				concurrentIndexing_.finish();
+			if (nonIncrementalChangePending_) {
+				notifyNonIncrementalChange();
+				nonIncrementalChangePending_ = false;
+			}
+		}
+	}
+
+	void notifyNonIncrementalChange() {
+		reasoner.resetPropertySaturation();
+		reasoner.setNonIncrementalMode();
 	}
 
 	@Override
 	public boolean postExecute() {
 		if (!super.postExecute())
 			return false;
+		concurrentIndexing_ = null;
 		return true;
 	}
 
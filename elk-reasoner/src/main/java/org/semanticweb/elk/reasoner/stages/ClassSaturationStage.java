@@ -82,7 +82,8 @@ public class ClassSaturationStage extends AbstractReasonerStage {
 							.getTraceStore().getWriter(), ruleAppVisitorFactory);
 		} else {
 			ruleFactory = new RuleApplicationAdditionFactory(
-					reasoner.saturationState, ruleAppVisitorFactory);
+					reasoner.saturationState, ruleAppVisitorFactory,
+					reasoner.countDerivations());
 		}
 
 		this.computation_ = new ClassExpressionSaturation<IndexedClass>(
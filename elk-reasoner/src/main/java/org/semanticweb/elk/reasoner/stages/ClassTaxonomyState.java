@@ -34,7 +34,10 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClass;
+import org.semanticweb.elk.reasoner.taxonomy.ConcurrentClassTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.FrozenTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomy;
 
 /**
@@ -46,17 +49,51 @@ import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomy;
  */
 public class ClassTaxonomyState {
 
-	private UpdateableTaxonomy<ElkClass> taxonomy_ = null;
+	private volatile UpdateableTaxonomy<ElkClass> taxonomy_ = null;
+
+	/**
+	 * the compact copy of the taxonomy that replaces {@link #taxonomy_} until
+	 * the taxonomy needs to be updated, or {@code null}
+	 */
+	private volatile FrozenTaxonomy<ElkClass> frozenTaxonomy_ = null;
 
 	private final Set<ElkClass> classesForModifiedNodes_ = Collections
 			.newSetFromMap(new ConcurrentHashMap<ElkClass, Boolean>());
 
 	private final List<IndexedClass> removedClasses_ = new LinkedList<IndexedClass>();
 
+	/**
+	 * @return the taxonomy that can be updated or {@code null} if it has not
+	 *         been computed; if the taxonomy was frozen, it is converted back
+	 * 
+	 * @see Writer#freezeTaxonomy()
+	 */
 	public UpdateableTaxonomy<ElkClass> getTaxonomy() {
+		UpdateableTaxonomy<ElkClass> result = taxonomy_;
+		if (result != null || frozenTaxonomy_ == null)
+			return result;
+		// else
+		return thawTaxonomy();
+	}
+
+	private synchronized UpdateableTaxonomy<ElkClass> thawTaxonomy() {
+		FrozenTaxonomy<ElkClass> frozen = frozenTaxonomy_;
+		if (frozen != null) {
+			taxonomy_ = new ConcurrentClassTaxonomy(frozen);
+			frozenTaxonomy_ = null;
+		}
 		return taxonomy_;
 	}
 
+	/**
+	 * @return {@code true} if the taxonomy has been computed, possibly in the
+	 *         frozen form; unlike {@link #getTaxonomy()}, this does not
+	 *         convert the frozen taxonomy back
+	 */
+	public boolean hasTaxonomy() {
+		return taxonomy_ != null || frozenTaxonomy_ != null;
+	}
+
 	Set<ElkClass> getClassesWithModifiedNodes() {
 		return classesForModifiedNodes_;
 	}
@@ -79,11 +116,35 @@ public class ClassTaxonomyState {
 	public class Writer {
 
 		void setTaxonomy(UpdateableTaxonomy<ElkClass> classTaxonomy) {
-			taxonomy_ = classTaxonomy;
+			synchronized (ClassTaxonomyState.this) {
+				taxonomy_ = classTaxonomy;
+				frozenTaxonomy_ = null;
+			}
 		}
 
 		public void clearTaxonomy() {
-			taxonomy_ = null;
+			synchronized (ClassTaxonomyState.this) {
+				taxonomy_ = null;
+				frozenTaxonomy_ = null;
+			}
+		}
+
+		/**
+		 * Replaces the computed taxonomy by its compact read-only copy, which
+		 * is converted back when the taxonomy is requested by
+		 * {@link ClassTaxonomyState#getTaxonomy()} for an update
+		 * 
+		 * @return the frozen taxonomy or {@code null} if the taxonomy has not
+		 *         been computed
+		 */
+		public Taxonomy<ElkClass> freezeTaxonomy() {
+			synchronized (ClassTaxonomyState.this) {
+				if (taxonomy_ != null) {
+					frozenTaxonomy_ = new FrozenTaxonomy<ElkClass>(taxonomy_);
+					taxonomy_ = null;
+				}
+				return frozenTaxonomy_;
+			}
 		}
 
 		public void markClassForModifiedNode(final ElkClass elkClass) {
@@ -23,6 +23,8 @@
 package org.semanticweb.elk.reasoner.stages;
 
 import org.semanticweb.elk.reasoner.consistency.ConsistencyChecking;
+import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.NonRedundantRuleApplicationVisitorFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
 
 /**
  * A {@link ReasonerStage} during which consistency of the current ontology is
@@ -55,7 +57,9 @@ class ConsistencyCheckingStage extends AbstractReasonerStage {
 		this.computation = new ConsistencyChecking(
 				reasoner.getProcessExecutor(), workerNo,
 				reasoner.getProgressMonitor(), reasoner.ontologyIndex,
-				reasoner.saturationState);
+				new RuleApplicationAdditionFactory(reasoner.saturationState,
+						new NonRedundantRuleApplicationVisitorFactory(),
+						reasoner.countDerivations()));
 		return true;
 	}
 
@@ -67,7 +67,11 @@ class ContextAssignmentResetStage extends AbstractReasonerStage {
 	public void executeStage() throws ElkInterruptedException {
 		SaturationStateWriter<?> writer = reasoner.saturationState
 				.getContextModifyingWriter();
+		// the contexts in which the subsumers were derived are discarded
+		reasoner.subsumerContextTracker.reset(reasoner.saturationState
+				.getOntologyIndex().getClassExpressions());
 		writer.resetContexts();
+		reasoner.ontologyIndex.releaseRemovedContextRoots();
 	}
 
 	@Override
@@ -43,6 +43,7 @@ import org.semanticweb.elk.reasoner.indexing.hierarchy.DifferentialIndex;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.saturation.ContextCreationListener;
 import org.semanticweb.elk.reasoner.saturation.ContextModificationListener;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
 import org.semanticweb.elk.reasoner.saturation.conclusions.implementation.ContextInitializationImpl;
@@ -147,11 +148,18 @@ public class IncrementalAdditionInitializationStage extends
 				writer.produce(ice, contextInitConclusion);
 		}
 
+		// initialize again contexts affected by changes of properties
+		if (reasoner.propertyAffectedContextRoots != null) {
+			for (IndexedContextRoot root : reasoner.propertyAffectedContextRoots)
+				writer.produce(root, contextInitConclusion);
+		}
+
 		changedInitRules = diffIndex.getAddedContextInitRules();
 		changedRulesByCE = diffIndex.getAddedContextRulesByClassExpressions();
 
 		if (changedInitRules != null || !changedRulesByCE.isEmpty()) {
-			inputs = Operations.split(reasoner.saturationState.getContexts(),
+			inputs = Operations.split(
+					getAffectedContexts(changedInitRules, changedRulesByCE),
 					8 * workerNo);
 		}
 
@@ -170,6 +178,8 @@ public class IncrementalAdditionInitializationStage extends
 		reasoner.ontologyIndex.commitAddedRules();
 		reasoner.ontologyIndex.initClassChanges();
 		reasoner.ontologyIndex.initIndividualChanges();
+		reasoner.propertySaturationChanges = null;
+		reasoner.propertyAffectedContextRoots = null;
 		return true;
 	}
 
@@ -60,7 +60,7 @@ public class IncrementalAdditionStage extends AbstractReasonerStage {
 		saturation_ = new ClassExpressionSaturationNoInput(
 				reasoner.getProcessExecutor(), workerNo,
 				new RuleApplicationAdditionUnSaturationFactory(
-						reasoner.saturationState),
+						reasoner.saturationState, reasoner.countDerivations()),
 				ContextModificationListener.DUMMY);
 
 		return true;
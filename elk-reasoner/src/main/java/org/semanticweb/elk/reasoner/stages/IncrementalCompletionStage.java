@@ -29,6 +29,7 @@ import org.semanticweb.elk.owl.exceptions.ElkException;
 import org.semanticweb.elk.reasoner.incremental.IncrementalStages;
 import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturationNoInput;
 import org.semanticweb.elk.reasoner.saturation.ContextModificationListener;
+import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.NonRedundantRuleApplicationVisitorFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
 
 /**
@@ -65,7 +66,9 @@ public class IncrementalCompletionStage extends AbstractReasonerStage {
 			return false;
 		completion_ = new ClassExpressionSaturationNoInput(
 				reasoner.getProcessExecutor(), workerNo,
-				new RuleApplicationAdditionFactory(reasoner.saturationState),
+				new RuleApplicationAdditionFactory(reasoner.saturationState,
+						new NonRedundantRuleApplicationVisitorFactory(),
+						reasoner.countDerivations()),
 				ContextModificationListener.DUMMY);
 		return true;
 	}
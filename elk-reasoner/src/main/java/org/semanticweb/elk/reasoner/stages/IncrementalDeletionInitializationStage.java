@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 import org.semanticweb.elk.reasoner.incremental.IncrementalChangesInitialization;
 import org.semanticweb.elk.reasoner.incremental.IncrementalStages;
@@ -33,16 +34,22 @@ import org.semanticweb.elk.reasoner.indexing.hierarchy.DifferentialIndex;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClass;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedIndividual;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedRangeFiller;
 import org.semanticweb.elk.reasoner.indexing.visitors.IndexedClassExpressionVisitor;
 import org.semanticweb.elk.reasoner.indexing.visitors.NoOpIndexedClassExpressionVisitor;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
 import org.semanticweb.elk.reasoner.saturation.conclusions.implementation.ContextInitializationImpl;
 import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.Conclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.properties.PropertySaturationChanges;
 import org.semanticweb.elk.reasoner.saturation.rules.contextinit.LinkedContextInitRule;
 import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ChainableSubsumerRule;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.collections.Operations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * 
@@ -51,6 +58,10 @@ import org.semanticweb.elk.util.collections.Operations;
 public class IncrementalDeletionInitializationStage extends
 		AbstractIncrementalChangesInitializationStage {
 
+	// logger for this class
+	private static final Logger LOGGER_ = LoggerFactory
+			.getLogger(IncrementalDeletionInitializationStage.class);
+
 	public IncrementalDeletionInitializationStage(
 			AbstractReasonerState reasoner, AbstractReasonerStage... preStages) {
 		super(reasoner, preStages);
@@ -71,12 +82,17 @@ public class IncrementalDeletionInitializationStage extends
 		Map<? extends IndexedClassExpression, ChainableSubsumerRule> changedRulesByCE = null;
 		Collection<ArrayList<Context>> inputs = Collections.emptyList();
 
+		if (reasoner.propertySaturationChanges != null)
+			// the inferences should be deleted as they were produced
+			reasoner.propertySaturationChanges.usePrevious();
+
 		changedInitRules = diffIndex.getRemovedContextInitRules();
 		changedRulesByCE = diffIndex.getRemovedContextRulesByClassExpressions();
 
 		if (changedInitRules != null || !changedRulesByCE.isEmpty()) {
 
-			inputs = Operations.split(reasoner.saturationState.getContexts(),
+			inputs = Operations.split(
+					getAffectedContexts(changedInitRules, changedRulesByCE),
 					8 * workerNo);
 		}
 
@@ -119,6 +135,8 @@ public class IncrementalDeletionInitializationStage extends
 			}
 		};
 
+		Set<IndexedClassExpression> removedClassExpressions = new ArrayHashSet<IndexedClassExpression>();
+
 		for (IndexedClassExpression ice : reasoner.ontologyIndex
 				.getRemovedClassExpressions()) {
 
@@ -130,6 +148,36 @@ public class IncrementalDeletionInitializationStage extends
 				// mark removed classes
 				ice.accept(entityRemovalVisitor);
 			}
+			removedClassExpressions.add(ice);
+		}
+
+		PropertySaturationChanges propertyChanges = reasoner.propertySaturationChanges;
+		if (propertyChanges != null) {
+			/*
+			 * deleting the initialization of contexts in which the changed
+			 * property saturation could be used; they are initialized again
+			 * when the additions are initialized
+			 */
+			Collection<IndexedContextRoot> affectedRoots = new ArrayList<IndexedContextRoot>();
+			for (Context context : reasoner.saturationState.getContexts()) {
+				if (!context.isInitialized() || !propertyChanges.affects(context))
+					continue;
+				// else
+				IndexedContextRoot root = context.getRoot();
+				satStateWriter.produce(root, new ContextInitializationImpl(
+						reasoner.saturationState.getOntologyIndex()));
+				if (!removedClassExpressions.contains(root)
+						&& !(root instanceof IndexedRangeFiller && removedClassExpressions
+								.contains(((IndexedRangeFiller) root)
+										.getFiller())))
+					affectedRoots.add(root);
+			}
+			if (LOGGER_.isDebugEnabled())
+				LOGGER_.debug(affectedRoots.size()
+						+ " contexts affected by changes of "
+						+ propertyChanges.getAffectedPropertyChains().size()
+						+ " property chains");
+			reasoner.propertyAffectedContextRoots = affectedRoots;
 		}
 
 		reasoner.ontologyIndex.clearDeletedRules();
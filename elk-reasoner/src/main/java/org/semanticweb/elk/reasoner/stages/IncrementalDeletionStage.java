@@ -57,10 +57,14 @@ public class IncrementalDeletionStage extends AbstractReasonerStage {
 	public boolean preExecute() {
 		if (!super.preExecute())
 			return false;
+		// the derivations are not retracted when the property saturation
+		// changes since the rules may have used the previous saturation
+		boolean countDerivations = reasoner.countDerivations()
+				&& reasoner.propertySaturationChanges == null;
 		desaturation_ = new ClassExpressionSaturationNoInput(
 				reasoner.getProcessExecutor(), workerNo,
-				new RuleApplicationDeletionFactory(reasoner.saturationState),
-				ContextModificationListener.DUMMY);
+				new RuleApplicationDeletionFactory(reasoner.saturationState,
+						countDerivations), ContextModificationListener.DUMMY);
 		return true;
 	}
 
@@ -80,6 +84,11 @@ public class IncrementalDeletionStage extends AbstractReasonerStage {
 					+ reasoner.saturationState.getNotSaturatedContexts().size());
 		}
 		desaturation_ = null;
+		// the conclusions involving the removed class expressions are deleted
+		reasoner.ontologyIndex.releaseRemovedContextRoots();
+		if (reasoner.propertySaturationChanges != null)
+			// the remaining inferences use the new property saturation
+			reasoner.propertySaturationChanges.useCurrent();
 		return true;
 	}
 
@@ -0,0 +1,368 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.semanticweb.elk.owl.interfaces.ElkLiteral;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClass;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedComplexPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedDataHasValue;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedDisjointClassesAxiom;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedIndividual;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObject;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectComplementOf;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectIntersectionOf;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectSomeValuesFrom;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedObjectUnionOf;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.OntologyIndex;
+import org.semanticweb.elk.reasoner.indexing.visitors.IndexedClassExpressionVisitor;
+import org.semanticweb.elk.reasoner.indexing.visitors.IndexedPropertyChainVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.interfaces.ContextInitialization;
+import org.semanticweb.elk.reasoner.saturation.context.ContextPremises;
+import org.semanticweb.elk.reasoner.saturation.rules.ConclusionProducer;
+import org.semanticweb.elk.reasoner.saturation.rules.contextinit.LinkedContextInitRule;
+import org.semanticweb.elk.reasoner.saturation.rules.contextinit.LinkedContextInitRuleVisitor;
+import org.semanticweb.elk.reasoner.saturation.rules.contextinit.OwlThingContextInitRule;
+import org.semanticweb.elk.reasoner.saturation.rules.contextinit.ReflexivePropertyRangesContextInitRule;
+import org.semanticweb.elk.reasoner.saturation.rules.contextinit.RootContextInitializationRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ContradictionFromDisjointnessRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ContradictionFromNegationRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ContradictionFromOwlNothingRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.DisjointSubsumerFromMemberRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.LinkedSubsumerRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.LinkedSubsumerRuleVisitor;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ObjectIntersectionFromConjunctRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ObjectUnionFromDisjunctRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.PropagationFromExistentialFillerRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.SuperClassFromSubClassRule;
+
+/**
+ * Computes a fingerprint of the ontology from its {@link OntologyIndex}, that
+ * is, from the indexed objects and the rules created for the loaded axioms. The
+ * indexed entities are identified by their IRIs and the complex indexed
+ * objects by their structure, so the fingerprint does not depend on the order
+ * in which the axioms were added or removed, and the same ontology has the same
+ * fingerprint in different runs of the reasoner. The fingerprint is computed
+ * only when it is requested, so loading of axioms does not depend on it; the
+ * {@link OntologyIndex} should not have uncommitted changes and should not be
+ * modified during the computation.
+ * 
+ * Since the fingerprint is computed for the indexed representation of the
+ * axioms, ontologies that are indexed in the same way, e.g., which differ only
+ * in annotations, have the same fingerprint.
+ */
+class OntologyFingerprint implements
+		IndexedClassExpressionVisitor<Long>, IndexedPropertyChainVisitor<Long>,
+		LinkedSubsumerRuleVisitor, LinkedContextInitRuleVisitor {
+
+	private static final long FNV_OFFSET_BASIS_ = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME_ = 0x100000001b3L;
+
+	/**
+	 * the tags distinguishing the kinds of the hashed objects
+	 */
+	private static final int COMPLEMENT_ = 1, INTERSECTION_ = 2,
+			EXISTENTIAL_ = 3, UNION_ = 4, CHAIN_ = 5, RANGES_ = 6,
+			SUPER_PROPERTIES_ = 7, DISJOINTNESS_CONTRADICTION_ = 8,
+			NEGATION_CONTRADICTION_ = 9, OWL_NOTHING_CONTRADICTION_ = 10,
+			DISJOINT_SUBSUMERS_ = 11, CONJUNCTIONS_ = 12, DISJUNCTIONS_ = 13,
+			PROPAGATIONS_ = 14, SUPER_CLASSES_ = 15, OWL_THING_INIT_ = 16,
+			ROOT_INIT_ = 17, REFLEXIVE_RANGES_INIT_ = 18;
+
+	/**
+	 * the hashes of the indexed objects computed so far
+	 */
+	private final Map<IndexedObject, Long> hashes_ = new HashMap<IndexedObject, Long>();
+
+	/**
+	 * the sum of the hashes of the rules visited so far
+	 */
+	private long rulesHash_ = 0;
+
+	private OntologyFingerprint() {
+		// use compute(OntologyIndex)
+	}
+
+	/**
+	 * @param index
+	 *            the {@link OntologyIndex} containing the loaded axioms
+	 * @return the fingerprint of the ontology represented by the given
+	 *         {@link OntologyIndex}
+	 */
+	static long compute(OntologyIndex index) {
+		OntologyFingerprint fingerprint = new OntologyFingerprint();
+		long result = 0;
+		for (IndexedClassExpression ice : index.getClassExpressions()) {
+			fingerprint.rulesHash_ = 0;
+			for (LinkedSubsumerRule rule = ice.getCompositionRuleHead(); rule != null; rule = rule
+					.next()) {
+				rule.accept(fingerprint, ice, null, null);
+			}
+			result += mix(combine(fingerprint.hash(ice),
+					fingerprint.rulesHash_));
+		}
+		for (IndexedPropertyChain chain : index.getPropertyChains()) {
+			result += mix(combine(fingerprint.hash(chain), SUPER_PROPERTIES_,
+					fingerprint.sum(chain.getToldSuperProperties())));
+		}
+		for (IndexedObjectProperty property : index.getObjectProperties()) {
+			result += mix(combine(fingerprint.hash(property), RANGES_,
+					fingerprint.sum(property.getToldRanges())));
+		}
+		fingerprint.rulesHash_ = 0;
+		for (LinkedContextInitRule rule = index.getContextInitRuleHead(); rule != null; rule = rule
+				.next()) {
+			rule.accept(fingerprint, null, null, null);
+		}
+		return result + fingerprint.rulesHash_;
+	}
+
+	/**
+	 * @return the hash of the given {@link IndexedObject}, which depends only
+	 *         on its structure and the IRIs of the entities in it
+	 */
+	private long hash(IndexedClassExpression ice) {
+		Long result = hashes_.get(ice);
+		if (result == null) {
+			result = ice.accept((IndexedClassExpressionVisitor<Long>) this);
+			hashes_.put(ice, result);
+		}
+		return result;
+	}
+
+	private long hash(IndexedPropertyChain chain) {
+		Long result = hashes_.get(chain);
+		if (result == null) {
+			result = chain.accept((IndexedPropertyChainVisitor<Long>) this);
+			hashes_.put(chain, result);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the sum of the hashes of the given {@link IndexedObject}s, which
+	 *         does not depend on their order
+	 */
+	private long sum(Collection<? extends IndexedObject> objects) {
+		long result = 0;
+		for (IndexedObject object : objects) {
+			if (object instanceof IndexedClassExpression)
+				result += mix(hash((IndexedClassExpression) object));
+			else
+				result += mix(hash((IndexedPropertyChain) object));
+		}
+		return result;
+	}
+
+	private long hash(IndexedDisjointClassesAxiom axiom) {
+		return combine(sum(axiom.getDisjointMembers()),
+				sum(axiom.getInconsistentMembers()));
+	}
+
+	private void addRule(int tag, long contents) {
+		rulesHash_ += mix(combine(tag, contents));
+	}
+
+	@Override
+	public Long visit(IndexedClass element) {
+		return hash("Class", element.getElkEntity().getIri());
+	}
+
+	@Override
+	public Long visit(IndexedIndividual element) {
+		return hash("NamedIndividual", element.getElkEntity().getIri());
+	}
+
+	@Override
+	public Long visit(IndexedObjectComplementOf element) {
+		return combine(COMPLEMENT_, hash(element.getNegated()));
+	}
+
+	@Override
+	public Long visit(IndexedObjectIntersectionOf element) {
+		// the order of conjuncts does not matter
+		return combine(INTERSECTION_, mix(hash(element.getFirstConjunct()))
+				+ mix(hash(element.getSecondConjunct())));
+	}
+
+	@Override
+	public Long visit(IndexedObjectSomeValuesFrom element) {
+		return combine(EXISTENTIAL_, hash(element.getProperty()),
+				hash(element.getFiller()));
+	}
+
+	@Override
+	public Long visit(IndexedObjectUnionOf element) {
+		return combine(UNION_, sum(element.getDisjuncts()));
+	}
+
+	@Override
+	public Long visit(IndexedDataHasValue element) {
+		ElkLiteral filler = element.getFiller();
+		return combine(
+				hash("DataHasValue", element.getRelation().getIri()),
+				hash(filler.getLexicalForm(), filler.getDatatype().getIri()));
+	}
+
+	@Override
+	public Long visit(IndexedObjectProperty element) {
+		return hash("ObjectProperty", element.getElkEntity().getIri());
+	}
+
+	@Override
+	public Long visit(IndexedComplexPropertyChain element) {
+		return combine(CHAIN_, hash(element.getFirstProperty()),
+				hash(element.getSuffixChain()));
+	}
+
+	@Override
+	public void visit(ContradictionFromDisjointnessRule rule,
+			IndexedClassExpression premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(DISJOINTNESS_CONTRADICTION_, 0);
+	}
+
+	@Override
+	public void visit(ContradictionFromNegationRule rule,
+			IndexedClassExpression premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(NEGATION_CONTRADICTION_, hash(rule.getNegation()));
+	}
+
+	@Override
+	public void visit(ContradictionFromOwlNothingRule rule,
+			IndexedClassExpression premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(OWL_NOTHING_CONTRADICTION_, 0);
+	}
+
+	@Override
+	public void visit(DisjointSubsumerFromMemberRule rule,
+			IndexedClassExpression premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		long contents = 0;
+		for (IndexedDisjointClassesAxiom axiom : rule.getDisjointnessAxioms()) {
+			contents += mix(hash(axiom));
+		}
+		addRule(DISJOINT_SUBSUMERS_, contents);
+	}
+
+	@Override
+	public void visit(ObjectIntersectionFromConjunctRule rule,
+			IndexedClassExpression premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		long contents = 0;
+		for (Map.Entry<IndexedClassExpression, IndexedObjectIntersectionOf> entry : rule
+				.getConjunctionsByConjunct().entrySet()) {
+			contents += mix(combine(hash(entry.getKey()),
+					hash(entry.getValue())));
+		}
+		addRule(CONJUNCTIONS_, contents);
+	}
+
+	@Override
+	public void visit(ObjectUnionFromDisjunctRule rule,
+			IndexedClassExpression premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(DISJUNCTIONS_, sum(rule.getDisjunctions()));
+	}
+
+	@Override
+	public void visit(PropagationFromExistentialFillerRule rule,
+			IndexedClassExpression premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(PROPAGATIONS_, sum(rule.getNegativeExistentials()));
+	}
+
+	@Override
+	public void visit(SuperClassFromSubClassRule rule,
+			IndexedClassExpression premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(SUPER_CLASSES_, sum(rule.getToldSuperclasses()));
+	}
+
+	@Override
+	public void visit(OwlThingContextInitRule rule,
+			ContextInitialization premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(OWL_THING_INIT_, 0);
+	}
+
+	@Override
+	public void visit(RootContextInitializationRule rule,
+			ContextInitialization premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(ROOT_INIT_, 0);
+	}
+
+	@Override
+	public void visit(ReflexivePropertyRangesContextInitRule rule,
+			ContextInitialization premise, ContextPremises premises,
+			ConclusionProducer producer) {
+		addRule(REFLEXIVE_RANGES_INIT_, sum(rule.getToldReflexiveProperties()));
+	}
+
+	/**
+	 * @return the FNV-1a hash of the given kind of entity with the given
+	 *         {@link ElkIri}
+	 */
+	private static long hash(String kind, ElkIri iri) {
+		long result = hash(FNV_OFFSET_BASIS_, kind);
+		result = (result ^ '(') * FNV_PRIME_;
+		return hash(result, iri.getFullIriAsString());
+	}
+
+	private static long hash(long hash, String chars) {
+		for (int i = 0; i < chars.length(); i++) {
+			hash = (hash ^ chars.charAt(i)) * FNV_PRIME_;
+		}
+		return hash;
+	}
+
+	private static long combine(long first, long second) {
+		return mix(first) * FNV_PRIME_ + second;
+	}
+
+	private static long combine(long first, long second, long third) {
+		return combine(combine(first, second), third);
+	}
+
+	/**
+	 * mixes the bits of the given hash so that the sums of hashes do not
+	 * collide
+	 */
+	private static long mix(long h) {
+		h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+		h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return h ^ (h >>> 33);
+	}
+
+}
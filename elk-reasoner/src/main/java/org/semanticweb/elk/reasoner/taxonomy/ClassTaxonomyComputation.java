@@ -67,7 +67,9 @@ public class ClassTaxonomyComputation
 	/**
 	 * Print statistics about taxonomy computation
 	 */
+	@Override
 	public void printStatistics() {
+		super.printStatistics();
 		processorFactory.printStatistics();
 	}
 
@@ -40,13 +40,19 @@ import org.semanticweb.elk.owl.interfaces.ElkEntity;
 import org.semanticweb.elk.owl.iris.ElkIri;
 import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
 import org.semanticweb.elk.owl.util.Comparators;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableBottomNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.NodeHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyNodeHasher;
 import org.semanticweb.elk.util.collections.LazySetUnion;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.collections.Operations.Condition;
+import org.semanticweb.elk.util.hashing.HashGenerator;
+import org.semanticweb.elk.util.hashing.Hasher;
 
 /**
  * Class taxonomy that is suitable for concurrent processing. Taxonomy objects
@@ -78,6 +84,29 @@ public class ConcurrentClassTaxonomy implements UpdateableTaxonomy<ElkClass> {
 	 */
 	private final BottomClassNode bottomClassNode_;
 
+	/**
+	 * the {@link TaxonomyNodeHasher} hashes of the satisfiable class nodes
+	 */
+	private final IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>> nodeHashes_;
+
+	/**
+	 * the {@link NodeHasher} hashes of the satisfiable class nodes without
+	 * non-bottom sub-classes, which are the super-nodes of the bottom node
+	 */
+	private final IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>> leafNodeHashes_;
+
+	/**
+	 * the hashes of the nodes of an instance taxonomy built on top of this
+	 * taxonomy, which also need to be updated when class nodes change
+	 */
+	private volatile IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>> typeNodeHashes_ = null;
+
+	/**
+	 * the {@link NodeHasher} hash of the bottom node when {@link #getHash()}
+	 * was last computed
+	 */
+	private int hashedBottomMembers_ = 0;
+
 	public ConcurrentClassTaxonomy() {
 		this.classNodeLookup_ = new ConcurrentHashMap<ElkIri, NonBottomClassNode>();
 		this.allSatisfiableClassNodes_ = Collections
@@ -88,8 +117,59 @@ public class ConcurrentClassTaxonomy implements UpdateableTaxonomy<ElkClass> {
 				.synchronizedSet(new TreeSet<ElkClass>(
 						Comparators.ELK_CLASS_COMPARATOR));
 		this.unsatisfiableClasses_.add(PredefinedElkClass.OWL_NOTHING);
+		this.nodeHashes_ = new IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>>(
+				TaxonomyNodeHasher.INSTANCE);
+		this.leafNodeHashes_ = new IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>>(
+				LEAF_NODE_HASHER_);
+	}
+
+	/**
+	 * Creates a {@link ConcurrentClassTaxonomy} with the same nodes as the
+	 * given {@link Taxonomy}, e.g., to continue updating a
+	 * {@link FrozenTaxonomy}. The copied nodes are not marked as modified.
+	 * 
+	 * @param taxonomy
+	 */
+	public ConcurrentClassTaxonomy(Taxonomy<ElkClass> taxonomy) {
+		this();
+		TaxonomyNode<ElkClass> bottom = taxonomy.getBottomNode();
+		for (ElkClass member : bottom.getMembers()) {
+			addToBottomNode(member);
+		}
+		for (TaxonomyNode<ElkClass> node : taxonomy.getNodes()) {
+			if (node == bottom)
+				continue;
+			getCreateNonBottomClassNode(node.getMembers()).trySetModified(
+					false);
+		}
+		for (TaxonomyNode<ElkClass> node : taxonomy.getNodes()) {
+			if (node == bottom)
+				continue;
+			NonBottomClassNode copy = classNodeLookup_.get(getKey(node
+					.getCanonicalMember()));
+			for (TaxonomyNode<ElkClass> superNode : node.getDirectSuperNodes()) {
+				NonBottomClassNode superCopy = classNodeLookup_
+						.get(getKey(superNode.getCanonicalMember()));
+				copy.addDirectSuperNode(superCopy);
+				superCopy.addDirectSubNode(copy);
+			}
+		}
 	}
 
+	/**
+	 * Hashes the nodes without non-bottom sub-nodes using {@link NodeHasher}
+	 * and the other nodes to 0
+	 */
+	private static final Hasher<UpdateableTaxonomyNode<ElkClass>> LEAF_NODE_HASHER_ = new Hasher<UpdateableTaxonomyNode<ElkClass>>() {
+
+		@Override
+		public int hash(UpdateableTaxonomyNode<ElkClass> node) {
+			return node.getDirectUpdateableSubNodes().isEmpty() ? NodeHasher.INSTANCE
+					.hash(node) : 0;
+		}
+
+	};
+
 	/**
 	 * Returns the IRI of the given ELK entity.
 	 * 
@@ -173,6 +253,7 @@ public class ConcurrentClassTaxonomy implements UpdateableTaxonomy<ElkClass> {
 			return previous;
 
 		allSatisfiableClassNodes_.add(node);
+		nodeChanged(node);
 		
 		LOGGER_.trace("node created: {}", node);
 		
@@ -200,6 +281,7 @@ public class ConcurrentClassTaxonomy implements UpdateableTaxonomy<ElkClass> {
 		boolean changed = false;
 
 		if (allSatisfiableClassNodes_.remove(node)) {
+			nodeChanged(node);
 			// removing node assignment for members
 			for (ElkClass member : node.getMembers()) {
 				changed |= classNodeLookup_.remove(getKey(member)) != null;
@@ -229,6 +311,90 @@ public class ConcurrentClassTaxonomy implements UpdateableTaxonomy<ElkClass> {
 	}
 
 
+	/**
+	 * Registers that the given node was created, removed, or that the hash of
+	 * this node may have changed, i.e., its members or the members of its
+	 * direct sub-nodes or super-nodes
+	 * 
+	 * @param node
+	 */
+	void nodeChanged(UpdateableTaxonomyNode<ElkClass> node) {
+		nodeHashes_.nodeChanged(node);
+		leafNodeHashes_.nodeChanged(node);
+		IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>> typeNodeHashes = typeNodeHashes_;
+		if (typeNodeHashes != null)
+			typeNodeHashes.nodeChanged(node);
+	}
+
+	/**
+	 * Sets the hashes of the type nodes of the instance taxonomy that should
+	 * be notified about the changes of the class nodes; the previously set
+	 * hashes are no longer updated
+	 * 
+	 * @param typeNodeHashes
+	 */
+	void setTypeNodeHashes(
+			IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>> typeNodeHashes) {
+		this.typeNodeHashes_ = typeNodeHashes;
+	}
+
+	/**
+	 * @param typeNodeHashes
+	 * @return {@code true} if the given hashes are notified about the changes
+	 *         of the class nodes
+	 */
+	boolean hasTypeNodeHashes(
+			IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>> typeNodeHashes) {
+		return typeNodeHashes_ == typeNodeHashes;
+	}
+
+	/**
+	 * Reports to the given hashes all nodes without non-bottom sub-nodes,
+	 * whose hashes depend on the members of the bottom node
+	 * 
+	 * @param hashes
+	 */
+	void reportLeafNodes(
+			IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>> hashes) {
+		for (NonBottomClassNode node : allSatisfiableClassNodes_) {
+			if (node.getDirectUpdateableSubNodes().isEmpty())
+				hashes.nodeChanged(node);
+		}
+	}
+
+	/**
+	 * @return the sum of the {@link NodeHasher} hashes of the direct
+	 *         super-nodes of the bottom node
+	 */
+	int getBottomSuperNodesHash() {
+		return leafNodeHashes_.getSum(allSatisfiableClassNodes_);
+	}
+
+	/**
+	 * Computes the same value as {@link TaxonomyHasher#hash} for this
+	 * taxonomy. The hashes of the nodes are stored and recomputed only for
+	 * the nodes that have changed since the previous call, so if the
+	 * taxonomy was not modified, the value is obtained without hashing any
+	 * nodes except for the bottom node, which usually has few members. If the
+	 * members of the bottom node have changed, all nodes without non-bottom
+	 * sub-nodes need to be hashed again. The changes of the nodes are tracked
+	 * only after the first call of this method, which hashes all nodes. The
+	 * taxonomy should not be modified while this method is running.
+	 * 
+	 * @return the structural hash of this taxonomy
+	 */
+	public synchronized int getHash() {
+		int bottomMembersHash = NodeHasher.INSTANCE.hash(bottomClassNode_);
+		if (bottomMembersHash != hashedBottomMembers_) {
+			hashedBottomMembers_ = bottomMembersHash;
+			reportLeafNodes(nodeHashes_);
+		}
+		int bottomHash = TaxonomyNodeHasher.INSTANCE.hash(bottomMembersHash,
+				0, getBottomSuperNodesHash());
+		return HashGenerator.combineMultisetHash(true,
+				nodeHashes_.getSum(allSatisfiableClassNodes_), bottomHash);
+	}
+
 	/**
 	 * Special implementation for the bottom node in the taxonomy. Instead of
 	 * storing its sub- and super-classes, the respective answers are computed
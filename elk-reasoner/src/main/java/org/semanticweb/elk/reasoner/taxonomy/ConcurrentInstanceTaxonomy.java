@@ -46,10 +46,16 @@ import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableInstanceNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTypeNode;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceNodeHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceTaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.NodeHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TypeNodeHasher;
 import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.collections.LazySetUnion;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.collections.Operations.FunctorEx;
+import org.semanticweb.elk.util.hashing.HashGenerator;
+import org.semanticweb.elk.util.hashing.Hasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,6 +89,23 @@ public class ConcurrentInstanceTaxonomy implements IndividualClassTaxonomy {
 
 	private final TypeNodeWrapper bottom_;
 
+	/**
+	 * the {@link TypeNodeHasher} hashes of the non-bottom type nodes, indexed
+	 * by the class nodes for which they are created
+	 */
+	private final IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>> typeNodeHashes_;
+
+	/**
+	 * the {@link InstanceNodeHasher} hashes of the instance nodes
+	 */
+	private final IncrementalNodeHashSum<InstanceNode<ElkClass, ElkNamedIndividual>> instanceNodeHashes_;
+
+	/**
+	 * the {@link NodeHasher} hash of the bottom node when {@link #getHash()}
+	 * was last computed
+	 */
+	private int hashedBottomMembers_ = 0;
+
 	public ConcurrentInstanceTaxonomy() {
 		this(new ConcurrentClassTaxonomy());
 	}
@@ -95,6 +118,14 @@ public class ConcurrentInstanceTaxonomy implements IndividualClassTaxonomy {
 		this.wrapperMap_ = new ConcurrentHashMap<TaxonomyNode<ElkClass>, UpdateableTypeNodeWrapper>();
 		this.bottom_ = new BottomTypeNodeWrapper(
 				classTaxonomy_.getUpdateableBottomNode());
+		this.typeNodeHashes_ = new IncrementalNodeHashSum<UpdateableTaxonomyNode<ElkClass>>(
+				typeNodeHasher_);
+		this.instanceNodeHashes_ = new IncrementalNodeHashSum<InstanceNode<ElkClass, ElkNamedIndividual>>(
+				InstanceNodeHasher.INSTANCE);
+		if (classTaxonomy instanceof ConcurrentClassTaxonomy)
+			// the existing class nodes are hashed when the hash is requested
+			((ConcurrentClassTaxonomy) classTaxonomy)
+					.setTypeNodeHashes(typeNodeHashes_);
 	}
 
 	/**
@@ -192,7 +223,7 @@ public class ConcurrentInstanceTaxonomy implements IndividualClassTaxonomy {
 		// TODO: avoid code duplication, the same technique is used for creating
 		// non-bottom class nodes!
 
-		IndividualNode node = new IndividualNode(members);
+		IndividualNode node = new IndividualNode(this, members);
 		// we first assign the node to the canonical member to avoid
 		// concurrency problems
 		ElkNamedIndividual canonical = node.getCanonicalMember();
@@ -204,6 +235,7 @@ public class ConcurrentInstanceTaxonomy implements IndividualClassTaxonomy {
 		}
 
 		allIndividualNodes_.add(node);
+		instanceNodeChanged(node);
 
 		if (LOGGER_.isTraceEnabled()) {
 			LOGGER_.trace(OwlFunctionalStylePrinter.toString(canonical)
@@ -233,6 +265,7 @@ public class ConcurrentInstanceTaxonomy implements IndividualClassTaxonomy {
 				}
 
 				allIndividualNodes_.remove(node);
+				instanceNodeChanged(node);
 				directTypes.addAll(node.getDirectTypeNodes());
 			}
 			// detaching the removed instance node from all its direct types
@@ -323,6 +356,83 @@ public class ConcurrentInstanceTaxonomy implements IndividualClassTaxonomy {
 		return classTaxonomy_.getUpdateableNodes();
 	}
 
+	/**
+	 * Registers that the given instance node was created, removed, or that
+	 * its hash may have changed
+	 * 
+	 * @param node
+	 */
+	void instanceNodeChanged(InstanceNode<ElkClass, ElkNamedIndividual> node) {
+		instanceNodeHashes_.nodeChanged(node);
+	}
+
+	/**
+	 * Registers that the hash of the given type node may have changed
+	 * 
+	 * @param node
+	 */
+	void typeNodeChanged(UpdateableTypeNode<ElkClass, ElkNamedIndividual> node) {
+		if (node instanceof UpdateableTypeNodeWrapper)
+			typeNodeHashes_.nodeChanged(((UpdateableTypeNodeWrapper) node)
+					.getNode());
+	}
+
+	/**
+	 * Computes the same value as {@link InstanceTaxonomyHasher#hash} for this
+	 * taxonomy. Like for {@link ConcurrentClassTaxonomy#getHash()}, only the
+	 * nodes that have changed since the previous call are hashed, provided
+	 * that the class nodes are stored in a {@link ConcurrentClassTaxonomy}
+	 * for which this is the latest created instance taxonomy; otherwise all
+	 * nodes are hashed. The taxonomy should not be modified while this method
+	 * is running.
+	 * 
+	 * @return the structural hash of this taxonomy
+	 */
+	public synchronized int getHash() {
+		int typeHash;
+		if (classTaxonomy_ instanceof ConcurrentClassTaxonomy
+				&& ((ConcurrentClassTaxonomy) classTaxonomy_)
+						.hasTypeNodeHashes(typeNodeHashes_)) {
+			ConcurrentClassTaxonomy classTaxonomy = (ConcurrentClassTaxonomy) classTaxonomy_;
+			int bottomMembersHash = NodeHasher.INSTANCE.hash(bottom_);
+			if (bottomMembersHash != hashedBottomMembers_) {
+				hashedBottomMembers_ = bottomMembersHash;
+				classTaxonomy.reportLeafNodes(typeNodeHashes_);
+			}
+			int bottomHash = TypeNodeHasher.INSTANCE.hash(bottomMembersHash,
+					0, classTaxonomy.getBottomSuperNodesHash(), 0);
+			typeHash = HashGenerator.combineMultisetHash(true,
+					typeNodeHashes_.getSum(classTaxonomy_.getUpdateableNodes()),
+					bottomHash);
+		} else {
+			typeHash = HashGenerator.combineMultisetHash(true, getTypeNodes(),
+					TypeNodeHasher.INSTANCE);
+		}
+		// must be computed after the type nodes, which report their instances
+		int instanceHash = HashGenerator.combineMultisetHash(true,
+				instanceNodeHashes_.getSum(allIndividualNodes_));
+		return HashGenerator.combineListHash(typeHash, instanceHash);
+	}
+
+	/**
+	 * Hashes the type nodes for the given class nodes; the hashes of the
+	 * direct instances of such nodes depend on the members of the class
+	 * nodes, so they are reported to be hashed again
+	 */
+	private final Hasher<UpdateableTaxonomyNode<ElkClass>> typeNodeHasher_ = new Hasher<UpdateableTaxonomyNode<ElkClass>>() {
+
+		@Override
+		public int hash(UpdateableTaxonomyNode<ElkClass> node) {
+			UpdateableTypeNodeWrapper typeNode = getCreateUpdateableTypeNode(node);
+			for (InstanceNode<ElkClass, ElkNamedIndividual> instanceNode : typeNode
+					.getDirectInstanceNodes()) {
+				instanceNodeChanged(instanceNode);
+			}
+			return TypeNodeHasher.INSTANCE.hash(typeNode);
+		}
+
+	};
+
 	private UpdateableTypeNodeWrapper getCreateUpdateableTypeNode(
 			UpdateableTaxonomyNode<ElkClass> taxNode) {
 		if (taxNode == null) {
@@ -552,6 +662,7 @@ public class ConcurrentInstanceTaxonomy implements IndividualClassTaxonomy {
 					instanceNode);
 
 			directInstanceNodes_.add(instanceNode);
+			typeNodeHashes_.nodeChanged(getNode());
 		}
 
 		/*
@@ -564,6 +675,7 @@ public class ConcurrentInstanceTaxonomy implements IndividualClassTaxonomy {
 					instanceNode);
 
 			directInstanceNodes_.remove(instanceNode);
+			typeNodeHashes_.nodeChanged(getNode());
 		}
 
 	}
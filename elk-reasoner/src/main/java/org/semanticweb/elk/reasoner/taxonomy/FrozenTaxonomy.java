@@ -0,0 +1,446 @@
+/*
+ * #%L
+ * elk-reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * An immutable compact copy of a {@link Taxonomy}, which uses less memory
+ * than the taxonomies that can be modified. The nodes are identified by
+ * consecutive integers. The members of all nodes are stored in one array, in
+ * which the members of every node occupy a consecutive range starting from the
+ * canonical member. The direct super-nodes and sub-nodes are stored in the
+ * compressed sparse row format: for every node, the identifiers of its
+ * neighbours occupy a range of one array, and the start of this range is
+ * stored in another array. The nodes for the members are found using an open
+ * addressing hash table of positions of the members indexed by the hash codes
+ * of their {@link ElkIri}s. Apart from this, only one small object is stored
+ * for every node.
+ * 
+ * The taxonomy can be read by any number of threads without synchronization.
+ * 
+ * @param <T>
+ *            the type of objects in the nodes of this taxonomy
+ */
+public class FrozenTaxonomy<T extends ElkEntity> implements Taxonomy<T> {
+
+	/**
+	 * the members of the nodes; the members of the node with identifier
+	 * {@code n} are stored from position {@code memberStarts_[n]} (the
+	 * canonical member) until position {@code memberStarts_[n + 1]}
+	 */
+	private final T[] members_;
+
+	private final int[] memberStarts_;
+
+	/**
+	 * the identifiers of the direct super-nodes of every node, stored in the
+	 * same way as the members
+	 */
+	private final int[] superNodes_, superNodeStarts_;
+
+	/**
+	 * the identifiers of the direct sub-nodes of every node, stored in the same
+	 * way as the members
+	 */
+	private final int[] subNodes_, subNodeStarts_;
+
+	/**
+	 * the positions of members in {@link #members_} incremented by one, or
+	 * {@code 0} for free slots; the length is a power of two
+	 */
+	private final int[] memberTable_;
+
+	private final FrozenNode[] nodes_;
+
+	private final FrozenNode topNode_, bottomNode_;
+
+	/**
+	 * Creates a compact copy of the given {@link Taxonomy}
+	 * 
+	 * @param taxonomy
+	 */
+	@SuppressWarnings("unchecked")
+	public FrozenTaxonomy(Taxonomy<T> taxonomy) {
+		List<TaxonomyNode<T>> nodes = new ArrayList<TaxonomyNode<T>>(
+				taxonomy.getNodes());
+		int nodeCount = nodes.size();
+		this.memberStarts_ = new int[nodeCount + 1];
+		int memberCount = 0;
+		for (int n = 0; n < nodeCount; n++) {
+			memberStarts_[n] = memberCount;
+			memberCount += nodes.get(n).getMembers().size();
+		}
+		memberStarts_[nodeCount] = memberCount;
+		this.members_ = (T[]) new ElkEntity[memberCount];
+		this.memberTable_ = new int[getTableSize(memberCount)];
+		for (int n = 0; n < nodeCount; n++) {
+			TaxonomyNode<T> node = nodes.get(n);
+			T canonical = node.getCanonicalMember();
+			int pos = memberStarts_[n];
+			addMember(canonical, pos++);
+			for (T member : node.getMembers()) {
+				if (!member.equals(canonical))
+					addMember(member, pos++);
+			}
+		}
+		this.nodes_ = new FrozenTaxonomy.FrozenNode[nodeCount];
+		for (int n = 0; n < nodeCount; n++) {
+			nodes_[n] = new FrozenNode(n);
+		}
+		// the sub-nodes are obtained by reversing the super-nodes
+		this.superNodeStarts_ = new int[nodeCount + 1];
+		this.subNodeStarts_ = new int[nodeCount + 1];
+		int edgeCount = 0;
+		for (int n = 0; n < nodeCount; n++) {
+			superNodeStarts_[n] = edgeCount;
+			for (TaxonomyNode<T> superNode : nodes.get(n)
+					.getDirectSuperNodes()) {
+				subNodeStarts_[getId(superNode)]++;
+				edgeCount++;
+			}
+		}
+		superNodeStarts_[nodeCount] = edgeCount;
+		// subNodeStarts_[n] is now the number of sub-nodes of n
+		int start = 0;
+		for (int n = 0; n <= nodeCount; n++) {
+			int count = subNodeStarts_[n];
+			subNodeStarts_[n] = start;
+			start += count;
+		}
+		this.superNodes_ = new int[edgeCount];
+		this.subNodes_ = new int[edgeCount];
+		int[] subNodePositions = Arrays.copyOf(subNodeStarts_, nodeCount);
+		for (int n = 0; n < nodeCount; n++) {
+			int pos = superNodeStarts_[n];
+			for (TaxonomyNode<T> superNode : nodes.get(n)
+					.getDirectSuperNodes()) {
+				int superId = getId(superNode);
+				superNodes_[pos++] = superId;
+				subNodes_[subNodePositions[superId]++] = n;
+			}
+		}
+		this.topNode_ = nodes_[getId(taxonomy.getTopNode())];
+		this.bottomNode_ = nodes_[getId(taxonomy.getBottomNode())];
+	}
+
+	/**
+	 * @param memberCount
+	 * @return the smallest power of two that is at least twice as large as the
+	 *         given number
+	 */
+	private static int getTableSize(int memberCount) {
+		int size = 2;
+		while (size < 2 * memberCount)
+			size <<= 1;
+		return size;
+	}
+
+	private static int getSlot(ElkIri iri, int mask) {
+		int h = iri.hashCode();
+		// use the higher bits as well, like in java.util.HashMap
+		h ^= (h >>> 20) ^ (h >>> 12);
+		h ^= (h >>> 7) ^ (h >>> 4);
+		return h & mask;
+	}
+
+	private void addMember(T member, int pos) {
+		members_[pos] = member;
+		int mask = memberTable_.length - 1;
+		int slot = getSlot(member.getIri(), mask);
+		while (memberTable_[slot] != 0)
+			slot = (slot + 1) & mask;
+		memberTable_[slot] = pos + 1;
+	}
+
+	/**
+	 * @param iri
+	 * @return the position of the member with the given {@link ElkIri} in
+	 *         {@link #members_} or {@code -1} if there is no such member
+	 */
+	private int findMember(ElkIri iri) {
+		int mask = memberTable_.length - 1;
+		for (int slot = getSlot(iri, mask);; slot = (slot + 1) & mask) {
+			int pos = memberTable_[slot] - 1;
+			if (pos < 0)
+				return -1;
+			if (members_[pos].getIri().equals(iri))
+				return pos;
+		}
+	}
+
+	/**
+	 * @param pos
+	 *            a position in {@link #members_}
+	 * @return the identifier of the node containing the member at this
+	 *         position
+	 */
+	private int getNodeId(int pos) {
+		int n = Arrays.binarySearch(memberStarts_, pos);
+		if (n < 0)
+			return -n - 2;
+		// else several nodes cannot start at the same position
+		return n;
+	}
+
+	/**
+	 * @param node
+	 *            a node of the copied taxonomy
+	 * @return the identifier of the copy of this node
+	 */
+	private int getId(TaxonomyNode<T> node) {
+		int pos = findMember(node.getCanonicalMember().getIri());
+		if (pos < 0)
+			throw new InvalidTaxonomyException("Node " + node
+					+ " is not in the taxonomy!");
+		return getNodeId(pos);
+	}
+
+	@Override
+	public FrozenNode getNode(T elkObject) {
+		int pos = findMember(elkObject.getIri());
+		return pos < 0 ? null : nodes_[getNodeId(pos)];
+	}
+
+	@Override
+	public Set<? extends FrozenNode> getNodes() {
+		return new AbstractSet<FrozenNode>() {
+
+			@Override
+			public boolean contains(Object o) {
+				return o instanceof FrozenTaxonomy<?>.FrozenNode
+						&& ((FrozenTaxonomy<?>.FrozenNode) o).getTaxonomy() == FrozenTaxonomy.this;
+			}
+
+			@Override
+			public Iterator<FrozenNode> iterator() {
+				return Collections.unmodifiableList(Arrays.asList(nodes_))
+						.iterator();
+			}
+
+			@Override
+			public int size() {
+				return nodes_.length;
+			}
+
+		};
+	}
+
+	@Override
+	public FrozenNode getTopNode() {
+		return topNode_;
+	}
+
+	@Override
+	public FrozenNode getBottomNode() {
+		return bottomNode_;
+	}
+
+	/**
+	 * A {@link TaxonomyNode} of a {@link FrozenTaxonomy}, which stores only
+	 * its identifier
+	 */
+	public class FrozenNode implements TaxonomyNode<T> {
+
+		private final int id_;
+
+		FrozenNode(int id) {
+			this.id_ = id;
+		}
+
+		FrozenTaxonomy<T> getTaxonomy() {
+			return FrozenTaxonomy.this;
+		}
+
+		@Override
+		public Set<T> getMembers() {
+			return new AbstractSet<T>() {
+
+				@Override
+				public boolean contains(Object o) {
+					if (!(o instanceof ElkEntity))
+						return false;
+					// else
+					int pos = findMember(((ElkEntity) o).getIri());
+					return pos >= memberStarts_[id_]
+							&& pos < memberStarts_[id_ + 1]
+							&& members_[pos].equals(o);
+				}
+
+				@Override
+				public Iterator<T> iterator() {
+					return Collections
+							.unmodifiableList(
+									Arrays.asList(members_).subList(
+											memberStarts_[id_],
+											memberStarts_[id_ + 1]))
+							.iterator();
+				}
+
+				@Override
+				public int size() {
+					return memberStarts_[id_ + 1] - memberStarts_[id_];
+				}
+
+			};
+		}
+
+		@Override
+		public T getCanonicalMember() {
+			return members_[memberStarts_[id_]];
+		}
+
+		@Override
+		public Set<FrozenNode> getDirectSuperNodes() {
+			return new NodeRange(superNodes_, superNodeStarts_[id_],
+					superNodeStarts_[id_ + 1]);
+		}
+
+		@Override
+		public Set<FrozenNode> getAllSuperNodes() {
+			return getAllReachable(this, true);
+		}
+
+		@Override
+		public Set<FrozenNode> getDirectSubNodes() {
+			return new NodeRange(subNodes_, subNodeStarts_[id_],
+					subNodeStarts_[id_ + 1]);
+		}
+
+		@Override
+		public Set<FrozenNode> getAllSubNodes() {
+			return getAllReachable(this, false);
+		}
+
+		@Override
+		public String toString() {
+			return OwlFunctionalStylePrinter.toString(getCanonicalMember());
+		}
+
+	}
+
+	/**
+	 * @param node
+	 * @param up
+	 *            {@code true} if the super-nodes should be followed,
+	 *            {@code false} if the sub-nodes should be followed
+	 * @return the nodes reachable from the given node, excluding this node
+	 */
+	Set<FrozenNode> getAllReachable(FrozenNode node, boolean up) {
+		Set<FrozenNode> result = new ArrayHashSet<FrozenNode>();
+		Queue<FrozenNode> todo = new LinkedList<FrozenNode>();
+		todo.add(node);
+		for (;;) {
+			FrozenNode next = todo.poll();
+			if (next == null)
+				return Collections.unmodifiableSet(result);
+			// else
+			for (FrozenNode neighbour : up ? next.getDirectSuperNodes() : next
+					.getDirectSubNodes()) {
+				if (result.add(neighbour))
+					todo.add(neighbour);
+			}
+		}
+	}
+
+	/**
+	 * The set of nodes whose identifiers are stored in a range of an array
+	 */
+	private class NodeRange extends AbstractSet<FrozenNode> {
+
+		private final int[] ids_;
+
+		private final int start_, end_;
+
+		NodeRange(int[] ids, int start, int end) {
+			this.ids_ = ids;
+			this.start_ = start;
+			this.end_ = end;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof FrozenTaxonomy<?>.FrozenNode))
+				return false;
+			// else
+			FrozenTaxonomy<?>.FrozenNode node = (FrozenTaxonomy<?>.FrozenNode) o;
+			if (node.getTaxonomy() != FrozenTaxonomy.this)
+				return false;
+			// else
+			for (int i = start_; i < end_; i++) {
+				if (ids_[i] == node.id_)
+					return true;
+			}
+			return false;
+		}
+
+		@Override
+		public Iterator<FrozenNode> iterator() {
+			return new Iterator<FrozenNode>() {
+
+				private int next_ = start_;
+
+				@Override
+				public boolean hasNext() {
+					return next_ < end_;
+				}
+
+				@Override
+				public FrozenNode next() {
+					if (next_ >= end_)
+						throw new NoSuchElementException();
+					return nodes_[ids_[next_++]];
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return end_ - start_;
+		}
+
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * #%L
+ * elk-reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.elk.util.hashing.Hasher;
+
+/**
+ * Maintains the sum of the hash values of the nodes of a taxonomy that is
+ * being modified. The hash value of a node is recomputed only if the node was
+ * reported as changed using {@link #nodeChanged(Object)}; the values of the
+ * other nodes are taken from the previous computation. Therefore, a node
+ * should be reported after every modification that may change its hash
+ * value, including its creation and removal from the taxonomy.
+ * 
+ * The changed nodes are recorded only after the sum is computed for the first
+ * time, which hashes all nodes; until then, reporting a node costs only a
+ * check of a flag, so the taxonomies whose hash is never requested do not
+ * pay for it.
+ * 
+ * Nodes can be reported concurrently. The result is guaranteed to be correct
+ * only if the nodes are not modified while the sum is computed.
+ * 
+ * @param <N>
+ *            the type of the nodes
+ */
+class IncrementalNodeHashSum<N> {
+
+	private final Hasher<? super N> hasher_;
+
+	/**
+	 * the nodes reported since the last computation of the sum
+	 */
+	private final Set<N> changedNodes_;
+
+	/**
+	 * the hash values of the nodes from which {@link #sum_} is computed
+	 */
+	private final Map<N, Integer> hashes_;
+
+	private int sum_ = 0;
+
+	/**
+	 * {@code true} if the reported nodes are recorded, which is the case after
+	 * the first call of {@link #getSum(Set)}
+	 */
+	private volatile boolean tracking_ = false;
+
+	IncrementalNodeHashSum(Hasher<? super N> hasher) {
+		this.hasher_ = hasher;
+		this.changedNodes_ = Collections
+				.newSetFromMap(new ConcurrentHashMap<N, Boolean>());
+		this.hashes_ = new HashMap<N, Integer>();
+	}
+
+	/**
+	 * Registers that the hash value of the given node may have changed or
+	 * that the node was added to or removed from the taxonomy
+	 * 
+	 * @param node
+	 */
+	void nodeChanged(N node) {
+		if (tracking_)
+			changedNodes_.add(node);
+	}
+
+	/**
+	 * Computes the sum of the hash values of the given nodes, i.e., the
+	 * (not finalized) multiset hash of these nodes. Only the nodes reported
+	 * since the previous call of this method are hashed; in the first call,
+	 * all nodes are hashed.
+	 * 
+	 * @param nodes
+	 *            the nodes currently in the taxonomy; they should differ from
+	 *            the nodes passed in the previous call only in the reported
+	 *            nodes
+	 * @return the sum of the hash values of the given nodes
+	 */
+	synchronized int getSum(Set<? extends N> nodes) {
+		if (!tracking_) {
+			// the nodes changed from now on are recorded
+			tracking_ = true;
+			for (N node : nodes) {
+				int hash = hasher_.hash(node);
+				hashes_.put(node, hash);
+				sum_ += hash;
+			}
+			return sum_;
+		}
+		// else
+		Iterator<N> changedIterator = changedNodes_.iterator();
+		while (changedIterator.hasNext()) {
+			N node = changedIterator.next();
+			// the node can be reported again while it is hashed
+			changedIterator.remove();
+			Integer previousHash;
+			if (nodes.contains(node)) {
+				int hash = hasher_.hash(node);
+				previousHash = hashes_.put(node, hash);
+				sum_ += hash;
+			} else {
+				previousHash = hashes_.remove(node);
+			}
+			if (previousHash != null)
+				sum_ -= previousHash;
+		}
+		return sum_;
+	}
+
+}
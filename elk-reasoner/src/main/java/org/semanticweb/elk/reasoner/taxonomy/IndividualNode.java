@@ -63,6 +63,11 @@ public class IndividualNode implements
 	private static final Logger LOGGER_ = LoggerFactory
 			.getLogger(IndividualNode.class);
 
+	/**
+	 * The link to the taxonomy to which this node belongs
+	 */
+	private final ConcurrentInstanceTaxonomy taxonomy_;
+
 	/**
 	 * Equivalent ElkClass objects that are representatives of this node.
 	 */
@@ -87,8 +92,9 @@ public class IndividualNode implements
 	 * @param members
 	 *            non-empty list of equivalent ElkClass objects
 	 */
-	protected IndividualNode(Collection<ElkNamedIndividual> members) {
-
+	protected IndividualNode(ConcurrentInstanceTaxonomy taxonomy,
+			Collection<ElkNamedIndividual> members) {
+		this.taxonomy_ = taxonomy;
 		this.members_ = new ArrayList<ElkNamedIndividual>(members);
 		this.directTypeNodes_ = new ArrayHashSet<UpdateableTypeNode<ElkClass, ElkNamedIndividual>>();
 		Collections.sort(this.members_,
@@ -106,6 +112,7 @@ public class IndividualNode implements
 		LOGGER_.trace("{}: new direct type-node {}", this, typeNode);
 		
 		directTypeNodes_.add(typeNode);
+		taxonomy_.instanceNodeChanged(this);
 	}
 
 	@Override
@@ -146,6 +153,11 @@ public class IndividualNode implements
 		members_.clear();
 		members_.addAll(members);
 		Collections.sort(this.members_, Comparators.ELK_NAMED_INDIVIDUAL_COMPARATOR);
+		// the hashes of the direct types depend on the members of this node
+		taxonomy_.instanceNodeChanged(this);
+		for (UpdateableTypeNode<ElkClass, ElkNamedIndividual> typeNode : directTypeNodes_) {
+			taxonomy_.typeNodeChanged(typeNode);
+		}
 	}
 
 	@Override
@@ -216,5 +228,6 @@ public class IndividualNode implements
 		LOGGER_.trace("{}: removing direct type node: {}", this, typeNode);
 		
 		directTypeNodes_.remove(typeNode);
+		taxonomy_.instanceNodeChanged(this);
 	}
 }
@@ -70,7 +70,9 @@ public class InstanceTaxonomyComputation
 	/**
 	 * Print statistics about taxonomy computation
 	 */
+	@Override
 	public void printStatistics() {
+		super.printStatistics();
 		processorFactory.printStatistics();
 	}
 
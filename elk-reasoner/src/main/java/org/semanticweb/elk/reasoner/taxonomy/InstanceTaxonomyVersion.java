@@ -0,0 +1,59 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+
+/**
+ * An immutable {@link InstanceTaxonomy} published by a reasoner together with
+ * its version. The versions of the instance taxonomies are counted separately
+ * from the versions of the class taxonomies published by the same reasoner.
+ * 
+ * @param <T>
+ *            the type of objects in the type nodes of the taxonomy
+ * @param <I>
+ *            the type of objects in the instance nodes of the taxonomy
+ */
+public class InstanceTaxonomyVersion<T extends ElkObject, I extends ElkObject>
+		extends TaxonomyVersion<T> {
+
+	private final InstanceTaxonomy<T, I> instanceTaxonomy_;
+
+	public InstanceTaxonomyVersion(InstanceTaxonomy<T, I> taxonomy,
+			long version) {
+		super(taxonomy, version);
+		this.instanceTaxonomy_ = taxonomy;
+	}
+
+	@Override
+	public InstanceTaxonomy<T, I> getTaxonomy() {
+		return instanceTaxonomy_;
+	}
+
+	@Override
+	public String toString() {
+		return "instance taxonomy version " + getVersion();
+	}
+
+}
@@ -116,6 +116,7 @@ class NonBottomClassNode implements UpdateableTaxonomyNode<ElkClass> {
 		LOGGER_.trace("{}: new direct super-node {}", this, superNode);
 
 		directSuperNodes_.add(superNode);
+		taxonomy_.nodeChanged(this);
 	}
 
 	/**
@@ -134,6 +135,7 @@ class NonBottomClassNode implements UpdateableTaxonomyNode<ElkClass> {
 		}
 
 		directSubNodes_.add(subNode);
+		taxonomy_.nodeChanged(this);
 	}
 
 	// TODO: change the type of the output to SortedSet
@@ -226,6 +228,14 @@ class NonBottomClassNode implements UpdateableTaxonomyNode<ElkClass> {
 		members_.clear();
 		members_.addAll(members);
 		Collections.sort(this.members_, Comparators.ELK_CLASS_COMPARATOR);
+		// the hashes of the neighbours depend on the members of this node
+		taxonomy_.nodeChanged(this);
+		for (UpdateableTaxonomyNode<ElkClass> node : directSubNodes_) {
+			taxonomy_.nodeChanged(node);
+		}
+		for (UpdateableTaxonomyNode<ElkClass> node : directSuperNodes_) {
+			taxonomy_.nodeChanged(node);
+		}
 	}
 
 	@Override
@@ -253,6 +263,8 @@ class NonBottomClassNode implements UpdateableTaxonomyNode<ElkClass> {
 			taxonomy_.countNodesWithSubClasses.decrementAndGet();
 		}
 
+		taxonomy_.nodeChanged(this);
+
 		return changed;
 	}
 
@@ -263,6 +275,8 @@ class NonBottomClassNode implements UpdateableTaxonomyNode<ElkClass> {
 
 		LOGGER_.trace("{}: removed direct super-node {}", this, superNode);
 
+		taxonomy_.nodeChanged(this);
+
 		return changed;
 	}
 }
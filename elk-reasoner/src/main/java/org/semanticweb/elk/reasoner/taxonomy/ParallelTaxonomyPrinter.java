@@ -0,0 +1,419 @@
+/*
+ * #%L
+ * elk-reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.predefined.PredefinedElkIris;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Prints taxonomies in the same way as {@link TaxonomyPrinter}, producing
+ * exactly the same output, but without keeping all printed axioms in memory.
+ * The nodes are sorted by their canonical members and split into batches,
+ * which are printed by several threads; the members and neighbors of every
+ * node are sorted by the thread printing the node. The printed batches are
+ * written in their order as soon as they are ready, and only a limited number
+ * of batches is printed ahead of the writer.
+ */
+public class ParallelTaxonomyPrinter extends TaxonomyPrinter {
+
+	/**
+	 * the maximal number of nodes or entities printed in one batch
+	 */
+	static final int BATCH_SIZE = 256;
+
+	/**
+	 * Convenience method for printing a {@link Taxonomy} to a file at the given
+	 * location.
+	 * 
+	 * @see #dumpClassTaxomomy(Taxonomy, Writer, boolean, int)
+	 * 
+	 * @param taxonomy
+	 * @param fileName
+	 * @param addHash
+	 *            if true, a hash string will be added at the end of the output
+	 *            using comment syntax of OWL 2 Functional Style
+	 * @param threadCount
+	 *            the number of threads used for printing
+	 * @throws IOException
+	 *             If an I/O error occurs
+	 */
+	public static void dumpClassTaxomomyToFile(Taxonomy<ElkClass> taxonomy,
+			String fileName, boolean addHash, int threadCount)
+			throws IOException {
+		Writer writer = new BufferedWriter(new FileWriter(fileName));
+		try {
+			dumpClassTaxomomy(taxonomy, writer, addHash, threadCount);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Print the contents of the given {@link Taxonomy} to the specified Writer
+	 * using the given number of threads. The output is the same as for
+	 * {@link TaxonomyPrinter#dumpClassTaxomomy(Taxonomy, Writer, boolean)}.
+	 * 
+	 * @param taxonomy
+	 * @param writer
+	 * @param addHash
+	 *            if true, a hash string will be added at the end of the output
+	 *            using comment syntax of OWL 2 Functional Style
+	 * @param threadCount
+	 *            the number of threads used for printing
+	 * @throws IOException
+	 *             If an I/O error occurs
+	 */
+	public static void dumpClassTaxomomy(Taxonomy<ElkClass> taxonomy,
+			Writer writer, boolean addHash, int threadCount)
+			throws IOException {
+		writer.append("Ontology(\n");
+		OrderedWriter out = new OrderedWriter(writer, threadCount);
+		try {
+			processTaxomomy(taxonomy, out);
+			out.finish();
+		} finally {
+			out.shutdown();
+		}
+		writer.append(")\n");
+
+		if (addHash) {
+			writer.append("\n# Hash code: " + getHashString(taxonomy) + "\n");
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Convenience method for printing an {@link InstanceTaxonomy} to a file at
+	 * the given location.
+	 * 
+	 * @see #dumpInstanceTaxomomy(InstanceTaxonomy, Writer, boolean, int)
+	 * 
+	 * @param taxonomy
+	 * @param fileName
+	 * @param addHash
+	 *            if true, a hash string will be added at the end of the output
+	 *            using comment syntax of OWL 2 Functional Style
+	 * @param threadCount
+	 *            the number of threads used for printing
+	 * @throws IOException
+	 *             If an I/O error occurs
+	 */
+	public static void dumpInstanceTaxomomyToFile(
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy,
+			String fileName, boolean addHash, int threadCount)
+			throws IOException {
+		Writer writer = new BufferedWriter(new FileWriter(fileName));
+		try {
+			dumpInstanceTaxomomy(taxonomy, writer, addHash, threadCount);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Print the contents of the given {@link InstanceTaxonomy} to the specified
+	 * Writer using the given number of threads. The output is the same as for
+	 * {@link TaxonomyPrinter#dumpInstanceTaxomomy(InstanceTaxonomy, Writer, boolean)}
+	 * .
+	 * 
+	 * @param taxonomy
+	 * @param writer
+	 * @param addHash
+	 *            if true, a hash string will be added at the end of the output
+	 *            using comment syntax of OWL 2 Functional Style
+	 * @param threadCount
+	 *            the number of threads used for printing
+	 * @throws IOException
+	 *             If an I/O error occurs
+	 */
+	public static void dumpInstanceTaxomomy(
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy,
+			Writer writer, boolean addHash, int threadCount)
+			throws IOException {
+		writer.write("Ontology(\n");
+		OrderedWriter out = new OrderedWriter(writer, threadCount);
+		try {
+			processInstanceTaxomomy(taxonomy, out);
+			out.finish();
+		} finally {
+			out.shutdown();
+		}
+		writer.write(")\n");
+
+		if (addHash) {
+			writer.write("\n# Hash code: " + getInstanceHashString(taxonomy)
+					+ "\n");
+		}
+		writer.flush();
+	}
+
+	private static void processTaxomomy(Taxonomy<ElkClass> classTaxonomy,
+			OrderedWriter out) throws IOException {
+		// declarations
+		List<ElkClass> classes = new ArrayList<ElkClass>(classTaxonomy
+				.getNodes().size() * 2);
+		for (TaxonomyNode<ElkClass> classNode : classTaxonomy.getNodes()) {
+			for (ElkClass clazz : classNode.getMembers()) {
+				if (!clazz.getIri().equals(PredefinedElkIris.OWL_THING)
+						&& !clazz.getIri()
+								.equals(PredefinedElkIris.OWL_NOTHING)) {
+					classes.add(clazz);
+				}
+			}
+		}
+		Collections.sort(classes, CLASS_COMPARATOR);
+		for (int i = 0; i < classes.size(); i += BATCH_SIZE) {
+			final List<ElkClass> batch = classes.subList(i,
+					Math.min(i + BATCH_SIZE, classes.size()));
+			out.submit(new Batch() {
+				@Override
+				void print(ElkObjectFactory objectFactory, Writer writer)
+						throws IOException {
+					for (ElkClass clazz : batch) {
+						OwlFunctionalStylePrinter.append(writer,
+								objectFactory.getDeclarationAxiom(clazz), true);
+						writer.append('\n');
+					}
+				}
+			});
+		}
+		// class axioms
+		List<TaxonomyNode<ElkClass>> nodes = new ArrayList<TaxonomyNode<ElkClass>>(
+				classTaxonomy.getNodes());
+		sortByCanonicalMembers(nodes, CLASS_COMPARATOR);
+		for (int i = 0; i < nodes.size(); i += BATCH_SIZE) {
+			final List<TaxonomyNode<ElkClass>> batch = nodes.subList(i,
+					Math.min(i + BATCH_SIZE, nodes.size()));
+			out.submit(new Batch() {
+				@Override
+				void print(ElkObjectFactory objectFactory, Writer writer)
+						throws IOException {
+					for (TaxonomyNode<ElkClass> classNode : batch) {
+						ArrayList<ElkClass> orderedEquivalentClasses = new ArrayList<ElkClass>(
+								classNode.getMembers());
+						Collections.sort(orderedEquivalentClasses,
+								CLASS_COMPARATOR);
+
+						TreeSet<ElkClass> orderedSubClasses = new TreeSet<ElkClass>(
+								CLASS_COMPARATOR);
+						for (TaxonomyNode<ElkClass> childNode : classNode
+								.getDirectSubNodes()) {
+							orderedSubClasses.add(childNode
+									.getCanonicalMember());
+						}
+
+						printClassAxioms(classNode.getCanonicalMember(),
+								orderedEquivalentClasses, orderedSubClasses,
+								writer);
+					}
+				}
+			});
+		}
+	}
+
+	private static void processInstanceTaxomomy(
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy,
+			OrderedWriter out) throws IOException {
+		// declarations in the order of the nodes, like in TaxonomyPrinter
+		List<InstanceNode<ElkClass, ElkNamedIndividual>> nodes = new ArrayList<InstanceNode<ElkClass, ElkNamedIndividual>>(
+				taxonomy.getInstanceNodes());
+		for (int i = 0; i < nodes.size(); i += BATCH_SIZE) {
+			final List<InstanceNode<ElkClass, ElkNamedIndividual>> batch = nodes
+					.subList(i, Math.min(i + BATCH_SIZE, nodes.size()));
+			out.submit(new Batch() {
+				@Override
+				void print(ElkObjectFactory objectFactory, Writer writer)
+						throws IOException {
+					for (InstanceNode<ElkClass, ElkNamedIndividual> individualNode : batch) {
+						for (ElkNamedIndividual individual : individualNode
+								.getMembers()) {
+							OwlFunctionalStylePrinter.append(writer,
+									objectFactory
+											.getDeclarationAxiom(individual),
+									true);
+							writer.append('\n');
+						}
+					}
+				}
+			});
+		}
+		// TBox printed here
+		processTaxomomy(taxonomy, out);
+		// print the ABox
+		nodes = new ArrayList<InstanceNode<ElkClass, ElkNamedIndividual>>(nodes);
+		sortByCanonicalMembers(nodes, INDIVIDUAL_COMPARATOR);
+		for (int i = 0; i < nodes.size(); i += BATCH_SIZE) {
+			final List<InstanceNode<ElkClass, ElkNamedIndividual>> batch = nodes
+					.subList(i, Math.min(i + BATCH_SIZE, nodes.size()));
+			out.submit(new Batch() {
+				@Override
+				void print(ElkObjectFactory objectFactory, Writer writer)
+						throws IOException {
+					for (InstanceNode<ElkClass, ElkNamedIndividual> node : batch) {
+						ArrayList<ElkNamedIndividual> orderedSameIndividuals = new ArrayList<ElkNamedIndividual>(
+								node.getMembers());
+						Collections.sort(orderedSameIndividuals,
+								INDIVIDUAL_COMPARATOR);
+
+						TreeSet<ElkClass> orderedTypes = new TreeSet<ElkClass>(
+								CLASS_COMPARATOR);
+						for (TaxonomyNode<ElkClass> typeNode : node
+								.getDirectTypeNodes()) {
+							orderedTypes.add(typeNode.getCanonicalMember());
+						}
+
+						printIndividualAxioms(node.getCanonicalMember(),
+								orderedSameIndividuals, orderedTypes,
+								objectFactory, writer);
+					}
+				}
+			});
+		}
+	}
+
+	private static <T extends ElkEntity> void sortByCanonicalMembers(
+			List<? extends Node<T>> nodes, final Comparator<? super T> comparator) {
+		Collections.sort(nodes, new Comparator<Node<T>>() {
+			@Override
+			public int compare(Node<T> first, Node<T> second) {
+				return comparator.compare(first.getCanonicalMember(),
+						second.getCanonicalMember());
+			}
+		});
+	}
+
+	/**
+	 * A part of the output that can be printed independently of other parts
+	 */
+	private static abstract class Batch implements Callable<String> {
+
+		@Override
+		public String call() throws IOException {
+			StringWriter writer = new StringWriter();
+			print(new ElkObjectFactoryImpl(), writer);
+			return writer.toString();
+		}
+
+		abstract void print(ElkObjectFactory objectFactory, Writer writer)
+				throws IOException;
+
+	}
+
+	/**
+	 * Writes the submitted {@link Batch}es in the order of submission, while
+	 * printing up to two batches per thread in advance
+	 */
+	private static class OrderedWriter {
+
+		private final Writer writer_;
+
+		/**
+		 * prints the batches or {@code null} if they are printed by the
+		 * calling thread
+		 */
+		private final ExecutorService executor_;
+
+		private final int maxPending_;
+
+		private final Queue<Future<String>> pending_ = new LinkedList<Future<String>>();
+
+		OrderedWriter(Writer writer, int threadCount) {
+			this.writer_ = writer;
+			this.executor_ = threadCount > 1 ? Executors
+					.newFixedThreadPool(threadCount) : null;
+			this.maxPending_ = 2 * threadCount;
+		}
+
+		void submit(Batch batch) throws IOException {
+			if (executor_ == null) {
+				writer_.write(batch.call());
+				return;
+			}
+			// else
+			if (pending_.size() >= maxPending_)
+				writeNext();
+			pending_.add(executor_.submit(batch));
+		}
+
+		void finish() throws IOException {
+			while (!pending_.isEmpty())
+				writeNext();
+		}
+
+		void shutdown() {
+			if (executor_ != null)
+				executor_.shutdownNow();
+		}
+
+		private void writeNext() throws IOException {
+			try {
+				writer_.write(pending_.poll().get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(
+						"Interrupted while printing the taxonomy");
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException)
+					throw (IOException) cause;
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				// else
+				throw new IOException(cause);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,85 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * An {@link InstanceNode} of a {@link SnapshotInstanceTaxonomy}. The node is
+ * populated when the {@link SnapshotInstanceTaxonomy} is created and is not
+ * modified afterwards.
+ * 
+ * @param <T>
+ *            the type of types of this node
+ * @param <I>
+ *            the type of objects in this node
+ */
+public class SnapshotInstanceNode<T extends ElkEntity, I extends ElkEntity>
+		implements InstanceNode<T, I> {
+
+	private final Set<I> members_;
+
+	private final I canonicalMember_;
+
+	final Set<SnapshotTypeNode<T, I>> directTypeNodes = new ArrayHashSet<SnapshotTypeNode<T, I>>(
+			2);
+
+	SnapshotInstanceNode(Set<I> members, I canonicalMember) {
+		Set<I> copy = new ArrayHashSet<I>(members.size());
+		copy.addAll(members);
+		this.members_ = Collections.unmodifiableSet(copy);
+		this.canonicalMember_ = canonicalMember;
+	}
+
+	@Override
+	public Set<I> getMembers() {
+		return members_;
+	}
+
+	@Override
+	public I getCanonicalMember() {
+		return canonicalMember_;
+	}
+
+	@Override
+	public Set<? extends SnapshotTypeNode<T, I>> getDirectTypeNodes() {
+		return Collections.unmodifiableSet(directTypeNodes);
+	}
+
+	@Override
+	public Set<? extends SnapshotTypeNode<T, I>> getAllTypeNodes() {
+		return SnapshotTypeNode.getAllReachable(directTypeNodes, true);
+	}
+
+	@Override
+	public String toString() {
+		return OwlFunctionalStylePrinter.toString(canonicalMember_);
+	}
+
+}
@@ -0,0 +1,227 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * An immutable copy of a {@link Taxonomy} or an {@link InstanceTaxonomy}
+ * taken at the time of creation. Since neither the taxonomy nor its nodes
+ * change afterwards, a {@link SnapshotInstanceTaxonomy} can be read by any
+ * number of threads without synchronization while the original taxonomy is
+ * being updated. A copy of a {@link Taxonomy} without instances has no
+ * {@link InstanceNode}s.
+ * 
+ * @param <T>
+ *            the type of objects in the type nodes of this taxonomy
+ * @param <I>
+ *            the type of objects in the instance nodes of this taxonomy
+ */
+public class SnapshotInstanceTaxonomy<T extends ElkEntity, I extends ElkEntity>
+		implements InstanceTaxonomy<T, I> {
+
+	private final Map<ElkIri, SnapshotTypeNode<T, I>> typeNodeLookup_;
+
+	private final Set<SnapshotTypeNode<T, I>> typeNodes_;
+
+	private final Map<ElkIri, SnapshotInstanceNode<T, I>> instanceNodeLookup_;
+
+	private final Set<SnapshotInstanceNode<T, I>> instanceNodes_;
+
+	private final SnapshotTypeNode<T, I> topNode_, bottomNode_;
+
+	/**
+	 * Creates a copy of the given {@link Taxonomy} without instances
+	 * 
+	 * @param taxonomy
+	 */
+	public SnapshotInstanceTaxonomy(Taxonomy<T> taxonomy) {
+		this(taxonomy, taxonomy.getNodes(), Collections
+				.<InstanceNode<T, I>> emptySet());
+	}
+
+	/**
+	 * Creates a copy of the given {@link InstanceTaxonomy}
+	 * 
+	 * @param taxonomy
+	 */
+	public SnapshotInstanceTaxonomy(InstanceTaxonomy<T, I> taxonomy) {
+		this(taxonomy, taxonomy.getTypeNodes(), taxonomy.getInstanceNodes());
+	}
+
+	private SnapshotInstanceTaxonomy(Taxonomy<T> taxonomy,
+			Set<? extends TaxonomyNode<T>> nodes,
+			Set<? extends InstanceNode<T, I>> instanceNodes) {
+		this.typeNodeLookup_ = new ArrayHashMap<ElkIri, SnapshotTypeNode<T, I>>(
+				nodes.size());
+		this.typeNodes_ = new ArrayHashSet<SnapshotTypeNode<T, I>>(
+				nodes.size());
+		for (TaxonomyNode<T> node : nodes) {
+			SnapshotTypeNode<T, I> copy = new SnapshotTypeNode<T, I>(
+					node.getMembers(), node.getCanonicalMember());
+			typeNodes_.add(copy);
+			for (T member : node.getMembers()) {
+				typeNodeLookup_.put(getKey(member), copy);
+			}
+		}
+		for (TaxonomyNode<T> node : nodes) {
+			SnapshotTypeNode<T, I> copy = getCopy(node);
+			for (TaxonomyNode<T> superNode : node.getDirectSuperNodes()) {
+				SnapshotTypeNode<T, I> superCopy = getCopy(superNode);
+				copy.directSuperNodes.add(superCopy);
+				superCopy.directSubNodes.add(copy);
+			}
+		}
+		this.topNode_ = getCopy(taxonomy.getTopNode());
+		this.bottomNode_ = getCopy(taxonomy.getBottomNode());
+		this.instanceNodeLookup_ = new ArrayHashMap<ElkIri, SnapshotInstanceNode<T, I>>(
+				instanceNodes.size());
+		this.instanceNodes_ = new ArrayHashSet<SnapshotInstanceNode<T, I>>(
+				instanceNodes.size());
+		for (InstanceNode<T, I> node : instanceNodes) {
+			SnapshotInstanceNode<T, I> copy = new SnapshotInstanceNode<T, I>(
+					node.getMembers(), node.getCanonicalMember());
+			instanceNodes_.add(copy);
+			for (I member : node.getMembers()) {
+				instanceNodeLookup_.put(getKey(member), copy);
+			}
+			for (TypeNode<T, I> typeNode : node.getDirectTypeNodes()) {
+				SnapshotTypeNode<T, I> typeCopy = getCopy(typeNode);
+				copy.directTypeNodes.add(typeCopy);
+				typeCopy.directInstanceNodes.add(copy);
+			}
+		}
+	}
+
+	/**
+	 * Creates a {@link SnapshotInstanceTaxonomy} from nodes whose relations
+	 * are already set
+	 * 
+	 * @param typeNodes
+	 *            the type nodes of the taxonomy
+	 * @param topNode
+	 *            the type node containing the top object
+	 * @param bottomNode
+	 *            the type node containing the bottom object
+	 * @param instanceNodes
+	 *            the instance nodes of the taxonomy
+	 */
+	SnapshotInstanceTaxonomy(Collection<SnapshotTypeNode<T, I>> typeNodes,
+			SnapshotTypeNode<T, I> topNode, SnapshotTypeNode<T, I> bottomNode,
+			Collection<SnapshotInstanceNode<T, I>> instanceNodes) {
+		this.typeNodeLookup_ = new ArrayHashMap<ElkIri, SnapshotTypeNode<T, I>>(
+				typeNodes.size());
+		this.typeNodes_ = new ArrayHashSet<SnapshotTypeNode<T, I>>(
+				typeNodes.size());
+		for (SnapshotTypeNode<T, I> node : typeNodes) {
+			typeNodes_.add(node);
+			for (T member : node.getMembers()) {
+				typeNodeLookup_.put(getKey(member), node);
+			}
+		}
+		this.topNode_ = topNode;
+		this.bottomNode_ = bottomNode;
+		this.instanceNodeLookup_ = new ArrayHashMap<ElkIri, SnapshotInstanceNode<T, I>>(
+				instanceNodes.size());
+		this.instanceNodes_ = new ArrayHashSet<SnapshotInstanceNode<T, I>>(
+				instanceNodes.size());
+		for (SnapshotInstanceNode<T, I> node : instanceNodes) {
+			instanceNodes_.add(node);
+			for (I member : node.getMembers()) {
+				instanceNodeLookup_.put(getKey(member), node);
+			}
+		}
+	}
+
+	static ElkIri getKey(ElkEntity elkEntity) {
+		return elkEntity.getIri();
+	}
+
+	/**
+	 * @param node
+	 *            a node of the copied taxonomy
+	 * @return the copy of the given node
+	 */
+	private SnapshotTypeNode<T, I> getCopy(TaxonomyNode<T> node) {
+		SnapshotTypeNode<T, I> result = typeNodeLookup_.get(getKey(node
+				.getCanonicalMember()));
+		if (result == null)
+			throw new InvalidTaxonomyException("Node " + node
+					+ " is not in the taxonomy!");
+		return result;
+	}
+
+	@Override
+	public SnapshotTypeNode<T, I> getNode(T elkObject) {
+		return typeNodeLookup_.get(getKey(elkObject));
+	}
+
+	@Override
+	public Set<? extends SnapshotTypeNode<T, I>> getNodes() {
+		return Collections.unmodifiableSet(typeNodes_);
+	}
+
+	@Override
+	public SnapshotTypeNode<T, I> getTypeNode(T elkObject) {
+		return getNode(elkObject);
+	}
+
+	@Override
+	public Set<? extends SnapshotTypeNode<T, I>> getTypeNodes() {
+		return getNodes();
+	}
+
+	@Override
+	public SnapshotInstanceNode<T, I> getInstanceNode(I elkObject) {
+		return instanceNodeLookup_.get(getKey(elkObject));
+	}
+
+	@Override
+	public Set<? extends SnapshotInstanceNode<T, I>> getInstanceNodes() {
+		return Collections.unmodifiableSet(instanceNodes_);
+	}
+
+	@Override
+	public SnapshotTypeNode<T, I> getTopNode() {
+		return topNode_;
+	}
+
+	@Override
+	public SnapshotTypeNode<T, I> getBottomNode() {
+		return bottomNode_;
+	}
+
+}
@@ -0,0 +1,443 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
+import org.semanticweb.elk.owl.predefined.PredefinedElkIris;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceTaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * Saves class and instance taxonomies in a compact binary format and restores
+ * them as {@link SnapshotInstanceTaxonomy}s. After a header consisting of
+ * {@link #MAGIC}, {@link #FORMAT_VERSION}, the length of the compressed data
+ * and its CRC-32 checksum, the saved data is compressed and contains the
+ * fingerprint of the ontology for which the taxonomy was
+ * computed, the type nodes with their members, followed by the direct
+ * super-nodes of every type node, the instance nodes, if the instances were
+ * saved, and the structural hashes of the taxonomy computed by
+ * {@link TaxonomyHasher} and {@link InstanceTaxonomyHasher}. The nodes are
+ * referred to by their positions, so the members are saved only once. When
+ * the taxonomy is restored, the checksum and the hashes are computed again and
+ * compared with the saved ones to detect damaged data.
+ * 
+ * Only taxonomies are saved; the index and the saturation state of the
+ * reasoner are not part of the format.
+ */
+public class SnapshotTaxonomyIO {
+
+	/**
+	 * the first bytes of every saved taxonomy
+	 */
+	public static final int MAGIC = 0x454C4B54; // "ELKT"
+
+	/**
+	 * the version of the format written by this class; only taxonomies saved
+	 * in this version can be restored
+	 */
+	public static final int FORMAT_VERSION = 3;
+
+	/**
+	 * the size of the blocks in which the saved data is read
+	 */
+	private static final int BLOCK_SIZE_ = 8192;
+
+	/**
+	 * Saves the given class taxonomy without instances
+	 * 
+	 * @param taxonomy
+	 *            the taxonomy to be saved
+	 * @param ontologyFingerprint
+	 *            the fingerprint of the ontology for which the taxonomy was
+	 *            computed, which is returned by
+	 *            {@link Snapshot#getOntologyFingerprint()} when the taxonomy is
+	 *            restored
+	 * @param output
+	 *            the stream to which the taxonomy is written; it is not
+	 *            closed by this method
+	 * @throws IOException
+	 *             if the taxonomy cannot be written
+	 */
+	public static void save(Taxonomy<ElkClass> taxonomy,
+			long ontologyFingerprint, OutputStream output) throws IOException {
+		save(taxonomy, taxonomy.getNodes(), null, ontologyFingerprint, output);
+	}
+
+	/**
+	 * Saves the given instance taxonomy
+	 * 
+	 * @param taxonomy
+	 *            the taxonomy to be saved
+	 * @param ontologyFingerprint
+	 *            the fingerprint of the ontology for which the taxonomy was
+	 *            computed, which is returned by
+	 *            {@link Snapshot#getOntologyFingerprint()} when the taxonomy is
+	 *            restored
+	 * @param output
+	 *            the stream to which the taxonomy is written; it is not
+	 *            closed by this method
+	 * @throws IOException
+	 *             if the taxonomy cannot be written
+	 */
+	public static void save(
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy,
+			long ontologyFingerprint, OutputStream output) throws IOException {
+		save(taxonomy, taxonomy.getTypeNodes(), taxonomy.getInstanceNodes(),
+				ontologyFingerprint, output);
+	}
+
+	/**
+	 * Restores a taxonomy saved by this class
+	 * 
+	 * @param input
+	 *            the stream from which the taxonomy is read; it is not closed
+	 *            by this method
+	 * @param factory
+	 *            the {@link ElkObjectFactory} used to create the members of
+	 *            the nodes
+	 * @return the restored taxonomy
+	 * @throws IOException
+	 *             if the taxonomy cannot be read, was saved in a different
+	 *             format, or does not have the saved hash
+	 */
+	public static Snapshot restore(InputStream input, ElkObjectFactory factory)
+			throws IOException {
+		DataInputStream header = new DataInputStream(input);
+		if (header.readInt() != MAGIC)
+			throw new IOException("Not a saved taxonomy!");
+		int version = header.readInt();
+		if (version != FORMAT_VERSION)
+			throw new IOException("Unsupported format version " + version
+					+ ", expected " + FORMAT_VERSION + "!");
+		int length = header.readInt();
+		int checksum = header.readInt();
+		byte[] body = readBody(header, length);
+		CRC32 crc = new CRC32();
+		crc.update(body);
+		if ((int) crc.getValue() != checksum)
+			throw new IOException("The saved data is damaged!");
+		Inflater inflater = new Inflater();
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(
+					new InflaterInputStream(new ByteArrayInputStream(body),
+							inflater)));
+			long ontologyFingerprint = in.readLong();
+			int typeNodeCount = in.readInt();
+			List<SnapshotTypeNode<ElkClass, ElkNamedIndividual>> typeNodes = new ArrayList<SnapshotTypeNode<ElkClass, ElkNamedIndividual>>();
+			for (int i = 0; i < typeNodeCount; i++) {
+				int memberCount = readCount(in);
+				ElkClass canonical = readClass(in, factory);
+				Set<ElkClass> members = new ArrayHashSet<ElkClass>();
+				members.add(canonical);
+				for (int j = 1; j < memberCount; j++) {
+					members.add(readClass(in, factory));
+				}
+				typeNodes.add(new SnapshotTypeNode<ElkClass, ElkNamedIndividual>(
+						members, canonical));
+			}
+			for (SnapshotTypeNode<ElkClass, ElkNamedIndividual> node : typeNodes) {
+				for (int j = in.readInt(); j > 0; j--) {
+					SnapshotTypeNode<ElkClass, ElkNamedIndividual> superNode = getNode(
+							typeNodes, in.readInt());
+					node.directSuperNodes.add(superNode);
+					superNode.directSubNodes.add(node);
+				}
+			}
+			SnapshotTypeNode<ElkClass, ElkNamedIndividual> topNode = getNode(
+					typeNodes, in.readInt());
+			SnapshotTypeNode<ElkClass, ElkNamedIndividual> bottomNode = getNode(
+					typeNodes, in.readInt());
+			boolean hasInstances = in.readBoolean();
+			List<SnapshotInstanceNode<ElkClass, ElkNamedIndividual>> instanceNodes = Collections
+					.emptyList();
+			if (hasInstances) {
+				int instanceNodeCount = in.readInt();
+				instanceNodes = new ArrayList<SnapshotInstanceNode<ElkClass, ElkNamedIndividual>>();
+				for (int i = 0; i < instanceNodeCount; i++) {
+					int memberCount = readCount(in);
+					ElkNamedIndividual canonical = factory
+							.getNamedIndividual(readIri(in));
+					Set<ElkNamedIndividual> members = new ArrayHashSet<ElkNamedIndividual>();
+					members.add(canonical);
+					for (int j = 1; j < memberCount; j++) {
+						members.add(factory.getNamedIndividual(readIri(in)));
+					}
+					SnapshotInstanceNode<ElkClass, ElkNamedIndividual> node = new SnapshotInstanceNode<ElkClass, ElkNamedIndividual>(
+							members, canonical);
+					instanceNodes.add(node);
+					for (int j = in.readInt(); j > 0; j--) {
+						SnapshotTypeNode<ElkClass, ElkNamedIndividual> typeNode = getNode(
+								typeNodes, in.readInt());
+						node.directTypeNodes.add(typeNode);
+						typeNode.directInstanceNodes.add(node);
+					}
+				}
+			}
+			SnapshotInstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = new SnapshotInstanceTaxonomy<ElkClass, ElkNamedIndividual>(
+					typeNodes, topNode, bottomNode, instanceNodes);
+			if (in.readInt() != TaxonomyHasher.hash(taxonomy)
+					|| (hasInstances && in.readInt() != InstanceTaxonomyHasher
+							.hash(taxonomy)))
+				throw new IOException(
+						"The restored taxonomy does not have the saved hash!");
+			// reading until the end also verifies the checksum of the content
+			if (in.read() >= 0)
+				throw new IOException("Unexpected data after the taxonomy!");
+			return new Snapshot(taxonomy, hasInstances, ontologyFingerprint);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static void save(Taxonomy<ElkClass> taxonomy,
+			Set<? extends TaxonomyNode<ElkClass>> typeNodes,
+			Set<? extends InstanceNode<ElkClass, ElkNamedIndividual>> instanceNodes,
+			long ontologyFingerprint, OutputStream output) throws IOException {
+		DataOutputStream header = new DataOutputStream(output);
+		header.writeInt(MAGIC);
+		header.writeInt(FORMAT_VERSION);
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		Deflater deflater = new Deflater();
+		try {
+			DeflaterOutputStream deflated = new DeflaterOutputStream(body,
+					deflater);
+			DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(deflated));
+			out.writeLong(ontologyFingerprint);
+			// positions of the type nodes by the IRIs of canonical members
+			Map<ElkIri, Integer> positions = new ArrayHashMap<ElkIri, Integer>(
+					typeNodes.size());
+			out.writeInt(typeNodes.size());
+			for (TaxonomyNode<ElkClass> node : typeNodes) {
+				positions.put(node.getCanonicalMember().getIri(),
+						positions.size());
+				writeMembers(node, out);
+			}
+			for (TaxonomyNode<ElkClass> node : typeNodes) {
+				writeNodes(node.getDirectSuperNodes(), positions, out);
+			}
+			out.writeInt(getPosition(taxonomy.getTopNode(), positions));
+			out.writeInt(getPosition(taxonomy.getBottomNode(), positions));
+			out.writeBoolean(instanceNodes != null);
+			if (instanceNodes != null) {
+				out.writeInt(instanceNodes.size());
+				for (InstanceNode<ElkClass, ElkNamedIndividual> node : instanceNodes) {
+					writeMembers(node, out);
+					writeNodes(node.getDirectTypeNodes(), positions, out);
+				}
+			}
+			out.writeInt(TaxonomyHasher.hash(taxonomy));
+			if (instanceNodes != null)
+				out.writeInt(InstanceTaxonomyHasher
+						.hash((InstanceTaxonomy<ElkClass, ElkNamedIndividual>) taxonomy));
+			out.flush();
+			deflated.finish();
+		} finally {
+			deflater.end();
+		}
+		CRC32 crc = new CRC32();
+		crc.update(body.toByteArray());
+		header.writeInt(body.size());
+		header.writeInt((int) crc.getValue());
+		body.writeTo(header);
+		header.flush();
+	}
+
+	/**
+	 * Reads the given number of bytes; the bytes are read in blocks, so
+	 * nothing is allocated for a damaged length beyond the available data
+	 */
+	private static byte[] readBody(DataInputStream in, int length)
+			throws IOException {
+		if (length < 0)
+			throw new IOException("The saved data is damaged!");
+		// else
+		ByteArrayOutputStream result = new ByteArrayOutputStream(Math.min(
+				length, BLOCK_SIZE_));
+		byte[] block = new byte[BLOCK_SIZE_];
+		while (length > 0) {
+			int read = in.read(block, 0, Math.min(length, BLOCK_SIZE_));
+			if (read < 0)
+				throw new EOFException();
+			// else
+			result.write(block, 0, read);
+			length -= read;
+		}
+		return result.toByteArray();
+	}
+
+	/**
+	 * Writes the members of the given node, starting from the canonical member
+	 */
+	private static void writeMembers(Node<? extends ElkEntity> node,
+			DataOutputStream out) throws IOException {
+		ElkEntity canonical = node.getCanonicalMember();
+		out.writeInt(node.getMembers().size());
+		writeIri(canonical.getIri(), out);
+		for (ElkEntity member : node.getMembers()) {
+			if (member != canonical)
+				writeIri(member.getIri(), out);
+		}
+	}
+
+	private static void writeNodes(Set<? extends Node<ElkClass>> nodes,
+			Map<ElkIri, Integer> positions, DataOutputStream out)
+			throws IOException {
+		out.writeInt(nodes.size());
+		for (Node<ElkClass> node : nodes) {
+			out.writeInt(getPosition(node, positions));
+		}
+	}
+
+	private static int getPosition(Node<ElkClass> node,
+			Map<ElkIri, Integer> positions) {
+		Integer result = positions.get(node.getCanonicalMember().getIri());
+		if (result == null)
+			throw new InvalidTaxonomyException("Node " + node
+					+ " is not in the taxonomy!");
+		return result;
+	}
+
+	private static SnapshotTypeNode<ElkClass, ElkNamedIndividual> getNode(
+			List<SnapshotTypeNode<ElkClass, ElkNamedIndividual>> nodes,
+			int position) throws IOException {
+		if (position < 0 || position >= nodes.size())
+			throw new IOException("Invalid node reference " + position + "!");
+		return nodes.get(position);
+	}
+
+	/**
+	 * Reads the number of members of a node, which must be positive
+	 */
+	private static int readCount(DataInputStream in) throws IOException {
+		int result = in.readInt();
+		if (result <= 0)
+			throw new IOException("Invalid number of node members " + result
+					+ "!");
+		return result;
+	}
+
+	private static void writeIri(ElkIri iri, DataOutputStream out)
+			throws IOException {
+		out.writeUTF(iri.getFullIriAsString());
+	}
+
+	/**
+	 * Reads a class, using {@link PredefinedElkClass}es for the predefined
+	 * IRIs
+	 */
+	private static ElkClass readClass(DataInputStream in,
+			ElkObjectFactory factory) throws IOException {
+		ElkIri iri = readIri(in);
+		if (iri.equals(PredefinedElkIris.OWL_THING))
+			return PredefinedElkClass.OWL_THING;
+		if (iri.equals(PredefinedElkIris.OWL_NOTHING))
+			return PredefinedElkClass.OWL_NOTHING;
+		// else
+		return factory.getClass(iri);
+	}
+
+	private static ElkIri readIri(DataInputStream in) throws IOException {
+		return new ElkFullIri(in.readUTF());
+	}
+
+	/**
+	 * A taxonomy restored by {@link SnapshotTaxonomyIO}
+	 */
+	public static class Snapshot {
+
+		private final SnapshotInstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy_;
+
+		private final boolean hasInstances_;
+
+		private final long ontologyFingerprint_;
+
+		Snapshot(SnapshotInstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy,
+				boolean hasInstances, long ontologyFingerprint) {
+			this.taxonomy_ = taxonomy;
+			this.hasInstances_ = hasInstances;
+			this.ontologyFingerprint_ = ontologyFingerprint;
+		}
+
+		/**
+		 * @return the restored taxonomy; if the instances were not saved, it
+		 *         has no {@link InstanceNode}s
+		 */
+		public SnapshotInstanceTaxonomy<ElkClass, ElkNamedIndividual> getTaxonomy() {
+			return taxonomy_;
+		}
+
+		/**
+		 * @return {@code true} if the restored taxonomy was saved with
+		 *         instances
+		 */
+		public boolean hasInstances() {
+			return hasInstances_;
+		}
+
+		/**
+		 * @return the fingerprint of the ontology for which the restored
+		 *         taxonomy was computed, as passed when it was saved
+		 */
+		public long getOntologyFingerprint() {
+			return ontologyFingerprint_;
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * A {@link TypeNode} of a {@link SnapshotInstanceTaxonomy}. The node is
+ * populated when the {@link SnapshotInstanceTaxonomy} is created and is not
+ * modified afterwards.
+ * 
+ * @param <T>
+ *            the type of objects in this node
+ * @param <I>
+ *            the type of instances of this node
+ */
+public class SnapshotTypeNode<T extends ElkEntity, I extends ElkEntity>
+		implements TypeNode<T, I> {
+
+	private final Set<T> members_;
+
+	private final T canonicalMember_;
+
+	final Set<SnapshotTypeNode<T, I>> directSuperNodes = new ArrayHashSet<SnapshotTypeNode<T, I>>(
+			2);
+
+	final Set<SnapshotTypeNode<T, I>> directSubNodes = new ArrayHashSet<SnapshotTypeNode<T, I>>(
+			2);
+
+	final Set<SnapshotInstanceNode<T, I>> directInstanceNodes = new ArrayHashSet<SnapshotInstanceNode<T, I>>(
+			1);
+
+	SnapshotTypeNode(Set<T> members, T canonicalMember) {
+		Set<T> copy = new ArrayHashSet<T>(members.size());
+		copy.addAll(members);
+		this.members_ = Collections.unmodifiableSet(copy);
+		this.canonicalMember_ = canonicalMember;
+	}
+
+	@Override
+	public Set<T> getMembers() {
+		return members_;
+	}
+
+	@Override
+	public T getCanonicalMember() {
+		return canonicalMember_;
+	}
+
+	@Override
+	public Set<? extends SnapshotTypeNode<T, I>> getDirectSuperNodes() {
+		return Collections.unmodifiableSet(directSuperNodes);
+	}
+
+	@Override
+	public Set<? extends SnapshotTypeNode<T, I>> getAllSuperNodes() {
+		return getAllReachable(directSuperNodes, true);
+	}
+
+	@Override
+	public Set<? extends SnapshotTypeNode<T, I>> getDirectSubNodes() {
+		return Collections.unmodifiableSet(directSubNodes);
+	}
+
+	@Override
+	public Set<? extends SnapshotTypeNode<T, I>> getAllSubNodes() {
+		return getAllReachable(directSubNodes, false);
+	}
+
+	@Override
+	public Set<? extends InstanceNode<T, I>> getDirectInstanceNodes() {
+		return Collections.unmodifiableSet(directInstanceNodes);
+	}
+
+	@Override
+	public Set<? extends InstanceNode<T, I>> getAllInstanceNodes() {
+		Set<SnapshotInstanceNode<T, I>> result = new ArrayHashSet<SnapshotInstanceNode<T, I>>(
+				directInstanceNodes.size());
+		result.addAll(directInstanceNodes);
+		for (SnapshotTypeNode<T, I> subNode : getAllSubNodes()) {
+			result.addAll(subNode.directInstanceNodes);
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	/**
+	 * @param direct
+	 *            the nodes from which to start the search
+	 * @param up
+	 *            {@code true} if the super-nodes should be followed,
+	 *            {@code false} if the sub-nodes should be followed
+	 * @return the nodes reachable from the given nodes, including these nodes
+	 */
+	static <T extends ElkEntity, I extends ElkEntity> Set<SnapshotTypeNode<T, I>> getAllReachable(
+			Set<SnapshotTypeNode<T, I>> direct, boolean up) {
+		Set<SnapshotTypeNode<T, I>> result = new ArrayHashSet<SnapshotTypeNode<T, I>>(
+				direct.size());
+		Queue<SnapshotTypeNode<T, I>> todo = new LinkedList<SnapshotTypeNode<T, I>>(
+				direct);
+		for (;;) {
+			SnapshotTypeNode<T, I> next = todo.poll();
+			if (next == null)
+				return Collections.unmodifiableSet(result);
+			// else
+			if (result.add(next))
+				todo.addAll(up ? next.directSuperNodes : next.directSubNodes);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return OwlFunctionalStylePrinter.toString(canonicalMember_);
+	}
+
+}
@@ -0,0 +1,70 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * An immutable {@link Taxonomy} published by a reasoner together with its
+ * version. The versions of the taxonomies published by the same reasoner
+ * increase with every publication, so that the clients can determine which of
+ * two results is more recent and whether the taxonomy has been recomputed
+ * since it was read the last time.
+ * 
+ * @param <T>
+ *            the type of objects in the nodes of the taxonomy
+ */
+public class TaxonomyVersion<T extends ElkObject> {
+
+	private final Taxonomy<T> taxonomy_;
+
+	private final long version_;
+
+	public TaxonomyVersion(Taxonomy<T> taxonomy, long version) {
+		this.taxonomy_ = taxonomy;
+		this.version_ = version;
+	}
+
+	/**
+	 * @return the published {@link Taxonomy}, which is not modified
+	 *         afterwards
+	 */
+	public Taxonomy<T> getTaxonomy() {
+		return taxonomy_;
+	}
+
+	/**
+	 * @return the version of the published {@link Taxonomy}; the first
+	 *         published taxonomy has version {@code 1}
+	 */
+	public long getVersion() {
+		return version_;
+	}
+
+	@Override
+	public String toString() {
+		return "taxonomy version " + version_;
+	}
+
+}
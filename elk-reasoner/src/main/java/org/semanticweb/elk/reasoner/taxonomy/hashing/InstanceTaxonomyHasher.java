@@ -23,6 +23,7 @@
 package org.semanticweb.elk.reasoner.taxonomy.hashing;
 
 import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.ConcurrentInstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
 import org.semanticweb.elk.util.hashing.HashGenerator;
 
@@ -37,12 +38,16 @@ import org.semanticweb.elk.util.hashing.HashGenerator;
 public class InstanceTaxonomyHasher {
 
 	/**
-	 * Compute the hash code of a taxonomy.
+	 * Compute the hash code of a taxonomy. The hash of a
+	 * {@link ConcurrentInstanceTaxonomy} is maintained by the taxonomy itself.
 	 * 
 	 * @param taxonomy
 	 * @return hash
 	 */
 	public static int hash(InstanceTaxonomy<? extends ElkEntity, ? extends ElkEntity> taxonomy) {
+		if (taxonomy instanceof ConcurrentInstanceTaxonomy)
+			return ((ConcurrentInstanceTaxonomy) taxonomy).getHash();
+		// else
 		int typeHash = HashGenerator.combineMultisetHash(true, taxonomy.getTypeNodes(), TypeNodeHasher.INSTANCE);
 		int instanceHash = HashGenerator.combineMultisetHash(true, taxonomy.getInstanceNodes(), InstanceNodeHasher.INSTANCE);
 		return HashGenerator.combineListHash(typeHash, instanceHash);
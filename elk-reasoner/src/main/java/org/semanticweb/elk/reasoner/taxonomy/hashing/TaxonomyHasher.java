@@ -23,6 +23,7 @@
 package org.semanticweb.elk.reasoner.taxonomy.hashing;
 
 import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.ConcurrentClassTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.util.hashing.HashGenerator;
 
@@ -38,12 +39,16 @@ import org.semanticweb.elk.util.hashing.HashGenerator;
 public class TaxonomyHasher {
 
 	/**
-	 * Compute the hash code of a taxonomy.
+	 * Compute the hash code of a taxonomy. The hash of a
+	 * {@link ConcurrentClassTaxonomy} is maintained by the taxonomy itself.
 	 * 
 	 * @param taxonomy
 	 * @return hash
 	 */
 	public static int hash(Taxonomy<? extends ElkEntity> taxonomy) {
+		if (taxonomy instanceof ConcurrentClassTaxonomy)
+			return ((ConcurrentClassTaxonomy) taxonomy).getHash();
+		// else
 		return HashGenerator.combineMultisetHash(true, taxonomy.getNodes(), TaxonomyNodeHasher.INSTANCE);
 	}
 
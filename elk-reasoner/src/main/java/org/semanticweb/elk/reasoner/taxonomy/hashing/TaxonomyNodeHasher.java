@@ -47,22 +47,41 @@ public class TaxonomyNodeHasher implements Hasher<TaxonomyNode<? extends ElkEnti
 
 	@Override
 	public int hash(TaxonomyNode<? extends ElkEntity> node) {
-		int memberHash = NodeHasher.INSTANCE.hash(node);
-
-		int subClassHash = "subClassOf".hashCode();
+		int subClassHash = 0;
 		for (Node<? extends ElkEntity> o : node.getDirectSubNodes()) {
 			subClassHash = HashGenerator.combineMultisetHash(false,
 					subClassHash, NodeHasher.INSTANCE.hash(o));
 		}
 
-		int superClassHash = "superClassOf".hashCode();
+		int superClassHash = 0;
 		for (Node<? extends ElkEntity> o : node.getDirectSuperNodes()) {
 			superClassHash = HashGenerator.combineMultisetHash(false,
 					superClassHash, NodeHasher.INSTANCE.hash(o));
 		}
 
-		return HashGenerator.combineListHash(memberHash, subClassHash,
+		return hash(NodeHasher.INSTANCE.hash(node), subClassHash,
 				superClassHash);
 	}
 
+	/**
+	 * Computes the hash of a node from the hashes of its parts; this can be
+	 * used when the (not finalized) multiset hashes of the direct sub-nodes
+	 * and super-nodes are already known.
+	 * 
+	 * @param memberHash
+	 *            the {@link NodeHasher} hash of the node
+	 * @param subNodesHash
+	 *            the sum of the {@link NodeHasher} hashes of the direct
+	 *            sub-nodes
+	 * @param superNodesHash
+	 *            the sum of the {@link NodeHasher} hashes of the direct
+	 *            super-nodes
+	 * @return the same value as {@link #hash(TaxonomyNode)} for the node
+	 */
+	public int hash(int memberHash, int subNodesHash, int superNodesHash) {
+		return HashGenerator.combineListHash(memberHash,
+				"subClassOf".hashCode() + subNodesHash,
+				"superClassOf".hashCode() + superNodesHash);
+	}
+
 }
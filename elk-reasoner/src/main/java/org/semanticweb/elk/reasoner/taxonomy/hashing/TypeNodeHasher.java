@@ -48,28 +48,52 @@ public class TypeNodeHasher implements
 
 	@Override
 	public int hash(TypeNode<? extends ElkEntity, ? extends ElkEntity> node) {
-		int memberHash = NodeHasher.INSTANCE.hash(node);
-
-		int subClassHash = "subClassOf".hashCode();
+		int subClassHash = 0;
 		for (Node<? extends ElkEntity> o : node.getDirectSubNodes()) {
 			subClassHash = HashGenerator.combineMultisetHash(false,
 					subClassHash, NodeHasher.INSTANCE.hash(o));
 		}
 
-		int superClassHash = "superClassOf".hashCode();
+		int superClassHash = 0;
 		for (Node<? extends ElkEntity> o : node.getDirectSuperNodes()) {
 			superClassHash = HashGenerator.combineMultisetHash(false,
 					superClassHash, NodeHasher.INSTANCE.hash(o));
 		}
 
-		int instanceHash = "instanceOf".hashCode();
+		int instanceHash = 0;
 		for (Node<? extends ElkEntity> o : node.getDirectInstanceNodes()) {
 			instanceHash = HashGenerator.combineMultisetHash(false,
 					instanceHash, NodeHasher.INSTANCE.hash(o));
 		}
 
-		return HashGenerator.combineListHash(memberHash, subClassHash,
+		return hash(NodeHasher.INSTANCE.hash(node), subClassHash,
 				superClassHash, instanceHash);
 	}
 
+	/**
+	 * Computes the hash of a node from the hashes of its parts; this can be
+	 * used when the (not finalized) multiset hashes of the related nodes are
+	 * already known.
+	 * 
+	 * @param memberHash
+	 *            the {@link NodeHasher} hash of the node
+	 * @param subNodesHash
+	 *            the sum of the {@link NodeHasher} hashes of the direct
+	 *            sub-nodes
+	 * @param superNodesHash
+	 *            the sum of the {@link NodeHasher} hashes of the direct
+	 *            super-nodes
+	 * @param instanceNodesHash
+	 *            the sum of the {@link NodeHasher} hashes of the direct
+	 *            instance nodes
+	 * @return the same value as {@link #hash(TypeNode)} for the node
+	 */
+	public int hash(int memberHash, int subNodesHash, int superNodesHash,
+			int instanceNodesHash) {
+		return HashGenerator.combineListHash(memberHash,
+				"subClassOf".hashCode() + subNodesHash,
+				"superClassOf".hashCode() + superNodesHash,
+				"instanceOf".hashCode() + instanceNodesHash);
+	}
+
 }
@@ -0,0 +1,75 @@
+package org.semanticweb.elk.reasoner.taxonomy.model;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+
+/**
+ * A {@link TaxonomyNode} created for an anonymous {@link ElkObject} that does
+ * not occur in a {@link Taxonomy}, such as a complex class expression. The
+ * node has no members; its sub and super nodes are the given nodes of the
+ * {@link Taxonomy}.
+ * 
+ * @param <T>
+ *            the type of objects in the nodes
+ */
+public class AnonymousTaxonomyNode<T extends ElkObject> extends SimpleNode<T>
+		implements TaxonomyNode<T> {
+
+	private final Set<? extends TaxonomyNode<T>> directSuperNodes_;
+
+	private final Set<? extends TaxonomyNode<T>> directSubNodes_;
+
+	public AnonymousTaxonomyNode(Comparator<T> cmp,
+			Set<? extends TaxonomyNode<T>> directSuperNodes,
+			Set<? extends TaxonomyNode<T>> directSubNodes) {
+		super(Collections.<T> emptySet(), cmp);
+		this.directSuperNodes_ = Collections.unmodifiableSet(directSuperNodes);
+		this.directSubNodes_ = Collections.unmodifiableSet(directSubNodes);
+	}
+
+	@Override
+	public Set<? extends TaxonomyNode<T>> getDirectSuperNodes() {
+		return directSuperNodes_;
+	}
+
+	@Override
+	public Set<? extends TaxonomyNode<T>> getAllSuperNodes() {
+		return TaxonomyNodeUtils.getAllSuperNodes(this);
+	}
+
+	@Override
+	public Set<? extends TaxonomyNode<T>> getDirectSubNodes() {
+		return directSubNodes_;
+	}
+
+	@Override
+	public Set<? extends TaxonomyNode<T>> getAllSubNodes() {
+		return TaxonomyNodeUtils.getAllSubNodes(this);
+	}
+
+}
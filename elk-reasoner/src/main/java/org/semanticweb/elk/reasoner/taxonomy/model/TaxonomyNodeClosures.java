@@ -0,0 +1,121 @@
+package org.semanticweb.elk.reasoner.taxonomy.model;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * Computes the sets of all super-nodes or all sub-nodes of
+ * {@link TaxonomyNode}s and keeps the computed sets, so that they can be
+ * reused for computing the sets of other nodes. This is more efficient than
+ * {@link TaxonomyNode#getAllSuperNodes()} and
+ * {@link TaxonomyNode#getAllSubNodes()} when the sets are required for many
+ * nodes, which share many super- or sub-nodes. The {@link Taxonomy} must not
+ * change while this object is used.
+ * 
+ * @param <T>
+ *            the type of objects in the nodes
+ */
+public class TaxonomyNodeClosures<T extends ElkObject> {
+
+	private final Map<TaxonomyNode<T>, Set<TaxonomyNode<T>>> allSuperNodes_ = new ArrayHashMap<TaxonomyNode<T>, Set<TaxonomyNode<T>>>();
+
+	private final Map<TaxonomyNode<T>, Set<TaxonomyNode<T>>> allSubNodes_ = new ArrayHashMap<TaxonomyNode<T>, Set<TaxonomyNode<T>>>();
+
+	/**
+	 * @param node
+	 * @return the unmodifiable set of all super-nodes of the given
+	 *         {@link TaxonomyNode}
+	 */
+	public Set<TaxonomyNode<T>> getAllSuperNodes(TaxonomyNode<T> node) {
+		return getClosure(node, allSuperNodes_, true);
+	}
+
+	/**
+	 * @param node
+	 * @return the unmodifiable set of all sub-nodes of the given
+	 *         {@link TaxonomyNode}
+	 */
+	public Set<TaxonomyNode<T>> getAllSubNodes(TaxonomyNode<T> node) {
+		return getClosure(node, allSubNodes_, false);
+	}
+
+	private static <T extends ElkObject> Set<? extends TaxonomyNode<T>> getSuccessors(
+			TaxonomyNode<T> node, boolean up) {
+		return up ? node.getDirectSuperNodes() : node.getDirectSubNodes();
+	}
+
+	/**
+	 * Computes the closures of the given node and of all nodes reachable from
+	 * it for which they have not been computed yet, in the order in which
+	 * the closures of the successors are computed before the closures of
+	 * their predecessors
+	 */
+	private static <T extends ElkObject> Set<TaxonomyNode<T>> getClosure(
+			TaxonomyNode<T> node,
+			Map<TaxonomyNode<T>, Set<TaxonomyNode<T>>> closures, boolean up) {
+		Set<TaxonomyNode<T>> result = closures.get(node);
+		if (result != null)
+			return result;
+		// else
+		Deque<TaxonomyNode<T>> todo = new ArrayDeque<TaxonomyNode<T>>();
+		todo.push(node);
+		for (;;) {
+			TaxonomyNode<T> next = todo.peek();
+			if (next == null)
+				return closures.get(node);
+			// else
+			if (closures.containsKey(next)) {
+				todo.pop();
+				continue;
+			}
+			// else
+			boolean ready = true;
+			for (TaxonomyNode<T> successor : getSuccessors(next, up)) {
+				if (!closures.containsKey(successor)) {
+					todo.push(successor);
+					ready = false;
+				}
+			}
+			if (!ready)
+				continue;
+			// else the closures of all successors are computed
+			todo.pop();
+			Set<TaxonomyNode<T>> closure = new ArrayHashSet<TaxonomyNode<T>>();
+			for (TaxonomyNode<T> successor : getSuccessors(next, up)) {
+				closure.add(successor);
+				closure.addAll(closures.get(successor));
+			}
+			closures.put(next, Collections.unmodifiableSet(closure));
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+package org.semanticweb.elk.loading;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+
+/**
+ * Tests for {@link ChangeBuffer} and {@link BufferedChangesLoader}
+ */
+public class ChangeBufferTest {
+
+	@Test
+	public void testCancellation() {
+		ChangeBuffer<String> buffer = new ChangeBuffer<String>();
+		assertFalse(buffer.add("a"));
+		assertFalse(buffer.remove("b"));
+		assertFalse(buffer.add("c"));
+		assertTrue(buffer.remove("a"));
+		assertTrue(buffer.add("b"));
+		assertFalse(buffer.add("c"));
+		assertEquals(1, buffer.size());
+		assertEquals(2, buffer.getCancelledCount());
+
+		Map.Entry<String, Integer> change = buffer.poll();
+		assertEquals("c", change.getKey());
+		assertEquals(2, change.getValue().intValue());
+		assertNull(buffer.poll());
+		assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	public void testOrder() {
+		ChangeBuffer<String> buffer = new ChangeBuffer<String>();
+		buffer.add("c");
+		buffer.remove("a");
+		buffer.add("b");
+		buffer.remove("a");
+		List<String> polled = new ArrayList<String>();
+		for (;;) {
+			Map.Entry<String, Integer> change = buffer.poll();
+			if (change == null)
+				break;
+			polled.add(change.getKey() + change.getValue());
+		}
+		assertEquals(Arrays.asList("c1", "a-2", "b1"), polled);
+	}
+
+	@Test
+	public void testWindow() throws InterruptedException {
+		ChangeBuffer<String> buffer = new ChangeBuffer<String>();
+		assertFalse(buffer.isWindowClosed());
+		buffer.add("a");
+		assertTrue(buffer.isWindowClosed());
+
+		buffer = new ChangeBuffer<String>(2, 1, TimeUnit.HOURS);
+		buffer.add("a");
+		assertFalse(buffer.isWindowClosed());
+		assertTrue(buffer.getRemainingDelay(TimeUnit.MINUTES) > 0);
+		buffer.add("b");
+		assertTrue(buffer.isWindowClosed());
+		buffer.remove("b");
+		assertFalse(buffer.isWindowClosed());
+
+		buffer = new ChangeBuffer<String>(0, 10, TimeUnit.MILLISECONDS);
+		buffer.add("a");
+		Thread.sleep(20);
+		assertTrue(buffer.isWindowClosed());
+		assertEquals(0, buffer.getRemainingDelay(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void testLoader() throws ElkLoadingException {
+		ElkObjectFactory factory = new ElkObjectFactoryImpl();
+		ElkClass a = factory.getClass(new ElkFullIri(":A"));
+		ElkClass b = factory.getClass(new ElkFullIri(":B"));
+		ElkClass c = factory.getClass(new ElkFullIri(":C"));
+		ElkAxiom ab = factory.getSubClassOfAxiom(a, b);
+		ElkAxiom bc = factory.getSubClassOfAxiom(b, c);
+		ElkAxiom ca = factory.getSubClassOfAxiom(c, a);
+
+		BufferedChangesLoader loader = new BufferedChangesLoader();
+		loader.add(ab).remove(bc).add(ca).remove(ab);
+		assertFalse(loader.isLoadingFinished());
+
+		final List<ElkAxiom> added = new ArrayList<ElkAxiom>();
+		final List<ElkAxiom> removed = new ArrayList<ElkAxiom>();
+		loader.load(new ElkAxiomProcessor() {
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				added.add(elkAxiom);
+			}
+		}, new ElkAxiomProcessor() {
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				removed.add(elkAxiom);
+			}
+		});
+		assertEquals(Arrays.asList(ca), added);
+		assertEquals(Arrays.asList(bc), removed);
+		assertTrue(loader.isLoadingFinished());
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.loading;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.io.MappedFileReader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+
+/**
+ * Tests for {@link Owl2MappedFileLoader} and {@link MappedFileReader}
+ * 
+ */
+public class Owl2MappedFileLoaderTest {
+
+	static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private File file_;
+
+	@Before
+	public void setUp() throws IOException {
+		file_ = File.createTempFile("elk-mapped", ".owl");
+	}
+
+	@After
+	public void tearDown() {
+		file_.delete();
+	}
+
+	private void write(String text, Charset charset) throws IOException {
+		OutputStream stream = new FileOutputStream(file_);
+		try {
+			stream.write(text.getBytes(charset));
+		} finally {
+			stream.close();
+		}
+	}
+
+	private String read(Reader reader, int bufferSize) throws IOException {
+		StringBuilder result = new StringBuilder();
+		char[] buffer = new char[bufferSize];
+		int read;
+		try {
+			while ((read = reader.read(buffer)) >= 0) {
+				result.append(buffer, 0, read);
+			}
+		} finally {
+			reader.close();
+		}
+		return result.toString();
+	}
+
+	@Test
+	public void readsMappedSegments() throws IOException {
+		// characters of 1, 2, 3, and 4 bytes in UTF-8
+		String text = "Ontology(<http://example.org/é€𝄞>"
+				+ " \"éé€𝄞𝄞\" a)\n";
+		for (Charset charset : new Charset[] { UTF_8,
+				Charset.forName("UTF-16") }) {
+			write(text, charset);
+			for (int segmentSize = 4; segmentSize < 20; segmentSize++) {
+				for (int bufferSize = 1; bufferSize < 6; bufferSize++) {
+					assertEquals(text, read(new MappedFileReader(file_,
+							charset, segmentSize), bufferSize));
+				}
+				assertEquals(text, read(new MappedFileReader(file_, charset,
+						segmentSize), 8192));
+			}
+		}
+	}
+
+	@Test
+	public void replacesMalformedInput() throws IOException {
+		OutputStream stream = new FileOutputStream(file_);
+		try {
+			// a truncated two-byte character followed by an ASCII one
+			stream.write(new byte[] { 'a', (byte) 0xc3, 'b', (byte) 0xc3 });
+		} finally {
+			stream.close();
+		}
+		assertEquals("a�b�", read(new MappedFileReader(file_), 2));
+	}
+
+	@Test
+	public void readsEmptyFile() throws IOException {
+		assertEquals("", read(new MappedFileReader(file_), 16));
+	}
+
+	private static Set<String> load(AxiomLoader loader)
+			throws ElkLoadingException {
+		final Set<String> result = new HashSet<String>();
+		ElkAxiomProcessor collector = new ElkAxiomProcessor() {
+
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				result.add(OwlFunctionalStylePrinter.toString(elkAxiom));
+			}
+
+		};
+		try {
+			loader.load(collector, collector);
+		} finally {
+			loader.dispose();
+		}
+		return result;
+	}
+
+	@Test
+	public void sameAxiomsAsStreamLoading() throws IOException,
+			ElkLoadingException {
+		String ontology = Owl2ParallelStreamLoaderTest.ONTOLOGY;
+		write(ontology, UTF_8);
+		Set<String> expected = load(new Owl2StreamLoader(
+				Owl2ParallelStreamLoaderTest.PARSER_FACTORY, ontology));
+		assertEquals(expected, load(new Owl2MappedFileLoader(
+				Owl2ParallelStreamLoaderTest.PARSER_FACTORY, file_)));
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.loading;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+
+/**
+ * Tests for {@link Owl2ParallelStreamLoader}
+ * 
+ */
+public class Owl2ParallelStreamLoaderTest {
+
+	static final String ONTOLOGY = ""//
+			+ "Prefix( : = <http://example.org/> )\n"//
+			+ "Prefix( rdfs: = <http://www.w3.org/2000/01/rdf-schema#> )\n"//
+			+ "Prefix( a: = <http://example.org/a(b)#> ) # comment )\n"//
+			+ "Ontology( <http://example.org/ontology>\n"//
+			+ "Annotation(rdfs:label \"ontology (\\\"test\\\")\")\n"//
+			+ "# a comment with ( unbalanced parentheses\n"//
+			+ "Declaration(Class(:A))\n"//
+			+ "EquivalentClasses(:B ObjectIntersectionOf(:C a:D))\n"//
+			+ "SubClassOf(:A ObjectSomeValuesFrom(:R :B))\n"//
+			+ "AnnotationAssertion(rdfs:comment :A \"(\\\\)\")\n"//
+			+ "SubClassOf(<http://example.org/E(F)> ObjectHasValue(:R :i))\n"//
+			+ "ClassAssertion(:A :i)\n"//
+			+ ")";
+
+	static final Owl2ParserFactory PARSER_FACTORY = new Owl2FunctionalStyleParserFactory(
+			new ElkObjectFactoryImpl(), null);
+
+	private static Set<String> load(AxiomLoader loader)
+			throws ElkLoadingException {
+		final Set<String> result = new HashSet<String>();
+		ElkAxiomProcessor collector = new ElkAxiomProcessor() {
+
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				result.add(OwlFunctionalStylePrinter.toString(elkAxiom));
+			}
+
+		};
+		try {
+			while (!loader.isLoadingFinished()) {
+				loader.load(collector, collector);
+			}
+		} finally {
+			loader.dispose();
+		}
+		return result;
+	}
+
+	@Test
+	public void sameAxiomsAsSequentialLoading() throws ElkLoadingException {
+		Set<String> expected = load(new Owl2StreamLoader(PARSER_FACTORY,
+				ONTOLOGY));
+		assertEquals(6, expected.size());
+		// chunks of one element
+		assertEquals(expected, load(new Owl2ParallelStreamLoader(
+				PARSER_FACTORY, new StringReader(ONTOLOGY), 3, 1)));
+		// one chunk
+		assertEquals(expected, load(new Owl2ParallelStreamLoader(
+				PARSER_FACTORY, new StringReader(ONTOLOGY), 2)));
+	}
+
+	@Test(expected = ElkLoadingException.class)
+	public void expectedLoadingExceptionOnSyntaxError()
+			throws ElkLoadingException {
+		String ontology = ""//
+				+ "Prefix( : = <http://example.org/> )"//
+				+ "Ontology("//
+				+ "EquivalentClasses(:B :C)"//
+				+ "SubClassOf(:A ObjectSomeValuesFrom(:R :B) :C)"//
+				+ ")";
+
+		load(new Owl2ParallelStreamLoader(PARSER_FACTORY, new StringReader(
+				ontology), 2, 1));
+	}
+
+	@Test(expected = ElkLoadingException.class)
+	public void expectedLoadingExceptionOnUnfinishedOntology()
+			throws ElkLoadingException {
+		String ontology = ""//
+				+ "Prefix( : = <http://example.org/> )"//
+				+ "Ontology("//
+				+ "EquivalentClasses(:B :C)";
+
+		load(new Owl2ParallelStreamLoader(PARSER_FACTORY, new StringReader(
+				ontology), 2, 1));
+	}
+
+	@Test(expected = ElkLoadingException.class)
+	public void expectedLoadingExceptionOnMissingOntology()
+			throws ElkLoadingException {
+		String ontology = "Prefix( : = <http://example.org/> )";
+
+		load(new Owl2ParallelStreamLoader(PARSER_FACTORY, new StringReader(
+				ontology), 2, 1));
+	}
+
+}
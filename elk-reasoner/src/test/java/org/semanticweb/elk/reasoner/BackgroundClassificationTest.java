@@ -0,0 +1,203 @@
+package org.semanticweb.elk.reasoner;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.incremental.IncrementalChangeType;
+import org.semanticweb.elk.reasoner.incremental.TestChangesLoader;
+import org.semanticweb.elk.reasoner.stages.SimpleStageExecutor;
+import org.semanticweb.elk.reasoner.taxonomy.InstanceTaxonomyVersion;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyVersion;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
+
+/**
+ * Tests for {@link Reasoner#classifyAsync()}
+ */
+public class BackgroundClassificationTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+
+	@Test
+	public void testVersions() throws ElkException, InterruptedException,
+			ExecutionException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		assertNull(reasoner.getTaxonomyVersion());
+
+		TaxonomyVersion<ElkClass> first = reasoner.classifyAsync().get();
+		assertEquals(1, first.getVersion());
+		assertSame(first, reasoner.getTaxonomyVersion());
+		assertTrue(first.getTaxonomy().getNode(A).getDirectSuperNodes()
+				.contains(first.getTaxonomy().getNode(B)));
+		// nothing has changed
+		assertSame(first, reasoner.classifyAsync().get());
+
+		reasoner.registerAxiomLoader(new TestChangesLoader(Arrays
+				.<ElkAxiom> asList(objectFactory.getSubClassOfAxiom(C, A)),
+				IncrementalChangeType.ADD));
+		TaxonomyVersion<ElkClass> second = reasoner.classifyAsync().get();
+		assertTrue(second.getVersion() > first.getVersion());
+		assertSame(second, reasoner.getTaxonomyVersion());
+		assertEquals(TaxonomyHasher.hash(reasoner.getTaxonomy()),
+				TaxonomyHasher.hash(second.getTaxonomy()));
+		// the previous version is not modified
+		assertNull(first.getTaxonomy().getNode(C));
+		assertTrue(reasoner.shutdown());
+	}
+
+	@Test
+	public void testPreviousVersionWhileComputing() throws ElkException,
+			InterruptedException, ExecutionException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		TaxonomyVersion<ElkClass> first = reasoner.computeTaxonomyVersion();
+		Future<TaxonomyVersion<ElkClass>> next;
+		// the background classification cannot start while the reasoner is
+		// locked
+		synchronized (reasoner) {
+			reasoner.registerAxiomLoader(new TestChangesLoader(Arrays
+					.<ElkAxiom> asList(objectFactory
+							.getSubClassOfAxiom(C, A)),
+					IncrementalChangeType.ADD));
+			next = reasoner.classifyAsync();
+			assertFalse(next.isDone());
+			assertSame(first, reasoner.getTaxonomyVersion());
+			assertSame(first.getTaxonomy(), reasoner.getSnapshotQueryFacade()
+					.getTaxonomy());
+		}
+		TaxonomyVersion<ElkClass> second = next.get();
+		assertEquals(first.getVersion() + 1, second.getVersion());
+		assertTrue(second.getTaxonomy().getNode(C).getDirectSuperNodes()
+				.contains(second.getTaxonomy().getNode(A)));
+		assertTrue(reasoner.shutdown());
+	}
+
+	@Test
+	public void testChangesDuringClassification() throws ElkException,
+			InterruptedException, ExecutionException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B));
+		final Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		TaxonomyVersion<ElkClass> first = reasoner.computeTaxonomyVersion();
+		final List<Future<TaxonomyVersion<ElkClass>>> next = new ArrayList<Future<TaxonomyVersion<ElkClass>>>();
+		Thread client = new Thread() {
+			@Override
+			public void run() {
+				reasoner.registerAxiomLoaderAsync(new TestChangesLoader(Arrays
+						.<ElkAxiom> asList(objectFactory.getSubClassOfAxiom(C,
+								A)), IncrementalChangeType.ADD));
+				next.add(reasoner.classifyAsync());
+			}
+		};
+		// the changes can be passed while the reasoner is locked
+		synchronized (reasoner) {
+			client.start();
+			client.join(10000);
+			assertFalse(client.isAlive());
+			assertSame(first, reasoner.getTaxonomyVersion());
+		}
+		TaxonomyVersion<ElkClass> second = next.get(0).get();
+		assertEquals(first.getVersion() + 1, second.getVersion());
+		assertTrue(second.getTaxonomy().getNode(C).getDirectSuperNodes()
+				.contains(second.getTaxonomy().getNode(A)));
+		assertTrue(reasoner.shutdown());
+	}
+
+	@Test
+	public void testInstanceTaxonomyVersions() throws ElkException,
+			InterruptedException {
+		ElkNamedIndividual a = objectFactory.getNamedIndividual(new ElkFullIri(
+				":a"));
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B)).add(
+				objectFactory.getClassAssertionAxiom(A, a));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		TaxonomyVersion<ElkClass> first = reasoner.computeTaxonomyVersion();
+		assertNull(reasoner.getInstanceTaxonomyVersion());
+
+		reasoner.getInstanceTaxonomyQuietly();
+		InstanceTaxonomyVersion<ElkClass, ElkNamedIndividual> firstInstances = reasoner
+				.getInstanceTaxonomyVersion();
+		assertEquals(1, firstInstances.getVersion());
+		assertTrue(firstInstances.getTaxonomy().getTypeNode(A)
+				.getDirectInstanceNodes()
+				.contains(firstInstances.getTaxonomy().getInstanceNode(a)));
+		// the class taxonomy has not changed
+		assertSame(first, reasoner.getTaxonomyVersion());
+
+		reasoner.registerAxiomLoader(new TestChangesLoader(Arrays
+				.<ElkAxiom> asList(objectFactory.getSubClassOfAxiom(C, A)),
+				IncrementalChangeType.ADD));
+		reasoner.getInstanceTaxonomyQuietly();
+		assertEquals(2, reasoner.getInstanceTaxonomyVersion().getVersion());
+		assertEquals(first.getVersion() + 1, reasoner.getTaxonomyVersion()
+				.getVersion());
+		assertTrue(reasoner.shutdown());
+	}
+
+	@Test
+	public void testShutdown() throws InterruptedException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		Future<TaxonomyVersion<ElkClass>> result;
+		synchronized (reasoner) {
+			result = reasoner.classifyAsync();
+		}
+		assertTrue(reasoner.shutdown());
+		// the classification either finished or was cancelled
+		assertTrue(result.isDone());
+	}
+
+}
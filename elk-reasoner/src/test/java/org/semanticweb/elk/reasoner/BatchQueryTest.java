@@ -0,0 +1,103 @@
+package org.semanticweb.elk.reasoner;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.stages.SimpleStageExecutor;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+
+/**
+ * Tests that the batch queries of {@link Reasoner} return the same results as
+ * the respective queries for single entities
+ */
+public class BatchQueryTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	final ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+	final ElkClass E = objectFactory.getClass(new ElkFullIri(":E"));
+	final ElkNamedIndividual i = objectFactory
+			.getNamedIndividual(new ElkFullIri(":i"));
+	final ElkNamedIndividual j = objectFactory
+			.getNamedIndividual(new ElkFullIri(":j"));
+
+	@Test
+	public void testBatchQueries() throws ElkException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B))
+				.add(objectFactory.getSubClassOfAxiom(B, C))
+				.add(objectFactory.getSubClassOfAxiom(D, C))
+				.add(objectFactory.getSubClassOfAxiom(E, A))
+				.add(objectFactory.getSubClassOfAxiom(E, D))
+				.add(objectFactory.getEquivalentClassesAxiom(C,
+						objectFactory.getClass(new ElkFullIri(":C1"))))
+				.add(objectFactory.getClassAssertionAxiom(E, i))
+				.add(objectFactory.getClassAssertionAxiom(B, j));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		// also contains repetitions and a fresh class
+		List<ElkClass> classes = Arrays.asList(A, B, C, D, E, A,
+				objectFactory.getClass(new ElkFullIri(":F")));
+		List<ElkNamedIndividual> individuals = Arrays.asList(i, j, i);
+
+		for (boolean direct : new boolean[] { true, false }) {
+			List<Set<? extends Node<ElkClass>>> subClasses = reasoner
+					.getSubClasses(classes, direct);
+			List<Set<? extends Node<ElkClass>>> superClasses = reasoner
+					.getSuperClasses(classes, direct);
+			assertEquals(classes.size(), subClasses.size());
+			assertEquals(classes.size(), superClasses.size());
+			for (int k = 0; k < classes.size(); k++) {
+				ElkClass clazz = classes.get(k);
+				assertEquals(reasoner.getSubClasses(clazz, direct),
+						subClasses.get(k));
+				assertEquals(reasoner.getSuperClasses(clazz, direct),
+						superClasses.get(k));
+			}
+			List<Set<? extends Node<ElkClass>>> types = reasoner.getTypes(
+					individuals, direct);
+			assertEquals(individuals.size(), types.size());
+			for (int k = 0; k < individuals.size(); k++) {
+				assertEquals(reasoner.getTypes(individuals.get(k), direct),
+						types.get(k));
+			}
+		}
+	}
+
+}
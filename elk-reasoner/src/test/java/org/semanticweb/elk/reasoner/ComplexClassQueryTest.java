@@ -134,6 +134,60 @@ public class ComplexClassQueryTest {
 
 	}
 
+	@Test
+	public void testSupSubClassExistential() throws ElkException {
+		TestLoader loader = new TestLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+
+		ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+		ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+		ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+		ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+		ElkClass E = objectFactory.getClass(new ElkFullIri(":E"));
+		ElkObjectProperty R = objectFactory.getObjectProperty(new ElkFullIri(
+				":R"));
+		ElkObjectProperty S = objectFactory.getObjectProperty(new ElkFullIri(
+				":S"));
+		loader.add(
+				objectFactory.getSubClassOfAxiom(A,
+						objectFactory.getObjectSomeValuesFrom(R, B)))
+				.add(objectFactory.getSubClassOfAxiom(B, C))
+				.add(objectFactory.getEquivalentClassesAxiom(D,
+						objectFactory.getObjectSomeValuesFrom(R, C)))
+				.add(objectFactory.getSubClassOfAxiom(E,
+						objectFactory.getObjectSomeValuesFrom(S, B)))
+				.add(objectFactory.getSubObjectPropertyOfAxiom(S, R));
+		int nodeCount = reasoner.getTaxonomy().getNodes().size();
+
+		ElkClassExpression query = objectFactory.getObjectSomeValuesFrom(R, B);
+		assertEquals(0, reasoner.getEquivalentClasses(query).getMembers()
+				.size());
+
+		Set<? extends Node<ElkClass>> superClasses = reasoner.getSuperClasses(
+				query, true);
+		assertEquals(1, superClasses.size());
+		for (Node<ElkClass> node : superClasses) {
+			assertTrue(node.getMembers().contains(D));
+		}
+
+		Set<? extends Node<ElkClass>> subClasses = reasoner.getSubClasses(
+				query, true);
+		assertEquals(2, subClasses.size());
+		for (Node<ElkClass> node : subClasses) {
+			assertTrue(node.getMembers().contains(A)
+					|| node.getMembers().contains(E));
+		}
+
+		// the equivalent class of the query
+		assertTrue(reasoner
+				.getEquivalentClasses(
+						objectFactory.getObjectSomeValuesFrom(R, C))
+				.getMembers().contains(D));
+		// the queries should not change the taxonomy
+		assertEquals(nodeCount, reasoner.getTaxonomy().getNodes().size());
+	}
+
 	@Test
 	public void testEquivalentClasses() throws ElkException {
 		Reasoner reasoner = TestReasonerUtils.createTestReasoner(
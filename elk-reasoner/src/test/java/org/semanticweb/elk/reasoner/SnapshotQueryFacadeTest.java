@@ -0,0 +1,149 @@
+package org.semanticweb.elk.reasoner;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
+import org.semanticweb.elk.reasoner.incremental.IncrementalChangeType;
+import org.semanticweb.elk.reasoner.incremental.TestChangesLoader;
+import org.semanticweb.elk.reasoner.stages.SimpleStageExecutor;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceTaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Tests for {@link SnapshotQueryFacade}
+ */
+public class SnapshotQueryFacadeTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	final ElkNamedIndividual i = objectFactory
+			.getNamedIndividual(new ElkFullIri(":i"));
+
+	@Test
+	public void testSnapshotsAfterChanges() throws ElkException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B)).add(
+				objectFactory.getClassAssertionAxiom(A, i));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		SnapshotQueryFacade facade = reasoner.getSnapshotQueryFacade();
+
+		assertTrue(containsMember(facade.getSubClasses(B, true), A));
+		assertTrue(containsMember(facade.getTypes(i, true), A));
+		assertFalse(facade.isInconsistent());
+		assertEquals(TaxonomyHasher.hash(reasoner.getTaxonomy()),
+				TaxonomyHasher.hash(facade.getTaxonomy()));
+		assertEquals(
+				InstanceTaxonomyHasher.hash(reasoner.getInstanceTaxonomy()),
+				InstanceTaxonomyHasher.hash(facade.getInstanceTaxonomy()));
+
+		// the snapshots do not change until the taxonomies are recomputed
+		Taxonomy<ElkClass> snapshot = facade.getTaxonomy();
+		reasoner.registerAxiomLoader(new TestChangesLoader(Arrays
+				.<ElkAxiom> asList(objectFactory.getSubClassOfAxiom(C, A)),
+				IncrementalChangeType.ADD));
+		assertSame(snapshot, facade.getTaxonomy());
+		assertFalse(containsMember(facade.getSubClasses(A, true), C));
+
+		reasoner.getTaxonomy();
+		assertTrue(containsMember(facade.getSubClasses(A, true), C));
+		assertTrue(containsMember(facade.getSuperClasses(C, false), B));
+		assertEquals(TaxonomyHasher.hash(reasoner.getTaxonomy()),
+				TaxonomyHasher.hash(facade.getTaxonomy()));
+		// the instance taxonomy is not yet recomputed
+		assertFalse(containsMember(facade.getInstances(C, false), i));
+
+		reasoner.registerAxiomLoader(new TestChangesLoader(Arrays
+				.<ElkAxiom> asList(objectFactory.getClassAssertionAxiom(C, i)),
+				IncrementalChangeType.ADD));
+		reasoner.getInstanceTaxonomy();
+		assertTrue(containsMember(facade.getInstances(C, true), i));
+		assertEquals(
+				InstanceTaxonomyHasher.hash(reasoner.getInstanceTaxonomy()),
+				InstanceTaxonomyHasher.hash(facade.getInstanceTaxonomy()));
+	}
+
+	@Test
+	public void testQueriesNotPublished() throws ElkException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		SnapshotQueryFacade facade = reasoner.getSnapshotQueryFacade();
+		int hash = TaxonomyHasher.hash(facade.getTaxonomy());
+		// this query is answered by adding an auxiliary class
+		reasoner.isSatisfiable(objectFactory.getObjectIntersectionOf(A,
+				objectFactory.getObjectComplementOf(B)));
+		assertEquals(hash, TaxonomyHasher.hash(facade.getTaxonomy()));
+		assertEquals(hash, TaxonomyHasher.hash(reasoner.getTaxonomy()));
+		assertEquals(hash, TaxonomyHasher.hash(facade.getTaxonomy()));
+	}
+
+	@Test
+	public void testInconsistent() throws ElkException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A,
+				PredefinedElkClass.OWL_NOTHING)).add(
+				objectFactory.getClassAssertionAxiom(A, i));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		SnapshotQueryFacade facade = reasoner.getSnapshotQueryFacade();
+
+		assertTrue(facade.isInconsistent());
+		assertFalse(facade.isSatisfiable(B));
+		assertTrue(facade.getClassNode(B).getMembers()
+				.contains(PredefinedElkClass.OWL_NOTHING));
+	}
+
+	private static <T extends ElkObject> boolean containsMember(
+			Set<? extends Node<T>> nodes, T member) {
+		for (Node<T> node : nodes) {
+			if (node.getMembers().contains(member))
+				return true;
+		}
+		return false;
+	}
+
+}
@@ -114,8 +114,7 @@ public abstract class BaseRandomWalkIncrementalCorrectnessTest {
 						new ElkEntityRecycler())), stream);
 		AxiomLoader trackingLoader = getAxiomTrackingLoader(fileLoader,
 				changingAxioms, staticAxioms);
-		incrementalReasoner = TestReasonerUtils.createTestReasoner(
-				trackingLoader, new PostProcessingStageExecutor());
+		incrementalReasoner = getIncrementalReasoner(trackingLoader);
 		incrementalReasoner.setAllowIncrementalMode(true);
 
 		try {
@@ -132,6 +131,16 @@ public abstract class BaseRandomWalkIncrementalCorrectnessTest {
 		}
 	}
 
+	/**
+	 * @param axiomLoader
+	 * @return the {@link Reasoner} that is used for incremental reasoning
+	 *         with the axioms loaded by the given {@link AxiomLoader}
+	 */
+	protected Reasoner getIncrementalReasoner(AxiomLoader axiomLoader) {
+		return TestReasonerUtils.createTestReasoner(axiomLoader,
+				new PostProcessingStageExecutor());
+	}
+
 	protected abstract AxiomLoader getAxiomTrackingLoader(
 			AxiomLoader fileLoader, OnOffVector<ElkAxiom> changingAxioms,
 			List<ElkAxiom> staticAxioms);
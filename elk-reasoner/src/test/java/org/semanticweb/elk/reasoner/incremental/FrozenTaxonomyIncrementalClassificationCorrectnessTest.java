@@ -0,0 +1,56 @@
+/**
+ * 
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.runner.RunWith;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.reasoner.ClassTaxonomyTestOutput;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.ReasoningTestManifest;
+import org.semanticweb.elk.reasoner.taxonomy.FrozenTaxonomy;
+import org.semanticweb.elk.testing.PolySuite;
+
+/**
+ * Runs {@link IncrementalClassificationCorrectnessTest} with reasoners that
+ * store the class taxonomy as a {@link FrozenTaxonomy} between the changes
+ */
+@RunWith(PolySuite.class)
+public class FrozenTaxonomyIncrementalClassificationCorrectnessTest extends
+		IncrementalClassificationCorrectnessTest {
+
+	public FrozenTaxonomyIncrementalClassificationCorrectnessTest(
+			ReasoningTestManifest<ClassTaxonomyTestOutput<?>, ClassTaxonomyTestOutput<?>> testManifest) {
+		super(testManifest);
+	}
+
+	@Override
+	protected Reasoner getReasoner(final Iterable<ElkAxiom> axioms) {
+		Reasoner reasoner = super.getReasoner(axioms);
+		reasoner.setFreezeTaxonomy(true);
+		return reasoner;
+	}
+
+}
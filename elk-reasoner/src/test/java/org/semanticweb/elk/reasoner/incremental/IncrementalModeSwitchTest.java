@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
@@ -106,6 +107,255 @@ public class IncrementalModeSwitchTest {
 				.contains(taxonomy.getNode(D)));
 	}
 
+	@Test
+	public void testSubPropertyChangeIsIncremental() throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new PostProcessingStageExecutor());
+
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+		ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+		ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+		ElkObjectProperty R = objectFactory.getObjectProperty(new ElkFullIri(
+				":R"));
+		ElkObjectProperty S = objectFactory.getObjectProperty(new ElkFullIri(
+				":S"));
+		ElkAxiom axASubRB = objectFactory.getSubClassOfAxiom(A,
+				objectFactory.getObjectSomeValuesFrom(R, B));
+		ElkAxiom axSBSubC = objectFactory.getSubClassOfAxiom(
+				objectFactory.getObjectSomeValuesFrom(S, B), C);
+		ElkAxiom axRSubS = objectFactory.getSubObjectPropertyOfAxiom(R, S);
+
+		loader.add(axASubRB).add(axSBSubC);
+
+		Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomyQuietly();
+
+		assertFalse(taxonomy.getNode(A).getAllSuperNodes()
+				.contains(taxonomy.getNode(C)));
+
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+
+		changeLoader.add(axRSubS);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		// the change should not switch off the incremental mode
+		assertTrue(reasoner.isIncrementalMode());
+		assertTrue(taxonomy.getNode(A).getAllSuperNodes()
+				.contains(taxonomy.getNode(C)));
+
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axRSubS);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertFalse(taxonomy.getNode(A).getAllSuperNodes()
+				.contains(taxonomy.getNode(C)));
+	}
+
+	@Test
+	public void testEquivalentPropertiesChangeIsIncremental()
+			throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new PostProcessingStageExecutor());
+
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass A = getClass("A");
+		ElkClass B = getClass("B");
+		ElkClass C = getClass("C");
+		ElkClass D = getClass("D");
+		ElkClass E = getClass("E");
+		ElkObjectProperty R = getProperty("R");
+		ElkObjectProperty S = getProperty("S");
+		ElkAxiom axEqRS = objectFactory.getEquivalentObjectPropertiesAxiom(R,
+				S);
+
+		loader.add(
+				objectFactory.getSubClassOfAxiom(A,
+						objectFactory.getObjectSomeValuesFrom(R, B)))
+				.add(objectFactory.getSubClassOfAxiom(
+						objectFactory.getObjectSomeValuesFrom(S, B), C))
+				.add(objectFactory.getSubClassOfAxiom(D,
+						objectFactory.getObjectSomeValuesFrom(S, B)))
+				.add(objectFactory.getSubClassOfAxiom(
+						objectFactory.getObjectSomeValuesFrom(R, B), E));
+
+		Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomyQuietly();
+
+		assertFalse(isSubClass(taxonomy, A, C));
+		assertFalse(isSubClass(taxonomy, D, E));
+
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+
+		// R and S become sub-properties of each other
+		changeLoader.add(axEqRS);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertTrue(isSubClass(taxonomy, A, C));
+		assertTrue(isSubClass(taxonomy, D, E));
+
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axEqRS);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertFalse(isSubClass(taxonomy, A, C));
+		assertFalse(isSubClass(taxonomy, D, E));
+	}
+
+	@Test
+	public void testRangeChangeIsIncremental() throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new PostProcessingStageExecutor());
+
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass A = getClass("A");
+		ElkClass B = getClass("B");
+		ElkClass C = getClass("C");
+		ElkClass D = getClass("D");
+		ElkObjectProperty R = getProperty("R");
+		ElkAxiom axRangeRD = objectFactory.getObjectPropertyRangeAxiom(R, D);
+
+		loader.add(
+				objectFactory.getSubClassOfAxiom(A,
+						objectFactory.getObjectSomeValuesFrom(R, B))).add(
+				objectFactory.getSubClassOfAxiom(objectFactory
+						.getObjectSomeValuesFrom(R,
+								objectFactory.getObjectIntersectionOf(B, D)),
+						C));
+
+		Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomyQuietly();
+
+		assertFalse(isSubClass(taxonomy, A, C));
+
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+
+		// the R-successor of A becomes an instance of D
+		changeLoader.add(axRangeRD);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertTrue(isSubClass(taxonomy, A, C));
+
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axRangeRD);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertFalse(isSubClass(taxonomy, A, C));
+	}
+
+	@Test
+	public void testChainComponentChangeIsIncremental() throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new PostProcessingStageExecutor());
+
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass A = getClass("A");
+		ElkClass B = getClass("B");
+		ElkClass C = getClass("C");
+		ElkClass D = getClass("D");
+		ElkObjectProperty H = getProperty("H");
+		ElkObjectProperty R = getProperty("R");
+		ElkObjectProperty S = getProperty("S");
+		ElkObjectProperty T = getProperty("T");
+		ElkAxiom axHSubR = objectFactory.getSubObjectPropertyOfAxiom(H, R);
+
+		loader.add(
+				objectFactory.getSubObjectPropertyOfAxiom(
+						objectFactory.getObjectPropertyChain(Arrays.asList(R,
+								S)), T))
+				.add(objectFactory.getSubClassOfAxiom(A,
+						objectFactory.getObjectSomeValuesFrom(H, B)))
+				.add(objectFactory.getSubClassOfAxiom(B,
+						objectFactory.getObjectSomeValuesFrom(S, C)))
+				.add(objectFactory.getSubClassOfAxiom(
+						objectFactory.getObjectSomeValuesFrom(T, C), D));
+
+		Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomyQuietly();
+
+		assertFalse(isSubClass(taxonomy, A, D));
+
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+
+		// H becomes a sub-property of the first component of the chain
+		changeLoader.add(axHSubR);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertTrue(isSubClass(taxonomy, A, D));
+
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axHSubR);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertFalse(isSubClass(taxonomy, A, D));
+	}
+
+	@Test
+	public void testChainChange() throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new PostProcessingStageExecutor());
+
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass A = getClass("A");
+		ElkClass B = getClass("B");
+		ElkClass C = getClass("C");
+		ElkClass D = getClass("D");
+		ElkObjectProperty R = getProperty("R");
+		ElkObjectProperty S = getProperty("S");
+		ElkObjectProperty T = getProperty("T");
+		ElkAxiom axRSSubT = objectFactory.getSubObjectPropertyOfAxiom(
+				objectFactory.getObjectPropertyChain(Arrays.asList(R, S)), T);
+
+		loader.add(
+				objectFactory.getSubClassOfAxiom(A,
+						objectFactory.getObjectSomeValuesFrom(R, B)))
+				.add(objectFactory.getSubClassOfAxiom(B,
+						objectFactory.getObjectSomeValuesFrom(S, C)))
+				.add(objectFactory.getSubClassOfAxiom(
+						objectFactory.getObjectSomeValuesFrom(T, C), D));
+
+		Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomyQuietly();
+
+		assertFalse(isSubClass(taxonomy, A, D));
+
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+
+		// the changes of chains are not processed incrementally
+		changeLoader.add(axRSSubT);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(isSubClass(taxonomy, A, D));
+
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axRSSubT);
+
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertFalse(isSubClass(taxonomy, A, D));
+	}
+
 	@Test
 	public void testSwitchDueToNewRole() throws ElkException, IOException {
 		String toAdd = "Prefix( : = <http://example.org/> ) Prefix( owl: = <http://www.w3.org/2002/07/owl#> ) Ontology(\n"
@@ -148,6 +398,20 @@ public class IncrementalModeSwitchTest {
 		assertTrue(reasoner.isInconsistent());
 	}
 
+	private ElkClass getClass(String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	private ElkObjectProperty getProperty(String name) {
+		return objectFactory.getObjectProperty(new ElkFullIri(":" + name));
+	}
+
+	private static boolean isSubClass(Taxonomy<ElkClass> taxonomy,
+			ElkClass sub, ElkClass sup) {
+		return taxonomy.getNode(sub).getAllSuperNodes()
+				.contains(taxonomy.getNode(sup));
+	}
+
 	private List<ElkAxiom> loadAxioms(Reader reader) throws IOException,
 			Owl2ParseException {
 		Owl2Parser parser = new Owl2FunctionalStyleParserFactory()
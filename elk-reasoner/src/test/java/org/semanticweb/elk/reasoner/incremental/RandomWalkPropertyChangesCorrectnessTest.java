@@ -0,0 +1,145 @@
+package org.semanticweb.elk.reasoner.incremental;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.semanticweb.elk.RandomSeedProvider;
+import org.semanticweb.elk.owl.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestLoader;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.incremental.RandomWalkRunnerIO.ElkAPIBasedIO;
+import org.semanticweb.elk.reasoner.stages.PostProcessingStageExecutor;
+
+/**
+ * Runs {@link RandomWalkIncrementalClassificationRunner} on randomly generated
+ * ontologies in which sub-property, equivalent property, range, property
+ * chain and transitivity axioms are added and removed together with class
+ * axioms
+ */
+public class RandomWalkPropertyChangesCorrectnessTest {
+
+	private static final int ONTOLOGY_COUNT = 8;
+
+	private static final int MAX_ROUNDS = 5;
+
+	private static final int ITERATIONS = 5;
+
+	private static final int CLASS_COUNT = 24;
+
+	private static final int PROPERTY_COUNT = 6;
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	@Test
+	public void randomWalk() throws Exception {
+		long seed = RandomSeedProvider.VALUE;
+		for (int i = 0; i < ONTOLOGY_COUNT; i++) {
+			randomWalk(seed + i);
+		}
+	}
+
+	private void randomWalk(long seed) throws Exception {
+		OnOffVector<ElkAxiom> changingAxioms = new OnOffVector<ElkAxiom>(128);
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(
+				new AllAxiomTrackingOntologyLoader(new TestLoader(
+						generateAxioms(new Random(seed))), changingAxioms),
+				new PostProcessingStageExecutor());
+		try {
+			new RandomWalkIncrementalClassificationRunner<ElkAxiom>(
+					MAX_ROUNDS, ITERATIONS, new ElkAPIBasedIO()).run(reasoner,
+					changingAxioms, Collections.<ElkAxiom> emptyList(), seed);
+		} catch (Exception e) {
+			throw new ElkRuntimeException("Seed " + seed, e);
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
+	private List<ElkAxiom> generateAxioms(Random random) {
+		ElkClass[] classes = new ElkClass[CLASS_COUNT];
+		for (int i = 0; i < CLASS_COUNT; i++) {
+			classes[i] = objectFactory.getClass(new ElkFullIri(":C" + i));
+		}
+		ElkObjectProperty[] properties = new ElkObjectProperty[PROPERTY_COUNT];
+		for (int i = 0; i < PROPERTY_COUNT; i++) {
+			properties[i] = objectFactory.getObjectProperty(new ElkFullIri(
+					":R" + i));
+		}
+		List<ElkAxiom> result = new ArrayList<ElkAxiom>();
+		for (int i = 0; i < 30; i++) {
+			result.add(objectFactory.getSubClassOfAxiom(
+					pick(classes, random),
+					objectFactory.getObjectSomeValuesFrom(
+							pick(properties, random), pick(classes, random))));
+		}
+		for (int i = 0; i < 20; i++) {
+			result.add(objectFactory.getSubClassOfAxiom(objectFactory
+					.getObjectSomeValuesFrom(pick(properties, random),
+							pick(classes, random)), pick(classes, random)));
+		}
+		for (int i = 0; i < 10; i++) {
+			result.add(objectFactory.getSubClassOfAxiom(objectFactory
+					.getObjectIntersectionOf(pick(classes, random),
+							pick(classes, random)), pick(classes, random)));
+			result.add(objectFactory.getSubClassOfAxiom(pick(classes, random),
+					pick(classes, random)));
+		}
+		for (int i = 0; i < 6; i++) {
+			result.add(objectFactory.getSubObjectPropertyOfAxiom(
+					pick(properties, random), pick(properties, random)));
+		}
+		for (int i = 0; i < 2; i++) {
+			result.add(objectFactory.getEquivalentObjectPropertiesAxiom(
+					pick(properties, random), pick(properties, random)));
+			result.add(objectFactory.getSubObjectPropertyOfAxiom(objectFactory
+					.getObjectPropertyChain(Arrays.asList(
+							pick(properties, random), pick(properties, random))),
+					pick(properties, random)));
+		}
+		for (int i = 0; i < 4; i++) {
+			result.add(objectFactory.getObjectPropertyRangeAxiom(
+					pick(properties, random), pick(classes, random)));
+		}
+		result.add(objectFactory.getTransitiveObjectPropertyAxiom(pick(
+				properties, random)));
+		return result;
+	}
+
+	private static <T> T pick(T[] elements, Random random) {
+		return elements[random.nextInt(elements.length)];
+	}
+
+}
@@ -42,7 +42,9 @@ import org.semanticweb.elk.reasoner.indexing.hierarchy.DirectIndex;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedPropertyChain;
 import org.semanticweb.elk.reasoner.indexing.modifiable.ModifiableOntologyIndex;
+import org.semanticweb.elk.reasoner.saturation.conclusions.visitors.NonRedundantRuleApplicationVisitorFactory;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
 import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
 
 /**
@@ -162,4 +164,103 @@ public class ConcurrentSaturatorTest extends TestCase {
 		assertTrue("A contains D", context.getSubsumers().contains(D));
 	}
 
+	/**
+	 * Derives the same subsumers in many different ways; the rules applied by
+	 * {@link RuleApplicationAdditionFactory} skip the subsumers that are
+	 * already derived, which should give the same result as when all
+	 * derivations are produced, as done for counting derivations
+	 */
+	@Test
+	public void testRedundantSubsumers() throws InterruptedException,
+			ExecutionException {
+		ElkClass a = objectFactory.getClass(new ElkFullIri(":A"));
+		ElkClass b = objectFactory.getClass(new ElkFullIri(":B"));
+		ElkClass c = objectFactory.getClass(new ElkFullIri(":C"));
+		ElkClass d = objectFactory.getClass(new ElkFullIri(":D"));
+		ElkClass e = objectFactory.getClass(new ElkFullIri(":E"));
+		ElkClass f = objectFactory.getClass(new ElkFullIri(":F"));
+		ElkObjectProperty r = objectFactory.getObjectProperty(new ElkFullIri(
+				"R"));
+
+		final ModifiableOntologyIndex index = new DirectIndex();
+		ComputationExecutor executor = new ComputationExecutor(16, "test", 0,
+				TimeUnit.NANOSECONDS);
+		final ElkAxiomProcessor inserter = new ChangeIndexingProcessor(
+				new ElkAxiomConverterImpl(index, 1),
+				ChangeIndexingProcessor.ADDITION);
+
+		// told and derived subsumers, conjunctions, disjunctions, and a cycle
+		inserter.visit(objectFactory.getSubClassOfAxiom(a, b));
+		inserter.visit(objectFactory.getSubClassOfAxiom(a, c));
+		inserter.visit(objectFactory.getSubClassOfAxiom(b, c));
+		inserter.visit(objectFactory.getSubClassOfAxiom(a,
+				objectFactory.getObjectIntersectionOf(b, c)));
+		inserter.visit(objectFactory.getSubClassOfAxiom(
+				objectFactory.getObjectIntersectionOf(b, c), d));
+		inserter.visit(objectFactory.getSubClassOfAxiom(a, d));
+		inserter.visit(objectFactory.getSubClassOfAxiom(
+				objectFactory.getObjectUnionOf(b, d), e));
+		inserter.visit(objectFactory.getSubClassOfAxiom(d, a));
+		inserter.visit(objectFactory.getSubClassOfAxiom(e,
+				objectFactory.getObjectSomeValuesFrom(r, a)));
+		inserter.visit(objectFactory.getSubClassOfAxiom(
+				objectFactory.getObjectSomeValuesFrom(r, d), f));
+		inserter.visit(objectFactory.getSubClassOfAxiom(
+				objectFactory.getObjectSomeValuesFrom(r, b), f));
+
+		ElkPolarityExpressionConverter converter = new ElkPolarityExpressionConverterImpl(
+				index);
+
+		IndexedClassExpression A = a.accept(converter);
+		IndexedClassExpression B = b.accept(converter);
+		IndexedClassExpression C = c.accept(converter);
+		IndexedClassExpression D = d.accept(converter);
+		IndexedClassExpression E = e.accept(converter);
+		IndexedClassExpression F = f.accept(converter);
+		IndexedPropertyChain R = r.accept(converter);
+
+		final TestPropertySaturation propertySaturation = new TestPropertySaturation(
+				executor, 16);
+		propertySaturation.start();
+		propertySaturation.submit(R);
+		propertySaturation.finish();
+
+		SaturationState<?> saturationState = SaturationStateFactory
+				.createSaturationState(index);
+		final TestClassExpressionSaturation<SaturationJob<IndexedClassExpression>> classExpressionSaturation = new TestClassExpressionSaturation<SaturationJob<IndexedClassExpression>>(
+				executor, 16, saturationState);
+		// all derivations are produced when they are counted
+		SaturationState<?> referenceState = SaturationStateFactory
+				.createSaturationState(index);
+		final TestClassExpressionSaturation<SaturationJob<IndexedClassExpression>> referenceSaturation = new TestClassExpressionSaturation<SaturationJob<IndexedClassExpression>>(
+				executor, 16, new RuleApplicationAdditionFactory(
+						referenceState,
+						new NonRedundantRuleApplicationVisitorFactory(), true));
+
+		IndexedClassExpression[] roots = new IndexedClassExpression[] { A, B,
+				C, D, E, F };
+		classExpressionSaturation.start();
+		referenceSaturation.start();
+		for (IndexedClassExpression root : roots) {
+			classExpressionSaturation
+					.submit(new SaturationJob<IndexedClassExpression>(root));
+			referenceSaturation
+					.submit(new SaturationJob<IndexedClassExpression>(root));
+		}
+		classExpressionSaturation.finish();
+		referenceSaturation.finish();
+
+		Context context = saturationState.getContext(A);
+		for (IndexedClassExpression subsumer : new IndexedClassExpression[] {
+				A, B, C, D, E, F }) {
+			assertTrue("A contains " + subsumer, context.getSubsumers()
+					.contains(subsumer));
+		}
+		for (IndexedClassExpression root : roots) {
+			assertEquals(root + " subsumers", referenceState.getContext(root)
+					.getSubsumers(), saturationState.getContext(root)
+					.getSubsumers());
+		}
+	}
+
 }
@@ -25,6 +25,7 @@ package org.semanticweb.elk.reasoner.saturation;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.hierarchy.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationFactory;
 import org.semanticweb.elk.util.concurrent.computation.ComputationExecutor;
 import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputationWithInputs;
 
@@ -38,6 +39,12 @@ public class TestClassExpressionSaturation<J extends SaturationJob<? extends Ind
 				maxWorkers), executor, maxWorkers);
 	}
 	
+	public TestClassExpressionSaturation(ComputationExecutor executor,
+			int maxWorkers, RuleApplicationFactory<?> ruleAppFactory) {
+		super(new ClassExpressionSaturationFactory<J>(ruleAppFactory,
+				maxWorkers), executor, maxWorkers);
+	}
+
 	public TestClassExpressionSaturation(ComputationExecutor executor,
 			int maxWorkers, OntologyIndex ontologyIndex) {
 		super(new ClassExpressionSaturationFactory<J>(
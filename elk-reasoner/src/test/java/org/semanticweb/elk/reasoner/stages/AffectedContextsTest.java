@@ -0,0 +1,186 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.incremental.TestChangesLoader;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Checks that the incremental changes are initialized only in the contexts in
+ * which the class expressions with changed rules are subsumers
+ *
+ * @see AbstractIncrementalChangesInitializationStage#getAffectedContexts
+ */
+public class AffectedContextsTest {
+
+	private static final int UNRELATED_CLASS_COUNT_ = 50;
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	/**
+	 * Records the number of contexts selected by the incremental changes
+	 * initialization stages
+	 */
+	static class RecordingStageExecutor extends SimpleStageExecutor {
+
+		int countAdditionContexts = 0;
+
+		int countDeletionContexts = 0;
+
+		@Override
+		public void execute(ReasonerStage stage) throws ElkException {
+			stage.preExecute();
+			if (stage instanceof IncrementalAdditionInitializationStage)
+				countAdditionContexts = ((AbstractIncrementalChangesInitializationStage) stage).countAffectedContexts;
+			if (stage instanceof IncrementalDeletionInitializationStage)
+				countDeletionContexts = ((AbstractIncrementalChangesInitializationStage) stage).countAffectedContexts;
+			stage.execute();
+			stage.postExecute();
+		}
+
+		void reset() {
+			countAdditionContexts = 0;
+			countDeletionContexts = 0;
+		}
+	}
+
+	private ElkClass getClass(String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	@Test
+	public void testOneAxiomChangeVisitsAffectedContexts() throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		RecordingStageExecutor executor = new RecordingStageExecutor();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				executor);
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass B = getClass("B");
+		ElkClass C = getClass("C");
+		ElkClass D = getClass("D");
+		ElkClass E = getClass("E");
+		ElkAxiom axBSubC = objectFactory.getSubClassOfAxiom(B, C);
+		ElkAxiom axCSubD = objectFactory.getSubClassOfAxiom(C, D);
+
+		loader.add(axBSubC).add(objectFactory.getSubClassOfAxiom(B, E))
+				.add(objectFactory.getSubClassOfAxiom(C, E));
+		for (int i = 0; i < UNRELATED_CLASS_COUNT_; i++) {
+			loader.add(objectFactory.getSubClassOfAxiom(getClass("A" + i), E));
+		}
+
+		Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomyQuietly();
+		assertNull(taxonomy.getNode(D));
+
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+
+		// the new rule for C applies only in the contexts of B and C
+		changeLoader.add(axCSubD);
+		executor.reset();
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertTrue(taxonomy.getNode(B).getAllSuperNodes()
+				.contains(taxonomy.getNode(D)));
+		assertEquals(2, executor.countAdditionContexts);
+
+		// the removed rule for B applies only in the context of B
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axBSubC);
+		executor.reset();
+		taxonomy = reasoner.getTaxonomyQuietly();
+		assertTrue(reasoner.isIncrementalMode());
+		assertFalse(taxonomy.getNode(B).getAllSuperNodes()
+				.contains(taxonomy.getNode(D)));
+		assertEquals(1, executor.countDeletionContexts);
+	}
+
+	@Test
+	public void testSubsumerContextsAreExact() throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass B = getClass("B");
+		ElkClass C = getClass("C");
+		ElkClass E = getClass("E");
+		ElkAxiom axBSubC = objectFactory.getSubClassOfAxiom(B, C);
+
+		loader.add(axBSubC).add(objectFactory.getSubClassOfAxiom(B, E))
+				.add(objectFactory.getSubClassOfAxiom(C, E));
+		for (int i = 0; i < UNRELATED_CLASS_COUNT_; i++) {
+			loader.add(objectFactory.getSubClassOfAxiom(getClass("A" + i), E));
+		}
+		reasoner.getTaxonomyQuietly();
+
+		IndexedClassExpression iB = ReasonerStateAccessor.transform(reasoner,
+				B);
+		IndexedClassExpression iC = ReasonerStateAccessor.transform(reasoner,
+				C);
+		IndexedClassExpression iE = ReasonerStateAccessor.transform(reasoner,
+				E);
+
+		// the contexts are not recorded without incremental changes
+		assertEquals(0, iE.getSubsumerContextIds().length);
+		ReasonerStateAccessor.updateSubsumerContexts(reasoner);
+
+		int[] expected = new int[] { iB.getId(), iC.getId() };
+		Arrays.sort(expected);
+		assertTrue(Arrays.equals(expected, iC.getSubsumerContextIds()));
+		assertEquals(UNRELATED_CLASS_COUNT_ + 3,
+				iE.getSubsumerContextIds().length);
+
+		// removing the subsumer removes the context
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axBSubC);
+		reasoner.getTaxonomyQuietly();
+		ReasonerStateAccessor.updateSubsumerContexts(reasoner);
+
+		assertTrue(Arrays.equals(new int[] { iC.getId() },
+				iC.getSubsumerContextIds()));
+		assertTrue(Arrays.equals(new int[] { iB.getId() },
+				iB.getSubsumerContextIds()));
+	}
+
+}
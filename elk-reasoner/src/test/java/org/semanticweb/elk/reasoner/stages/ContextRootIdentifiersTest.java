@@ -0,0 +1,138 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SaturationStateType;
+import org.semanticweb.elk.reasoner.incremental.TestChangesLoader;
+import org.semanticweb.elk.reasoner.indexing.caching.IndexedObjectCache;
+import org.semanticweb.elk.reasoner.indexing.hierarchy.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.ArraySaturationState;
+import org.semanticweb.elk.reasoner.saturation.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * Checks that the {@link IndexedContextRoot}s removed by incremental changes
+ * are no longer retained by their identifiers
+ */
+public class ContextRootIdentifiersTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	private ElkClass getClass(String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	@Test
+	public void testRemovedRootIsReleased() throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass B = getClass("B");
+		ElkClass C = getClass("C");
+		ElkClass X = getClass("X");
+		ElkAxiom axXSubC = objectFactory.getSubClassOfAxiom(X, C);
+		loader.add(objectFactory.getSubClassOfAxiom(B, C)).add(axXSubC);
+		reasoner.getTaxonomyQuietly();
+		IndexedObjectCache index = ((AbstractReasonerState) reasoner).saturationState
+				.getOntologyIndex();
+
+		IndexedClassExpression iX = ReasonerStateAccessor.transform(reasoner,
+				X);
+		IndexedClassExpression iC = ReasonerStateAccessor.transform(reasoner,
+				C);
+		int idX = iX.getId();
+		assertTrue(idX != IndexedContextRoot.NO_ID);
+		assertSame(iX, index.getContextRoot(idX));
+
+		// X no longer occurs in the ontology
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axXSubC);
+		reasoner.getTaxonomyQuietly();
+
+		assertTrue(reasoner.isIncrementalMode());
+		assertNull(index.getContextRoot(idX));
+		assertSame(iC, index.getContextRoot(iC.getId()));
+	}
+
+	@Test
+	public void testRemovedContextIsNotEnumerated() throws ElkException {
+		ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.SATURATION_STATE,
+				SaturationStateType.ARRAY.name());
+		TestChangesLoader loader = new TestChangesLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor(), config);
+		reasoner.setAllowIncrementalMode(false);
+
+		ElkClass B = getClass("B");
+		ElkClass C = getClass("C");
+		ElkClass X = getClass("X");
+		ElkAxiom axXSubC = objectFactory.getSubClassOfAxiom(X, C);
+		loader.add(objectFactory.getSubClassOfAxiom(B, C)).add(axXSubC);
+		reasoner.getTaxonomyQuietly();
+		SaturationState<?> saturationState = ((AbstractReasonerState) reasoner).saturationState;
+		assertTrue(saturationState instanceof ArraySaturationState);
+
+		IndexedClassExpression iX = ReasonerStateAccessor.transform(reasoner,
+				X);
+		Context contextX = saturationState.getContext(iX);
+		assertNotNull(contextX);
+		assertTrue(saturationState.getContexts().contains(contextX));
+		int contextCount = saturationState.getContexts().size();
+
+		// X no longer occurs in the ontology
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(changeLoader);
+		changeLoader.remove(axXSubC);
+		reasoner.getTaxonomyQuietly();
+
+		assertTrue(reasoner.isIncrementalMode());
+		assertFalse(saturationState.getContexts().contains(contextX));
+		assertEquals(contextCount - 1, saturationState.getContexts().size());
+	}
+
+}
@@ -50,4 +50,8 @@ public class ReasonerStateAccessor {
 	public static Context getContext(AbstractReasonerState reasoner, IndexedClassExpression ice) {
 		return reasoner.saturationState.getContext(ice);
 	}
+	
+	public static void updateSubsumerContexts(AbstractReasonerState reasoner) {
+		reasoner.subsumerContextTracker.update(reasoner.saturationState);
+	}
 }
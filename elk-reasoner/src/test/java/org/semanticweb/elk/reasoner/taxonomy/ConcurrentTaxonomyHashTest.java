@@ -0,0 +1,211 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceNodeHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyNodeHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TypeNodeHasher;
+import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTypeNode;
+import org.semanticweb.elk.util.hashing.HashGenerator;
+
+/**
+ * Tests that the hashes maintained by {@link ConcurrentClassTaxonomy} and
+ * {@link ConcurrentInstanceTaxonomy} coincide with the hashes computed from
+ * all nodes after every modification
+ */
+public class ConcurrentTaxonomyHashTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	final ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+	final ElkNamedIndividual i = objectFactory
+			.getNamedIndividual(new ElkFullIri(":i"));
+	final ElkNamedIndividual j = objectFactory
+			.getNamedIndividual(new ElkFullIri(":j"));
+
+	static int recompute(ConcurrentClassTaxonomy taxonomy) {
+		return HashGenerator.combineMultisetHash(true, taxonomy.getNodes(),
+				TaxonomyNodeHasher.INSTANCE);
+	}
+
+	static int recompute(ConcurrentInstanceTaxonomy taxonomy) {
+		return HashGenerator.combineListHash(HashGenerator
+				.combineMultisetHash(true, taxonomy.getTypeNodes(),
+						TypeNodeHasher.INSTANCE), HashGenerator
+				.combineMultisetHash(true, taxonomy.getInstanceNodes(),
+						InstanceNodeHasher.INSTANCE));
+	}
+
+	static void link(UpdateableTaxonomyNode<ElkClass> sub,
+			UpdateableTaxonomyNode<ElkClass> sup) {
+		sub.addDirectSuperNode(sup);
+		sup.addDirectSubNode(sub);
+	}
+
+	static void unlink(UpdateableTaxonomyNode<ElkClass> sub,
+			UpdateableTaxonomyNode<ElkClass> sup) {
+		sub.removeDirectSuperNode(sup);
+		sup.removeDirectSubNode(sub);
+	}
+
+	@Test
+	public void testClassTaxonomy() {
+		ConcurrentClassTaxonomy taxonomy = new ConcurrentClassTaxonomy();
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		UpdateableTaxonomyNode<ElkClass> top = taxonomy.getCreateNode(Collections
+				.singleton((ElkClass) PredefinedElkClass.OWL_THING));
+		UpdateableTaxonomyNode<ElkClass> a = taxonomy.getCreateNode(Collections
+				.singleton(A));
+		link(a, top);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+		// reading again without changes
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		UpdateableTaxonomyNode<ElkClass> b = taxonomy.getCreateNode(Collections
+				.singleton(B));
+		link(b, a);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		// changing the members of a node with neighbours
+		assertEquals(a, taxonomy.getCreateNode(Arrays.asList(A, C)));
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		// changing the members of the bottom node
+		taxonomy.addToBottomNode(D);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+		taxonomy.getBottomNode().getMembers().remove(D);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		// removing a node
+		unlink(b, a);
+		taxonomy.removeNode(b);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+		taxonomy.addToBottomNode(B);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+	}
+
+	@Test
+	public void testFirstHashAfterChanges() {
+		ConcurrentClassTaxonomy taxonomy = new ConcurrentClassTaxonomy();
+		// the changes are not tracked before the hash is requested
+		UpdateableTaxonomyNode<ElkClass> top = taxonomy.getCreateNode(Collections
+				.singleton((ElkClass) PredefinedElkClass.OWL_THING));
+		UpdateableTaxonomyNode<ElkClass> a = taxonomy.getCreateNode(Collections
+				.singleton(A));
+		link(a, top);
+		taxonomy.addToBottomNode(D);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		// the changes are tracked from now on
+		UpdateableTaxonomyNode<ElkClass> b = taxonomy.getCreateNode(Collections
+				.singleton(B));
+		link(b, a);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+	}
+
+	@Test
+	public void testInstanceTaxonomy() {
+		ConcurrentInstanceTaxonomy taxonomy = new ConcurrentInstanceTaxonomy();
+		UpdateableTaxonomyNode<ElkClass> top = taxonomy.getCreateNode(Collections
+				.singleton((ElkClass) PredefinedElkClass.OWL_THING));
+		UpdateableTaxonomyNode<ElkClass> a = taxonomy.getCreateNode(Collections
+				.singleton(A));
+		link(a, top);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		UpdateableTypeNode<ElkClass, ElkNamedIndividual> typeA = taxonomy
+				.getUpdateableTypeNode(A);
+		IndividualNode nodeI = taxonomy.getCreateInstanceNode(Collections
+				.singleton(i));
+		nodeI.addDirectTypeNode(typeA);
+		typeA.addDirectInstanceNode(nodeI);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		// changing the members of the instance node and of its type
+		taxonomy.getCreateInstanceNode(Arrays.asList(i, j));
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+		taxonomy.getCreateNode(Arrays.asList(A, B));
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		// changing the leaves and the bottom node
+		UpdateableTaxonomyNode<ElkClass> c = taxonomy.getCreateNode(Collections
+				.singleton(C));
+		link(c, a);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+		taxonomy.addToBottomNode(D);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		// removing the type node and the instance node
+		taxonomy.removeNode(a);
+		unlink(c, a);
+		unlink(a, top);
+		link(c, top);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+		taxonomy.removeInstanceNode(i);
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+	}
+
+	@Test
+	public void testInstanceTaxonomyOfExistingClassTaxonomy() {
+		ConcurrentClassTaxonomy classTaxonomy = new ConcurrentClassTaxonomy();
+		UpdateableTaxonomyNode<ElkClass> top = classTaxonomy
+				.getCreateNode(Collections
+						.singleton((ElkClass) PredefinedElkClass.OWL_THING));
+		link(classTaxonomy.getCreateNode(Collections.singleton(A)), top);
+		assertEquals(recompute(classTaxonomy), classTaxonomy.getHash());
+
+		ConcurrentInstanceTaxonomy taxonomy = new ConcurrentInstanceTaxonomy(
+				classTaxonomy);
+		taxonomy.getCreateInstanceNode(Collections.singleton(i))
+				.addDirectTypeNode(taxonomy.getUpdateableTopNode());
+		taxonomy.getUpdateableTopNode().addDirectInstanceNode(
+				taxonomy.getInstanceNode(i));
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+
+		// an instance taxonomy created later takes over the updates
+		ConcurrentInstanceTaxonomy other = new ConcurrentInstanceTaxonomy(
+				classTaxonomy);
+		link(classTaxonomy.getCreateNode(Collections.singleton(B)), top);
+		assertEquals(recompute(other), other.getHash());
+		assertEquals(recompute(taxonomy), taxonomy.getHash());
+		assertEquals(recompute(classTaxonomy), classTaxonomy.getHash());
+	}
+
+}
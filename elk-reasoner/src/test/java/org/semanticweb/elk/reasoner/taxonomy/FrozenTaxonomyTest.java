@@ -0,0 +1,123 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestLoader;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.stages.SimpleStageExecutor;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Tests for {@link FrozenTaxonomy}
+ */
+public class FrozenTaxonomyTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	final ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+	final ElkClass E = objectFactory.getClass(new ElkFullIri(":E"));
+
+	private Reasoner createReasoner() {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B))
+				.add(objectFactory.getEquivalentClassesAxiom(B, C))
+				.add(objectFactory.getSubClassOfAxiom(D, B))
+				.add(objectFactory.getSubClassOfAxiom(E,
+						PredefinedElkClass.OWL_NOTHING));
+		return TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+	}
+
+	@Test
+	public void testQueries() throws ElkException {
+		Taxonomy<ElkClass> taxonomy = createReasoner().getTaxonomy();
+		FrozenTaxonomy<ElkClass> frozen = new FrozenTaxonomy<ElkClass>(
+				taxonomy);
+		assertEquals(TaxonomyHasher.hash(taxonomy),
+				TaxonomyHasher.hash(frozen));
+		assertEquals(taxonomy.getNodes().size(), frozen.getNodes().size());
+
+		TaxonomyNode<ElkClass> nodeA = frozen.getNode(A);
+		TaxonomyNode<ElkClass> nodeB = frozen.getNode(B);
+		TaxonomyNode<ElkClass> nodeD = frozen.getNode(D);
+		assertEquals(nodeB, frozen.getNode(C));
+		assertTrue(nodeB.getMembers().contains(C));
+		assertFalse(nodeB.getMembers().contains(A));
+		assertEquals(2, nodeB.getMembers().size());
+		assertTrue(nodeA.getDirectSuperNodes().contains(nodeB));
+		assertEquals(1, nodeA.getDirectSuperNodes().size());
+		assertTrue(nodeB.getDirectSubNodes().contains(nodeA));
+		assertTrue(nodeB.getDirectSubNodes().contains(nodeD));
+		assertTrue(nodeA.getAllSuperNodes().contains(frozen.getTopNode()));
+		assertTrue(frozen.getTopNode().getAllSubNodes().contains(nodeD));
+		assertFalse(nodeA.getAllSuperNodes().contains(nodeD));
+		assertTrue(frozen.getBottomNode().getMembers().contains(E));
+		assertTrue(frozen.getNodes().contains(nodeD));
+		assertEquals(PredefinedElkClass.OWL_THING, frozen.getTopNode()
+				.getCanonicalMember());
+		assertNull(frozen.getNode(objectFactory.getClass(new ElkFullIri(
+				":F"))));
+	}
+
+	@Test
+	public void testThaw() throws ElkException {
+		Taxonomy<ElkClass> taxonomy = createReasoner().getTaxonomy();
+		ConcurrentClassTaxonomy thawed = new ConcurrentClassTaxonomy(
+				new FrozenTaxonomy<ElkClass>(taxonomy));
+		assertEquals(TaxonomyHasher.hash(taxonomy),
+				TaxonomyHasher.hash(thawed));
+		assertTrue(thawed.getNode(E) == thawed.getBottomNode());
+	}
+
+	@Test
+	public void testReasoner() throws ElkException {
+		int hash = TaxonomyHasher.hash(createReasoner().getTaxonomy());
+		Reasoner reasoner = createReasoner();
+		reasoner.setFreezeTaxonomy(true);
+		Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomy();
+		assertTrue(taxonomy instanceof FrozenTaxonomy);
+		assertEquals(hash, TaxonomyHasher.hash(taxonomy));
+		// the taxonomy is thawed again when instances are needed
+		reasoner.getInstanceTaxonomy();
+		assertEquals(hash, TaxonomyHasher.hash(reasoner.getTaxonomy()));
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestLoader;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.stages.SimpleStageExecutor;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Tests that {@link ParallelTaxonomyPrinter} prints the same as
+ * {@link TaxonomyPrinter}
+ */
+public class ParallelTaxonomyPrinterTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	/**
+	 * @return a reasoner for an ontology whose taxonomy has several batches of
+	 *         nodes, some of which have several members
+	 */
+	private Reasoner createReasoner() {
+		int size = 3 * ParallelTaxonomyPrinter.BATCH_SIZE + 7;
+		ElkClass[] classes = new ElkClass[size];
+		TestLoader loader = new TestLoader();
+		for (int i = 0; i < size; i++) {
+			classes[i] = objectFactory.getClass(new ElkFullIri(":C" + i));
+			if (i > 0)
+				loader.add(objectFactory.getSubClassOfAxiom(classes[i],
+						classes[(i - 1) / 3]));
+			if (i % 5 == 0) {
+				loader.add(objectFactory.getEquivalentClassesAxiom(classes[i],
+						objectFactory.getClass(new ElkFullIri(":E" + i))));
+				ElkNamedIndividual individual = objectFactory
+						.getNamedIndividual(new ElkFullIri(":i" + i));
+				loader.add(objectFactory.getClassAssertionAxiom(classes[i],
+						individual));
+				if (i % 10 == 0)
+					loader.add(objectFactory.getClassAssertionAxiom(
+							classes[i / 2], individual));
+			}
+		}
+		return TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+	}
+
+	@Test
+	public void testClassTaxonomy() throws ElkException, IOException {
+		Taxonomy<ElkClass> taxonomy = createReasoner().getTaxonomy();
+		StringWriter expected = new StringWriter();
+		TaxonomyPrinter.dumpClassTaxomomy(taxonomy, expected, true);
+		for (int threadCount = 1; threadCount <= 4; threadCount++) {
+			StringWriter actual = new StringWriter();
+			ParallelTaxonomyPrinter.dumpClassTaxomomy(taxonomy, actual, true,
+					threadCount);
+			assertEquals(expected.toString(), actual.toString());
+		}
+	}
+
+	@Test
+	public void testInstanceTaxonomy() throws ElkException, IOException {
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = createReasoner()
+				.getInstanceTaxonomy();
+		StringWriter expected = new StringWriter();
+		TaxonomyPrinter.dumpInstanceTaxomomy(taxonomy, expected, true);
+		for (int threadCount = 1; threadCount <= 4; threadCount++) {
+			StringWriter actual = new StringWriter();
+			ParallelTaxonomyPrinter.dumpInstanceTaxomomy(taxonomy, actual,
+					true, threadCount);
+			assertEquals(expected.toString(), actual.toString());
+		}
+	}
+
+}
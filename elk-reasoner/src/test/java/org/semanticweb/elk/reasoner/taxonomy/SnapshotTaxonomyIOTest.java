@@ -0,0 +1,232 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.exceptions.ElkException;
+import org.semanticweb.elk.owl.implementation.ElkObjectFactoryImpl;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObjectFactory;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClass;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestLoader;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.incremental.IncrementalChangeType;
+import org.semanticweb.elk.reasoner.incremental.TestChangesLoader;
+import org.semanticweb.elk.reasoner.stages.SimpleStageExecutor;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceTaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Tests for {@link SnapshotTaxonomyIO}
+ */
+public class SnapshotTaxonomyIOTest {
+
+	final ElkObjectFactory objectFactory = new ElkObjectFactoryImpl();
+
+	final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	final ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+	final ElkNamedIndividual i = objectFactory
+			.getNamedIndividual(new ElkFullIri(":i"));
+	final ElkNamedIndividual j = objectFactory
+			.getNamedIndividual(new ElkFullIri(":j"));
+
+	private List<ElkAxiom> createAxioms() {
+		return new ArrayList<ElkAxiom>(Arrays.asList(
+				objectFactory.getSubClassOfAxiom(A, B),
+				objectFactory.getEquivalentClassesAxiom(B, C),
+				objectFactory.getClassAssertionAxiom(A, i),
+				objectFactory.getClassAssertionAxiom(B, j),
+				objectFactory.getSameIndividualAxiom(Arrays.asList(i,
+						objectFactory.getNamedIndividual(new ElkFullIri(":k"))))));
+	}
+
+	private TestLoader createLoader() {
+		return new TestLoader(createAxioms());
+	}
+
+	@Test
+	public void testClassTaxonomy() throws ElkException, IOException {
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(
+				createLoader(), new SimpleStageExecutor());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		reasoner.saveTaxonomySnapshot(output);
+
+		Reasoner restored = TestReasonerUtils.createTestReasoner(
+				createLoader(), new SimpleStageExecutor());
+		restored.restoreTaxonomySnapshot(
+				new ByteArrayInputStream(output.toByteArray()), objectFactory);
+		Taxonomy<ElkClass> taxonomy = restored.getTaxonomySnapshot();
+		// the restored taxonomy is available without computing it
+		assertFalse(restored.doneTaxonomy());
+		assertEquals(TaxonomyHasher.hash(reasoner.getTaxonomy()),
+				TaxonomyHasher.hash(taxonomy));
+		assertTrue(taxonomy.getNode(C).getMembers().contains(B));
+		assertTrue(taxonomy.getNode(A).getDirectSuperNodes()
+				.contains(taxonomy.getNode(B)));
+		assertEquals(PredefinedElkClass.OWL_THING, taxonomy.getTopNode()
+				.getCanonicalMember());
+	}
+
+	@Test
+	public void testInstanceTaxonomy() throws ElkException, IOException {
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(
+				createLoader(), new SimpleStageExecutor());
+		int hash = InstanceTaxonomyHasher.hash(reasoner.getInstanceTaxonomy());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		reasoner.saveTaxonomySnapshot(output);
+
+		Reasoner restored = TestReasonerUtils.createTestReasoner(
+				createLoader(), new SimpleStageExecutor());
+		restored.restoreTaxonomySnapshot(
+				new ByteArrayInputStream(output.toByteArray()), objectFactory);
+		assertEquals(hash,
+				InstanceTaxonomyHasher.hash(restored
+						.getInstanceTaxonomySnapshot()));
+		assertFalse(restored.doneTaxonomy());
+
+		// the changes are reflected after the taxonomy is recomputed
+		restored.registerAxiomLoader(new TestChangesLoader(Arrays
+				.<ElkAxiom> asList(objectFactory.getSubClassOfAxiom(D, A)),
+				IncrementalChangeType.ADD));
+		assertTrue(restored.getTaxonomySnapshot().getNode(D) == null);
+		restored.getInstanceTaxonomy();
+		assertTrue(restored.getTaxonomySnapshot().getNode(D)
+				.getDirectSuperNodes()
+				.contains(restored.getTaxonomySnapshot().getNode(A)));
+		assertEquals(InstanceTaxonomyHasher.hash(restored
+				.getInstanceTaxonomy()), InstanceTaxonomyHasher.hash(restored
+				.getInstanceTaxonomySnapshot()));
+	}
+
+	@Test
+	public void testDifferentOntology() throws ElkException, IOException {
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(
+				createLoader(), new SimpleStageExecutor());
+		reasoner.getTaxonomyQuietly();
+		// the saved taxonomy reflects the changes
+		ElkAxiom axDSubA = objectFactory.getSubClassOfAxiom(D, A);
+		ElkAxiom axASubB = objectFactory.getSubClassOfAxiom(A, B);
+		reasoner.registerAxiomLoader(new TestChangesLoader().add(axDSubA)
+				.remove(axASubB));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		reasoner.saveTaxonomySnapshot(output);
+		byte[] saved = output.toByteArray();
+
+		// the order of axioms does not matter
+		List<ElkAxiom> axioms = createAxioms();
+		axioms.remove(axASubB);
+		axioms.add(axDSubA);
+		Collections.reverse(axioms);
+		Reasoner restored = TestReasonerUtils.createTestReasoner(
+				new TestLoader(axioms), new SimpleStageExecutor());
+		restored.restoreTaxonomySnapshot(new ByteArrayInputStream(saved),
+				objectFactory);
+		assertFalse(restored.doneTaxonomy());
+		assertEquals(TaxonomyHasher.hash(reasoner.getTaxonomy()),
+				TaxonomyHasher.hash(restored.getTaxonomySnapshot()));
+
+		// the snapshot is refused for the ontology before the changes
+		Reasoner other = TestReasonerUtils.createTestReasoner(createLoader(),
+				new SimpleStageExecutor());
+		try {
+			other.restoreTaxonomySnapshot(new ByteArrayInputStream(saved),
+					objectFactory);
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+		assertTrue(other.getTaxonomySnapshot().getNode(D) == null);
+	}
+
+	@Test
+	public void testInconsistent() throws ElkException, IOException {
+		TestLoader loader = new TestLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A,
+				PredefinedElkClass.OWL_NOTHING)).add(
+				objectFactory.getClassAssertionAxiom(A, i));
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				new SimpleStageExecutor());
+		reasoner.getInstanceTaxonomyQuietly();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		reasoner.saveTaxonomySnapshot(output);
+		SnapshotTaxonomyIO.Snapshot snapshot = SnapshotTaxonomyIO.restore(
+				new ByteArrayInputStream(output.toByteArray()), objectFactory);
+		assertTrue(snapshot.hasInstances());
+		assertEquals(
+				InstanceTaxonomyHasher.hash(reasoner
+						.getInstanceTaxonomyQuietly()),
+				InstanceTaxonomyHasher.hash(snapshot.getTaxonomy()));
+		assertTrue(snapshot.getTaxonomy().getTopNode() == snapshot
+				.getTaxonomy().getBottomNode());
+	}
+
+	@Test
+	public void testDamaged() throws ElkException, IOException {
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(
+				createLoader(), new SimpleStageExecutor());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		reasoner.saveTaxonomySnapshot(output);
+		byte[] saved = output.toByteArray();
+
+		byte[] otherVersion = saved.clone();
+		otherVersion[7]++;
+		assertNotRestored(otherVersion);
+		assertNotRestored(Arrays.copyOf(saved, saved.length / 2));
+		for (int pos = 8; pos < saved.length; pos++) {
+			byte[] changed = saved.clone();
+			changed[pos] ^= 1;
+			assertNotRestored(changed);
+		}
+	}
+
+	private void assertNotRestored(byte[] data) {
+		try {
+			SnapshotTaxonomyIO.restore(new ByteArrayInputStream(data),
+					objectFactory);
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+}
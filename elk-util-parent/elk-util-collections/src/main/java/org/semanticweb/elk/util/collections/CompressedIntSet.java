@@ -0,0 +1,499 @@
+package org.semanticweb.elk.util.collections;
+/*
+ * #%L
+ * ELK Utilities Collections
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of non-negative {@code int} values whose representation adapts to the
+ * number of elements. Small sets are kept in one sorted {@code int} array.
+ * Larger sets are split into chunks of elements with the same upper 16 bits,
+ * similarly to Roaring bitmaps [1]: a chunk keeps the lower 16 bits of its
+ * elements either in a sorted {@code char} array if there are few of them, or
+ * in a bitmap of {@code 2^16} bits otherwise. The elements are iterated in
+ * increasing order.
+ *
+ * [1] Samy Chambi, Daniel Lemire, Owen Kaser, Robert Godin: Better bitmap
+ * performance with Roaring bitmaps. Software: Practice and Experience 46(5),
+ * 2016.
+ *
+ * This set is not thread safe.
+ */
+public class CompressedIntSet {
+
+	/**
+	 * the maximal number of elements stored in one sorted array; when this
+	 * number is exceeded the elements are split into chunks
+	 */
+	static final int MAX_SMALL_SIZE = 64;
+
+	/**
+	 * the maximal number of elements of a chunk stored as a sorted array;
+	 * bigger chunks are stored as bitmaps
+	 */
+	static final int MAX_ARRAY_CHUNK_SIZE = 4096;
+
+	/**
+	 * bitmap chunks with fewer elements are converted back to sorted arrays
+	 */
+	static final int MIN_BITMAP_CHUNK_SIZE = MAX_ARRAY_CHUNK_SIZE / 2;
+
+	/**
+	 * the number of {@code long} words in a bitmap chunk
+	 */
+	private static final int BITMAP_LENGTH_ = 1 << 10;
+
+	private static final int[] EMPTY_ELEMENTS_ = new int[0];
+
+	private static final char[] EMPTY_KEYS_ = new char[0];
+
+	private static final Object[] EMPTY_CHUNKS_ = new Object[0];
+
+	private static final int[] EMPTY_CHUNK_SIZES_ = new int[0];
+
+	/**
+	 * the sorted elements of this set if it is small, or {@code null} if the
+	 * elements are stored in chunks
+	 */
+	private int[] elements_ = EMPTY_ELEMENTS_;
+
+	/**
+	 * the upper 16 bits of the elements of each chunk in increasing order
+	 */
+	private char[] keys_ = EMPTY_KEYS_;
+
+	/**
+	 * the lower 16 bits of the elements of each chunk, either as sorted
+	 * {@code char[]} or as {@code long[]} bitmap
+	 */
+	private Object[] chunks_ = EMPTY_CHUNKS_;
+
+	/**
+	 * the number of elements in each chunk
+	 */
+	private int[] chunkSizes_ = EMPTY_CHUNK_SIZES_;
+
+	/**
+	 * the number of used positions in {@link #keys_}, {@link #chunks_}, and
+	 * {@link #chunkSizes_}
+	 */
+	private int chunkCount_ = 0;
+
+	/**
+	 * the number of elements in this set
+	 */
+	private int size_ = 0;
+
+	public int size() {
+		return size_;
+	}
+
+	public boolean isEmpty() {
+		return size_ == 0;
+	}
+
+	public boolean contains(int element) {
+		if (element < 0)
+			return false;
+		// else
+		if (elements_ != null)
+			return Arrays.binarySearch(elements_, 0, size_, element) >= 0;
+		// else
+		int pos = findChunk((char) (element >>> 16));
+		if (pos < 0)
+			return false;
+		// else
+		Object chunk = chunks_[pos];
+		char low = (char) element;
+		if (chunk instanceof long[])
+			return (((long[]) chunk)[low >>> 6] & (1L << low)) != 0;
+		// else
+		return Arrays.binarySearch((char[]) chunk, 0, chunkSizes_[pos], low) >= 0;
+	}
+
+	/**
+	 * Adds the given element to this set
+	 *
+	 * @param element
+	 *            a non-negative value
+	 * @return {@code true} if this set did not contain the element
+	 */
+	public boolean add(int element) {
+		if (element < 0)
+			throw new IllegalArgumentException("Negative element: " + element);
+		// else
+		if (elements_ != null) {
+			int pos = Arrays.binarySearch(elements_, 0, size_, element);
+			if (pos >= 0)
+				return false;
+			// else
+			if (size_ < MAX_SMALL_SIZE) {
+				elements_ = insert(elements_, size_, -pos - 1, element,
+						MAX_SMALL_SIZE);
+				size_++;
+				return true;
+			}
+			// else
+			splitIntoChunks();
+		}
+		char key = (char) (element >>> 16);
+		int pos = findChunk(key);
+		if (pos < 0) {
+			pos = -pos - 1;
+			insertChunk(pos, key);
+		}
+		if (!addToChunk(pos, (char) element))
+			return false;
+		// else
+		size_++;
+		return true;
+	}
+
+	/**
+	 * Removes the given element from this set
+	 *
+	 * @param element
+	 * @return {@code true} if this set contained the element
+	 */
+	public boolean remove(int element) {
+		if (element < 0)
+			return false;
+		// else
+		if (elements_ != null) {
+			int pos = Arrays.binarySearch(elements_, 0, size_, element);
+			if (pos < 0)
+				return false;
+			// else
+			System.arraycopy(elements_, pos + 1, elements_, pos, size_ - pos
+					- 1);
+			size_--;
+			if (size_ < elements_.length >> 2)
+				elements_ = Arrays.copyOf(elements_, size_ << 1);
+			return true;
+		}
+		// else
+		int pos = findChunk((char) (element >>> 16));
+		if (pos < 0)
+			return false;
+		// else
+		if (!removeFromChunk(pos, (char) element))
+			return false;
+		// else
+		size_--;
+		if (chunkSizes_[pos] == 0)
+			removeChunk(pos);
+		if (size_ <= MAX_SMALL_SIZE >> 1)
+			mergeChunks();
+		return true;
+	}
+
+	public void clear() {
+		elements_ = EMPTY_ELEMENTS_;
+		keys_ = EMPTY_KEYS_;
+		chunks_ = EMPTY_CHUNKS_;
+		chunkSizes_ = EMPTY_CHUNK_SIZES_;
+		chunkCount_ = 0;
+		size_ = 0;
+	}
+
+	/**
+	 * @return an {@link IntIterator} over the elements of this set in
+	 *         increasing order; the set should not be modified during the
+	 *         iteration
+	 */
+	public IntIterator iterator() {
+		if (elements_ != null)
+			return new SmallSetIterator();
+		// else
+		return new ChunkedSetIterator();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("[");
+		IntIterator iterator = iterator();
+		while (iterator.hasNext()) {
+			builder.append(iterator.next());
+			if (iterator.hasNext())
+				builder.append(", ");
+		}
+		return builder.append(']').toString();
+	}
+
+	/**
+	 * @param key
+	 * @return the position of the chunk with the given key, or
+	 *         {@code (-(insertion point) - 1)} if there is no such chunk
+	 */
+	private int findChunk(char key) {
+		return Arrays.binarySearch(keys_, 0, chunkCount_, key);
+	}
+
+	private void insertChunk(int pos, char key) {
+		if (chunkCount_ == keys_.length) {
+			int capacity = chunkCount_ < 2 ? 2 : chunkCount_ + (chunkCount_ >> 1);
+			keys_ = Arrays.copyOf(keys_, capacity);
+			chunks_ = Arrays.copyOf(chunks_, capacity);
+			chunkSizes_ = Arrays.copyOf(chunkSizes_, capacity);
+		}
+		int tail = chunkCount_ - pos;
+		System.arraycopy(keys_, pos, keys_, pos + 1, tail);
+		System.arraycopy(chunks_, pos, chunks_, pos + 1, tail);
+		System.arraycopy(chunkSizes_, pos, chunkSizes_, pos + 1, tail);
+		keys_[pos] = key;
+		chunks_[pos] = EMPTY_KEYS_;
+		chunkSizes_[pos] = 0;
+		chunkCount_++;
+	}
+
+	private void removeChunk(int pos) {
+		int tail = chunkCount_ - pos - 1;
+		System.arraycopy(keys_, pos + 1, keys_, pos, tail);
+		System.arraycopy(chunks_, pos + 1, chunks_, pos, tail);
+		System.arraycopy(chunkSizes_, pos + 1, chunkSizes_, pos, tail);
+		chunkCount_--;
+		chunks_[chunkCount_] = null;
+	}
+
+	private boolean addToChunk(int pos, char low) {
+		Object chunk = chunks_[pos];
+		int chunkSize = chunkSizes_[pos];
+		if (chunk instanceof long[]) {
+			long[] bitmap = (long[]) chunk;
+			int word = low >>> 6;
+			long mask = 1L << low;
+			if ((bitmap[word] & mask) != 0)
+				return false;
+			// else
+			bitmap[word] |= mask;
+		} else {
+			char[] array = (char[]) chunk;
+			int i = Arrays.binarySearch(array, 0, chunkSize, low);
+			if (i >= 0)
+				return false;
+			// else
+			if (chunkSize < MAX_ARRAY_CHUNK_SIZE)
+				chunks_[pos] = insert(array, chunkSize, -i - 1, low);
+			else {
+				long[] bitmap = toBitmap(array, chunkSize);
+				bitmap[low >>> 6] |= 1L << low;
+				chunks_[pos] = bitmap;
+			}
+		}
+		chunkSizes_[pos]++;
+		return true;
+	}
+
+	private boolean removeFromChunk(int pos, char low) {
+		Object chunk = chunks_[pos];
+		int chunkSize = chunkSizes_[pos];
+		if (chunk instanceof long[]) {
+			long[] bitmap = (long[]) chunk;
+			int word = low >>> 6;
+			long mask = 1L << low;
+			if ((bitmap[word] & mask) == 0)
+				return false;
+			// else
+			bitmap[word] &= ~mask;
+			chunkSize--;
+			if (chunkSize < MIN_BITMAP_CHUNK_SIZE)
+				chunks_[pos] = toArray(bitmap, chunkSize);
+		} else {
+			char[] array = (char[]) chunk;
+			int i = Arrays.binarySearch(array, 0, chunkSize, low);
+			if (i < 0)
+				return false;
+			// else
+			System.arraycopy(array, i + 1, array, i, chunkSize - i - 1);
+			chunkSize--;
+		}
+		chunkSizes_[pos] = chunkSize;
+		return true;
+	}
+
+	/**
+	 * Moves the elements stored in {@link #elements_} to chunks
+	 */
+	private void splitIntoChunks() {
+		int[] elements = elements_;
+		int size = size_;
+		elements_ = null;
+		size_ = 0;
+		for (int i = 0; i < size; i++) {
+			add(elements[i]);
+		}
+	}
+
+	/**
+	 * Moves the elements stored in chunks to {@link #elements_}
+	 */
+	private void mergeChunks() {
+		int[] elements = new int[size_ << 1];
+		int i = 0;
+		IntIterator iterator = new ChunkedSetIterator();
+		while (iterator.hasNext()) {
+			elements[i++] = iterator.next();
+		}
+		int size = size_;
+		clear();
+		elements_ = elements;
+		size_ = size;
+	}
+
+	private static int[] insert(int[] array, int size, int pos, int value,
+			int maxCapacity) {
+		int[] result = array;
+		if (size == array.length)
+			result = new int[Math.min(maxCapacity, size < 4 ? 4 : size
+					+ (size >> 1))];
+		if (result != array)
+			System.arraycopy(array, 0, result, 0, pos);
+		System.arraycopy(array, pos, result, pos + 1, size - pos);
+		result[pos] = value;
+		return result;
+	}
+
+	private static char[] insert(char[] array, int size, int pos, char value) {
+		char[] result = array;
+		if (size == array.length)
+			result = new char[Math.min(MAX_ARRAY_CHUNK_SIZE, size < 4 ? 4
+					: size + (size >> 1))];
+		if (result != array)
+			System.arraycopy(array, 0, result, 0, pos);
+		System.arraycopy(array, pos, result, pos + 1, size - pos);
+		result[pos] = value;
+		return result;
+	}
+
+	private static long[] toBitmap(char[] array, int size) {
+		long[] bitmap = new long[BITMAP_LENGTH_];
+		for (int i = 0; i < size; i++) {
+			char low = array[i];
+			bitmap[low >>> 6] |= 1L << low;
+		}
+		return bitmap;
+	}
+
+	private static char[] toArray(long[] bitmap, int size) {
+		char[] array = new char[size + (size >> 1)];
+		int i = 0;
+		for (int word = 0; word < BITMAP_LENGTH_; word++) {
+			long bits = bitmap[word];
+			while (bits != 0) {
+				array[i++] = (char) ((word << 6) + Long
+						.numberOfTrailingZeros(bits));
+				bits &= bits - 1;
+			}
+		}
+		return array;
+	}
+
+	private class SmallSetIterator implements IntIterator {
+
+		private int cursor_ = 0;
+
+		@Override
+		public boolean hasNext() {
+			return cursor_ < size_;
+		}
+
+		@Override
+		public int next() {
+			if (cursor_ >= size_)
+				throw new NoSuchElementException();
+			// else
+			return elements_[cursor_++];
+		}
+
+	}
+
+	private class ChunkedSetIterator implements IntIterator {
+
+		/**
+		 * the position of the current chunk
+		 */
+		private int chunkPos_ = 0;
+
+		/**
+		 * the position in the array of the current chunk or the next bit to
+		 * check in the bitmap of the current chunk
+		 */
+		private int chunkCursor_ = 0;
+
+		private int next_;
+
+		ChunkedSetIterator() {
+			seekNext();
+		}
+
+		private void seekNext() {
+			while (chunkPos_ < chunkCount_) {
+				Object chunk = chunks_[chunkPos_];
+				int high = keys_[chunkPos_] << 16;
+				if (chunk instanceof long[]) {
+					long[] bitmap = (long[]) chunk;
+					int word = chunkCursor_ >>> 6;
+					if (word < BITMAP_LENGTH_) {
+						long bits = bitmap[word] & (-1L << chunkCursor_);
+						for (;;) {
+							if (bits != 0) {
+								int low = (word << 6)
+										+ Long.numberOfTrailingZeros(bits);
+								next_ = high | low;
+								chunkCursor_ = low + 1;
+								return;
+							}
+							if (++word == BITMAP_LENGTH_)
+								break;
+							bits = bitmap[word];
+						}
+					}
+				} else if (chunkCursor_ < chunkSizes_[chunkPos_]) {
+					next_ = high | ((char[]) chunk)[chunkCursor_++];
+					return;
+				}
+				// else go to the next chunk
+				chunkPos_++;
+				chunkCursor_ = 0;
+			}
+			next_ = -1;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next_ >= 0;
+		}
+
+		@Override
+		public int next() {
+			int result = next_;
+			if (result < 0)
+				throw new NoSuchElementException();
+			// else
+			seekNext();
+			return result;
+		}
+
+	}
+
+}
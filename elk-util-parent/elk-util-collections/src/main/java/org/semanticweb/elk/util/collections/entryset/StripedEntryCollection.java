@@ -0,0 +1,161 @@
+/*
+ * #%L
+ * ELK Utilities Collections
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections.entryset;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.semanticweb.elk.util.collections.Operations;
+
+/**
+ * A collection of entries, similar to {@link EntryCollection}, which can be
+ * safely accessed by several threads. The entries are distributed over a fixed
+ * number of {@link EntryCollection}s (stripes) according to the higher bits of
+ * their {@link Entry#structuralHashCode()}, and every stripe is accessed only
+ * under its own monitor. Hence, operations on entries that fall into different
+ * stripes can be performed concurrently.
+ * 
+ * The methods {@link #findStructural(Entry)}, {@link #addStructural(Entry)},
+ * and {@link #removeStructural(Entry)} are thread-safe. The methods
+ * {@link #size()} and {@link #iterator()} are not synchronized and should be
+ * used only when this collection is not modified.
+ * 
+ * @param <E>
+ *            the type of entries in the collection
+ */
+public class StripedEntryCollection<E extends Entry<?, E>> extends
+		AbstractCollection<E> {
+
+	/**
+	 * the number of higher bits of hash codes that determine the stripes
+	 */
+	private static final int STRIPE_BITS_ = 4;
+
+	/**
+	 * the minimal initial capacity of each stripe
+	 */
+	private static final int MIN_STRIPE_CAPACITY_ = 16;
+
+	private final EntryCollection<E>[] stripes_;
+
+	@SuppressWarnings("unchecked")
+	public StripedEntryCollection(int initialCapacity) {
+		int stripeCapacity = Math.max(initialCapacity >> STRIPE_BITS_,
+				MIN_STRIPE_CAPACITY_);
+		this.stripes_ = new EntryCollection[1 << STRIPE_BITS_];
+		for (int i = 0; i < stripes_.length; i++) {
+			stripes_[i] = new EntryCollection<E>(stripeCapacity);
+		}
+	}
+
+	public StripedEntryCollection() {
+		this(EntryCollection.DEFAULT_INITIAL_CAPACITY << STRIPE_BITS_);
+	}
+
+	/**
+	 * @param h
+	 *            the structural hash code of an entry
+	 * @return the stripe in which entries with the given hash code are stored;
+	 *         the stripe is selected by the higher bits of the hash, the lower
+	 *         bits are used for the buckets of the stripe
+	 */
+	private EntryCollection<E> getStripe(int h) {
+		return stripes_[EntryCollection.hash(h) >>> (32 - STRIPE_BITS_)];
+	}
+
+	/**
+	 * Finds and returns the entry in this collection that is structurally
+	 * equal to the input entry if there is one.
+	 * 
+	 * @see EntryCollection#findStructural(Entry)
+	 * 
+	 * @param entry
+	 *            the entry for which the equal entry should be found
+	 * @return the entry in the collection that is equal to the input entry if
+	 *         there is one, or {@code null} otherwise
+	 */
+	public <T extends Entry<T, ?>> T findStructural(Entry<T, ?> entry) {
+		EntryCollection<E> stripe = getStripe(entry.structuralHashCode());
+		synchronized (stripe) {
+			return stripe.findStructural(entry);
+		}
+	}
+
+	/**
+	 * Adds the given entry to this collection
+	 * 
+	 * @see EntryCollection#addStructural(Entry)
+	 * 
+	 * @param entry
+	 */
+	public void addStructural(E entry) {
+		EntryCollection<E> stripe = getStripe(entry.structuralHashCode());
+		synchronized (stripe) {
+			stripe.addStructural(entry);
+		}
+	}
+
+	/**
+	 * Removes and returns the entry in this collection that is structurally
+	 * equal to the specified entry.
+	 * 
+	 * @see EntryCollection#removeStructural(Entry)
+	 * 
+	 * @param entry
+	 *            the entry that is used for finding the entry to be removed
+	 * @return the removed entry, or {@code null} if no entry that is equal to
+	 *         the input object is found
+	 */
+	public <T extends Entry<T, ?>> T removeStructural(Entry<T, ?> entry) {
+		EntryCollection<E> stripe = getStripe(entry.structuralHashCode());
+		synchronized (stripe) {
+			return stripe.removeStructural(entry);
+		}
+	}
+
+	@Override
+	public int size() {
+		int result = 0;
+		for (int i = 0; i < stripes_.length; i++) {
+			result += stripes_[i].size();
+		}
+		return result;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < stripes_.length; i++) {
+			EntryCollection<E> stripe = stripes_[i];
+			synchronized (stripe) {
+				stripe.clear();
+			}
+		}
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return Operations.<E> concat(Arrays.asList(stripes_)).iterator();
+	}
+
+}
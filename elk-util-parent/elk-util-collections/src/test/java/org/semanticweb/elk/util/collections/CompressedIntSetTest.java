@@ -0,0 +1,109 @@
+package org.semanticweb.elk.util.collections;
+/*
+ * #%L
+ * ELK Utilities Collections
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares {@link CompressedIntSet} against a {@link TreeSet} of the same
+ * elements
+ */
+public class CompressedIntSetTest extends TestCase {
+
+	public CompressedIntSetTest(String testName) {
+		super(testName);
+	}
+
+	static void testSetEquality(TreeSet<Integer> referenceSet,
+			CompressedIntSet testSet) {
+		assertEquals(referenceSet.size(), testSet.size());
+		IntIterator iterator = testSet.iterator();
+		// the elements must be iterated in increasing order
+		for (int expected : referenceSet) {
+			assertTrue(iterator.hasNext());
+			assertEquals(expected, iterator.next());
+		}
+		assertFalse(iterator.hasNext());
+	}
+
+	/**
+	 * Randomly adds and removes elements from ranges of different densities,
+	 * so that all representations of chunks are used
+	 */
+	public void testAddRemoveContains() {
+		Random generator = new Random(123);
+		for (int range : new int[] { 100, 5000, 200000, Integer.MAX_VALUE }) {
+			TreeSet<Integer> referenceSet = new TreeSet<Integer>();
+			CompressedIntSet testSet = new CompressedIntSet();
+			for (int round = 0; round < 4; round++) {
+				// grow the set
+				for (int i = 0; i < 20000; i++) {
+					int element = generator.nextInt(range);
+					assertEquals(referenceSet.add(element),
+							testSet.add(element));
+				}
+				testSetEquality(referenceSet, testSet);
+				// shrink the set
+				for (int i = 0; i < 30000; i++) {
+					int element = generator.nextInt(range);
+					assertEquals(referenceSet.contains(element),
+							testSet.contains(element));
+					assertEquals(referenceSet.remove(element),
+							testSet.remove(element));
+				}
+				testSetEquality(referenceSet, testSet);
+				// remove almost all elements
+				while (referenceSet.size() > 3) {
+					int element = referenceSet.pollFirst();
+					assertTrue(testSet.remove(element));
+					assertFalse(testSet.contains(element));
+				}
+				testSetEquality(referenceSet, testSet);
+			}
+			testSet.clear();
+			assertTrue(testSet.isEmpty());
+			assertFalse(testSet.iterator().hasNext());
+		}
+	}
+
+	public void testDenseChunk() {
+		CompressedIntSet testSet = new CompressedIntSet();
+		TreeSet<Integer> referenceSet = new TreeSet<Integer>();
+		// all elements of one chunk and some of the neighbouring ones
+		for (int element = 65530; element < 2 * 65536 + 10; element++) {
+			testSet.add(element);
+			referenceSet.add(element);
+		}
+		testSetEquality(referenceSet, testSet);
+		for (int element = 65540; element < 2 * 65536; element += 2) {
+			assertTrue(testSet.remove(element));
+			referenceSet.remove(element);
+		}
+		testSetEquality(referenceSet, testSet);
+		assertFalse(testSet.contains(-1));
+		assertFalse(testSet.remove(-1));
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * ELK Utilities Collections
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections.entryset;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+import org.semanticweb.elk.util.collections.entryset.EntryCollectionTest.Int;
+
+public class StripedEntryCollectionTest extends TestCase {
+
+	public StripedEntryCollectionTest(String testName) {
+		super(testName);
+	}
+
+	static void testSetEquality(Set<Integer> referenceSet,
+			StripedEntryCollection<Int> testSet) {
+		for (int n : referenceSet) {
+			Int canonical = testSet.findStructural(new Int(n));
+			assertNotNull(canonical);
+			assertEquals(n, canonical.getValue());
+		}
+		assertEquals(referenceSet.size(), testSet.size());
+		int i = 0;
+		for (Int e : testSet) {
+			assertTrue(referenceSet.contains(e.getValue()));
+			i++;
+		}
+		assertEquals(referenceSet.size(), i);
+	}
+
+	@Test
+	public static void testAddRemoveContains() {
+		Random generator = new Random(123);
+		final int noElements = 5000;
+		StripedEntryCollection<Int> testSet = new StripedEntryCollection<Int>(
+				64);
+		Set<Integer> referenceSet = new HashSet<Integer>(noElements);
+
+		for (int i = 0; i < noElements; i++) {
+			int n = generator.nextInt(noElements / 2);
+			if (generator.nextInt(3) > 0) {
+				if (referenceSet.add(n)) {
+					assertNull(testSet.findStructural(new Int(n)));
+					testSet.addStructural(new Int(n));
+				}
+				assertNotNull(testSet.findStructural(new Int(n)));
+			} else {
+				if (referenceSet.remove(n))
+					assertNotNull(testSet.removeStructural(new Int(n)));
+				else
+					assertNull(testSet.removeStructural(new Int(n)));
+				assertNull(testSet.findStructural(new Int(n)));
+			}
+			assertEquals(referenceSet.size(), testSet.size());
+		}
+		testSetEquality(referenceSet, testSet);
+
+		testSet.clear();
+		referenceSet.clear();
+		testSetEquality(referenceSet, testSet);
+	}
+
+	@Test
+	public static void testConcurrentAdd() throws InterruptedException {
+		final int noThreads = 4;
+		final int noElements = 20000;
+		final StripedEntryCollection<Int> testSet = new StripedEntryCollection<Int>();
+		Thread[] threads = new Thread[noThreads];
+		for (int t = 0; t < noThreads; t++) {
+			final int first = t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for (int n = first; n < noElements; n += noThreads) {
+						testSet.addStructural(new Int(n));
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (int t = 0; t < noThreads; t++) {
+			threads[t].join();
+		}
+		Set<Integer> referenceSet = new HashSet<Integer>(noElements);
+		for (int n = 0; n < noElements; n++) {
+			referenceSet.add(n);
+		}
+		testSetEquality(referenceSet, testSet);
+	}
+
+}
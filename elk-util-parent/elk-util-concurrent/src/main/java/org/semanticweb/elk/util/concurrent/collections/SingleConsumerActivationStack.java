@@ -0,0 +1,143 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A non-blocking implementation of {@link ActivationStack} for many producers
+ * and a single consumer. The elements can be inserted using {@link #push}
+ * concurrently by several threads, but {@link #pop()} and {@link #peek()}
+ * should not be called by several threads at the same time. This is the case
+ * when the stack is used as a todo queue of an object that is processed by at
+ * most one thread between the activation ({@link #push} returns {@code true})
+ * and clearing ({@link #pop()} returns {@code null}).
+ * 
+ * The producers insert elements using the Treiber's algorithm (Treiber, 1986).
+ * The consumer takes all inserted elements at once with one atomic operation
+ * and returns them one by one without further synchronization. Unlike
+ * {@link ConcurrentLinkedActivationStack}, the head of the stack is stored in a
+ * volatile field updated by an {@link AtomicReferenceFieldUpdater}, so no
+ * objects other than the nodes for elements are created. This stack does not
+ * allow storing {@code null} values.
+ * 
+ * @param <E>
+ *            the type of elements in the stack
+ */
+public class SingleConsumerActivationStack<E> implements ActivationStack<E> {
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<SingleConsumerActivationStack, Node> TOP_UPDATER_ = AtomicReferenceFieldUpdater
+			.newUpdater(SingleConsumerActivationStack.class, Node.class,
+					"top_");
+
+	/**
+	 * a special dummy node used to mark the end of the stack after it has been
+	 * activated
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static final Node<?> END_ = new Node(null);
+
+	/**
+	 * the head of the elements inserted by the producers, {@link #END_} if no
+	 * elements were inserted since they were taken by the consumer, or
+	 * {@code null} if the stack is cleared
+	 */
+	private volatile Node<E> top_ = null;
+
+	/**
+	 * the elements taken by the consumer that are not yet returned; this field
+	 * is accessed only by the consumer
+	 */
+	private Node<E> taken_ = null;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean push(E element) {
+		if (element == null)
+			throw new IllegalArgumentException(
+					"Elements in the stack cannot be null");
+		Node<E> newHead = new Node<E>(element);
+		for (;;) {
+			Node<E> oldHead = top_;
+			newHead.next = oldHead == null ? (Node<E>) END_ : oldHead;
+			if (TOP_UPDATER_.compareAndSet(this, oldHead, newHead))
+				return oldHead == null;
+		}
+	}
+
+	@Override
+	public E pop() {
+		Node<E> head = taken_;
+		if (head == null || head == END_) {
+			head = takeAll();
+			if (head == null)
+				return null;
+		}
+		taken_ = head.next;
+		return head.item;
+	}
+
+	@Override
+	public E peek() {
+		Node<E> head = taken_;
+		if (head == null || head == END_)
+			head = top_;
+		if (head == null)
+			return null;
+		return head.item;
+	}
+
+	/**
+	 * Takes all elements inserted by the producers, or clears the stack if
+	 * there are no such elements
+	 * 
+	 * @return the head of the taken elements or {@code null} if the stack was
+	 *         cleared
+	 */
+	@SuppressWarnings("unchecked")
+	private Node<E> takeAll() {
+		for (;;) {
+			Node<E> head = top_;
+			if (head == null)
+				return null;
+			if (head == END_) {
+				if (TOP_UPDATER_.compareAndSet(this, head, null))
+					return null;
+				continue;
+			}
+			if (TOP_UPDATER_.compareAndSet(this, head, END_))
+				return head;
+		}
+	}
+
+	private static class Node<T> {
+		public final T item;
+		public Node<T> next;
+
+		public Node(T item) {
+			this.item = item;
+		}
+	}
+
+}
@@ -23,7 +23,6 @@
 package org.semanticweb.elk.util.concurrent.computation;
 
 import java.util.Arrays;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -35,6 +34,17 @@ import java.util.concurrent.locks.ReentrantLock;
  * pool of the given size. The threads in this pool are created on demand; its
  * size can be changed and idle threads can be terminated after a timeout.
  * 
+ * In the adaptive mode, see {@link #setAdaptive(boolean)}, the computations
+ * using this executor can start a job in fewer instances than they may
+ * eventually need, and add further instances using
+ * {@link #addInstances(int)} while the job is running.
+ * 
+ * If a {@link ParallelismLimiter} is set, see
+ * {@link #setParallelismLimiter(ParallelismLimiter)}, every job instance runs
+ * only with a permit of this {@link ParallelismLimiter}. This way, the number
+ * of workers running at the same time can be bounded for several
+ * {@link ComputationExecutor}s.
+ * 
  * @author "Yevgeny Kazakov"
  */
 public class ComputationExecutor {
@@ -46,9 +56,9 @@ public class ComputationExecutor {
 	private final String threadPoolName_;
 
 	/**
-	 * the latch indicating that job processing is done
+	 * the number of instances of the last job that have not finished yet
 	 */
-	private CountDownLatch jobsDone_;
+	private int unfinishedInstances_ = 0;
 
 	/**
 	 * {@code true} if new tasks can be started to be executed; this can happen
@@ -77,7 +87,8 @@ public class ComputationExecutor {
 	private Runnable nextJob_;
 
 	/**
-	 * the number of worker instances required to execute the last job
+	 * the number of worker instances required to execute the last job; it can
+	 * grow while the job is running, see {@link #addInstances(int)}
 	 */
 	private int nextJobNoInstances_;
 
@@ -101,6 +112,23 @@ public class ComputationExecutor {
 	 */
 	private final Condition canRun_;
 
+	/**
+	 * to signal that all instances of the {@link #nextJob_} have finished
+	 */
+	private final Condition jobsDone_;
+
+	/**
+	 * {@code true} if the computations should start with few instances of
+	 * jobs and add instances when required
+	 */
+	private volatile boolean adaptive_ = false;
+
+	/**
+	 * if not {@code null}, the job instances run only with permits of this
+	 * {@link ParallelismLimiter.Client}
+	 */
+	private volatile ParallelismLimiter.Client limiterClient_ = null;
+
 	/**
 	 * {@code true} if idle threads can be terminated after the timeout
 	 */
@@ -126,6 +154,7 @@ public class ComputationExecutor {
 		this.exception_ = null;
 		this.lock_ = new ReentrantLock();
 		this.canRun_ = lock_.newCondition();
+		this.jobsDone_ = lock_.newCondition();
 	}
 
 	/**
@@ -160,6 +189,71 @@ public class ComputationExecutor {
 		return true;
 	}
 
+	/**
+	 * Sets whether this {@link ComputationExecutor} is used in the adaptive
+	 * mode, in which computations should start jobs in few instances and add
+	 * new instances using {@link #addInstances(int)} when there is enough work
+	 * for them.
+	 * 
+	 * @param adaptive
+	 */
+	public void setAdaptive(boolean adaptive) {
+		this.adaptive_ = adaptive;
+	}
+
+	/**
+	 * @return {@code true} if this {@link ComputationExecutor} is used in the
+	 *         adaptive mode
+	 * @see #setAdaptive(boolean)
+	 */
+	public boolean isAdaptive() {
+		return adaptive_;
+	}
+
+	/**
+	 * Sets the {@link ParallelismLimiter} from which the job instances should
+	 * obtain permits to run. Shouldn't be used while jobs are running.
+	 * 
+	 * @param limiter
+	 *            the {@link ParallelismLimiter} to be used or {@code null} if
+	 *            the number of running job instances should not be limited
+	 */
+	public synchronized void setParallelismLimiter(ParallelismLimiter limiter) {
+		limiterClient_ = limiter == null ? null : limiter.newClient();
+	}
+
+	/**
+	 * Releases the permit to run of the current job instance if a
+	 * {@link ParallelismLimiter} is used, see
+	 * {@link #setParallelismLimiter(ParallelismLimiter)}. This method can be
+	 * called by a running job instance before waiting for a long time, so that
+	 * other workers can run meanwhile. The job instance must call
+	 * {@link #reacquirePermit()} when it continues.
+	 */
+	public void releasePermit() {
+		ParallelismLimiter.Client client = limiterClient_;
+		if (client != null)
+			client.release();
+	}
+
+	/**
+	 * Acquires the permit to run of the current job instance after
+	 * {@link #releasePermit()}; interrupts are ignored while waiting for the
+	 * permit.
+	 */
+	public void reacquirePermit() {
+		ParallelismLimiter.Client client = limiterClient_;
+		if (client != null)
+			client.acquireUninterruptibly();
+	}
+
+	/**
+	 * @return the maximal number of instances in which jobs can run
+	 */
+	public synchronized int getPoolSize() {
+		return workerThreads_.length;
+	}
+
 	/**
 	 * Starts a several copies of jobs. After that new jobs will not be accepted
 	 * until the method {@link #waitDone()} is called
@@ -177,31 +271,78 @@ public class ComputationExecutor {
 		if (!jobsAccepted_)
 			return false;
 		jobsAccepted_ = false;
-		int processedJobeCount = submittedJobCount_;
-		// setting up the fields shared with the workers
-		this.nextJob_ = job;
-		this.jobsDone_ = new CountDownLatch(noInstances);
-		this.nextJobNoInstances_ = noInstances;
-		this.submittedJobCount_++;
-		// waking up idle workers
 		lock_.lock();
 		try {
+			// setting up the fields shared with the workers
+			this.nextJob_ = job;
+			this.unfinishedInstances_ = noInstances;
+			this.nextJobNoInstances_ = noInstances;
+			this.submittedJobCount_++;
+			// waking up idle workers
+			canRun_.signalAll();
+			createMissingWorkers(0, noInstances);
+		} finally {
+			lock_.unlock();
+		}
+		checkException();
+		return true;
+	}
+
+	/**
+	 * Starts further instances of the job that is currently running. The
+	 * number of instances cannot exceed the pool size. Instances can be added
+	 * only until all instances of the job have finished.
+	 * 
+	 * @param count
+	 *            how many instances should be added
+	 * @return the number of instances that have been added, which can be
+	 *         smaller than the requested number
+	 */
+	public int addInstances(int count) {
+		lock_.lock();
+		try {
+			if (unfinishedInstances_ == 0)
+				// no job running
+				return 0;
+			// else
+			int noInstances = Math.min(nextJobNoInstances_ + count,
+					workerThreads_.length);
+			int added = noInstances - nextJobNoInstances_;
+			if (added <= 0)
+				return 0;
+			// else
+			unfinishedInstances_ += added;
+			int first = nextJobNoInstances_;
+			nextJobNoInstances_ = noInstances;
 			canRun_.signalAll();
+			createMissingWorkers(first, noInstances);
+			return added;
 		} finally {
 			lock_.unlock();
 		}
-		// creating missing workers
-		for (int i = 0; i < noInstances; i++) {
-			Thread workerThread = workerThreads_[i];
+	}
+
+	/**
+	 * Creates workers with identifiers in the given range for which there are
+	 * no threads; should be called only under {@link #lock_}
+	 * 
+	 * @param first
+	 *            the first identifier, inclusive
+	 * @param last
+	 *            the last identifier, exclusive
+	 */
+	private void createMissingWorkers(int first, int last) {
+		Thread[] workerThreads = workerThreads_;
+		for (int i = first; i < last; i++) {
+			Thread workerThread = workerThreads[i];
 			if (workerThread == null) {
-				workerThread = new Thread(new Worker(i, processedJobeCount),
-						threadPoolName_ + "-thread-" + (i + 1));
-				workerThreads_[i] = workerThread;
+				workerThread = new Thread(new Worker(i,
+						submittedJobCount_ - 1), threadPoolName_ + "-thread-"
+						+ (i + 1));
+				workerThreads[i] = workerThread;
 				workerThread.start();
 			}
 		}
-		checkException();
-		return true;
 	}
 
 	/**
@@ -232,7 +373,14 @@ public class ComputationExecutor {
 	 */
 	public synchronized void waitDone() throws InterruptedException {
 		try {
-			jobsDone_.await();
+			lock_.lockInterruptibly();
+			try {
+				while (unfinishedInstances_ > 0) {
+					jobsDone_.await();
+				}
+			} finally {
+				lock_.unlock();
+			}
 		} catch (InterruptedException e) {
 			checkException();
 			throw e;
@@ -275,7 +423,7 @@ public class ComputationExecutor {
 		private final int workerId_;
 
 		/**
-		 * incremented when the worker has processed a job
+		 * the number of the last job processed by this worker
 		 */
 		private int processedJobCount_;
 
@@ -287,13 +435,17 @@ public class ComputationExecutor {
 		@Override
 		public void run() {
 			for (;;) {
+				Runnable job;
 				try {
 					lock_.lockInterruptibly();
 					try {
 						long nanos = timeout_;
-						while (processedJobCount_ == submittedJobCount_) {
-							// waiting until the next job is submitted or
-							// timeout occurs
+						/*
+						 * waiting until the next job is submitted that requires
+						 * this worker, or timeout occurs
+						 */
+						while (processedJobCount_ == submittedJobCount_
+								|| workerId_ >= nextJobNoInstances_) {
 							if (timeOutEnabled_) {
 								if (nanos <= 0) {
 									dispose();
@@ -304,32 +456,60 @@ public class ComputationExecutor {
 								canRun_.await();
 							}
 						}
+						processedJobCount_ = submittedJobCount_;
+						job = nextJob_;
 					} finally {
 						lock_.unlock();
 					}
-					if (workerId_ >= workerThreads_.length) {
-						// this worker is not needed anymore
-						return;
-					}
-					if (workerId_ < nextJobNoInstances_) {
-						nextJob_.run();
-					}
-					processedJobCount_++;
 				} catch (InterruptedException e) {
-					if (shutdown_) {
-						dispose();
-					} else if (workerId_ < workerThreads_.length) {
-						handleUnexpectedException(e);
-					}
+					handleInterrupt(e);
 					return;
+				}
+				ParallelismLimiter.Client client = limiterClient_;
+				if (client != null) {
+					try {
+						client.acquire();
+					} catch (InterruptedException e) {
+						instanceFinished();
+						handleInterrupt(e);
+						return;
+					}
+				}
+				try {
+					job.run();
 				} catch (Throwable e) {
 					handleUnexpectedException(e);
+					return;
 				} finally {
-					jobsDone_.countDown();
+					if (client != null)
+						client.release();
+					instanceFinished();
+				}
+				if (workerId_ >= workerThreads_.length) {
+					// this worker is not needed anymore
+					return;
 				}
 			}
 		}
 
+		private void handleInterrupt(InterruptedException e) {
+			if (shutdown_) {
+				dispose();
+			} else if (workerId_ < workerThreads_.length) {
+				handleUnexpectedException(e);
+			}
+		}
+
+		private void instanceFinished() {
+			lock_.lock();
+			try {
+				if (--unfinishedInstances_ == 0)
+					jobsDone_.signalAll();
+			} finally {
+				lock_.unlock();
+			}
+		}
+
 		private void handleUnexpectedException(Throwable e) {
 			exception_ = new ComputationRuntimeException(
 					"Uncaught exception in a worker thread:", e);
@@ -24,6 +24,7 @@ package org.semanticweb.elk.util.concurrent.computation;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An class for concurrent processing of a number of tasks. The input for the
@@ -38,6 +39,17 @@ import java.util.concurrent.BlockingQueue;
  * further input can be submitted and the workers will terminate when all input
  * has been processed or they are interrupted earlier, whichever is earlier.
  * 
+ * If the {@link ComputationExecutor} is in the adaptive mode, the processing
+ * starts with one worker. A new worker is added (or a parked worker is
+ * resumed) when the number of buffered inputs per active worker exceeds
+ * {@link #GROW_THRESHOLD}. A worker that has not received any input for
+ * {@link #IDLE_TIMEOUT_NANOS} is parked unless it is the last active worker.
+ * 
+ * Several inputs can be submitted at once using
+ * {@link #submitAll(Iterable)}, in which case they are buffered in batches of
+ * at most {@link #BATCH_SIZE} inputs, each of which is taken by one worker.
+ * This way, the buffer is accessed once per batch rather than once per input.
+ * 
  * @author "Yevgeny Kazakov"
  * 
  * @param <I>
@@ -48,9 +60,15 @@ import java.util.concurrent.BlockingQueue;
 public class ConcurrentComputationWithInputs<I, F extends InputProcessorFactory<I, ?>>
 		extends ConcurrentComputation<F> {
 	/**
-	 * the internal buffer for queuing input
+	 * the maximal number of inputs in the batches created by
+	 * {@link #submitAll(Iterable)}
+	 */
+	public static final int BATCH_SIZE = 32;
+	/**
+	 * the internal buffer for queuing input; contains the submitted inputs,
+	 * {@link Batch}es of inputs, and poison pills
 	 */
-	private final BlockingQueue<I> buffer_;
+	private final BlockingQueue<Object> buffer_;
 	/**
 	 * the capacity of the buffer
 	 */
@@ -58,8 +76,53 @@ public class ConcurrentComputationWithInputs<I, F extends InputProcessorFactory<
 	/**
 	 * a special object to "wake up" worker threads waiting for the input
 	 */
-	@SuppressWarnings("unchecked")
-	private final I poison_pill_ = (I) new Object();
+	private final Object poison_pill_ = new Object();
+
+	/**
+	 * in the adaptive mode, the number of buffered inputs per active worker
+	 * after which a new worker is added
+	 */
+	static final int GROW_THRESHOLD = 4;
+
+	/**
+	 * in the adaptive mode, how long a worker waits for new input before it is
+	 * parked
+	 */
+	static final long IDLE_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+	/**
+	 * {@code true} if the workers are added and parked adaptively; this is
+	 * determined when the computation starts
+	 */
+	private volatile boolean adaptive_ = false;
+
+	/**
+	 * the monitor for the fields below that count workers
+	 */
+	private final Object activity_ = new Object();
+
+	/**
+	 * the number of workers that currently process the inputs
+	 */
+	private int activeWorkers_ = 0;
+
+	/**
+	 * the number of workers that are parked because there was no input for
+	 * them
+	 */
+	private int parkedWorkers_ = 0;
+
+	/**
+	 * the number of parked workers requested to resume the processing
+	 */
+	private int pendingResumes_ = 0;
+
+	/**
+	 * the statistics about decisions in the adaptive mode, accumulated over
+	 * all runs of this computation
+	 */
+	private int statsWorkersStarted_ = 0, statsWorkersParked_ = 0,
+			statsWorkersResumed_ = 0, statsMaxActiveWorkers_ = 0;
 
 	/**
 	 * Creating a {@link ConcurrentComputationWithInputs} instance.
@@ -84,7 +147,7 @@ public class ConcurrentComputationWithInputs<I, F extends InputProcessorFactory<
 			bufferCapacity = maxWorkers + 1;
 		}
 		this.bufferCapacity_ = bufferCapacity;
-		this.buffer_ = new ArrayBlockingQueue<I>(bufferCapacity);
+		this.buffer_ = new ArrayBlockingQueue<Object>(bufferCapacity);
 	}
 
 	/**
@@ -119,12 +182,229 @@ public class ConcurrentComputationWithInputs<I, F extends InputProcessorFactory<
 	public synchronized boolean submit(I input) throws InterruptedException {
 		if (termination)
 			return false;
+		if (adaptive_)
+			adaptWorkers();
 		buffer_.put(input);
 		return true;
 	}
 
+	/**
+	 * Submitting several inputs for processing. The inputs are buffered in
+	 * batches of at most {@link #BATCH_SIZE} inputs, which are processed by
+	 * workers one batch at a time. If the buffer is full, the method blocks
+	 * until new space is available. If there are at most {@link #BATCH_SIZE}
+	 * inputs, they are submitted either all or none.
+	 * 
+	 * @param inputs
+	 *            the inputs to be processed
+	 * @return {@code true} if all inputs have been successfully submitted for
+	 *         computation; if {@code false} is returned, the inputs can be
+	 *         submitted partly, e.g., if {@link #finish()} has been called or
+	 *         the computation was interrupted while the inputs were submitted
+	 * @throws InterruptedException
+	 *             thrown if interrupted during waiting for space to be
+	 *             available
+	 */
+	public synchronized boolean submitAll(Iterable<? extends I> inputs)
+			throws InterruptedException {
+		Object[] batch = new Object[BATCH_SIZE];
+		int size = 0;
+		for (I input : inputs) {
+			batch[size++] = input;
+			if (size == BATCH_SIZE) {
+				if (!submitBatch(batch, size))
+					return false;
+				batch = new Object[BATCH_SIZE];
+				size = 0;
+			}
+		}
+		return size == 0 || submitBatch(batch, size);
+	}
+
+	private boolean submitBatch(Object[] inputs, int size)
+			throws InterruptedException {
+		if (termination)
+			return false;
+		if (adaptive_)
+			adaptWorkers();
+		buffer_.put(size == 1 ? inputs[0] : new Batch(inputs, size));
+		return true;
+	}
+
+	@Override
+	public synchronized boolean start() {
+		adaptive_ = executor.isAdaptive();
+		if (!adaptive_)
+			return super.start();
+		// else start with one worker
+		if (!executor.start(worker, 1))
+			return false;
+		synchronized (activity_) {
+			activeWorkers_ = 1;
+			parkedWorkers_ = 0;
+			pendingResumes_ = 0;
+			statsWorkersStarted_++;
+			updateMaxActiveWorkers();
+		}
+		return true;
+	}
+
+	/**
+	 * Resumes a parked worker or adds a new one if there are too many buffered
+	 * inputs per active worker
+	 */
+	private void adaptWorkers() {
+		int buffered = buffer_.size();
+		synchronized (activity_) {
+			if (buffered < GROW_THRESHOLD * activeWorkers_
+					|| activeWorkers_ >= maxWorkers)
+				return;
+			// else
+			if (parkedWorkers_ > pendingResumes_) {
+				pendingResumes_++;
+				activeWorkers_++;
+				statsWorkersResumed_++;
+				updateMaxActiveWorkers();
+				activity_.notify();
+				return;
+			}
+		}
+		// else try to start a new worker
+		if (executor.addInstances(1) == 0)
+			return;
+		// else
+		synchronized (activity_) {
+			activeWorkers_++;
+			statsWorkersStarted_++;
+			updateMaxActiveWorkers();
+		}
+	}
+
+	/**
+	 * Parks the current worker until it is resumed or the computation is
+	 * terminated, unless it is the last active worker. The parked worker
+	 * does not hold the permit of the {@link ComputationExecutor} to run.
+	 * 
+	 * @throws InterruptedException
+	 *             if interrupted while parked
+	 */
+	private void park() throws InterruptedException {
+		synchronized (activity_) {
+			if (activeWorkers_ <= 1)
+				return;
+			// else
+			activeWorkers_--;
+			parkedWorkers_++;
+			statsWorkersParked_++;
+		}
+		executor.releasePermit();
+		try {
+			synchronized (activity_) {
+				for (;;) {
+					if (pendingResumes_ > 0) {
+						pendingResumes_--;
+						parkedWorkers_--;
+						return;
+					}
+					if (termination) {
+						parkedWorkers_--;
+						activeWorkers_++;
+						return;
+					}
+					activity_.wait();
+				}
+			}
+		} finally {
+			executor.reacquirePermit();
+		}
+	}
+
+	/**
+	 * Takes the next element from the buffer, waiting for it if necessary; in
+	 * the adaptive mode, waits at most {@link #IDLE_TIMEOUT_NANOS}. While
+	 * waiting, the worker does not hold the permit of the
+	 * {@link ComputationExecutor} to run, so that, e.g., the workers of other
+	 * computations sharing the same {@link ParallelismLimiter} can run.
+	 * 
+	 * @return the next element of the buffer or {@code null} if there was
+	 *         none within the timeout of the adaptive mode
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	private Object takeInput() throws InterruptedException {
+		Object result = buffer_.poll();
+		if (result != null)
+			return result;
+		// else wait without the permit
+		executor.releasePermit();
+		try {
+			return adaptive_ ? buffer_.poll(IDLE_TIMEOUT_NANOS,
+					TimeUnit.NANOSECONDS) : buffer_.take();
+		} finally {
+			executor.reacquirePermit();
+		}
+	}
+
+	private void updateMaxActiveWorkers() {
+		if (activeWorkers_ > statsMaxActiveWorkers_)
+			statsMaxActiveWorkers_ = activeWorkers_;
+	}
+
+	/**
+	 * @return the number of workers started by this computation so far
+	 */
+	public int getStartedWorkerCount() {
+		synchronized (activity_) {
+			return adaptive_ ? statsWorkersStarted_ : maxWorkers;
+		}
+	}
+
+	/**
+	 * @return how many times the workers of this computation were parked in
+	 *         the adaptive mode because there was no input for them
+	 */
+	public int getParkedWorkerCount() {
+		synchronized (activity_) {
+			return statsWorkersParked_;
+		}
+	}
+
+	/**
+	 * @return how many times parked workers of this computation were resumed
+	 *         in the adaptive mode
+	 */
+	public int getResumedWorkerCount() {
+		synchronized (activity_) {
+			return statsWorkersResumed_;
+		}
+	}
+
+	/**
+	 * @return the maximal number of workers of this computation that were
+	 *         active at the same time
+	 */
+	public int getMaxActiveWorkerCount() {
+		synchronized (activity_) {
+			return adaptive_ ? statsMaxActiveWorkers_ : maxWorkers;
+		}
+	}
+
+	/**
+	 * @return {@code true} if the workers of this computation were added and
+	 *         parked adaptively during the last run
+	 */
+	public boolean isAdaptive() {
+		return adaptive_;
+	}
+
 	@Override
 	protected synchronized void waitWorkers() throws InterruptedException {
+		if (adaptive_) {
+			// parked workers should terminate too
+			synchronized (activity_) {
+				activity_.notifyAll();
+			}
+		}
 		if (buffer_.isEmpty())
 			// wake up blocked workers if not done already
 			buffer_.offer(poison_pill_);
@@ -168,10 +448,15 @@ public class ConcurrentComputationWithInputs<I, F extends InputProcessorFactory<
 						inputProcessor.process(); // can be interrupted
 						doneProcess = true;
 					}
-					I nextInput = buffer_.take();
-					if (nextInput != poison_pill_) {						
-						inputProcessor.submit(nextInput); // should not fail
-						inputProcessor.process(); // can be interrupted
+					Object nextInput = takeInput();
+					if (nextInput == null) {
+						// no input for a while
+						if (!termination) {
+							park();
+							continue;
+						}
+					} else if (nextInput != poison_pill_) {
+						process(inputProcessor, nextInput); // can be interrupted
 					}
 					if (termination) {
 						if (buffer_.isEmpty()) {
@@ -207,4 +492,44 @@ public class ConcurrentComputationWithInputs<I, F extends InputProcessorFactory<
 			}
 		}
 	}
+
+	/**
+	 * Submits the input taken from the buffer to the given
+	 * {@link InputProcessor} and processes it; the inputs of a {@link Batch}
+	 * are submitted and processed one after another
+	 * 
+	 * @throws InterruptedException
+	 *             if interrupted during processing
+	 */
+	@SuppressWarnings("unchecked")
+	private void process(InputProcessor<I> inputProcessor, Object input)
+			throws InterruptedException {
+		if (input instanceof Batch) {
+			Batch batch = (Batch) input;
+			for (int i = 0; i < batch.size; i++) {
+				inputProcessor.submit((I) batch.inputs[i]); // should not fail
+				inputProcessor.process();
+			}
+		} else {
+			inputProcessor.submit((I) input); // should not fail
+			inputProcessor.process();
+		}
+	}
+
+	/**
+	 * Several inputs buffered as one element by
+	 * {@link ConcurrentComputationWithInputs#submitAll(Iterable)}
+	 */
+	private static class Batch {
+
+		final Object[] inputs;
+
+		final int size;
+
+		Batch(Object[] inputs, int size) {
+			this.inputs = inputs;
+			this.size = size;
+		}
+
+	}
 }
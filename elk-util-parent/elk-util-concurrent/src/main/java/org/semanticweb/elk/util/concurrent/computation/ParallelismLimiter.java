@@ -0,0 +1,223 @@
+package org.semanticweb.elk.util.concurrent.computation;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Limits the number of workers that can run at the same time, e.g., in all
+ * {@link ComputationExecutor}s using this {@link ParallelismLimiter}. Every
+ * {@link ComputationExecutor} uses its own {@link Client}, for which the
+ * workers wait for a permit before running a job instance. Released permits
+ * are passed to the waiting {@link Client}s in a round-robin fashion, so
+ * that a {@link Client} with many waiting workers cannot delay the workers
+ * of other {@link Client}s.
+ */
+public class ParallelismLimiter {
+
+	/**
+	 * the {@link ParallelismLimiter}s returned by {@link #getShared(int)}
+	 */
+	private static final Map<Integer, ParallelismLimiter> SHARED_ = new HashMap<Integer, ParallelismLimiter>();
+
+	/**
+	 * the maximal number of permits that can be given out at the same time
+	 */
+	private final int parallelism_;
+
+	/**
+	 * the number of permits that are currently not given out
+	 */
+	private int available_;
+
+	/**
+	 * the {@link Client}s with waiting workers in the order in which they
+	 * receive the released permits
+	 */
+	private final Queue<Client> waitingClients_ = new ArrayDeque<Client>();
+
+	public ParallelismLimiter(int parallelism) {
+		if (parallelism <= 0)
+			throw new IllegalArgumentException("Parallelism must be positive: "
+					+ parallelism);
+		this.parallelism_ = parallelism;
+		this.available_ = parallelism;
+	}
+
+	/**
+	 * @param parallelism
+	 *            the maximal number of permits that can be given out at the
+	 *            same time
+	 * @return the {@link ParallelismLimiter} with the given parallelism shared
+	 *         by all callers of this method in this JVM
+	 */
+	public static synchronized ParallelismLimiter getShared(int parallelism) {
+		ParallelismLimiter result = SHARED_.get(parallelism);
+		if (result == null) {
+			result = new ParallelismLimiter(parallelism);
+			SHARED_.put(parallelism, result);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the maximal number of permits that can be given out at the same
+	 *         time
+	 */
+	public int getParallelism() {
+		return parallelism_;
+	}
+
+	/**
+	 * @return a new {@link Client} of this {@link ParallelismLimiter}
+	 */
+	public Client newClient() {
+		return new Client();
+	}
+
+	/**
+	 * Gives the released permit to the next waiting {@link Client}, if there
+	 * is one; should be called under the monitor of this object
+	 */
+	private void passPermit() {
+		Client next = waitingClients_.poll();
+		if (next == null) {
+			available_++;
+			return;
+		}
+		// else
+		next.waiting_--;
+		next.granted_++;
+		if (next.waiting_ > 0)
+			// the client waits for other permits after the other clients
+			waitingClients_.add(next);
+		notifyAll();
+	}
+
+	/**
+	 * The object through which permits of the {@link ParallelismLimiter} are
+	 * acquired and released.
+	 */
+	public class Client {
+
+		/**
+		 * the number of workers of this {@link Client} waiting for a permit
+		 * that has not been given yet
+		 */
+		private int waiting_ = 0;
+
+		/**
+		 * the number of permits given to this {@link Client} but not yet taken
+		 * by the waiting workers
+		 */
+		private int granted_ = 0;
+
+		Client() {
+		}
+
+		/**
+		 * Blocks until a permit is given to this {@link Client}
+		 * 
+		 * @throws InterruptedException
+		 *             if interrupted while waiting; in this case the permit is
+		 *             not acquired
+		 */
+		public void acquire() throws InterruptedException {
+			acquire(true);
+		}
+
+		/**
+		 * Blocks until a permit is given to this {@link Client}; interrupts
+		 * are ignored while waiting and the interrupt status is restored
+		 * afterwards
+		 */
+		public void acquireUninterruptibly() {
+			try {
+				acquire(false);
+			} catch (InterruptedException e) {
+				// cannot happen
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void acquire(boolean interruptibly)
+				throws InterruptedException {
+			ParallelismLimiter limiter = ParallelismLimiter.this;
+			boolean interrupted = false;
+			synchronized (limiter) {
+				if (available_ > 0 && waitingClients_.isEmpty()) {
+					available_--;
+					return;
+				}
+				// else
+				if (waiting_++ == 0)
+					waitingClients_.add(this);
+				while (granted_ == 0) {
+					try {
+						limiter.wait();
+					} catch (InterruptedException e) {
+						if (interruptibly) {
+							cancel();
+							throw e;
+						}
+						// else
+						interrupted = true;
+					}
+				}
+				granted_--;
+			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+
+		/**
+		 * Withdraws the request of the current worker for a permit; should be
+		 * called under the monitor of the {@link ParallelismLimiter}
+		 */
+		private void cancel() {
+			if (granted_ > 0) {
+				// the permit was given meanwhile
+				granted_--;
+				passPermit();
+				return;
+			}
+			// else
+			if (--waiting_ == 0)
+				waitingClients_.remove(this);
+		}
+
+		/**
+		 * Returns a permit acquired by this {@link Client}
+		 */
+		public void release() {
+			synchronized (ParallelismLimiter.this) {
+				passPermit();
+			}
+		}
+
+	}
+
+}
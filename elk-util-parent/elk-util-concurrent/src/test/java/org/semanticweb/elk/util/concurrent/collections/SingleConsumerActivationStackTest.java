@@ -0,0 +1,126 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+public class SingleConsumerActivationStackTest extends TestCase {
+
+	/**
+	 * the number of producer threads used in the concurrent test
+	 */
+	private static final int PRODUCER_COUNT_ = 8;
+	/**
+	 * the number of elements inserted by every producer
+	 */
+	private static final int ELEMENTS_PER_PRODUCER_ = 100000;
+
+	public SingleConsumerActivationStackTest(String testName) {
+		super(testName);
+	}
+
+	public void testActivation() {
+		ActivationStack<Integer> stack = new SingleConsumerActivationStack<Integer>();
+
+		assertNull(stack.peek());
+		assertTrue(stack.push(1));
+		assertFalse(stack.push(2));
+		assertEquals(Integer.valueOf(2), stack.peek());
+		assertEquals(Integer.valueOf(2), stack.pop());
+		assertFalse(stack.push(3));
+		assertEquals(Integer.valueOf(1), stack.peek());
+		assertEquals(Integer.valueOf(1), stack.pop());
+		assertEquals(Integer.valueOf(3), stack.pop());
+		// the stack is empty but not cleared
+		assertNull(stack.peek());
+		assertFalse(stack.push(4));
+		assertEquals(Integer.valueOf(4), stack.pop());
+		// now the stack is cleared
+		assertNull(stack.pop());
+		assertNull(stack.pop());
+		assertTrue(stack.push(5));
+		assertEquals(Integer.valueOf(5), stack.pop());
+		assertNull(stack.pop());
+	}
+
+	/**
+	 * Several producers insert elements while one consumer takes them; every
+	 * element should be taken exactly once and the stack should be activated
+	 * every time after it was cleared
+	 * 
+	 * @throws InterruptedException
+	 */
+	public void testConcurrentProducers() throws InterruptedException {
+		final ActivationStack<Integer> stack = new SingleConsumerActivationStack<Integer>();
+		final AtomicInteger activations = new AtomicInteger(0);
+		final AtomicInteger producersFinished = new AtomicInteger(0);
+		final boolean[] taken = new boolean[PRODUCER_COUNT_
+				* ELEMENTS_PER_PRODUCER_];
+		Thread[] producers = new Thread[PRODUCER_COUNT_];
+
+		for (int i = 0; i < PRODUCER_COUNT_; i++) {
+			final int first = i * ELEMENTS_PER_PRODUCER_;
+			producers[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < ELEMENTS_PER_PRODUCER_; j++) {
+						if (stack.push(first + j))
+							activations.incrementAndGet();
+					}
+					producersFinished.incrementAndGet();
+				}
+			};
+			producers[i].start();
+		}
+
+		int countTaken = 0;
+		int countCleared = 0;
+		for (;;) {
+			boolean finished = producersFinished.get() == PRODUCER_COUNT_;
+			Integer element = stack.pop();
+			if (element == null) {
+				countCleared++;
+				if (finished)
+					break;
+				Thread.yield();
+				continue;
+			}
+			assertFalse("element taken twice: " + element, taken[element]);
+			taken[element] = true;
+			countTaken++;
+		}
+		for (int i = 0; i < PRODUCER_COUNT_; i++) {
+			producers[i].join();
+		}
+		assertEquals(taken.length, countTaken);
+		/*
+		 * every activation, except possibly the very first one, follows a
+		 * clearing of the stack
+		 */
+		assertTrue(activations.get() <= countCleared + 1);
+		assertTrue(activations.get() >= 1);
+	}
+
+}
@@ -22,8 +22,11 @@ package org.semanticweb.elk.util.concurrent.computation;
  */
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
@@ -41,10 +44,18 @@ public class ConcurrentComputationWithInputsTest {
 
 	private ConcurrentComputationWithInputs<Integer, ?> computation_;
 
+	private boolean adaptive_ = false;
+
+	private ParallelismLimiter limiter_ = null;
+
+	private boolean batched_ = false;
+
 	void setup(int round) {
 		int workers = round + 1;
 		ComputationExecutor executor = new ComputationExecutor(workers,
 				"test-worker", 1, TimeUnit.SECONDS);
+		executor.setAdaptive(adaptive_);
+		executor.setParallelismLimiter(limiter_);
 		factory_ = new TestInputProcessorFactory(MAX_INPUT, workers);
 		computation_ = new ConcurrentComputationWithInputs<Integer, TestInputProcessorFactory>(
 				factory_, executor, workers, workers);
@@ -63,10 +74,20 @@ public class ConcurrentComputationWithInputsTest {
 			int sleepCountdown = 0; // sleep when reaches 0
 			try {
 				for (int j = 0; j < jobs; j++) {
-					int nextInput = random.nextInt(MAX_INPUT) + 1;
-					sumExpected += nextInput;
+					List<Integer> nextInputs = new ArrayList<Integer>();
+					int batchSize = batched_ ? random
+							.nextInt(ConcurrentComputationWithInputs.BATCH_SIZE) + 1
+							: 1;
+					int nextSum = 0;
+					for (int k = 0; k < batchSize; k++) {
+						int nextInput = random.nextInt(MAX_INPUT) + 1;
+						nextInputs.add(nextInput);
+						nextSum += nextInput;
+					}
+					sumExpected += nextSum;
 					for (;;) {
-						if (computation_.submit(nextInput))
+						if (batched_ ? computation_.submitAll(nextInputs)
+								: computation_.submit(nextInputs.get(0)))
 							break;
 						// else must be interrupted
 						if (!computation_.isInterrupted())
@@ -77,7 +98,7 @@ public class ConcurrentComputationWithInputsTest {
 						if (!computation_.start())
 							fail();
 					}
-					sleepCountdown -= nextInput;
+					sleepCountdown -= nextSum;
 					while (sleepCountdown <= 0) {
 						Thread.sleep(1); // sleeping on average 1ms per input
 						sleepCountdown += random.nextInt(MAX_INPUT) + 1;
@@ -108,6 +129,81 @@ public class ConcurrentComputationWithInputsTest {
 		test();
 	}
 
+	@Test
+	public void testAdaptive() {
+		adaptive_ = true;
+		test();
+		int maxActive = computation_.getMaxActiveWorkerCount();
+		assertTrue(maxActive >= 1);
+		assertTrue(maxActive <= computation_.maxWorkers);
+	}
+
+	@Test
+	public void testAdaptiveWithInterrupts() {
+		adaptive_ = true;
+		testWithInterrupts();
+	}
+
+	@Test
+	public void testLimited() {
+		limiter_ = new ParallelismLimiter(2);
+		testWithInterrupts();
+	}
+
+	@Test
+	public void testAdaptiveLimited() {
+		adaptive_ = true;
+		limiter_ = new ParallelismLimiter(2);
+		testWithInterrupts();
+	}
+
+	@Test
+	public void testBatched() {
+		batched_ = true;
+		test();
+	}
+
+	@Test
+	public void testBatchedWithInterrupts() {
+		batched_ = true;
+		testWithInterrupts();
+	}
+
+	/**
+	 * The worker of a computation waiting for input should not prevent the
+	 * workers of another computation sharing the same
+	 * {@link ParallelismLimiter} from running
+	 */
+	@Test(timeout = 10000)
+	public void testIdleWorkersWithLimiter() throws InterruptedException {
+		ParallelismLimiter limiter = new ParallelismLimiter(1);
+		ComputationExecutor idleExecutor = new ComputationExecutor(1,
+				"idle-worker", 1, TimeUnit.SECONDS);
+		idleExecutor.setParallelismLimiter(limiter);
+		TestInputProcessorFactory idleFactory = new TestInputProcessorFactory(
+				MAX_INPUT, 1);
+		ConcurrentComputationWithInputs<Integer, ?> idleComputation = new ConcurrentComputationWithInputs<Integer, TestInputProcessorFactory>(
+				idleFactory, idleExecutor, 1);
+		if (!idleComputation.start())
+			fail();
+		// let the worker wait for input
+		Thread.sleep(50);
+		limiter_ = limiter;
+		setup(1);
+		if (!computation_.start())
+			fail();
+		int sumExpected = 0;
+		for (int i = 1; i <= MAX_INPUT; i++) {
+			if (!computation_.submit(i))
+				fail();
+			sumExpected += i;
+		}
+		computation_.finish();
+		assertEquals(sumExpected, factory_.getSum());
+		idleComputation.finish();
+		assertEquals(0, idleFactory.getSum());
+	}
+
 	class Terminator implements Runnable {
 
 		@Override
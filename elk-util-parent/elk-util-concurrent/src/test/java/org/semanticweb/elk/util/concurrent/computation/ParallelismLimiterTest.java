@@ -0,0 +1,181 @@
+package org.semanticweb.elk.util.concurrent.computation;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ParallelismLimiterTest {
+
+	@Test
+	public void testLimit() throws InterruptedException {
+		final int parallelism = 3;
+		final ParallelismLimiter limiter = new ParallelismLimiter(parallelism);
+		final AtomicInteger running = new AtomicInteger(0);
+		final AtomicInteger maxRunning = new AtomicInteger(0);
+		final AtomicInteger done = new AtomicInteger(0);
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int c = 0; c < 4; c++) {
+			final ParallelismLimiter.Client client = limiter.newClient();
+			for (int t = 0; t < 5; t++) {
+				threads.add(new Thread(new Runnable() {
+					@Override
+					public void run() {
+						for (int i = 0; i < 100; i++) {
+							client.acquireUninterruptibly();
+							try {
+								int current = running.incrementAndGet();
+								for (;;) {
+									int max = maxRunning.get();
+									if (current <= max
+											|| maxRunning.compareAndSet(max,
+													current))
+										break;
+								}
+								Thread.yield();
+								running.decrementAndGet();
+							} finally {
+								client.release();
+							}
+						}
+						done.incrementAndGet();
+					}
+				}));
+			}
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(threads.size(), done.get());
+		assertTrue(maxRunning.get() <= parallelism);
+	}
+
+	@Test
+	public void testRoundRobin() throws InterruptedException {
+		ParallelismLimiter limiter = new ParallelismLimiter(1);
+		ParallelismLimiter.Client first = limiter.newClient();
+		ParallelismLimiter.Client second = limiter.newClient();
+		first.acquire();
+		// many workers of the first client are waiting
+		List<Thread> firstWaiting = new ArrayList<Thread>();
+		AtomicInteger firstAcquired = new AtomicInteger(0);
+		for (int i = 0; i < 5; i++) {
+			Thread thread = new Thread(new Acquirer(first, firstAcquired));
+			firstWaiting.add(thread);
+			thread.start();
+		}
+		waitWaiting(firstWaiting);
+		AtomicInteger secondAcquired = new AtomicInteger(0);
+		Thread secondWaiting = new Thread(new Acquirer(second, secondAcquired));
+		secondWaiting.start();
+		waitWaiting(Collections.singletonList(secondWaiting));
+		// the first client has received its turn, now the second should
+		first.release();
+		waitAcquired(firstAcquired, 1);
+		assertEquals(0, secondAcquired.get());
+		first.release();
+		waitAcquired(secondAcquired, 1);
+		assertEquals(1, firstAcquired.get());
+		second.release();
+		waitAcquired(firstAcquired, 2);
+		// clean up
+		for (int i = 0; i < 4; i++) {
+			first.release();
+		}
+		for (Thread thread : firstWaiting) {
+			thread.join();
+		}
+		secondWaiting.join();
+		assertEquals(5, firstAcquired.get());
+	}
+
+	@Test
+	public void testInterrupt() throws InterruptedException {
+		ParallelismLimiter limiter = new ParallelismLimiter(1);
+		ParallelismLimiter.Client client = limiter.newClient();
+		client.acquire();
+		AtomicInteger acquired = new AtomicInteger(0);
+		Thread waiting = new Thread(new Acquirer(client, acquired));
+		waiting.start();
+		waitWaiting(Collections.singletonList(waiting));
+		waiting.interrupt();
+		waiting.join();
+		assertEquals(0, acquired.get());
+		// the permit is still available after it is released
+		client.release();
+		client.acquire();
+		client.release();
+	}
+
+	private static void waitWaiting(List<Thread> threads)
+			throws InterruptedException {
+		for (Thread thread : threads) {
+			while (thread.getState() != Thread.State.WAITING) {
+				TimeUnit.MILLISECONDS.sleep(1);
+			}
+		}
+	}
+
+	private static void waitAcquired(AtomicInteger acquired, int expected)
+			throws InterruptedException {
+		while (acquired.get() < expected) {
+			TimeUnit.MILLISECONDS.sleep(1);
+		}
+		// make sure nobody else acquires meanwhile
+		TimeUnit.MILLISECONDS.sleep(10);
+	}
+
+	static class Acquirer implements Runnable {
+
+		private final ParallelismLimiter.Client client_;
+
+		private final AtomicInteger acquired_;
+
+		Acquirer(ParallelismLimiter.Client client, AtomicInteger acquired) {
+			this.client_ = client;
+			this.acquired_ = acquired;
+		}
+
+		@Override
+		public void run() {
+			try {
+				client_.acquire();
+				acquired_.incrementAndGet();
+			} catch (InterruptedException e) {
+				// finish
+			}
+		}
+	}
+
+}
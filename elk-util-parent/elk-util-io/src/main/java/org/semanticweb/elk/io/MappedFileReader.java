@@ -0,0 +1,254 @@
+package org.semanticweb.elk.io;
+
+/*
+ * #%L
+ * ELK Utilities for Input-Output
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A {@link Reader} that decodes the characters of a file directly from its
+ * memory-mapped content into the buffers of the callers. Unlike
+ * {@link java.io.InputStreamReader} over a {@link FileInputStream}, the file
+ * is not read through the intermediate buffers of the stream and of the
+ * decoder. Large files are mapped in consecutive segments, so that only a
+ * part of the file needs to be mapped at a time. For UTF-8 encoded files, the
+ * ASCII characters, which are usually the majority, are converted in blocks
+ * without using a {@link CharsetDecoder}. Malformed input is replaced like in
+ * {@link java.io.InputStreamReader}.
+ * 
+ * This reader is not thread safe.
+ * 
+ */
+public class MappedFileReader extends Reader {
+
+	/**
+	 * the default maximal number of bytes mapped at a time
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+	private static final Charset UTF_8_ = Charset.forName("UTF-8");
+
+	private final FileChannel channel_;
+
+	private final long fileSize_;
+
+	private final int segmentSize_;
+
+	private final CharsetDecoder decoder_;
+
+	/**
+	 * {@code true} if ASCII characters are encoded in single bytes that can be
+	 * copied without decoding
+	 */
+	private final boolean asciiCompatible_;
+
+	/**
+	 * the currently mapped segment of the file or {@code null} if the file is
+	 * closed
+	 */
+	private ByteBuffer segment_;
+
+	/**
+	 * the position in the file where {@link #segment_} starts
+	 */
+	private long segmentStart_;
+
+	/**
+	 * {@code true} if the end of the input was signaled to the decoder
+	 */
+	private boolean decoderFinished_ = false;
+
+	/**
+	 * the buffer used for decoding when the space left in the output is not
+	 * enough for two chars
+	 */
+	private final char[] spare_ = new char[2];
+
+	/**
+	 * the buffer for bytes copied in bulk from the mapped segment, which is
+	 * faster than reading them one by one
+	 */
+	private final byte[] bytes_ = new byte[8192];
+
+	/**
+	 * the decoded char that did not fit into the output or {@code -1}
+	 */
+	private int pending_ = -1;
+
+	public MappedFileReader(File file, Charset charset, int segmentSize)
+			throws IOException {
+		FileInputStream stream = new FileInputStream(file);
+		this.channel_ = stream.getChannel();
+		this.fileSize_ = channel_.size();
+		this.segmentSize_ = segmentSize;
+		this.decoder_ = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.asciiCompatible_ = charset.equals(UTF_8_);
+		this.segmentStart_ = 0;
+		this.segment_ = map(0);
+	}
+
+	public MappedFileReader(File file, Charset charset) throws IOException {
+		this(file, charset, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Creates a {@link MappedFileReader} for a UTF-8 encoded file
+	 */
+	public MappedFileReader(File file) throws IOException {
+		this(file, UTF_8_);
+	}
+
+	private MappedByteBuffer map(long start) throws IOException {
+		return channel_.map(FileChannel.MapMode.READ_ONLY, start,
+				Math.min(segmentSize_, fileSize_ - start));
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		ByteBuffer in = segment_;
+		if (in == null)
+			throw new IOException("Reader is closed");
+		// else
+		if (len == 0)
+			return 0;
+		// else
+		int pos = off;
+		int end = off + len;
+		if (pending_ >= 0) {
+			cbuf[pos++] = (char) pending_;
+			pending_ = -1;
+		}
+		while (pos < end) {
+			if (asciiCompatible_) {
+				// copy ASCII characters without decoding
+				int inPos = in.position();
+				int count = Math.min(Math.min(end - pos, in.remaining()),
+						bytes_.length);
+				in.get(bytes_, 0, count);
+				int i = 0;
+				for (; i < count; i++) {
+					byte b = bytes_[i];
+					if (b < 0)
+						break;
+					// else
+					cbuf[pos + i] = (char) b;
+				}
+				in.position(inPos + i);
+				pos += i;
+				if (pos == end)
+					break;
+				if (i > 0 && i == count)
+					// more ASCII characters may follow
+					continue;
+			}
+			if (in.hasRemaining()) {
+				int decoded = decode(in, cbuf, pos, end, false);
+				if (decoded > 0) {
+					pos += decoded;
+					continue;
+				}
+				// else the segment ends within an encoded character
+			}
+			if (segmentStart_ + in.limit() < fileSize_) {
+				// map the next segment starting from the unread bytes
+				segmentStart_ += in.position();
+				in = segment_ = map(segmentStart_);
+				continue;
+			}
+			// else the end of the file is reached
+			if (!decoderFinished_)
+				pos += decode(in, cbuf, pos, end, true);
+			break;
+		}
+		return pos == off ? -1 : pos - off;
+	}
+
+	/**
+	 * Decodes characters from the given input into the given range of the
+	 * array; if ASCII characters can be copied directly and the end of the
+	 * input is not reached, only the next sequence of non-ASCII characters is
+	 * decoded
+	 * 
+	 * @return the number of decoded characters
+	 */
+	private int decode(ByteBuffer in, char[] cbuf, int pos, int end,
+			boolean endOfInput) throws IOException {
+		// a decoded character may need two chars
+		boolean spare = end - pos < 2;
+		CharBuffer out = spare ? CharBuffer.wrap(spare_) : CharBuffer.wrap(
+				cbuf, pos, end - pos);
+		int limit = in.limit();
+		if (asciiCompatible_ && !endOfInput) {
+			// the bytes of non-ASCII characters are negative
+			int runEnd = in.position();
+			while (runEnd < limit && in.get(runEnd) < 0)
+				runEnd++;
+			// the next ASCII byte, if any, ends the last character
+			if (runEnd < limit)
+				runEnd++;
+			in.limit(runEnd);
+		}
+		CoderResult result;
+		try {
+			result = decoder_.decode(in, out, endOfInput);
+			if (endOfInput && result.isUnderflow()
+					&& decoder_.flush(out).isUnderflow())
+				decoderFinished_ = true;
+		} finally {
+			in.limit(limit);
+		}
+		if (result.isError())
+			result.throwException();
+		if (!spare)
+			return out.position() - pos;
+		// else
+		int decoded = out.position();
+		if (decoded == 0)
+			return 0;
+		// else
+		cbuf[pos] = spare_[0];
+		if (decoded > 1)
+			pending_ = spare_[1];
+		return 1;
+	}
+
+	@Override
+	public void close() throws IOException {
+		segment_ = null;
+		channel_.close();
+	}
+
+}